@@ -302,6 +302,14 @@ extraJavaModuleInfo {
         uses("com.tngtech.archunit.lang.extension.ArchUnitExtension")
     }
 
+    module("org.openjdk.jol:jol-core", "org.openjdk.jol") {
+        exportAllPackages()
+        requires("java.instrument")
+        requires("java.management")
+        requires("jdk.management")
+        requires("jdk.unsupported")
+    }
+
     module("org.glassfish.hk2.external:aopalliance-repackaged", "org.aopalliance")
     module("org.glassfish.jersey.core:jersey-server", "jersey.server") {
         exportAllPackages()
@@ -115,6 +115,8 @@ dependencies {
 
     testImplementation("org.hamcrest:hamcrest")
 
+    testImplementation("org.openjdk.jol:jol-core")
+
     testImplementation("org.wiremock:wiremock") {
         exclude(group = "net.sf.jopt-simple", module = "jopt-simple")
     }
@@ -217,6 +219,8 @@ javaModuleTesting.whitebox(testing.suites["test"]) {
     requires.add("org.junit.jupiter.params")
     requires.add("org.mockito")
 
+    requires.add("org.openjdk.jol")
+
     requires.add("org.testfx")
     requires.add("org.testfx.junit5")
 
@@ -1,5 +1,6 @@
 package org.jabref.gui;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
@@ -35,17 +36,21 @@ import org.jabref.http.manager.HttpServerManager;
 import org.jabref.logic.UiCommand;
 import org.jabref.logic.ai.AiService;
 import org.jabref.logic.citation.SearchCitationsRelationsService;
+import org.jabref.logic.importer.ImporterPreferences;
 import org.jabref.logic.journals.JournalAbbreviationLoader;
 import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.logic.l10n.Localization;
+import org.jabref.logic.net.HttpResponseCache;
 import org.jabref.logic.net.ProxyRegisterer;
 import org.jabref.logic.os.OS;
+import org.jabref.logic.pdf.PdfTextCache;
 import org.jabref.logic.protectedterms.ProtectedTermsLoader;
 import org.jabref.logic.remote.RemotePreferences;
 import org.jabref.logic.remote.server.RemoteListenerServerManager;
 import org.jabref.logic.search.IndexManager;
 import org.jabref.logic.search.PostgreServer;
 import org.jabref.logic.util.BuildInfo;
+import org.jabref.logic.util.Directories;
 import org.jabref.logic.util.FallbackExceptionHandler;
 import org.jabref.logic.util.HeadlessExecutorService;
 import org.jabref.logic.util.TaskExecutor;
@@ -160,6 +165,11 @@ public class JabRefGUI extends Application {
         Injector.setModelOrService(ProtectedTermsLoader.class, new ProtectedTermsLoader(preferences.getProtectedTermsPreferences()));
 
         IndexManager.clearOldSearchIndices();
+        Injector.setModelOrService(PdfTextCache.class, new PdfTextCache(Directories.getPdfTextCacheDirectory().resolve("pdf-texts.mv")));
+        ImporterPreferences importerPreferences = preferences.getImporterPreferences();
+        Injector.setModelOrService(HttpResponseCache.class, importerPreferences.shouldCacheWebResponses()
+                ? new HttpResponseCache(Directories.getHttpCacheDirectory(), HttpResponseCache.DEFAULT_MAX_SIZE, Duration.ofDays(importerPreferences.getWebResponsesCacheTTL()))
+                : new HttpResponseCache());
 
         JabRefGUI.remoteListenerServerManager = new RemoteListenerServerManager();
         Injector.setModelOrService(RemoteListenerServerManager.class, JabRefGUI.remoteListenerServerManager);
@@ -414,7 +424,7 @@ public class JabRefGUI extends Application {
         }
 
         if (remotePreferences.enableHttpServer()) {
-            httpServerManager.start(stateManager.getOpenDatabases(), remotePreferences.getHttpServerUri());
+            httpServerManager.start(stateManager.getOpenDatabases(), stateManager::getIndexManager, remotePreferences.getHttpServerUri());
         }
     }
 
@@ -494,6 +504,12 @@ public class JabRefGUI extends Application {
                 LOGGER.trace("PostgreServer shut down");
             });
 
+            executor.submit(() -> {
+                LOGGER.trace("Closing PDF text cache");
+                Injector.instantiateModelOrService(PdfTextCache.class).close();
+                LOGGER.trace("PDF text cache closed");
+            });
+
             executor.submit(() -> {
                 LOGGER.trace("Shutting down HeadlessExecutorService");
                 HeadlessExecutorService.INSTANCE.shutdownEverything();
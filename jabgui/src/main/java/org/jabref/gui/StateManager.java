@@ -2,8 +2,10 @@ package org.jabref.gui;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javafx.beans.Observable;
 import javafx.beans.binding.Bindings;
@@ -31,6 +33,7 @@ import org.jabref.gui.sidepane.SidePaneType;
 import org.jabref.gui.util.CustomLocalDragboard;
 import org.jabref.gui.util.DialogWindowState;
 import org.jabref.gui.util.OptionalObjectProperty;
+import org.jabref.logic.groups.GroupMembershipIndex;
 import org.jabref.logic.search.IndexManager;
 import org.jabref.logic.util.BackgroundTask;
 import org.jabref.model.database.BibDatabaseContext;
@@ -66,6 +69,7 @@ public class StateManager {
     private final ObservableList<BibEntry> selectedEntries = FXCollections.observableArrayList();
     private final ObservableMap<String, ObservableList<GroupTreeNode>> selectedGroups = FXCollections.observableHashMap();
     private final ObservableMap<String, IndexManager> indexManagers = FXCollections.observableHashMap();
+    private final Map<String, GroupMembershipIndex> groupMembershipIndexes = new ConcurrentHashMap<>();
     private final OptionalObjectProperty<SearchQuery> activeSearchQuery = OptionalObjectProperty.empty();
     private final OptionalObjectProperty<SearchQuery> activeGlobalSearchQuery = OptionalObjectProperty.empty();
     private final StringProperty searchQueryProperty = new SimpleStringProperty();
@@ -146,6 +150,20 @@ public class StateManager {
         return Optional.ofNullable(indexManagers.get(database.getUid()));
     }
 
+    /**
+     * Returns the index of the entries matched by the groups of the given library. The index is created on first use.
+     */
+    public GroupMembershipIndex getGroupMembershipIndex(BibDatabaseContext database) {
+        return groupMembershipIndexes.computeIfAbsent(database.getUid(), _ -> new GroupMembershipIndex(database));
+    }
+
+    public void removeGroupMembershipIndex(BibDatabaseContext database) {
+        GroupMembershipIndex groupMembershipIndex = groupMembershipIndexes.remove(database.getUid());
+        if (groupMembershipIndex != null) {
+            groupMembershipIndex.close();
+        }
+    }
+
     public Optional<BibDatabaseContext> getActiveDatabase() {
         return activeDatabase.get();
     }
@@ -97,20 +97,15 @@ public class DuplicateSearch extends SimpleCommand {
     }
 
     private void searchPossibleDuplicates(List<BibEntry> entries, BibDatabaseMode databaseMode) {
-        for (int i = 0; i < (entries.size() - 1); i++) {
-            for (int j = i + 1; j < entries.size(); j++) {
-                if (Thread.interrupted()) {
-                    return;
-                }
-
-                BibEntry first = entries.get(i);
-                BibEntry second = entries.get(j);
-
-                if (new DuplicateCheck(entryTypesManager).isDuplicate(first, second, databaseMode)) {
-                    duplicates.add(Arrays.asList(first, second));
-                    duplicateCountObservable.set(String.valueOf(duplicateCount.incrementAndGet()));
-                }
+        new DuplicateCheck(entryTypesManager).findDuplicates(entries, databaseMode, (first, second) -> {
+            // The duplicates are reported from multiple threads
+            synchronized (duplicates) {
+                duplicates.add(Arrays.asList(first, second));
+                duplicateCountObservable.set(String.valueOf(duplicateCount.incrementAndGet()));
             }
+        });
+        if (Thread.interrupted()) {
+            return;
         }
         libraryAnalyzed.set(true);
     }
@@ -1,5 +1,6 @@
 package org.jabref.gui.groups;
 
+import java.lang.ref.WeakReference;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -9,13 +10,13 @@ import javafx.beans.InvalidationListener;
 import javafx.beans.WeakInvalidationListener;
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.BooleanBinding;
-import javafx.beans.binding.IntegerBinding;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
 import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
-import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
-import javafx.collections.ObservableSet;
 import javafx.scene.input.Dragboard;
 import javafx.scene.paint.Color;
 
@@ -28,6 +29,8 @@ import org.jabref.gui.util.CustomLocalDragboard;
 import org.jabref.gui.util.DroppingMouseLocation;
 import org.jabref.gui.util.UiTaskExecutor;
 import org.jabref.logic.groups.DefaultGroupsFactory;
+import org.jabref.logic.groups.GroupMembershipChangedEvent;
+import org.jabref.logic.groups.GroupMembershipIndex;
 import org.jabref.logic.layout.format.LatexToUnicodeFormatter;
 import org.jabref.logic.util.BackgroundTask;
 import org.jabref.logic.util.TaskExecutor;
@@ -57,7 +60,6 @@ import org.jabref.model.strings.StringUtil;
 import com.google.common.eventbus.Subscribe;
 import com.tobiasdiez.easybind.EasyBind;
 import com.tobiasdiez.easybind.EasyObservableList;
-import io.github.adr.linked.ADR;
 
 public class GroupNodeViewModel {
 
@@ -67,8 +69,8 @@ public class GroupNodeViewModel {
     private final BibDatabaseContext databaseContext;
     private final StateManager stateManager;
     private final GroupTreeNode groupNode;
-    @ADR(38)
-    private final ObservableSet<String> matchedEntries = FXCollections.observableSet();
+    private final GroupMembershipIndex groupMembershipIndex;
+    private final IntegerProperty hits = new SimpleIntegerProperty();
     private final SimpleBooleanProperty hasChildren;
     private final SimpleBooleanProperty expandedProperty = new SimpleBooleanProperty();
     private final BooleanBinding anySelectedEntriesMatched;
@@ -77,8 +79,6 @@ public class GroupNodeViewModel {
     private final CustomLocalDragboard localDragBoard;
     private final GuiPreferences preferences;
     @SuppressWarnings("FieldCanBeLocal")
-    private final ObservableList<BibEntry> entriesList;
-    @SuppressWarnings("FieldCanBeLocal")
     private final InvalidationListener onInvalidatedGroup = _ -> refreshGroup();
 
     public GroupNodeViewModel(BibDatabaseContext databaseContext, StateManager stateManager, TaskExecutor taskExecutor, GroupTreeNode groupNode, CustomLocalDragboard localDragBoard, GuiPreferences preferences) {
@@ -88,6 +88,7 @@ public class GroupNodeViewModel {
         this.groupNode = Objects.requireNonNull(groupNode);
         this.localDragBoard = Objects.requireNonNull(localDragBoard);
         this.preferences = preferences;
+        this.groupMembershipIndex = stateManager.getGroupMembershipIndex(databaseContext);
 
         displayName = new SimpleObjectProperty<>(new LatexToUnicodeFormatter().format(groupNode.getName()));
         isRoot = groupNode.isRoot();
@@ -117,9 +118,7 @@ public class GroupNodeViewModel {
         expandedProperty.addListener((_, _, newValue) -> groupNode.getGroup().setExpanded(newValue));
 
         // Register listener
-        // The wrapper created by the FXCollections will set a weak listener on the wrapped list. This weak listener gets garbage collected. Hence, we need to maintain a reference to this list.
-        entriesList = databaseContext.getDatabase().getEntries();
-        entriesList.addListener(this::onDatabaseChanged);
+        groupMembershipIndex.registerListener(new GroupMembershipListener(this));
 
         EasyObservableList<Boolean> selectedEntriesMatchStatus = EasyBind.map(stateManager.getSelectedEntries(), groupNode::matches);
         anySelectedEntriesMatched = selectedEntriesMatchStatus.anyMatch(matched -> matched);
@@ -192,8 +191,8 @@ public class GroupNodeViewModel {
         return groupNode.getGroup().getDescription().orElse("");
     }
 
-    public IntegerBinding getHits() {
-        return Bindings.size(matchedEntries);
+    public ReadOnlyIntegerProperty getHits() {
+        return hits;
     }
 
     @Override
@@ -219,7 +218,7 @@ public class GroupNodeViewModel {
                 ", children=" + children +
                 ", databaseContext=" + databaseContext +
                 ", groupNode=" + groupNode +
-                ", matchedEntries=" + matchedEntries +
+                ", hits=" + hits.get() +
                 '}';
     }
 
@@ -251,45 +250,10 @@ public class GroupNodeViewModel {
         return groupNode;
     }
 
-    /**
-     * Gets invoked if an entry in the current database changes.
-     *
-     * @implNote Search groups are updated in {@link SearchIndexListener}.
-     */
-    private void onDatabaseChanged(ListChangeListener.Change<? extends BibEntry> change) {
-        if (groupNode.getGroup() instanceof SearchGroup) {
-            return;
-        }
-        while (change.next()) {
-            if (change.wasPermutated()) {
-                // Nothing to do, as permutation doesn't change matched entries
-            } else if (change.wasUpdated()) {
-                for (BibEntry changedEntry : change.getList().subList(change.getFrom(), change.getTo())) {
-                    if (groupNode.matches(changedEntry)) {
-                        // ADR-0038
-                        matchedEntries.add(changedEntry.getId());
-                    } else {
-                        // ADR-0038
-                        matchedEntries.remove(changedEntry.getId());
-                    }
-                }
-            } else {
-                for (BibEntry removedEntry : change.getRemoved()) {
-                    // ADR-0038
-                    matchedEntries.remove(removedEntry.getId());
-                }
-                for (BibEntry addedEntry : change.getAddedSubList()) {
-                    if (groupNode.matches(addedEntry)) {
-                        // ADR-0038
-                        matchedEntries.add(addedEntry.getId());
-                    }
-                }
-            }
-        }
-    }
-
     private void refreshGroup() {
         UiTaskExecutor.runInJavaFXThread(() -> {
+            // The entries matched by the group changed without a change of the entries, e.g., for search groups
+            groupMembershipIndex.invalidate(groupNode);
             updateMatchedEntries(); // Update the entries matched by the group
             // "Re-add" to the selected groups if it were selected, this refreshes the entries the user views
             ObservableList<GroupTreeNode> selectedGroups = this.stateManager.getSelectedGroups(this.databaseContext);
@@ -300,17 +264,11 @@ public class GroupNodeViewModel {
     }
 
     private void updateMatchedEntries() {
-        // We calculate the new hit value
-        // We could be more intelligent and try to figure out the new number of hits based on the entry change
-        // for example, a previously matched entry gets removed -> hits = hits - 1
+        // The first call scans the library, later calls only count the members maintained by the index
         if (preferences.getGroupsPreferences().shouldDisplayGroupCount()) {
             BackgroundTask
-                    .wrap(() -> groupNode.findMatches(databaseContext.getDatabase()))
-                    .onSuccess(entries -> {
-                        matchedEntries.clear();
-                        // ADR-0038
-                        entries.forEach(entry -> matchedEntries.add(entry.getId()));
-                    })
+                    .wrap(() -> groupMembershipIndex.getHitCount(groupNode))
+                    .onSuccess(hits::set)
                     .executeWith(taskExecutor);
         }
     }
@@ -525,6 +483,32 @@ public class GroupNodeViewModel {
         };
     }
 
+    /**
+     * Updates the hit count of the view model if the members of its group changed.
+     * <p>
+     * The index keeps strong references to its listeners and lives as long as the library. Hence, the view model is referenced weakly,
+     * so that the view models of a discarded group tree can be garbage collected. The listener unregisters itself afterward.
+     */
+    private static class GroupMembershipListener {
+        private final WeakReference<GroupNodeViewModel> viewModel;
+        private final GroupMembershipIndex groupMembershipIndex;
+
+        GroupMembershipListener(GroupNodeViewModel viewModel) {
+            this.viewModel = new WeakReference<>(viewModel);
+            this.groupMembershipIndex = viewModel.groupMembershipIndex;
+        }
+
+        @Subscribe
+        public void listen(GroupMembershipChangedEvent event) {
+            GroupNodeViewModel groupNodeViewModel = viewModel.get();
+            if (groupNodeViewModel == null) {
+                groupMembershipIndex.unregisterListener(this);
+            } else if (event.groups().contains(groupNodeViewModel.groupNode)) {
+                groupNodeViewModel.updateMatchedEntries();
+            }
+        }
+    }
+
     class SearchIndexListener {
         @Subscribe
         public void listen(IndexStartedEvent event) {
@@ -544,15 +528,7 @@ public class GroupNodeViewModel {
                     for (BibEntry entry : event.entries()) {
                         searchGroup.updateMatches(entry, indexManager.isEntryMatched(entry, searchGroup.getSearchQuery()));
                     }
-                }).onFinished(() -> {
-                    for (BibEntry entry : event.entries()) {
-                        if (groupNode.matches(entry)) {
-                            matchedEntries.add(entry.getId());
-                        } else {
-                            matchedEntries.remove(entry.getId());
-                        }
-                    }
-                }).executeWith(taskExecutor));
+                }).onFinished(() -> groupMembershipIndex.update(event.entries())).executeWith(taskExecutor));
             }
         }
 
@@ -561,8 +537,8 @@ public class GroupNodeViewModel {
             if (groupNode.getGroup() instanceof SearchGroup searchGroup) {
                 for (BibEntry entry : event.entries()) {
                     searchGroup.updateMatches(entry, false);
-                    matchedEntries.remove(entry.getId());
                 }
+                groupMembershipIndex.update(event.entries());
             }
         }
 
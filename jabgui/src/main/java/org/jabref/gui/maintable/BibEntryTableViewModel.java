@@ -6,6 +6,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -37,16 +38,33 @@ import org.jabref.model.groups.GroupTreeNode;
 import com.tobiasdiez.easybind.EasyBind;
 import com.tobiasdiez.easybind.EasyBinding;
 import com.tobiasdiez.easybind.optional.OptionalBinding;
+import org.jspecify.annotations.Nullable;
 
+/**
+ * The view model of a row of the main table.
+ * <p>
+ * The bindings to the fields of the entry are created when a cell asks for them for the first time, because most rows of a large
+ * library are never shown. The view model reports the creation to the given {@link ViewModelBindingsPool}, which keeps the bindings
+ * of the most recently shown rows only. The bindings of the other rows are released and created again when the row is shown again.
+ */
 public class BibEntryTableViewModel {
+    /**
+     * The formatted value of fields together with the formatter and the hash code of the entry it was computed for
+     */
+    private record SortKey(MainTableFieldValueFormatter formatter, int entryHashCode, String value) {
+    }
+
     private final BibEntry entry;
     private final ObservableValue<MainTableFieldValueFormatter> fieldValueFormatter;
     private final Map<OrFields, ObservableValue<String>> fieldValues = new HashMap<>();
     private final Map<SpecialField, OptionalBinding<SpecialFieldValueViewModel>> specialFieldValues = new HashMap<>();
-    private final EasyBinding<List<LinkedFile>> linkedFiles;
-    private final EasyBinding<Map<Field, String>> linkedIdentifiers;
-    private final Binding<List<AbstractGroup>> matchedGroups;
+    // Read on background threads while sorting
+    private final Map<OrFields, SortKey> sortKeys = new ConcurrentHashMap<>();
+    private @Nullable EasyBinding<List<LinkedFile>> linkedFiles;
+    private @Nullable EasyBinding<Map<Field, String>> linkedIdentifiers;
+    private @Nullable Binding<List<AbstractGroup>> matchedGroups;
     private final BibDatabaseContext bibDatabaseContext;
+    private final ViewModelBindingsPool bindingsPool;
     private final BooleanProperty hasFullTextResults = new SimpleBooleanProperty(false);
     private final BooleanProperty isMatchedBySearch = new SimpleBooleanProperty(true);
     private final BooleanProperty isVisibleBySearch = new SimpleBooleanProperty(true);
@@ -54,14 +72,11 @@ public class BibEntryTableViewModel {
     private final BooleanProperty isVisibleByGroup = new SimpleBooleanProperty(true);
     private final ObjectProperty<MatchCategory> matchCategory = new SimpleObjectProperty<>(MatchCategory.MATCHING_SEARCH_AND_GROUPS);
 
-    public BibEntryTableViewModel(BibEntry entry, BibDatabaseContext bibDatabaseContext, ObservableValue<MainTableFieldValueFormatter> fieldValueFormatter) {
+    public BibEntryTableViewModel(BibEntry entry, BibDatabaseContext bibDatabaseContext, ObservableValue<MainTableFieldValueFormatter> fieldValueFormatter, ViewModelBindingsPool bindingsPool) {
         this.entry = entry;
         this.bibDatabaseContext = bibDatabaseContext;
         this.fieldValueFormatter = fieldValueFormatter;
-
-        this.linkedFiles = getField(StandardField.FILE).mapOpt(FileFieldParser::parse).orElseOpt(List.of());
-        this.linkedIdentifiers = createLinkedIdentifiersBinding(entry);
-        this.matchedGroups = createMatchedGroupsBinding(bibDatabaseContext, entry);
+        this.bindingsPool = bindingsPool;
     }
 
     private static EasyBinding<Map<Field, String>> createLinkedIdentifiersBinding(BibEntry entry) {
@@ -102,18 +117,31 @@ public class BibEntryTableViewModel {
     }
 
     public ObservableValue<List<LinkedFile>> getLinkedFiles() {
+        bindingsPool.touch(this);
+        if (linkedFiles == null) {
+            linkedFiles = getField(StandardField.FILE).mapOpt(FileFieldParser::parse).orElseOpt(List.of());
+        }
         return linkedFiles;
     }
 
     public ObservableValue<Map<Field, String>> getLinkedIdentifiers() {
+        bindingsPool.touch(this);
+        if (linkedIdentifiers == null) {
+            linkedIdentifiers = createLinkedIdentifiersBinding(entry);
+        }
         return linkedIdentifiers;
     }
 
     public ObservableValue<List<AbstractGroup>> getMatchedGroups() {
+        bindingsPool.touch(this);
+        if (matchedGroups == null) {
+            matchedGroups = createMatchedGroupsBinding(bibDatabaseContext, entry);
+        }
         return matchedGroups;
     }
 
     public ObservableValue<Optional<SpecialFieldValueViewModel>> getSpecialField(SpecialField field) {
+        bindingsPool.touch(this);
         OptionalBinding<SpecialFieldValueViewModel> value = specialFieldValues.get(field);
         // Fetch possibly updated value from BibEntry entry
         Optional<String> currentValue = this.entry.getField(field);
@@ -136,6 +164,7 @@ public class BibEntryTableViewModel {
     }
 
     public ObservableValue<String> getFields(OrFields fields) {
+        bindingsPool.touch(this);
         ObservableValue<String> value = fieldValues.get(fields);
         if (value != null) {
             return value;
@@ -151,6 +180,38 @@ public class BibEntryTableViewModel {
         return value;
     }
 
+    /**
+     * Forgets the bindings created for the cells of this row. Cells still showing this row keep their bindings alive;
+     * the other bindings are garbage collected.
+     */
+    void releaseBindings() {
+        fieldValues.clear();
+        specialFieldValues.clear();
+        linkedFiles = null;
+        linkedIdentifiers = null;
+        matchedGroups = null;
+    }
+
+    boolean hasBindings() {
+        return !fieldValues.isEmpty() || !specialFieldValues.isEmpty()
+                || (linkedFiles != null) || (linkedIdentifiers != null) || (matchedGroups != null);
+    }
+
+    /**
+     * Returns the formatted value of the given fields, as shown in the cell, for sorting. In contrast to {@link #getFields(OrFields)},
+     * this creates no binding and can be called on any thread. The value is cached until the entry or the formatter changes.
+     */
+    public String getSortKey(OrFields fields) {
+        MainTableFieldValueFormatter formatter = fieldValueFormatter.getValue();
+        int entryHashCode = entry.hashCode();
+        SortKey sortKey = sortKeys.get(fields);
+        if ((sortKey == null) || (sortKey.formatter() != formatter) || (sortKey.entryHashCode() != entryHashCode)) {
+            sortKey = new SortKey(formatter, entryHashCode, formatter.formatFieldsValues(fields, entry));
+            sortKeys.put(fields, sortKey);
+        }
+        return sortKey.value();
+    }
+
     public StringProperty bibDatabasePathProperty() {
         return new ReadOnlyStringWrapper(bibDatabaseContext.getDatabasePath().map(Path::toString).orElse(""));
     }
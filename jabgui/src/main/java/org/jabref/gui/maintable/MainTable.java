@@ -3,9 +3,11 @@ package org.jabref.gui.maintable;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.swing.undo.UndoManager;
@@ -70,6 +72,7 @@ import org.jabref.model.entry.identifier.DOI;
 import org.jabref.model.entry.types.StandardEntryType;
 
 import com.airhacks.afterburner.injection.Injector;
+import com.tobiasdiez.easybind.EasyBind;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -230,28 +233,12 @@ public class MainTable extends TableView<BibEntryTableViewModel> {
         this.getItems().addListener((ListChangeListener<BibEntryTableViewModel>) change -> updatePlaceholder(placeholderBox));
 
         // Enable sorting
+        // The table does not sort itself. The model computes the order on a background thread whenever the sort order
+        // or the sort type of a column changes.
         // Workaround for a JavaFX bug: https://bugs.openjdk.org/browse/JDK-8301761 (The sorting of the SortedList can become invalid)
-        // The default comparator of the SortedList does not consider the insertion index of entries that are equal according to the comparator.
-        // When two entries are equal based on the comparator, the entry that was inserted first should be considered smaller.
+        // The model sorts entries that are equal according to the columns by their ID, i.e., by insertion order.
         this.setSortPolicy(_ -> true);
-        model.getEntriesFilteredAndSorted().comparatorProperty().bind(
-                this.comparatorProperty().map(comparator -> {
-                    if (comparator == null) {
-                        return null;
-                    }
-
-                    return (entry1, entry2) -> {
-                        int result = comparator.compare(entry1, entry2);
-                        if (result != 0) {
-                            return result;
-                        }
-                        // If the entries are equal according to the comparator, compare them by their index in the database.
-                        // The comparison should ideally be based on the database index, but retrieving the index takes log(n). See {@link BibDatabase#indexOf}.
-                        // Using the entry ID is also valid since IDs are monotonically increasing.
-                        return entry1.getEntry().getId().compareTo(entry2.getEntry().getId());
-                    };
-                })
-        );
+        EasyBind.subscribe(this.comparatorProperty(), _ -> model.sortBy(getSortCriteria()));
 
         // Store visual state
         new PersistenceVisualStateTable(this, mainTablePreferences.getColumnPreferences()).addListeners();
@@ -279,6 +266,26 @@ public class MainTable extends TableView<BibEntryTableViewModel> {
      * @param sortedColumn The sorted column in {@link MainTable}
      * @param keyEvent     The pressed character
      */
+    private List<MainTableSorter.SortCriterion> getSortCriteria() {
+        return getSortOrder().stream()
+                             .map(MainTable::toSortCriterion)
+                             .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MainTableSorter.SortCriterion toSortCriterion(TableColumn<BibEntryTableViewModel, ?> column) {
+        Comparator<Object> comparator = (Comparator<Object>) column.getComparator();
+        boolean descending = column.getSortType() == TableColumn.SortType.DESCENDING;
+        if (column instanceof MainTableColumn<?> mainTableColumn) {
+            Optional<Function<BibEntryTableViewModel, ?>> backgroundSortKey = mainTableColumn.getBackgroundSortKey();
+            if (backgroundSortKey.isPresent()) {
+                return new MainTableSorter.SortCriterion(backgroundSortKey.get(), true, comparator, descending, mainTableColumn::isSortKeyAffectedBy);
+            }
+            return new MainTableSorter.SortCriterion(column::getCellData, false, comparator, descending, mainTableColumn::isSortKeyAffectedBy);
+        }
+        return new MainTableSorter.SortCriterion(column::getCellData, false, comparator, descending, _ -> true);
+    }
+
     private void jumpToSearchKey(TableColumn<BibEntryTableViewModel, ?> sortedColumn, KeyEvent keyEvent) {
         if (keyEvent.isAltDown() || keyEvent.isControlDown() || keyEvent.isMetaDown() || keyEvent.isShiftDown()) {
             return;
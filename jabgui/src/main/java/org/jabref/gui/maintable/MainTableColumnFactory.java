@@ -151,7 +151,13 @@ public class MainTableColumnFactory {
      * determines the sorting order.</p>
      */
     private TableColumn<BibEntryTableViewModel, MatchCategory> createMatchCategoryColumn(MainTableColumnModel columnModel) {
-        TableColumn<BibEntryTableViewModel, MatchCategory> column = new MainTableColumn<>(columnModel);
+        TableColumn<BibEntryTableViewModel, MatchCategory> column = new MainTableColumn<>(columnModel) {
+            @Override
+            public boolean isSortKeyAffectedBy(Field field) {
+                // The match category changes with the matches of the search and the groups, which sort the entries again themselves
+                return false;
+            }
+        };
         column.setCellValueFactory(cellData -> cellData.getValue().matchCategory());
         column.setSortable(true);
         column.setSortType(TableColumn.SortType.ASCENDING);
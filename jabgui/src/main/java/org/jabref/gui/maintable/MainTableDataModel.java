@@ -1,13 +1,17 @@
 package org.jabref.gui.maintable;
 
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ListProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
@@ -19,22 +23,26 @@ import org.jabref.gui.search.MatchCategory;
 import org.jabref.gui.util.BindingsHelper;
 import org.jabref.gui.util.FilteredListProxy;
 import org.jabref.gui.util.OptionalObjectProperty;
+import org.jabref.gui.util.UiTaskExecutor;
+import org.jabref.logic.groups.GroupMembershipIndex;
 import org.jabref.logic.search.IndexManager;
 import org.jabref.logic.search.SearchPreferences;
 import org.jabref.logic.util.BackgroundTask;
+import org.jabref.logic.util.DelayTaskThrottler;
 import org.jabref.logic.util.TaskExecutor;
 import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.database.event.EntriesAddedEvent;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.FieldChangedEvent;
 import org.jabref.model.groups.GroupTreeNode;
 import org.jabref.model.search.SearchDisplayMode;
 import org.jabref.model.search.SearchFlags;
 import org.jabref.model.search.event.IndexAddedOrUpdatedEvent;
 import org.jabref.model.search.event.IndexStartedEvent;
-import org.jabref.model.search.matchers.MatcherSet;
-import org.jabref.model.search.matchers.MatcherSets;
 import org.jabref.model.search.query.SearchQuery;
 import org.jabref.model.search.query.SearchResults;
 
+import com.google.common.base.Suppliers;
 import com.google.common.eventbus.Subscribe;
 import com.tobiasdiez.easybind.EasyBind;
 import com.tobiasdiez.easybind.Subscription;
@@ -45,12 +53,15 @@ import org.slf4j.LoggerFactory;
 import static org.jabref.model.search.PostgreConstants.ENTRY_ID;
 
 public class MainTableDataModel {
+    private static final int RESORT_DELAY = 200;
+
     private final Logger LOGGER = LoggerFactory.getLogger(MainTableDataModel.class);
 
     private final ObservableList<BibEntryTableViewModel> entriesViewModel;
     private final FilteredList<BibEntryTableViewModel> entriesFiltered;
     private final SortedList<BibEntryTableViewModel> entriesFilteredAndSorted;
     private final ObjectProperty<MainTableFieldValueFormatter> fieldValueFormatter = new SimpleObjectProperty<>();
+    private final ViewModelBindingsPool bindingsPool = new ViewModelBindingsPool();
     private final GroupsPreferences groupsPreferences;
     private final SearchPreferences searchPreferences;
     private final NameDisplayPreferences nameDisplayPreferences;
@@ -63,13 +74,20 @@ public class MainTableDataModel {
     private final SearchIndexListener indexUpdatedListener;
     private final OptionalObjectProperty<SearchQuery> searchQueryProperty;
     @Nullable private final IndexManager indexManager;
+    private final GroupMembershipIndex groupMembershipIndex;
+    private final ListProperty<GroupTreeNode> selectedGroupsProperty;
+    private final SortKeyChangeListener sortKeyChangeListener;
+    private final DelayTaskThrottler resortThrottler;
 
-    private Optional<MatcherSet> groupsMatcher;
+    private volatile List<MainTableSorter.SortCriterion> sortCriteria = List.of();
+    // Counts the sort requests, so that the result of an outdated request is not published
+    private int sortRequest;
 
     public MainTableDataModel(BibDatabaseContext context,
                               GuiPreferences preferences,
                               TaskExecutor taskExecutor,
                               @Nullable IndexManager indexManager,
+                              GroupMembershipIndex groupMembershipIndex,
                               ListProperty<GroupTreeNode> selectedGroupsProperty,
                               OptionalObjectProperty<SearchQuery> searchQueryProperty,
                               IntegerProperty resultSizeProperty) {
@@ -80,14 +98,19 @@ public class MainTableDataModel {
         this.indexManager = indexManager;
         this.bibDatabaseContext = context;
         this.searchQueryProperty = searchQueryProperty;
+        this.groupMembershipIndex = groupMembershipIndex;
+        this.selectedGroupsProperty = selectedGroupsProperty;
         this.indexUpdatedListener = new SearchIndexListener();
-        this.groupsMatcher = createGroupMatcher(selectedGroupsProperty.get(), groupsPreferences);
+        this.sortKeyChangeListener = new SortKeyChangeListener();
+        this.resortThrottler = taskExecutor.createThrottler(RESORT_DELAY);
 
         this.bibDatabaseContext.getDatabase().registerListener(indexUpdatedListener);
+        this.bibDatabaseContext.getDatabase().registerListener(sortKeyChangeListener);
         resetFieldFormatter();
 
         ObservableList<BibEntry> allEntries = BindingsHelper.forUI(context.getDatabase().getEntries());
-        entriesViewModel = EasyBind.mapBacked(allEntries, entry -> new BibEntryTableViewModel(entry, bibDatabaseContext, fieldValueFormatter), false);
+        entriesViewModel = EasyBind.mapBacked(allEntries, entry -> new BibEntryTableViewModel(entry, bibDatabaseContext, fieldValueFormatter, bindingsPool), false);
+        entriesViewModel.addListener(this::releaseBindingsOfRemovedEntries);
         entriesFiltered = new FilteredList<>(entriesViewModel, BibEntryTableViewModel::isVisible);
 
         searchQuerySubscription = EasyBind.listen(searchQueryProperty, (observable, oldValue, newValue) -> updateSearchMatches(newValue));
@@ -100,14 +123,62 @@ public class MainTableDataModel {
         entriesFilteredAndSorted = new SortedList<>(entriesFiltered);
     }
 
+    /**
+     * Sorts the entries by the given columns. The order is computed on a background thread and published to the table at once
+     * by replacing the comparator of the sorted list.
+     */
+    public void sortBy(List<MainTableSorter.SortCriterion> criteria) {
+        List<MainTableSorter.SortCriterion> newSortCriteria = List.copyOf(criteria);
+        sortCriteria = newSortCriteria;
+        int request = ++sortRequest;
+        if (newSortCriteria.isEmpty()) {
+            entriesFilteredAndSorted.setComparator(null);
+            return;
+        }
+
+        List<BibEntryTableViewModel> viewModels = List.copyOf(entriesViewModel);
+        Object[][] sortKeys = MainTableSorter.computeSortKeys(viewModels, newSortCriteria, false);
+        BackgroundTask.wrap(() -> MainTableSorter.rank(viewModels, newSortCriteria, sortKeys))
+                      .onSuccess(ranks -> {
+                          if (request == sortRequest) {
+                              entriesFilteredAndSorted.setComparator(MainTableSorter.comparingByRank(ranks));
+                          }
+                      })
+                      .executeWith(taskExecutor);
+    }
+
+    private void scheduleResort() {
+        if (!sortCriteria.isEmpty()) {
+            resortThrottler.schedule(() -> UiTaskExecutor.runInJavaFXThread(() -> sortBy(sortCriteria)));
+        }
+    }
+
     private void updateSearchMatches(Optional<SearchQuery> query) {
+        List<BibEntryTableViewModel> viewModels = List.copyOf(entriesViewModel);
         BackgroundTask.wrap(() -> {
+            boolean[] matched = new boolean[viewModels.size()];
+            boolean[] fullTextResults = new boolean[viewModels.size()];
             if (query.isPresent()) {
-                setSearchMatches(indexManager.search(query.get()));
+                SearchResults results = indexManager.search(query.get());
+                for (int i = 0; i < viewModels.size(); i++) {
+                    BibEntry entry = viewModels.get(i).getEntry();
+                    matched[i] = results.isMatched(entry);
+                    fullTextResults[i] = results.hasFulltextResults(entry);
+                }
             } else {
-                clearSearchMatches();
+                Arrays.fill(matched, true);
             }
-        }).onSuccess(result -> FilteredListProxy.refilterListReflection(entriesFiltered)).executeWith(taskExecutor);
+            return new SearchMatches(matched, fullTextResults);
+        }).onSuccess(matches -> {
+            // The rows are updated at once on the JavaFX thread and filtered afterward
+            boolean isFloatingMode = searchPreferences.getSearchDisplayMode() == SearchDisplayMode.FLOAT;
+            for (int i = 0; i < viewModels.size(); i++) {
+                viewModels.get(i).hasFullTextResultsProperty().set(matches.fullTextResults()[i]);
+                updateEntrySearchMatch(viewModels.get(i), matches.matched()[i], isFloatingMode);
+            }
+            FilteredListProxy.refilterListReflection(entriesFiltered);
+            scheduleResort();
+        }).executeWith(taskExecutor);
     }
 
     /// Refresh the current search
@@ -123,23 +194,6 @@ public class MainTableDataModel {
         });
     }
 
-    private void setSearchMatches(SearchResults results) {
-        boolean isFloatingMode = searchPreferences.getSearchDisplayMode() == SearchDisplayMode.FLOAT;
-        entriesViewModel.forEach(entry -> {
-            entry.hasFullTextResultsProperty().set(results.hasFulltextResults(entry.getEntry()));
-            updateEntrySearchMatch(entry, results.isMatched(entry.getEntry()), isFloatingMode);
-        });
-    }
-
-    private void clearSearchMatches() {
-        boolean isFloatingMode = searchPreferences.getSearchDisplayMode() == SearchDisplayMode.FLOAT;
-        entriesViewModel.forEach(entry -> {
-            entry.isMatchedBySearch().set(true);
-            entry.hasFullTextResultsProperty().set(false);
-            updateEntrySearchMatch(entry, true, isFloatingMode);
-        });
-    }
-
     private static void updateEntrySearchMatch(BibEntryTableViewModel entry, boolean isMatched, boolean isFloatingMode) {
         entry.isMatchedBySearch().set(isMatched);
         entry.updateMatchCategory();
@@ -154,25 +208,48 @@ public class MainTableDataModel {
         }
     }
 
+    private void releaseBindingsOfRemovedEntries(ListChangeListener.Change<? extends BibEntryTableViewModel> change) {
+        while (change.next()) {
+            if (change.wasRemoved()) {
+                bindingsPool.release(change.getRemoved());
+            }
+        }
+    }
+
     private void updateSearchDisplayMode(SearchDisplayMode mode) {
-        BackgroundTask.wrap(() -> {
-            boolean isFloatingMode = mode == SearchDisplayMode.FLOAT;
-            entriesViewModel.forEach(entry -> setEntrySearchVisibility(entry, entry.isMatchedBySearch().get(), isFloatingMode));
-        }).onSuccess(result -> FilteredListProxy.refilterListReflection(entriesFiltered)).executeWith(taskExecutor);
+        // Only the visibility changes, which is cheap to compute
+        boolean isFloatingMode = mode == SearchDisplayMode.FLOAT;
+        entriesViewModel.forEach(entry -> setEntrySearchVisibility(entry, entry.isMatchedBySearch().get(), isFloatingMode));
+        FilteredListProxy.refilterListReflection(entriesFiltered);
     }
 
     private void updateGroupMatches(ObservableList<GroupTreeNode> groups) {
+        List<BibEntryTableViewModel> viewModels = List.copyOf(entriesViewModel);
+        boolean isInvertMode = groupsPreferences.getGroupViewMode().contains(GroupViewMode.INVERT);
+        boolean isFloatingMode = !groupsPreferences.getGroupViewMode().contains(GroupViewMode.FILTER);
         BackgroundTask.wrap(() -> {
-            groupsMatcher = createGroupMatcher(groups, groupsPreferences);
-            boolean isInvertMode = groupsPreferences.getGroupViewMode().contains(GroupViewMode.INVERT);
-            boolean isFloatingMode = !groupsPreferences.getGroupViewMode().contains(GroupViewMode.FILTER);
-            entriesViewModel.forEach(entry -> updateEntryGroupMatch(entry, groupsMatcher, isInvertMode, isFloatingMode));
-        }).onSuccess(result -> FilteredListProxy.refilterListReflection(entriesFiltered)).executeWith(taskExecutor);
+            Optional<BitSet> groupsMembers = getGroupsMembers(groups);
+            boolean[] matched = new boolean[viewModels.size()];
+            for (int i = 0; i < viewModels.size(); i++) {
+                matched[i] = isMatchedByGroups(viewModels.get(i), groupsMembers, isInvertMode);
+            }
+            return matched;
+        }).onSuccess(matched -> {
+            // The rows are updated at once on the JavaFX thread and filtered afterward
+            for (int i = 0; i < viewModels.size(); i++) {
+                updateEntryGroupMatch(viewModels.get(i), matched[i], isFloatingMode);
+            }
+            FilteredListProxy.refilterListReflection(entriesFiltered);
+            scheduleResort();
+        }).executeWith(taskExecutor);
     }
 
-    private void updateEntryGroupMatch(BibEntryTableViewModel entry, Optional<MatcherSet> groupsMatcher, boolean isInvertMode, boolean isFloatingMode) {
-        boolean isMatched = groupsMatcher.map(matcher -> matcher.isMatch(entry.getEntry()) ^ isInvertMode)
-                                         .orElse(true);
+    private boolean isMatchedByGroups(BibEntryTableViewModel entry, Optional<BitSet> groupsMembers, boolean isInvertMode) {
+        return groupsMembers.map(members -> groupMembershipIndex.contains(members, entry.getEntry()) ^ isInvertMode)
+                            .orElse(true);
+    }
+
+    private static void updateEntryGroupMatch(BibEntryTableViewModel entry, boolean isMatched, boolean isFloatingMode) {
         entry.isMatchedByGroup().set(isMatched);
         entry.updateMatchCategory();
         if (isMatched) {
@@ -182,21 +259,19 @@ public class MainTableDataModel {
         }
     }
 
-    private static Optional<MatcherSet> createGroupMatcher(List<GroupTreeNode> selectedGroups, GroupsPreferences groupsPreferences) {
+    /**
+     * @return the ordinals of the entries matched by the selected groups in the {@link GroupMembershipIndex}, or an empty optional if no group is selected
+     */
+    private Optional<BitSet> getGroupsMembers(List<GroupTreeNode> selectedGroups) {
         if ((selectedGroups == null) || selectedGroups.isEmpty()) {
             // No selected group, show all entries
             return Optional.empty();
         }
 
-        final MatcherSet searchRules = MatcherSets.build(
-                groupsPreferences.getGroupViewMode().contains(GroupViewMode.INTERSECTION)
-                        ? MatcherSets.MatcherType.AND
-                        : MatcherSets.MatcherType.OR);
-
-        for (GroupTreeNode node : selectedGroups) {
-            searchRules.addRule(node.getSearchMatcher());
+        if (groupsPreferences.getGroupViewMode().contains(GroupViewMode.INTERSECTION)) {
+            return Optional.of(groupMembershipIndex.getIntersection(selectedGroups));
         }
-        return Optional.of(searchRules);
+        return Optional.of(groupMembershipIndex.getUnion(selectedGroups));
     }
 
     public void unbind() {
@@ -206,6 +281,9 @@ public class MainTableDataModel {
         groupViewModeSubscription.unsubscribe();
 
         bibDatabaseContext.getDatabase().unregisterListener(indexUpdatedListener);
+        bibDatabaseContext.getDatabase().unregisterListener(sortKeyChangeListener);
+        resortThrottler.shutdown();
+        bindingsPool.releaseAll();
     }
 
     public SortedList<BibEntryTableViewModel> getEntriesFilteredAndSorted() {
@@ -224,9 +302,31 @@ public class MainTableDataModel {
         this.fieldValueFormatter.setValue(new MainTableFieldValueFormatter(nameDisplayPreferences, bibDatabaseContext));
     }
 
+    private record SearchMatches(boolean[] matched, boolean[] fullTextResults) {
+    }
+
+    /**
+     * Sorts the entries again if entries are added or a field the entries are sorted by changes, because the ranks of the sort are outdated then
+     */
+    class SortKeyChangeListener {
+        @Subscribe
+        public void listen(EntriesAddedEvent event) {
+            scheduleResort();
+        }
+
+        @Subscribe
+        public void listen(FieldChangedEvent event) {
+            if (sortCriteria.stream().anyMatch(criterion -> criterion.dependsOn().test(event.getField()))) {
+                scheduleResort();
+            }
+        }
+    }
+
     class SearchIndexListener {
         @Subscribe
         public void listen(IndexAddedOrUpdatedEvent indexAddedOrUpdatedEvent) {
+            // The members of the selected groups are computed once for all entries of the event
+            Supplier<Optional<BitSet>> groupsMembers = Suppliers.memoize(() -> getGroupsMembers(selectedGroupsProperty.get()));
             indexAddedOrUpdatedEvent.entries().forEach(entry -> BackgroundTask.wrap(() -> {
                 int index = bibDatabaseContext.getDatabase().indexOf(entry);
                 if (index >= 0) {
@@ -247,12 +347,14 @@ public class MainTableDataModel {
                     }
 
                     updateEntrySearchMatch(viewModel, isMatched, isFloatingMode);
-                    updateEntryGroupMatch(viewModel, groupsMatcher, groupsPreferences.getGroupViewMode().contains(GroupViewMode.INVERT), !groupsPreferences.getGroupViewMode().contains(GroupViewMode.FILTER));
+                    boolean isMatchedByGroups = isMatchedByGroups(viewModel, groupsMembers.get(), groupsPreferences.getGroupViewMode().contains(GroupViewMode.INVERT));
+                    updateEntryGroupMatch(viewModel, isMatchedByGroups, !groupsPreferences.getGroupViewMode().contains(GroupViewMode.FILTER));
                 }
                 return index;
             }).onSuccess(index -> {
                 if (index >= 0) {
                     FilteredListProxy.refilterListReflection(entriesFiltered, index, index + 1);
+                    scheduleResort();
                 }
             }).executeWith(taskExecutor));
         }
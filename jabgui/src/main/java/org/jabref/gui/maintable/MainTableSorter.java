@@ -0,0 +1,116 @@
+package org.jabref.gui.maintable;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.jabref.model.entry.field.Field;
+
+/**
+ * Computes the order of the entries of the main table.
+ * <p>
+ * The sort keys of all entries are computed once and the entries are sorted by their keys. Sort keys which can be computed
+ * on any thread, e.g., the formatted field values cached by {@link BibEntryTableViewModel#getSortKey}, are computed on a background
+ * thread together with the order. The other sort keys are computed on the JavaFX thread beforehand.
+ * <p>
+ * The result is the rank of each entry. It is published to the table by {@link #comparingByRank(Map)}, so that the sorted list
+ * only compares numbers on the JavaFX thread.
+ */
+public class MainTableSorter {
+
+    /**
+     * A column the entries are sorted by.
+     *
+     * @param sortKey    computes the value of an entry the column is sorted by
+     * @param threadSafe whether the sort key can be computed on a background thread
+     * @param comparator compares the sort keys
+     * @param descending whether the column is sorted in descending order
+     * @param dependsOn  whether the sort key of an entry can change if the given field of the entry changes
+     */
+    public record SortCriterion(Function<BibEntryTableViewModel, ?> sortKey, boolean threadSafe, Comparator<Object> comparator, boolean descending, Predicate<Field> dependsOn) {
+    }
+
+    private MainTableSorter() {
+    }
+
+    /**
+     * Computes the sort keys of the given entries for the criteria which are (not) thread-safe.
+     *
+     * @return the sort keys by the index of the criterion and the index of the entry; null for the other criteria
+     */
+    public static Object[][] computeSortKeys(List<BibEntryTableViewModel> entries, List<SortCriterion> criteria, boolean threadSafe) {
+        Object[][] sortKeys = new Object[criteria.size()][];
+        fillSortKeys(sortKeys, entries, criteria, threadSafe);
+        return sortKeys;
+    }
+
+    /**
+     * Sorts the given entries by the given criteria. Entries which are equal according to the criteria are sorted by their id.
+     *
+     * @param precomputedSortKeys the sort keys computed by {@link #computeSortKeys} on the JavaFX thread
+     * @return the rank of each entry by its id
+     */
+    public static Map<String, Integer> rank(List<BibEntryTableViewModel> entries, List<SortCriterion> criteria, Object[][] precomputedSortKeys) {
+        Object[][] sortKeys = precomputedSortKeys.clone();
+        fillSortKeys(sortKeys, entries, criteria, true);
+
+        Integer[] order = new Integer[entries.size()];
+        Arrays.setAll(order, index -> index);
+        Arrays.sort(order, (index1, index2) -> {
+            for (int criterion = 0; criterion < criteria.size(); criterion++) {
+                SortCriterion sortCriterion = criteria.get(criterion);
+                int result = sortCriterion.comparator().compare(sortKeys[criterion][index1], sortKeys[criterion][index2]);
+                if (result != 0) {
+                    return sortCriterion.descending() ? -result : result;
+                }
+            }
+            // Using the entry ID is valid since IDs are monotonically increasing
+            return entries.get(index1).getEntry().getId().compareTo(entries.get(index2).getEntry().getId());
+        });
+
+        Map<String, Integer> ranks = HashMap.newHashMap(entries.size());
+        for (int rank = 0; rank < order.length; rank++) {
+            ranks.put(entries.get(order[rank]).getEntry().getId(), rank);
+        }
+        return ranks;
+    }
+
+    /**
+     * Compares the entries by the given ranks. Entries without rank, e.g., entries added after the ranks were computed,
+     * come after the ranked entries, sorted by their id.
+     */
+    public static Comparator<BibEntryTableViewModel> comparingByRank(Map<String, Integer> ranks) {
+        return (entry1, entry2) -> {
+            Integer rank1 = ranks.get(entry1.getEntry().getId());
+            Integer rank2 = ranks.get(entry2.getEntry().getId());
+            if ((rank1 != null) && (rank2 != null)) {
+                return Integer.compare(rank1, rank2);
+            }
+            if (rank1 != null) {
+                return -1;
+            }
+            if (rank2 != null) {
+                return 1;
+            }
+            return entry1.getEntry().getId().compareTo(entry2.getEntry().getId());
+        };
+    }
+
+    private static void fillSortKeys(Object[][] sortKeys, List<BibEntryTableViewModel> entries, List<SortCriterion> criteria, boolean threadSafe) {
+        for (int criterion = 0; criterion < criteria.size(); criterion++) {
+            SortCriterion sortCriterion = criteria.get(criterion);
+            if (sortCriterion.threadSafe() != threadSafe) {
+                continue;
+            }
+            Object[] keys = new Object[entries.size()];
+            for (int index = 0; index < keys.length; index++) {
+                keys[index] = sortCriterion.sortKey().apply(entries.get(index));
+            }
+            sortKeys[criterion] = keys;
+        }
+    }
+}
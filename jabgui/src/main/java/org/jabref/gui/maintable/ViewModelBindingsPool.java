@@ -0,0 +1,65 @@
+package org.jabref.gui.maintable;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the cell bindings of the most recently shown {@link BibEntryTableViewModel}s.
+ * <p>
+ * A view model creates its bindings when a cell of its row is shown. If more than {@link #DEFAULT_CAPACITY} view models
+ * have bindings, the bindings of the least recently shown view model are released. Thus, scrolling through or sorting a large
+ * library does not keep the bindings of all rows. The view models of removed entries have to be {@link #release(Collection) released},
+ * so that the pool does not keep them until they are evicted.
+ */
+public class ViewModelBindingsPool {
+
+    public static final int DEFAULT_CAPACITY = 1_000;
+
+    private final Map<BibEntryTableViewModel, Boolean> viewModelsWithBindings;
+
+    public ViewModelBindingsPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ViewModelBindingsPool(int capacity) {
+        // Ordered by access, the least recently shown view model comes first
+        this.viewModelsWithBindings = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BibEntryTableViewModel, Boolean> eldest) {
+                if (size() > capacity) {
+                    eldest.getKey().releaseBindings();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Marks the given view model as the most recently shown one
+     */
+    synchronized void touch(BibEntryTableViewModel viewModel) {
+        viewModelsWithBindings.put(viewModel, Boolean.TRUE);
+    }
+
+    synchronized int size() {
+        return viewModelsWithBindings.size();
+    }
+
+    /**
+     * Releases the bindings of the given view models and forgets them, e.g., because their entries have been removed
+     */
+    public synchronized void release(Collection<? extends BibEntryTableViewModel> viewModels) {
+        for (BibEntryTableViewModel viewModel : viewModels) {
+            if (viewModelsWithBindings.remove(viewModel) != null) {
+                viewModel.releaseBindings();
+            }
+        }
+    }
+
+    public synchronized void releaseAll() {
+        viewModelsWithBindings.keySet().forEach(BibEntryTableViewModel::releaseBindings);
+        viewModelsWithBindings.clear();
+    }
+}
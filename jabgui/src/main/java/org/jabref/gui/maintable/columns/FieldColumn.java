@@ -1,5 +1,9 @@
 package org.jabref.gui.maintable.columns;
 
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
 import javafx.beans.value.ObservableValue;
 import javafx.scene.control.Tooltip;
 
@@ -8,9 +12,11 @@ import org.jabref.gui.maintable.MainTableColumnModel;
 import org.jabref.gui.maintable.MainTableTooltip;
 import org.jabref.gui.util.ValueTableCellFactory;
 import org.jabref.gui.util.comparator.NumericFieldComparator;
+import org.jabref.model.entry.EntryConverter;
 import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.FieldFactory;
 import org.jabref.model.entry.field.OrFields;
+import org.jabref.model.entry.field.StandardField;
 import org.jabref.model.entry.field.UnknownField;
 
 import com.google.common.collect.MoreCollectors;
@@ -20,6 +26,8 @@ import com.google.common.collect.MoreCollectors;
  */
 public class FieldColumn extends MainTableColumn<String> {
 
+    private static final Set<Field> DATE_FIELDS = Set.of(StandardField.DATE, StandardField.YEAR, StandardField.MONTH, StandardField.DAY);
+
     private final OrFields fields;
     private final MainTableTooltip tooltip;
 
@@ -58,6 +66,27 @@ public class FieldColumn extends MainTableColumn<String> {
         return fields.getDisplayName();
     }
 
+    @Override
+    public Optional<Function<BibEntryTableViewModel, ?>> getBackgroundSortKey() {
+        if (fields.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(entry -> entry.getSortKey(fields));
+    }
+
+    /**
+     * The displayed value also depends on the aliases of the fields, the date fields, and the crossref'd entry
+     */
+    @Override
+    public boolean isSortKeyAffectedBy(Field field) {
+        if (StandardField.CROSSREF == field) {
+            return true;
+        }
+        return fields.getFields().stream().anyMatch(sortedField -> sortedField.equals(field)
+                || field.equals(EntryConverter.FIELD_ALIASES.get(sortedField))
+                || (DATE_FIELDS.contains(sortedField) && DATE_FIELDS.contains(field)));
+    }
+
     private ObservableValue<String> getFieldValue(BibEntryTableViewModel entry) {
         if (fields.isEmpty()) {
             return null;
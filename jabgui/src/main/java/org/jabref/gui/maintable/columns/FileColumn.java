@@ -2,6 +2,8 @@ package org.jabref.gui.maintable.columns;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javafx.scene.Node;
@@ -21,10 +23,13 @@ import org.jabref.gui.maintable.MainTableColumnFactory;
 import org.jabref.gui.maintable.MainTableColumnModel;
 import org.jabref.gui.preferences.GuiPreferences;
 import org.jabref.gui.util.ValueTableCellFactory;
+import org.jabref.logic.importer.util.FileFieldParser;
 import org.jabref.logic.l10n.Localization;
 import org.jabref.logic.util.TaskExecutor;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.LinkedFile;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.StandardField;
 
 /**
  * A column that draws a clickable symbol for either all the files of a defined file type
@@ -137,6 +142,21 @@ public class FileColumn extends MainTableColumn<List<LinkedFile>> {
         this.setCellValueFactory(cellData -> cellData.getValue().getLinkedFiles());
     }
 
+    /**
+     * Parses the file field directly, so that the cell bindings are not created for sorting
+     */
+    @Override
+    public Optional<Function<BibEntryTableViewModel, ?>> getBackgroundSortKey() {
+        return Optional.of(entry -> entry.getEntry().getField(StandardField.FILE)
+                                         .map(FileFieldParser::parse)
+                                         .orElse(List.of()));
+    }
+
+    @Override
+    public boolean isSortKeyAffectedBy(Field field) {
+        return StandardField.FILE == field;
+    }
+
     private String createFileTooltip(List<LinkedFile> linkedFiles) {
         if (linkedFiles.isEmpty()) {
             return null;
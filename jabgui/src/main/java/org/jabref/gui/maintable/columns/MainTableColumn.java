@@ -1,11 +1,15 @@
 package org.jabref.gui.maintable.columns;
 
+import java.util.Optional;
+import java.util.function.Function;
+
 import javafx.beans.value.ObservableValue;
 import javafx.scene.control.TableColumn;
 
 import org.jabref.gui.maintable.BibEntryTableViewModel;
 import org.jabref.gui.maintable.MainTableColumnModel;
 import org.jabref.gui.util.BindingsHelper;
+import org.jabref.model.entry.field.Field;
 
 public class MainTableColumn<T> extends TableColumn<BibEntryTableViewModel, T> {
 
@@ -34,4 +38,20 @@ public class MainTableColumn<T> extends TableColumn<BibEntryTableViewModel, T> {
     public String getDisplayName() {
         return model.getDisplayName();
     }
+
+    /**
+     * Returns the value this column is sorted by if it can be computed on a background thread.
+     * Otherwise, the table is sorted by the values of the cells, which are computed on the JavaFX thread.
+     */
+    public Optional<Function<BibEntryTableViewModel, ?>> getBackgroundSortKey() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns whether the value this column is sorted by can change if the given field of an entry changes.
+     * Columns not knowing the fields their value depends on are sorted again on any change.
+     */
+    public boolean isSortKeyAffectedBy(Field field) {
+        return true;
+    }
 }
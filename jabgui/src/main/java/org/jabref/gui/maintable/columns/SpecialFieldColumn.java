@@ -1,6 +1,7 @@
 package org.jabref.gui.maintable.columns;
 
 import java.util.Optional;
+import java.util.function.Function;
 
 import javax.swing.undo.UndoManager;
 
@@ -24,6 +25,7 @@ import org.jabref.gui.util.comparator.RankingFieldComparator;
 import org.jabref.gui.util.comparator.SpecialFieldComparator;
 import org.jabref.logic.preferences.CliPreferences;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.FieldFactory;
 import org.jabref.model.entry.field.SpecialField;
 import org.jabref.model.entry.field.SpecialFieldValue;
@@ -38,13 +40,14 @@ public class SpecialFieldColumn extends MainTableColumn<Optional<SpecialFieldVal
 
     private final CliPreferences preferences;
     private final UndoManager undoManager;
+    private final SpecialField specialField;
 
     public SpecialFieldColumn(MainTableColumnModel model, CliPreferences preferences, UndoManager undoManager) {
         super(model);
         this.preferences = preferences;
         this.undoManager = undoManager;
 
-        SpecialField specialField = (SpecialField) FieldFactory.parseField(model.getQualifier());
+        this.specialField = (SpecialField) FieldFactory.parseField(model.getQualifier());
         SpecialFieldViewModel specialFieldViewModel = new SpecialFieldViewModel(specialField, preferences, undoManager);
 
         Node headerGraphic = specialFieldViewModel.getIcon().getGraphicNode();
@@ -90,6 +93,21 @@ public class SpecialFieldColumn extends MainTableColumn<Optional<SpecialFieldVal
         this.setSortable(true);
     }
 
+    /**
+     * Parses the value of the field directly, so that the cell bindings are not created for sorting
+     */
+    @Override
+    public Optional<Function<BibEntryTableViewModel, ?>> getBackgroundSortKey() {
+        return Optional.of(entry -> entry.getEntry().getField(specialField)
+                                         .flatMap(specialField::parseValue)
+                                         .map(SpecialFieldValueViewModel::new));
+    }
+
+    @Override
+    public boolean isSortKeyAffectedBy(Field field) {
+        return specialField == field;
+    }
+
     private Rating createSpecialRating(BibEntryTableViewModel entry, Optional<SpecialFieldValueViewModel> value) {
         Rating ranking = new Rating();
 
@@ -34,6 +34,7 @@ public class WebSearchTab extends AbstractPreferenceTabView<WebSearchTabViewMode
     @FXML private CheckBox warnAboutDuplicatesOnImport;
     @FXML private CheckBox downloadLinkedOnlineFiles;
     @FXML private CheckBox keepDownloadUrl;
+    @FXML private CheckBox cacheWebResponses;
     @FXML private CheckBox addImportedEntries;
     @FXML private TextField addImportedEntriesGroupName;
     @FXML private ComboBox<PlainCitationParserChoice> defaultPlainCitationParser;
@@ -79,6 +80,7 @@ public class WebSearchTab extends AbstractPreferenceTabView<WebSearchTabViewMode
         warnAboutDuplicatesOnImport.selectedProperty().bindBidirectional(viewModel.warnAboutDuplicatesOnImportProperty());
         downloadLinkedOnlineFiles.selectedProperty().bindBidirectional(viewModel.shouldDownloadLinkedOnlineFiles());
         keepDownloadUrl.selectedProperty().bindBidirectional(viewModel.shouldKeepDownloadUrl());
+        cacheWebResponses.selectedProperty().bindBidirectional(viewModel.cacheWebResponsesProperty());
 
         addImportedEntries.selectedProperty().bindBidirectional(viewModel.getAddImportedEntries());
         addImportedEntriesGroupName.textProperty().bindBidirectional(viewModel.getAddImportedEntriesGroupName());
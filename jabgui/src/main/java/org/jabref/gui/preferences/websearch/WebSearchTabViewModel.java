@@ -46,6 +46,7 @@ public class WebSearchTabViewModel implements PreferenceTabViewModel {
     private final BooleanProperty warnAboutDuplicatesOnImportProperty = new SimpleBooleanProperty();
     private final BooleanProperty shouldDownloadLinkedOnlineFiles = new SimpleBooleanProperty();
     private final BooleanProperty shouldkeepDownloadUrl = new SimpleBooleanProperty();
+    private final BooleanProperty cacheWebResponses = new SimpleBooleanProperty();
 
     private final ListProperty<PlainCitationParserChoice> plainCitationParsers =
             new SimpleListProperty<>(FXCollections.observableArrayList(PlainCitationParserChoice.values()));
@@ -138,6 +139,7 @@ public class WebSearchTabViewModel implements PreferenceTabViewModel {
         warnAboutDuplicatesOnImportProperty.setValue(importerPreferences.shouldWarnAboutDuplicatesOnImport());
         shouldDownloadLinkedOnlineFiles.setValue(filePreferences.shouldDownloadLinkedFiles());
         shouldkeepDownloadUrl.setValue(filePreferences.shouldKeepDownloadUrl());
+        cacheWebResponses.setValue(importerPreferences.shouldCacheWebResponses());
         addImportedEntries.setValue(libraryPreferences.isAddImportedEntriesEnabled());
         addImportedEntriesGroupName.setValue(libraryPreferences.getAddImportedEntriesGroupName());
         defaultPlainCitationParser.setValue(importerPreferences.getDefaultPlainCitationParser());
@@ -172,6 +174,7 @@ public class WebSearchTabViewModel implements PreferenceTabViewModel {
         importerPreferences.setWarnAboutDuplicatesOnImport(warnAboutDuplicatesOnImportProperty.getValue());
         filePreferences.setDownloadLinkedFiles(shouldDownloadLinkedOnlineFiles.getValue());
         filePreferences.setKeepDownloadUrl(shouldkeepDownloadUrl.getValue());
+        importerPreferences.setCacheWebResponses(cacheWebResponses.getValue());
         libraryPreferences.setAddImportedEntries(addImportedEntries.getValue());
         if (addImportedEntriesGroupName.getValue().isEmpty() || addImportedEntriesGroupName.getValue().startsWith(" ")) {
             libraryPreferences.setAddImportedEntriesGroupName(Localization.lang("Imported entries"));
@@ -258,6 +261,10 @@ public class WebSearchTabViewModel implements PreferenceTabViewModel {
         return shouldkeepDownloadUrl;
     }
 
+    public BooleanProperty cacheWebResponsesProperty() {
+        return cacheWebResponses;
+    }
+
     public ReadOnlyBooleanProperty apiKeyPersistAvailable() {
         return apikeyPersistAvailableProperty;
     }
@@ -15,6 +15,7 @@ import org.jabref.gui.StateManager;
 import org.jabref.gui.maintable.BibEntryTableViewModel;
 import org.jabref.gui.maintable.MainTableFieldValueFormatter;
 import org.jabref.gui.maintable.NameDisplayPreferences;
+import org.jabref.gui.maintable.ViewModelBindingsPool;
 import org.jabref.gui.preferences.GuiPreferences;
 import org.jabref.gui.util.FilteredListProxy;
 import org.jabref.logic.util.BackgroundTask;
@@ -31,6 +32,7 @@ public class SearchResultsTableDataModel {
     private final ObservableList<BibEntryTableViewModel> entriesViewModel = FXCollections.observableArrayList();
     private final SortedList<BibEntryTableViewModel> entriesSorted;
     private final ObjectProperty<MainTableFieldValueFormatter> fieldValueFormatter;
+    private final ViewModelBindingsPool bindingsPool = new ViewModelBindingsPool();
     private final StateManager stateManager;
     private final FilteredList<BibEntryTableViewModel> entriesFiltered;
     private final TaskExecutor taskExecutor;
@@ -54,9 +56,17 @@ public class SearchResultsTableDataModel {
 
     private void populateEntriesViewModel() {
         entriesViewModel.clear();
+        bindingsPool.releaseAll();
         for (BibDatabaseContext context : stateManager.getOpenDatabases()) {
             ObservableList<BibEntry> entriesForDb = context.getDatabase().getEntries();
-            ObservableList<BibEntryTableViewModel> viewModelForDb = EasyBind.mapBacked(entriesForDb, entry -> new BibEntryTableViewModel(entry, context, fieldValueFormatter), false);
+            ObservableList<BibEntryTableViewModel> viewModelForDb = EasyBind.mapBacked(entriesForDb, entry -> new BibEntryTableViewModel(entry, context, fieldValueFormatter, bindingsPool), false);
+            viewModelForDb.addListener((ListChangeListener<BibEntryTableViewModel>) change -> {
+                while (change.next()) {
+                    if (change.wasRemoved()) {
+                        bindingsPool.release(change.getRemoved());
+                    }
+                }
+            });
             entriesViewModel.addAll(viewModelForDb);
         }
     }
@@ -10,6 +10,7 @@ import org.jabref.gui.StateManager;
 import org.jabref.gui.preferences.GuiPreferences;
 import org.jabref.gui.util.CustomLocalDragboard;
 import org.jabref.gui.util.DroppingMouseLocation;
+import org.jabref.logic.groups.GroupMembershipIndex;
 import org.jabref.logic.util.CurrentThreadTaskExecutor;
 import org.jabref.logic.util.TaskExecutor;
 import org.jabref.model.database.BibDatabaseContext;
@@ -43,6 +44,7 @@ class GroupNodeViewModelTest {
         stateManager = mock(StateManager.class);
         when(stateManager.getSelectedEntries()).thenReturn(FXCollections.emptyObservableList());
         databaseContext = new BibDatabaseContext();
+        when(stateManager.getGroupMembershipIndex(databaseContext)).thenReturn(new GroupMembershipIndex(databaseContext));
         taskExecutor = new CurrentThreadTaskExecutor();
         preferences = mock(GuiPreferences.class);
         when(preferences.getGroupsPreferences()).thenReturn(new GroupsPreferences(
@@ -176,6 +178,21 @@ class GroupNodeViewModelTest {
         assertEquals(groupName, entry.getField(StandardField.GROUPS).get());
     }
 
+    @Test
+    void hitsAreUpdatedWhenEntriesAreAddedToGroup() {
+        ExplicitGroup group = new ExplicitGroup("group", GroupHierarchyType.INDEPENDENT, ',');
+        databaseContext.getDatabase().insertEntries(new BibEntry(), new BibEntry());
+
+        GroupNodeViewModel model = getViewModelForGroup(group);
+        assertEquals(0, model.getHits().get());
+
+        model.addEntriesToGroup(databaseContext.getEntries());
+        assertEquals(2, model.getHits().get());
+
+        databaseContext.getDatabase().removeEntry(databaseContext.getEntries().getFirst());
+        assertEquals(1, model.getHits().get());
+    }
+
     private GroupNodeViewModel getViewModelForGroup(AbstractGroup group) {
         return new GroupNodeViewModel(databaseContext, stateManager, taskExecutor, group, new CustomLocalDragboard(), preferences);
     }
@@ -0,0 +1,177 @@
+package org.jabref.gui.maintable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ObservableValue;
+
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.OrFields;
+import org.jabref.model.entry.field.StandardField;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BibEntryTableViewModelTest {
+
+    private static final int NUMBER_OF_ENTRIES = 20_000;
+    private static final int NUMBER_OF_MEASURED_ENTRIES = 1_000;
+    private static final long MAX_RETAINED_BYTES_PER_ENTRY = 1_024;
+
+    private final OrFields titleField = new OrFields(StandardField.TITLE);
+
+    private BibDatabaseContext databaseContext;
+    private SimpleObjectProperty<MainTableFieldValueFormatter> fieldValueFormatter;
+
+    @BeforeEach
+    void setUp() {
+        databaseContext = new BibDatabaseContext();
+        NameDisplayPreferences nameDisplayPreferences = new NameDisplayPreferences(NameDisplayPreferences.DisplayStyle.AS_IS, NameDisplayPreferences.AbbreviationStyle.FULL);
+        fieldValueFormatter = new SimpleObjectProperty<>(new MainTableFieldValueFormatter(nameDisplayPreferences, databaseContext));
+    }
+
+    @Test
+    void createsNoBindingsUntilCellAsksForThem() {
+        BibEntryTableViewModel viewModel = createViewModel(new ViewModelBindingsPool());
+
+        assertFalse(viewModel.hasBindings());
+    }
+
+    @Test
+    void reusesBindingsOfShownViewModel() {
+        ViewModelBindingsPool pool = new ViewModelBindingsPool();
+        BibEntryTableViewModel viewModel = createViewModel(pool);
+
+        assertSame(viewModel.getFields(titleField), viewModel.getFields(titleField));
+        assertEquals("A title", viewModel.getFields(titleField).getValue());
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    void releasesBindingsOfLeastRecentlyShownViewModel() {
+        ViewModelBindingsPool pool = new ViewModelBindingsPool(2);
+        BibEntryTableViewModel first = createViewModel(pool);
+        BibEntryTableViewModel second = createViewModel(pool);
+        BibEntryTableViewModel third = createViewModel(pool);
+
+        first.getFields(titleField);
+        second.getLinkedFiles();
+        first.getMatchedGroups();
+        third.getLinkedIdentifiers();
+
+        assertTrue(first.hasBindings());
+        assertFalse(second.hasBindings());
+        assertTrue(third.hasBindings());
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    void createsBindingsAgainAfterRelease() {
+        ViewModelBindingsPool pool = new ViewModelBindingsPool(1);
+        BibEntryTableViewModel first = createViewModel(pool);
+        BibEntryTableViewModel second = createViewModel(pool);
+
+        ObservableValue<String> released = first.getFields(titleField);
+        second.getFields(titleField);
+
+        assertNotSame(released, first.getFields(titleField));
+        assertEquals("A title", first.getFields(titleField).getValue());
+    }
+
+    @Test
+    void createsNoBindingsForEntriesNotShown() {
+        ViewModelBindingsPool pool = new ViewModelBindingsPool();
+        List<BibEntryTableViewModel> viewModels = new ArrayList<>(NUMBER_OF_ENTRIES);
+        for (int i = 0; i < NUMBER_OF_ENTRIES; i++) {
+            BibEntry entry = new BibEntry().withField(StandardField.TITLE, "Title " + i).withField(StandardField.DOI, "10.1000/" + i);
+            viewModels.add(new BibEntryTableViewModel(entry, databaseContext, fieldValueFormatter, pool));
+        }
+
+        assertEquals(0, pool.size());
+        assertTrue(viewModels.stream().noneMatch(BibEntryTableViewModel::hasBindings));
+    }
+
+    @Test
+    void retainsLittleHeapPerEntryWithoutBindings() {
+        List<BibEntry> entries = createEntries();
+        ViewModelBindingsPool pool = new ViewModelBindingsPool();
+        List<BibEntryTableViewModel> viewModels = entries.stream()
+                                                         .map(entry -> new BibEntryTableViewModel(entry, databaseContext, fieldValueFormatter, pool))
+                                                         .toList();
+
+        long retainedPerEntry = getRetainedSize(entries, viewModels, pool) / NUMBER_OF_MEASURED_ENTRIES;
+
+        assertTrue(retainedPerEntry <= MAX_RETAINED_BYTES_PER_ENTRY, "Each view model retains " + retainedPerEntry + " bytes");
+    }
+
+    @Test
+    void releasingBindingsFreesTheirHeap() {
+        List<BibEntry> entries = createEntries();
+        ViewModelBindingsPool pool = new ViewModelBindingsPool(NUMBER_OF_MEASURED_ENTRIES);
+        List<BibEntryTableViewModel> viewModels = entries.stream()
+                                                         .map(entry -> new BibEntryTableViewModel(entry, databaseContext, fieldValueFormatter, pool))
+                                                         .toList();
+        long withoutBindings = getRetainedSize(entries, viewModels, pool);
+
+        viewModels.forEach(viewModel -> {
+            viewModel.getFields(titleField);
+            viewModel.getLinkedIdentifiers();
+        });
+        long withBindings = getRetainedSize(entries, viewModels, pool);
+        pool.release(viewModels);
+
+        long released = getRetainedSize(entries, viewModels, pool);
+
+        assertTrue(withBindings > withoutBindings);
+        assertTrue(released < withBindings);
+        assertTrue(released / NUMBER_OF_MEASURED_ENTRIES <= MAX_RETAINED_BYTES_PER_ENTRY, "Each released view model retains " + (released / NUMBER_OF_MEASURED_ENTRIES) + " bytes");
+    }
+
+    @Test
+    void forgetsReleasedViewModels() {
+        ViewModelBindingsPool pool = new ViewModelBindingsPool();
+        BibEntryTableViewModel removed = createViewModel(pool);
+        BibEntryTableViewModel kept = createViewModel(pool);
+        removed.getFields(titleField);
+        kept.getFields(titleField);
+
+        pool.release(List.of(removed));
+
+        assertFalse(removed.hasBindings());
+        assertTrue(kept.hasBindings());
+        assertEquals(1, pool.size());
+    }
+
+    private List<BibEntry> createEntries() {
+        List<BibEntry> entries = new ArrayList<>(NUMBER_OF_MEASURED_ENTRIES);
+        for (int i = 0; i < NUMBER_OF_MEASURED_ENTRIES; i++) {
+            entries.add(new BibEntry().withField(StandardField.TITLE, "Title " + i).withField(StandardField.DOI, "10.1000/" + i));
+        }
+        return entries;
+    }
+
+    /**
+     * Walks the object graph instead of sampling the heap, so that the result does not depend on the garbage collector
+     *
+     * @return the bytes reachable from the view models, but not from the entries and the objects shared by all view models
+     */
+    private long getRetainedSize(List<BibEntry> entries, List<BibEntryTableViewModel> viewModels, ViewModelBindingsPool pool) {
+        long shared = GraphLayout.parseInstance(entries, databaseContext, fieldValueFormatter, pool).totalSize();
+        long total = GraphLayout.parseInstance(entries, databaseContext, fieldValueFormatter, pool, viewModels).totalSize();
+        return total - shared;
+    }
+
+    private BibEntryTableViewModel createViewModel(ViewModelBindingsPool pool) {
+        BibEntry entry = new BibEntry().withField(StandardField.TITLE, "A title");
+        return new BibEntryTableViewModel(entry, databaseContext, fieldValueFormatter, pool);
+    }
+}
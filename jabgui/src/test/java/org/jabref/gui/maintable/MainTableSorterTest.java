@@ -0,0 +1,119 @@
+package org.jabref.gui.maintable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import javafx.beans.property.SimpleObjectProperty;
+
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.OrFields;
+import org.jabref.model.entry.field.StandardField;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MainTableSorterTest {
+
+    private static final Comparator<Object> NATURAL_ORDER = Comparator.comparing(String.class::cast);
+
+    private final OrFields titleField = new OrFields(StandardField.TITLE);
+    private final OrFields yearField = new OrFields(StandardField.YEAR);
+
+    private BibDatabaseContext databaseContext;
+    private SimpleObjectProperty<MainTableFieldValueFormatter> fieldValueFormatter;
+
+    @BeforeEach
+    void setUp() {
+        databaseContext = new BibDatabaseContext();
+        NameDisplayPreferences nameDisplayPreferences = new NameDisplayPreferences(NameDisplayPreferences.DisplayStyle.AS_IS, NameDisplayPreferences.AbbreviationStyle.FULL);
+        fieldValueFormatter = new SimpleObjectProperty<>(new MainTableFieldValueFormatter(nameDisplayPreferences, databaseContext));
+    }
+
+    @Test
+    void ranksEntriesBySortKey() {
+        BibEntryTableViewModel b = createViewModel("B", "2000");
+        BibEntryTableViewModel a = createViewModel("A", "2001");
+        BibEntryTableViewModel c = createViewModel("C", "1999");
+
+        List<BibEntryTableViewModel> sorted = sort(List.of(b, a, c), List.of(byField(titleField, false)));
+
+        assertEquals(List.of(a, b, c), sorted);
+    }
+
+    @Test
+    void ranksEntriesInDescendingOrder() {
+        BibEntryTableViewModel b = createViewModel("B", "2000");
+        BibEntryTableViewModel a = createViewModel("A", "2001");
+        BibEntryTableViewModel c = createViewModel("C", "1999");
+
+        List<BibEntryTableViewModel> sorted = sort(List.of(b, a, c), List.of(byField(yearField, true)));
+
+        assertEquals(List.of(a, b, c), sorted);
+    }
+
+    @Test
+    void usesNextCriterionAndEntryIdForEqualSortKeys() {
+        BibEntryTableViewModel first = createViewModel("A", "2000");
+        BibEntryTableViewModel second = createViewModel("A", "2000");
+        BibEntryTableViewModel third = createViewModel("A", "1999");
+
+        List<BibEntryTableViewModel> sorted = sort(List.of(second, first, third), List.of(byField(titleField, false), byField(yearField, false)));
+
+        assertEquals(List.of(third, first, second), sorted);
+    }
+
+    @Test
+    void usesSortKeysComputedBeforehand() {
+        BibEntryTableViewModel b = createViewModel("B", "2000");
+        BibEntryTableViewModel a = createViewModel("A", "2001");
+        MainTableSorter.SortCriterion criterion = new MainTableSorter.SortCriterion(entry -> entry.getSortKey(titleField), false, NATURAL_ORDER, false, titleField.getFields()::contains);
+
+        List<BibEntryTableViewModel> sorted = sort(List.of(b, a), List.of(criterion));
+
+        assertEquals(List.of(a, b), sorted);
+    }
+
+    @Test
+    void placesEntriesWithoutRankLast() {
+        BibEntryTableViewModel b = createViewModel("B", "2000");
+        BibEntryTableViewModel a = createViewModel("A", "2001");
+        List<MainTableSorter.SortCriterion> criteria = List.of(byField(titleField, false));
+        Map<String, Integer> ranks = MainTableSorter.rank(List.of(b), criteria, MainTableSorter.computeSortKeys(List.of(b), criteria, false));
+
+        List<BibEntryTableViewModel> sorted = new ArrayList<>(List.of(a, b));
+        sorted.sort(MainTableSorter.comparingByRank(ranks));
+
+        assertEquals(List.of(b, a), sorted);
+    }
+
+    @Test
+    void changedEntryGetsNewSortKey() {
+        BibEntryTableViewModel viewModel = createViewModel("A", "2000");
+        assertEquals("A", viewModel.getSortKey(titleField));
+
+        viewModel.getEntry().setField(StandardField.TITLE, "Z");
+
+        assertEquals("Z", viewModel.getSortKey(titleField));
+    }
+
+    private MainTableSorter.SortCriterion byField(OrFields fields, boolean descending) {
+        return new MainTableSorter.SortCriterion(entry -> entry.getSortKey(fields), true, NATURAL_ORDER, descending, fields.getFields()::contains);
+    }
+
+    private static List<BibEntryTableViewModel> sort(List<BibEntryTableViewModel> entries, List<MainTableSorter.SortCriterion> criteria) {
+        Map<String, Integer> ranks = MainTableSorter.rank(entries, criteria, MainTableSorter.computeSortKeys(entries, criteria, false));
+        List<BibEntryTableViewModel> sorted = new ArrayList<>(entries);
+        sorted.sort(MainTableSorter.comparingByRank(ranks));
+        return sorted;
+    }
+
+    private BibEntryTableViewModel createViewModel(String title, String year) {
+        BibEntry entry = new BibEntry().withField(StandardField.TITLE, title).withField(StandardField.YEAR, year);
+        return new BibEntryTableViewModel(entry, databaseContext, fieldValueFormatter, new ViewModelBindingsPool());
+    }
+}
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.net.Authenticator;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -14,12 +15,14 @@ import java.util.stream.Collectors;
 import javafx.util.Pair;
 
 import org.jabref.cli.ArgumentProcessor;
+import org.jabref.logic.importer.ImporterPreferences;
 import org.jabref.logic.importer.SearchBasedFetcher;
 import org.jabref.logic.importer.WebFetcher;
 import org.jabref.logic.importer.WebFetchers;
 import org.jabref.logic.journals.JournalAbbreviationLoader;
 import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.logic.l10n.Localization;
+import org.jabref.logic.net.HttpResponseCache;
 import org.jabref.logic.net.ProxyAuthenticator;
 import org.jabref.logic.net.ProxyPreferences;
 import org.jabref.logic.net.ProxyRegisterer;
@@ -76,6 +79,11 @@ public class JabKit {
 
             Injector.setModelOrService(FileUpdateMonitor.class, new DummyFileUpdateMonitor());
 
+            ImporterPreferences importerPreferences = preferences.getImporterPreferences();
+            Injector.setModelOrService(HttpResponseCache.class, importerPreferences.shouldCacheWebResponses()
+                    ? new HttpResponseCache(Directories.getHttpCacheDirectory(), HttpResponseCache.DEFAULT_MAX_SIZE, Duration.ofDays(importerPreferences.getWebResponsesCacheTTL()))
+                    : new HttpResponseCache());
+
             // Process arguments
             ArgumentProcessor argumentProcessor = new ArgumentProcessor(preferences, entryTypesManager);
             CommandLine commandLine = new CommandLine(argumentProcessor);
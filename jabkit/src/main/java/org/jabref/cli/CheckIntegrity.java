@@ -1,16 +1,43 @@
 package org.jabref.cli;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
 
+import org.jabref.logic.importer.ParserResult;
+import org.jabref.logic.importer.fileformat.BibtexImporter;
+import org.jabref.logic.integrity.IntegrityCheck;
+import org.jabref.logic.integrity.IntegrityMessage;
+import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.logic.l10n.Localization;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.util.DummyFileUpdateMonitor;
+
+import com.airhacks.afterburner.injection.Injector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static picocli.CommandLine.Command;
 import static picocli.CommandLine.Mixin;
 import static picocli.CommandLine.Option;
 import static picocli.CommandLine.Parameters;
+import static picocli.CommandLine.ParentCommand;
 
+/**
+ * Checks the integrity of a library. By default, the whole library is loaded and all checks are executed.
+ * With {@code --streaming}, the entries are checked one by one while the library is parsed, so that libraries of any size can be checked.
+ * Then, the checks comparing an entry with the other entries of the library (entry links, duplicate citation keys and DOIs) are not executed.
+ */
 @Command(name = "check-integrity", description = "Check integrity of the database.")
-class CheckIntegrity implements Runnable {
+class CheckIntegrity implements Callable<Integer> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CheckIntegrity.class);
+
+    @ParentCommand
+    private ArgumentProcessor argumentProcessor;
 
     @Mixin
     private ArgumentProcessor.SharedOptions sharedOptions = new ArgumentProcessor.SharedOptions();
@@ -21,16 +48,105 @@ class CheckIntegrity implements Runnable {
     @Option(names = {"--input"}, description = "Input BibTeX file")
     private File inputOption;
 
-    @Option(names = {"--output-format"}, description = "Output format: txt or csv")
-    private String outputFormat = "txt"; // FixMe: Default value?
+    @Option(names = {"--output-format"}, description = "Output format: txt or csv", defaultValue = "txt")
+    private String outputFormat;
+
+    @Option(names = {"--streaming"}, description = "Check the entries one by one with bounded memory. Checks comparing an entry with the other entries of the library are skipped.")
+    private boolean streaming;
 
     @Override
-    public void run() {
+    public Integer call() {
+        File input = inputFile != null ? inputFile : inputOption;
+        if (input == null || !input.isFile()) {
+            System.out.println(Localization.lang("Unable to open file '%0'.", input));
+            return 2;
+        }
+
         if (!sharedOptions.porcelain) {
-            System.out.println(Localization.lang("Checking integrity of '%0'.", inputFile));
+            System.out.println(Localization.lang("Checking integrity of '%0'.", input));
             System.out.flush();
         }
 
-        // TODO: Implement integrity checking
+        boolean csv = "csv".equalsIgnoreCase(outputFormat);
+        if (csv) {
+            System.out.println("citationkey,field,message");
+        }
+
+        BibtexImporter importer = new BibtexImporter(argumentProcessor.cliPreferences.getImportFormatPreferences(), new DummyFileUpdateMonitor());
+        int numberOfMessages;
+        try {
+            numberOfMessages = streaming ? checkStreaming(importer, input.toPath(), csv) : checkLibrary(importer, input.toPath(), csv);
+        } catch (IOException e) {
+            LOGGER.error("Could not read file '{}'.", input, e);
+            System.out.println(Localization.lang("Unable to open file '%0'.", input));
+            return 2;
+        }
+
+        return numberOfMessages > 0 ? 1 : 0;
+    }
+
+    private int checkLibrary(BibtexImporter importer, Path inputPath, boolean csv) throws IOException {
+        ParserResult parserResult = importer.importDatabase(inputPath);
+        printWarnings(parserResult);
+
+        BibDatabaseContext databaseContext = parserResult.getDatabaseContext();
+        databaseContext.setDatabasePath(inputPath);
+        IntegrityCheck integrityCheck = createIntegrityCheck(databaseContext);
+
+        List<IntegrityMessage> messages = new ArrayList<>();
+        for (BibEntry entry : databaseContext.getDatabase().getEntries()) {
+            messages.addAll(integrityCheck.checkEntry(entry));
+        }
+        messages.addAll(integrityCheck.checkDatabase(databaseContext.getDatabase()));
+        printMessages(messages, csv);
+        return messages.size();
+    }
+
+    private int checkStreaming(BibtexImporter importer, Path inputPath, boolean csv) throws IOException {
+        BibDatabaseContext databaseContext = new BibDatabaseContext();
+        databaseContext.setMode(argumentProcessor.cliPreferences.getLibraryPreferences().getDefaultBibDatabaseMode());
+        databaseContext.setDatabasePath(inputPath);
+        IntegrityCheck integrityCheck = createIntegrityCheck(databaseContext);
+
+        int[] numberOfMessages = {0};
+        ParserResult parserResult = importer.importDatabase(inputPath, entry -> {
+            List<IntegrityMessage> messages = integrityCheck.checkEntryWithoutLibrary(entry);
+            printMessages(messages, csv);
+            numberOfMessages[0] += messages.size();
+        });
+        printWarnings(parserResult);
+        return numberOfMessages[0];
+    }
+
+    private IntegrityCheck createIntegrityCheck(BibDatabaseContext databaseContext) {
+        return new IntegrityCheck(
+                databaseContext,
+                argumentProcessor.cliPreferences.getFilePreferences(),
+                argumentProcessor.cliPreferences.getCitationKeyPatternPreferences(),
+                Injector.instantiateModelOrService(JournalAbbreviationRepository.class),
+                false);
+    }
+
+    private void printWarnings(ParserResult parserResult) {
+        if (parserResult.hasWarnings() && !sharedOptions.porcelain) {
+            System.out.println(parserResult.getErrorMessage());
+        }
+    }
+
+    private static void printMessages(List<IntegrityMessage> messages, boolean csv) {
+        for (IntegrityMessage message : messages) {
+            System.out.println(csv ? toCsvLine(message) : message.toString());
+        }
+    }
+
+    private static String toCsvLine(IntegrityMessage message) {
+        return String.join(",",
+                quote(message.entry().getCitationKey().orElse("")),
+                quote(message.field().getName()),
+                quote(message.message()));
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
     }
 }
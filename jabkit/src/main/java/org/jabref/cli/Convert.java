@@ -1,6 +1,8 @@
 package org.jabref.cli;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
@@ -8,13 +10,21 @@ import java.util.Optional;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerException;
 
+import org.jabref.logic.exporter.AtomicFileWriter;
+import org.jabref.logic.exporter.BibWriter;
 import org.jabref.logic.exporter.Exporter;
 import org.jabref.logic.exporter.ExporterFactory;
 import org.jabref.logic.exporter.SaveException;
+import org.jabref.logic.exporter.SelfContainedSaveConfiguration;
+import org.jabref.logic.exporter.StreamingBibDatabaseWriter;
 import org.jabref.logic.importer.ParserResult;
+import org.jabref.logic.importer.fileformat.BibtexImporter;
 import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.logic.l10n.Localization;
+import org.jabref.logic.os.OS;
+import org.jabref.logic.preferences.CliPreferences;
 import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.util.DummyFileUpdateMonitor;
 
 import com.airhacks.afterburner.injection.Injector;
 import org.jspecify.annotations.NonNull;
@@ -48,8 +58,16 @@ public class Convert implements Runnable {
     @Option(names = {"--output-format"}, description = "Output format")
     private String outputFormat = "bibtex";
 
+    @Option(names = {"--streaming"}, description = "Convert a BibTeX file to a BibTeX file entry by entry with bounded memory. The entries keep their order and are not cleaned up.")
+    private boolean streaming;
+
     @Override
     public void run() {
+        if (streaming) {
+            convertStreaming();
+            return;
+        }
+
         Optional<ParserResult> parserResult = ArgumentProcessor.importFile(inputFile, inputFormat, argumentProcessor.cliPreferences, sharedOptions.porcelain);
         if (parserResult.isEmpty()) {
             System.out.println(Localization.lang("Unable to open file '%0'.", inputFile));
@@ -73,6 +91,47 @@ public class Convert implements Runnable {
         exportFile(parserResult.get(), outputFile, outputFormat);
     }
 
+    private void convertStreaming() {
+        boolean bibtexInput = (inputFormat == null) || "bibtex".equalsIgnoreCase(inputFormat);
+        if (!bibtexInput || !"bibtex".equalsIgnoreCase(outputFormat) || (outputFile == null)) {
+            System.out.println(Localization.lang("Streaming conversion supports BibTeX input and output files only."));
+            return;
+        }
+
+        if (!sharedOptions.porcelain) {
+            System.out.println(Localization.lang("Converting '%0' to '%1'.", inputFile, outputFormat));
+        }
+
+        CliPreferences cliPreferences = argumentProcessor.cliPreferences;
+        try (AtomicFileWriter fileWriter = new AtomicFileWriter(outputFile, StandardCharsets.UTF_8)) {
+            SelfContainedSaveConfiguration saveConfiguration = (SelfContainedSaveConfiguration) new SelfContainedSaveConfiguration()
+                    .withReformatOnSave(cliPreferences.getLibraryPreferences().shouldAlwaysReformatOnSave());
+            StreamingBibDatabaseWriter databaseWriter = new StreamingBibDatabaseWriter(
+                    new BibWriter(fileWriter, OS.NEWLINE),
+                    saveConfiguration,
+                    cliPreferences.getFieldPreferences(),
+                    cliPreferences.getCitationKeyPatternPreferences(),
+                    argumentProcessor.entryTypesManager,
+                    cliPreferences.getLibraryPreferences().getDefaultBibDatabaseMode());
+
+            BibtexImporter importer = new BibtexImporter(cliPreferences.getImportFormatPreferences(), new DummyFileUpdateMonitor());
+            ParserResult parserResult = importer.importDatabase(Path.of(inputFile), databaseWriter);
+            databaseWriter.finish(parserResult.getDatabase().getEpilog());
+
+            if (parserResult.hasWarnings()) {
+                System.out.println(parserResult.getErrorMessage());
+            }
+            if (fileWriter.hasEncodingProblems()) {
+                System.err.println(Localization.lang("Warning") + ": "
+                        + Localization.lang("UTF-8 could not be used to encode the following characters: %0", fileWriter.getEncodingProblems()));
+            }
+            System.out.println(Localization.lang("Saved %0.", outputFile));
+        } catch (IOException | UncheckedIOException ex) {
+            LOGGER.error("Could not convert file '{}'.", inputFile, ex);
+            System.err.println(Localization.lang("Could not save file.") + "\n" + ex.getLocalizedMessage());
+        }
+    }
+
     protected void exportFile(@NonNull ParserResult parserResult, @NonNull Path outputFile, String format) {
         if (!sharedOptions.porcelain) {
             System.out.println(Localization.lang("Exporting '%0'.", outputFile));
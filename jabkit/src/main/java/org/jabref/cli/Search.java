@@ -55,6 +55,9 @@ class Search implements Runnable {
     @Option(names = {"--output-format"}, description = "Output format: bib, txt, etc.")
     private String outputFormat = "bibtex";
 
+    @Option(names = {"--in-memory"}, description = "Search without starting a Postgres server. Regular expressions follow the syntax of Java instead of Postgres.")
+    private boolean inMemory;
+
     @Override
     public void run() {
         Optional<ParserResult> parserResult = ArgumentProcessor.importFile(
@@ -72,7 +75,6 @@ class Search implements Runnable {
             return;
         }
 
-        PostgreServer postgreServer = new PostgreServer();
         IndexManager.clearOldSearchIndices();
 
         SearchPreferences searchPreferences = argumentProcessor.cliPreferences.getSearchPreferences();
@@ -80,6 +82,7 @@ class Search implements Runnable {
 
         BibDatabaseContext databaseContext = parserResult.get().getDatabaseContext();
         List<BibEntry> matches;
+        PostgreServer postgreServer = inMemory ? null : new PostgreServer();
         try {
             // extract current thread task executor from indexManager
             matches = new DatabaseSearcher(
@@ -91,6 +94,10 @@ class Search implements Runnable {
         } catch (IOException ex) {
             LOGGER.error("Error occurred when searching", ex);
             return;
+        } finally {
+            if (postgreServer != null) {
+                postgreServer.shutdown();
+            }
         }
 
         // export matches
@@ -342,6 +342,17 @@ val maintainersProvider: Provider<String> = extractMaintainers.flatMap {
 
 val versionProvider = providers.gradleProperty("projVersionInfo").orElse("100.0.0")
 
+// The data directory of the search index depends on the major version of the embedded Postgres binaries
+val postgresVersionProvider: Provider<String> = configurations.runtimeClasspath.flatMap { classpath ->
+    classpath.incoming.resolutionResult.rootComponent.map { root ->
+        root.dependencies
+            .filterIsInstance<org.gradle.api.artifacts.result.ResolvedDependencyResult>()
+            .map { it.selected.moduleVersion }
+            .first { it != null && it.group == "io.zonky.test.postgres" && it.name.startsWith("embedded-postgres-binaries-") }!!
+            .version
+    }
+}
+
 val year = Calendar.getInstance().get(Calendar.YEAR).toString()
 
 val azureInstrumentationKey = providers.environmentVariable("AzureInstrumentationKey").orElse("")
@@ -362,6 +373,7 @@ tasks.named<ProcessResources>("processResources") {
     inputs.property("version", versionProvider)
     inputs.property("year", year)
     inputs.property("maintainers", maintainersProvider)
+    inputs.property("postgresVersion", postgresVersionProvider)
     inputs.property("azureInstrumentationKey", azureInstrumentationKey)
     inputs.property("springerNatureAPIKey", springerNatureAPIKey)
     inputs.property("astrophysicsDataSystemAPIKey", astrophysicsDataSystemAPIKey)
@@ -376,6 +388,7 @@ tasks.named<ProcessResources>("processResources") {
                 "version" to inputs.properties["version"],
                 "year" to inputs.properties["year"],
                 "maintainers" to inputs.properties["maintainers"],
+                "postgresVersion" to inputs.properties["postgresVersion"],
                 "azureInstrumentationKey" to inputs.properties["azureInstrumentationKey"],
                 "springerNatureAPIKey" to inputs.properties["springerNatureAPIKey"],
                 "astrophysicsDataSystemAPIKey" to inputs.properties["astrophysicsDataSystemAPIKey"],
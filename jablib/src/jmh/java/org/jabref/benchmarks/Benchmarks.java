@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
 
 import org.jabref.logic.bibtex.FieldPreferences;
@@ -14,6 +15,7 @@ import org.jabref.logic.exporter.SelfContainedSaveConfiguration;
 import org.jabref.logic.formatter.bibtexfields.HtmlToLatexFormatter;
 import org.jabref.logic.importer.ParserResult;
 import org.jabref.logic.importer.fileformat.BibtexParser;
+import org.jabref.logic.importer.fileformat.ParallelBibtexParser;
 import org.jabref.logic.layout.format.HTMLChars;
 import org.jabref.logic.layout.format.LatexToUnicodeFormatter;
 import org.jabref.logic.os.OS;
@@ -99,21 +101,26 @@ public class Benchmarks {
         return parser.parse(new StringReader(bibtexString));
     }
 
+    @Benchmark
+    public ParserResult parseInParallel() throws IOException {
+        CliPreferences preferences = Injector.instantiateModelOrService(CliPreferences.class);
+        ParallelBibtexParser parser = new ParallelBibtexParser(preferences.getImportFormatPreferences());
+        return parser.parse(bibtexString);
+    }
+
     @Benchmark
     public String write() throws IOException {
         return getOutputWriter().toString();
     }
 
     @Benchmark
-    public List<BibEntry> search() {
-        // TODO: Create Benchmark for LuceneSearch
-        return List.of();
+    public Optional<BibEntry> getEntryByCitationKey() {
+        return database.getEntryByCitationKey("id500");
     }
 
     @Benchmark
-    public List<BibEntry> index() {
-        // TODO: Create Benchmark for LuceneIndexer
-        return List.of();
+    public long getNumberOfCitationKeyOccurrences() {
+        return database.getNumberOfCitationKeyOccurrences("id500");
     }
 
     @Benchmark
@@ -0,0 +1,103 @@
+package org.jabref.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jabref.logic.citationstyle.CSLAdapter;
+import org.jabref.logic.citationstyle.CSLStyleLoader;
+import org.jabref.logic.citationstyle.CitationStyle;
+import org.jabref.logic.citationstyle.CitationStyleOutputFormat;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.database.BibDatabaseMode;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.metadata.MetaData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Benchmarks the number of citations per second rendered by the CSL engines, as done by the preview and the CAYW endpoint:
+ * citing one entry after another with a single style and output format, alternating between two styles and output formats, and citing from several threads.
+ * For comparison, the bibliography of the whole library is rendered, too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CitationStyleBenchmarks {
+
+    @Param({"1000"})
+    private int numberOfEntries;
+
+    private final BibEntryTypesManager entryTypesManager = new BibEntryTypesManager();
+
+    private CSLAdapter cslAdapter;
+    private BibDatabaseContext databaseContext;
+    private List<BibEntry> entries;
+    private String defaultStyle;
+    private String otherStyle;
+
+    /**
+     * The position of each benchmark thread in the library
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        int next(int numberOfEntries) {
+            index = (index + 1) % numberOfEntries;
+            return index;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        databaseContext = new BibDatabaseContext(new BibDatabase(SyntheticLibrary.createEntries(numberOfEntries)), new MetaData());
+        databaseContext.setMode(BibDatabaseMode.BIBLATEX);
+        entries = databaseContext.getDatabase().getEntries();
+        cslAdapter = new CSLAdapter();
+
+        defaultStyle = CSLStyleLoader.getDefaultStyle().getSource();
+        otherStyle = CSLStyleLoader.getInternalStyles().stream()
+                                   .map(CitationStyle::getSource)
+                                   .filter(source -> !source.equals(defaultStyle))
+                                   .findFirst()
+                                   .orElse(defaultStyle);
+    }
+
+    @Benchmark
+    public String citation(Cursor cursor) throws IOException {
+        return cite(cursor, defaultStyle, CitationStyleOutputFormat.HTML);
+    }
+
+    @Benchmark
+    public String alternatingStylesAndOutputFormats(Cursor cursor) throws IOException {
+        boolean even = cursor.index % 2 == 0;
+        return cite(cursor, even ? defaultStyle : otherStyle, even ? CitationStyleOutputFormat.HTML : CitationStyleOutputFormat.TEXT);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String concurrentCitations(Cursor cursor) throws IOException {
+        return cite(cursor, defaultStyle, CitationStyleOutputFormat.HTML);
+    }
+
+    @Benchmark
+    public List<String> bibliography() throws IOException {
+        return cslAdapter.makeBibliography(entries, defaultStyle, CitationStyleOutputFormat.HTML, databaseContext, entryTypesManager);
+    }
+
+    private String cite(Cursor cursor, String style, CitationStyleOutputFormat outputFormat) throws IOException {
+        BibEntry entry = entries.get(cursor.next(numberOfEntries));
+        return cslAdapter.makeCitation(List.of(entry), style, outputFormat, databaseContext, entryTypesManager).getText();
+    }
+}
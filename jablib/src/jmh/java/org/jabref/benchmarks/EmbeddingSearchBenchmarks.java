@@ -0,0 +1,91 @@
+package org.jabref.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jabref.logic.ai.ingestion.HnswIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the search of the {@link HnswIndex} with the exhaustive search, which compares the query with every embedding.
+ * <p>
+ * The embeddings are clustered like the embeddings of the segments of documents. They have the dimension of the default embedding model.
+ * The recall of the index on such embeddings, i.e., the fraction of the exact ten nearest neighbours found by the index, is asserted by
+ * {@code HnswIndexTest#searchFindsMostOfTheExactNeighboursOfClusteredEmbeddings}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmbeddingSearchBenchmarks {
+
+    private static final int DIMENSION = 384;
+    private static final int NUMBER_OF_CLUSTERS = 200;
+    private static final int MAX_RESULTS = 10;
+    private static final int NUMBER_OF_QUERIES = 100;
+
+    @Param({"10000", "50000"})
+    private int numberOfEmbeddings;
+
+    private final Random random = new Random(42);
+    private HnswIndex index;
+    private List<String> ids;
+    private List<float[]> queries;
+    private int nextQuery;
+
+    @Setup
+    public void setUp() {
+        List<float[]> clusters = new ArrayList<>(NUMBER_OF_CLUSTERS);
+        for (int i = 0; i < NUMBER_OF_CLUSTERS; i++) {
+            clusters.add(randomVector(null));
+        }
+
+        index = new HnswIndex();
+        ids = new ArrayList<>(numberOfEmbeddings);
+        for (int i = 0; i < numberOfEmbeddings; i++) {
+            String id = "embedding" + i;
+            ids.add(id);
+            index.add(id, randomVector(clusters.get(random.nextInt(NUMBER_OF_CLUSTERS))));
+        }
+
+        queries = new ArrayList<>(NUMBER_OF_QUERIES);
+        for (int i = 0; i < NUMBER_OF_QUERIES; i++) {
+            queries.add(randomVector(clusters.get(random.nextInt(NUMBER_OF_CLUSTERS))));
+        }
+    }
+
+    @Benchmark
+    public List<HnswIndex.Neighbour> indexSearch() {
+        return index.search(nextQuery(), MAX_RESULTS, _ -> true);
+    }
+
+    @Benchmark
+    public List<HnswIndex.Neighbour> exhaustiveSearch() {
+        return index.searchExhaustively(nextQuery(), MAX_RESULTS, ids);
+    }
+
+    private float[] nextQuery() {
+        nextQuery = (nextQuery + 1) % NUMBER_OF_QUERIES;
+        return queries.get(nextQuery);
+    }
+
+    /**
+     * @param center the center of the cluster of the vector, null for a vector without cluster
+     */
+    private float[] randomVector(float[] center) {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian() * (center == null ? 1 : 0.5f) + (center == null ? 0 : center[i]);
+        }
+        return vector;
+    }
+}
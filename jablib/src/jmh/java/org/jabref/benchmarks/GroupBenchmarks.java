@@ -0,0 +1,123 @@
+package org.jabref.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import org.jabref.logic.groups.GroupMembershipIndex;
+import org.jabref.logic.search.IndexManager;
+import org.jabref.logic.search.PostgreServer;
+import org.jabref.logic.util.CurrentThreadTaskExecutor;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.groups.AutomaticKeywordGroup;
+import org.jabref.model.groups.GroupHierarchyType;
+import org.jabref.model.groups.GroupTreeNode;
+import org.jabref.model.groups.SearchGroup;
+import org.jabref.model.search.SearchFlags;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks the group operations done when opening a library and when editing entries:
+ * computing the members of a search group, updating them after an entry change, and creating the subgroups of an automatic keyword group.
+ * The hit counts of the groups are computed both by matching all entries and by the {@link GroupMembershipIndex}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GroupBenchmarks {
+
+    @Param({"1000", "10000", "100000"})
+    private int numberOfEntries;
+
+    private PostgreServer postgreServer;
+    private IndexManager indexManager;
+    private ObservableList<BibEntry> entries;
+    private SearchGroup searchGroup;
+    private AutomaticKeywordGroup automaticKeywordGroup;
+    private BibEntry changedEntry;
+    private Path indexDirectory;
+    private List<GroupTreeNode> keywordGroups;
+    private GroupMembershipIndex groupMembershipIndex;
+    private BibEntry indexedEntry;
+    private int numberOfChanges;
+
+    @Setup
+    public void setUp() throws IOException {
+        indexDirectory = Files.createTempDirectory("jabref-benchmark-index");
+        BibDatabaseContext databaseContext = SearchBenchmarks.createDatabaseContext(numberOfEntries, indexDirectory);
+        entries = databaseContext.getDatabase().getEntries();
+        changedEntry = entries.get(entries.size() / 2);
+        postgreServer = new PostgreServer();
+        indexManager = new IndexManager(databaseContext, new CurrentThreadTaskExecutor(), SearchBenchmarks.createPreferences(), postgreServer);
+
+        searchGroup = new SearchGroup("Recent graph papers", GroupHierarchyType.INDEPENDENT, "title = graph AND year =~ \"^20\"", EnumSet.noneOf(SearchFlags.class));
+        automaticKeywordGroup = new AutomaticKeywordGroup("Keywords", GroupHierarchyType.INDEPENDENT, StandardField.KEYWORDS, ',', '>');
+
+        // A library without search index, so that changing an entry updates the group membership index only
+        BibDatabaseContext groupsContext = new BibDatabaseContext(new BibDatabase(SyntheticLibrary.createEntries(numberOfEntries)));
+        keywordGroups = automaticKeywordGroup.createSubgroups(FXCollections.unmodifiableObservableList(groupsContext.getDatabase().getEntries()));
+        groupMembershipIndex = new GroupMembershipIndex(groupsContext);
+        keywordGroups.forEach(groupMembershipIndex::getHitCount);
+        indexedEntry = groupsContext.getDatabase().getEntries().get(numberOfEntries / 2);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        groupMembershipIndex.close();
+        indexManager.closeAndWait();
+        postgreServer.shutdown();
+        FileUtils.deleteDirectory(indexDirectory.toFile());
+    }
+
+    @Benchmark
+    public long searchGroupMatching() {
+        searchGroup.setMatchedEntries(indexManager.search(searchGroup.getSearchQuery()).getMatchedEntries());
+        return entries.stream().filter(searchGroup::contains).count();
+    }
+
+    @Benchmark
+    public boolean searchGroupUpdateAfterEntryChange() {
+        searchGroup.updateMatches(changedEntry, indexManager.isEntryMatched(changedEntry, searchGroup.getSearchQuery()));
+        return searchGroup.contains(changedEntry);
+    }
+
+    @Benchmark
+    public List<GroupTreeNode> automaticKeywordGroupSubgroups() {
+        return automaticKeywordGroup.createSubgroups(FXCollections.unmodifiableObservableList(entries));
+    }
+
+    @Benchmark
+    public int groupHitCountsByMatching() {
+        return keywordGroups.stream().mapToInt(group -> group.findMatches(entries).size()).sum();
+    }
+
+    @Benchmark
+    public int groupHitCountsAfterEntryChange() {
+        indexedEntry.setField(StandardField.KEYWORDS, (numberOfChanges++ % 2 == 0) ? "Physics > Quantum" : "Statistics");
+        return keywordGroups.stream().mapToInt(groupMembershipIndex::getHitCount).sum();
+    }
+
+    @Benchmark
+    public int unionOfGroups() {
+        return groupMembershipIndex.getUnion(keywordGroups).cardinality();
+    }
+}
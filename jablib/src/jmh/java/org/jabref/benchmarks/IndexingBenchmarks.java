@@ -0,0 +1,82 @@
+package org.jabref.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.jabref.logic.preferences.CliPreferences;
+import org.jabref.logic.search.PostgreServer;
+import org.jabref.logic.search.indexing.BibFieldsIndexer;
+import org.jabref.logic.search.indexing.InMemoryBibFieldsIndexer;
+import org.jabref.logic.util.BackgroundTask;
+import org.jabref.model.database.BibDatabaseContext;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the full indexing of the bib fields, as done when a library is opened.
+ * A single run takes seconds for large libraries; therefore, each run is measured separately.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class IndexingBenchmarks {
+
+    private static final BackgroundTask<Void> TASK = BackgroundTask.wrap(() -> {
+    });
+
+    @Param({"1000", "10000", "100000"})
+    private int numberOfEntries;
+
+    private PostgreServer postgreServer;
+    private BibDatabaseContext databaseContext;
+    private CliPreferences preferences;
+    private Path indexDirectory;
+
+    @Setup
+    public void setUp() throws IOException {
+        indexDirectory = Files.createTempDirectory("jabref-benchmark-index");
+        databaseContext = SearchBenchmarks.createDatabaseContext(numberOfEntries, indexDirectory);
+        preferences = SearchBenchmarks.createPreferences();
+        postgreServer = new PostgreServer();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        postgreServer.shutdown();
+        FileUtils.deleteDirectory(indexDirectory.toFile());
+    }
+
+    @Benchmark
+    public String indexBibFieldsInPostgres() {
+        BibFieldsIndexer indexer = new BibFieldsIndexer(preferences.getBibEntryPreferences(), databaseContext, postgreServer.getConnection());
+        indexer.updateOnStart(TASK);
+        indexer.closeAndWait();
+        return indexer.getTable();
+    }
+
+    @Benchmark
+    public int indexBibFieldsInMemory() {
+        InMemoryBibFieldsIndexer indexer = new InMemoryBibFieldsIndexer(preferences.getBibEntryPreferences(), databaseContext);
+        indexer.updateOnStart(TASK);
+        int numberOfIndexedEntries = indexer.getEntryIds(null).size();
+        indexer.close();
+        return numberOfIndexedEntries;
+    }
+}
@@ -0,0 +1,87 @@
+package org.jabref.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.jabref.logic.FilePreferences;
+import org.jabref.logic.search.indexing.DefaultLinkedFilesIndexer;
+import org.jabref.logic.util.BackgroundTask;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.LinkedFile;
+import org.jabref.model.metadata.MetaData;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmarks indexing the linked files of a library with the PDF files of the test resources as corpus.
+ * The benchmarks are run from the <code>jablib</code> directory; another corpus can be set using the system property <code>jabref.benchmarks.pdfs</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LinkedFilesIndexingBenchmarks {
+
+    private static final BackgroundTask<Void> TASK = BackgroundTask.wrap(() -> {
+    });
+
+    private BibDatabaseContext databaseContext;
+    private FilePreferences filePreferences;
+    private Path indexDirectory;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path corpus = Path.of(System.getProperty("jabref.benchmarks.pdfs", "src/test/resources/pdfs")).toAbsolutePath();
+        List<BibEntry> entries;
+        try (Stream<Path> files = Files.list(corpus)) {
+            entries = files.filter(file -> file.getFileName().toString().endsWith(".pdf"))
+                           .map(file -> new BibEntry().withFiles(List.of(new LinkedFile("", file.getFileName().toString(), "PDF"))))
+                           .toList();
+        }
+
+        filePreferences = mock(FilePreferences.class);
+        when(filePreferences.getUserAndHost()).thenReturn("benchmark");
+        when(filePreferences.getMainFileDirectory()).thenReturn(Optional.of(corpus));
+
+        indexDirectory = Files.createTempDirectory("jabref-benchmark-fulltext-index");
+        databaseContext = spy(new BibDatabaseContext(new BibDatabase(entries), new MetaData()));
+        when(databaseContext.getFulltextIndexPath()).thenReturn(indexDirectory);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(indexDirectory.toFile());
+    }
+
+    @Benchmark
+    public DefaultLinkedFilesIndexer rebuildIndex() throws IOException {
+        DefaultLinkedFilesIndexer indexer = new DefaultLinkedFilesIndexer(databaseContext, filePreferences);
+        indexer.rebuildIndex(TASK);
+        indexer.closeAndWait();
+        return indexer;
+    }
+}
@@ -0,0 +1,111 @@
+package org.jabref.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import javafx.beans.property.SimpleBooleanProperty;
+
+import org.jabref.logic.FilePreferences;
+import org.jabref.logic.preferences.CliPreferences;
+import org.jabref.logic.search.IndexManager;
+import org.jabref.logic.search.PostgreServer;
+import org.jabref.logic.util.CurrentThreadTaskExecutor;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntryPreferences;
+import org.jabref.model.metadata.MetaData;
+import org.jabref.model.search.SearchFlags;
+import org.jabref.model.search.query.SearchQuery;
+import org.jabref.model.search.query.SearchResults;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmarks searching the bib fields of synthetic libraries of different sizes for representative query shapes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SearchBenchmarks {
+
+    @Param({"1000", "10000", "100000"})
+    private int numberOfEntries;
+
+    @Param({"postgres", "in-memory"})
+    private String backend;
+
+    @Param({
+            "search",                                   // unfielded, the most common search
+            "author = smith",                           // fielded contains
+            "author == \"John Smith\"",                 // exact match on split values
+            "title =~ \"graph .* 1[0-9]+$\"",           // regular expression
+            "keywords = testing AND NOT year = 2001",   // boolean combination
+            "(search OR index) AND journal = nature"    // nested boolean combination
+    })
+    private String query;
+
+    private PostgreServer postgreServer;
+    private BibDatabaseContext databaseContext;
+    private CliPreferences preferences;
+    private IndexManager indexManager;
+    private SearchQuery searchQuery;
+    private Path indexDirectory;
+
+    @Setup
+    public void setUp() throws IOException {
+        indexDirectory = Files.createTempDirectory("jabref-benchmark-index");
+        databaseContext = createDatabaseContext(numberOfEntries, indexDirectory);
+        preferences = createPreferences();
+        postgreServer = new PostgreServer();
+        // The current thread task executor ensures that the index is complete when the constructor returns
+        indexManager = "postgres".equals(backend)
+                       ? new IndexManager(databaseContext, new CurrentThreadTaskExecutor(), preferences, postgreServer)
+                       : new IndexManager(databaseContext, new CurrentThreadTaskExecutor(), preferences);
+        searchQuery = new SearchQuery(query, EnumSet.noneOf(SearchFlags.class));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        indexManager.closeAndWait();
+        postgreServer.shutdown();
+        FileUtils.deleteDirectory(indexDirectory.toFile());
+    }
+
+    @Benchmark
+    public SearchResults search() {
+        return indexManager.search(searchQuery);
+    }
+
+    static BibDatabaseContext createDatabaseContext(int numberOfEntries, Path indexDirectory) {
+        BibDatabaseContext databaseContext = spy(new BibDatabaseContext(new BibDatabase(SyntheticLibrary.createEntries(numberOfEntries)), new MetaData()));
+        when(databaseContext.getFulltextIndexPath()).thenReturn(indexDirectory);
+        return databaseContext;
+    }
+
+    static CliPreferences createPreferences() {
+        CliPreferences preferences = mock(CliPreferences.class);
+        FilePreferences filePreferences = mock(FilePreferences.class);
+        BibEntryPreferences bibEntryPreferences = mock(BibEntryPreferences.class);
+        when(preferences.getFilePreferences()).thenReturn(filePreferences);
+        when(preferences.getBibEntryPreferences()).thenReturn(bibEntryPreferences);
+        when(filePreferences.fulltextIndexLinkedFilesProperty()).thenReturn(new SimpleBooleanProperty(false));
+        when(bibEntryPreferences.getKeywordSeparator()).thenReturn(',');
+        return preferences;
+    }
+}
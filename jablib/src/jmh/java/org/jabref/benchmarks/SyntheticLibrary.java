@@ -0,0 +1,60 @@
+package org.jabref.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+/**
+ * Creates reproducible libraries of arbitrary size for the benchmarks.
+ * The field values are drawn from small vocabularies, so that searches and groups match a realistic share of the entries.
+ */
+final class SyntheticLibrary {
+
+    private static final String[] FAMILY_NAMES = {"Smith", "Müller", "Garc{\\'i}a", "Nguyen", "Kowalski", "O'Brien", "Tanaka", "Ivanova", "Rossi", "Dubois"};
+    private static final String[] GIVEN_NAMES = {"John", "Anna", "Carlos", "Linh", "Piotr", "Mary", "Hiro", "Olga", "Marco", "Claire"};
+    private static final String[] TITLE_WORDS = {"search", "index", "model", "neural", "graph", "database", "learning", "analysis", "system", "quantum", "{B}ayesian", "distributed"};
+    private static final String[] KEYWORDS = {"Computer Science > Databases", "Computer Science > Machine Learning", "Physics > Quantum", "Statistics", "Software Engineering > Testing", "Open Science"};
+    private static final String[] JOURNALS = {"Journal of Software Engineering", "Information Systems", "Nature", "Physical Review Letters", "ACM Computing Surveys"};
+    private static final StandardEntryType[] TYPES = {StandardEntryType.Article, StandardEntryType.InProceedings, StandardEntryType.Book, StandardEntryType.TechReport};
+
+    private SyntheticLibrary() {
+    }
+
+    static List<BibEntry> createEntries(int numberOfEntries) {
+        Random random = new Random(42);
+        List<BibEntry> entries = new ArrayList<>(numberOfEntries);
+        for (int i = 0; i < numberOfEntries; i++) {
+            entries.add(new BibEntry(TYPES[random.nextInt(TYPES.length)])
+                    .withCitationKey(FAMILY_NAMES[i % FAMILY_NAMES.length] + i)
+                    .withField(StandardField.AUTHOR, createAuthors(random))
+                    .withField(StandardField.TITLE, createTitle(random, i))
+                    .withField(StandardField.JOURNAL, JOURNALS[random.nextInt(JOURNALS.length)])
+                    .withField(StandardField.YEAR, String.valueOf(1990 + random.nextInt(35)))
+                    .withField(StandardField.KEYWORDS, KEYWORDS[random.nextInt(KEYWORDS.length)] + ", " + KEYWORDS[random.nextInt(KEYWORDS.length)])
+                    .withField(StandardField.ABSTRACT, createTitle(random, i) + ". " + createTitle(random, i) + "."));
+        }
+        return entries;
+    }
+
+    private static String createAuthors(Random random) {
+        int numberOfAuthors = 1 + random.nextInt(4);
+        List<String> authors = new ArrayList<>(numberOfAuthors);
+        for (int i = 0; i < numberOfAuthors; i++) {
+            authors.add(GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)] + " " + FAMILY_NAMES[random.nextInt(FAMILY_NAMES.length)]);
+        }
+        return String.join(" and ", authors);
+    }
+
+    private static String createTitle(Random random, int number) {
+        StringBuilder title = new StringBuilder("On");
+        int numberOfWords = 3 + random.nextInt(5);
+        for (int i = 0; i < numberOfWords; i++) {
+            title.append(' ').append(TITLE_WORDS[random.nextInt(TITLE_WORDS.length)]);
+        }
+        return title.append(' ').append(number).toString();
+    }
+}
@@ -1,19 +1,19 @@
 package org.jabref.logic.ai.ingestion;
 
 import java.io.IOException;
-import java.io.StringWriter;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import javafx.beans.property.ReadOnlyBooleanProperty;
 
-import org.jabref.logic.pdf.InterruptablePDFTextStripper;
+import org.jabref.logic.pdf.PdfTextCache;
 import org.jabref.logic.util.io.FileUtil;
-import org.jabref.logic.xmp.XmpUtilReader;
 
+import com.airhacks.afterburner.injection.Injector;
 import dev.langchain4j.data.document.DefaultDocument;
 import dev.langchain4j.data.document.Document;
-import org.apache.pdfbox.pdmodel.PDDocument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,9 +21,16 @@ public class FileToDocument {
     private static final Logger LOGGER = LoggerFactory.getLogger(FileToDocument.class);
 
     private final ReadOnlyBooleanProperty shutdownSignal;
+    private final PdfTextCache pdfTextCache;
 
     public FileToDocument(ReadOnlyBooleanProperty shutdownSignal) {
+        // Using Injector to avoid passing the cache through the tasks of the AI features
+        this(shutdownSignal, Injector.instantiateModelOrService(PdfTextCache.class));
+    }
+
+    public FileToDocument(ReadOnlyBooleanProperty shutdownSignal, PdfTextCache pdfTextCache) {
         this.shutdownSignal = shutdownSignal;
+        this.pdfTextCache = pdfTextCache;
     }
 
     public Optional<Document> fromFile(Path path) {
@@ -38,20 +45,14 @@ public class FileToDocument {
     private Optional<Document> fromPdfFile(Path path) {
         // This method is private to ensure that the path is really pointing to PDF file (determined by extension).
 
-        try (PDDocument document = new XmpUtilReader().loadWithAutomaticDecryption(path)) {
-            int lastPage = document.getNumberOfPages();
-            StringWriter writer = new StringWriter();
-
-            InterruptablePDFTextStripper stripper = new InterruptablePDFTextStripper(shutdownSignal);
-            stripper.setStartPage(1);
-            stripper.setEndPage(lastPage);
-            stripper.writeText(document, writer);
-
-            if (shutdownSignal.get()) {
+        try {
+            // The text is extracted once per file content and shared with the fulltext index
+            Optional<List<PdfTextCache.Page>> pages = pdfTextCache.getPages(path, shutdownSignal::get);
+            if (pages.isEmpty() || shutdownSignal.get()) {
                 return Optional.empty();
             }
 
-            return fromString(writer.toString());
+            return fromString(pages.get().stream().map(PdfTextCache.Page::text).collect(Collectors.joining("\n")));
         } catch (IOException e) {
             LOGGER.error("An error occurred while reading the PDF file: {}", path, e);
             return Optional.empty();
@@ -0,0 +1,417 @@
+package org.jabref.logic.ai.ingestion;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An approximate nearest neighbour index of embeddings using the cosine similarity. It is based on a hierarchical navigable small world graph,
+ * see Malkov and Yashunin: "Efficient and robust approximate nearest neighbor search using Hierarchical Navigable Small World graphs".
+ * <p>
+ * The vectors are kept in {@link OffHeapVectors}. The graph is written to the map passed to the constructor,
+ * so that it is stored together with the embeddings if the map belongs to the same {@link org.h2.mvstore.MVStore}.
+ * The vectors are not stored twice: they are read from the embeddings when the graph is loaded.
+ * <p>
+ * Removed embeddings stay in the graph to keep it connected, but are not returned by searches.
+ * If more than a quarter of the graph consists of removed embeddings, the graph is rebuilt.
+ * Adding an embedding of another dimension, i.e., of another embedding model, clears the index.
+ */
+public class HnswIndex {
+
+    /**
+     * A node of the persisted graph. {@code neighbours[level]} contains the indices of the nodes connected on that level.
+     * The id is null if the embedding has been removed.
+     */
+    record Node(@Nullable String id, int[][] neighbours) implements Serializable {
+    }
+
+    public record Neighbour(String id, double cosineSimilarity) {
+    }
+
+    private record Candidate(int node, float similarity) {
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HnswIndex.class);
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator.comparingDouble(Candidate::similarity).reversed();
+    private static final Comparator<Candidate> WORST_FIRST = Comparator.comparingDouble(Candidate::similarity);
+
+    private static final int MAX_NEIGHBOURS = 16;
+    private static final int MAX_NEIGHBOURS_LEVEL_0 = 2 * MAX_NEIGHBOURS;
+    private static final int MAX_LEVEL = 16;
+    private static final int EF_CONSTRUCTION = 100;
+    private static final int EF_SEARCH = 100;
+    private static final double LEVEL_MULTIPLIER = 1 / Math.log(MAX_NEIGHBOURS);
+
+    private final Map<Integer, Node> persistedNodes;
+    private final Random random = new Random(0);
+
+    // The embedding id of each node, null if the embedding has been removed
+    private final List<String> ids = new ArrayList<>();
+    private final List<int[][]> neighbours = new ArrayList<>();
+    private final Map<String, Integer> nodeIndices = new HashMap<>();
+    private @Nullable OffHeapVectors vectors;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private int numberOfRemovedNodes;
+
+    private int[] visited = new int[0];
+    private int visitMark;
+
+    /**
+     * Creates an index which is kept in memory only.
+     */
+    public HnswIndex() {
+        this(new HashMap<>());
+    }
+
+    HnswIndex(Map<Integer, Node> persistedNodes) {
+        this.persistedNodes = persistedNodes;
+    }
+
+    /**
+     * Loads the persisted graph and brings it in line with the given embeddings: Nodes of embeddings which do not exist anymore are marked as removed
+     * and embeddings which are not part of the graph are added.
+     *
+     * @param vectorLookup returns the vector of an embedding, or null if there is no embedding with the given id
+     */
+    synchronized void load(Collection<String> embeddingIds, Function<String, float[]> vectorLookup) {
+        clearInMemory();
+        List<float[]> loadedVectors = new ArrayList<>(persistedNodes.size());
+        for (int node = 0; node < persistedNodes.size(); node++) {
+            Node persistedNode = persistedNodes.get(node);
+            if (persistedNode == null) {
+                LOGGER.warn("The index of the embeddings is incomplete. Rebuilding it.");
+                loadedVectors.clear();
+                clear();
+                break;
+            }
+
+            String id = persistedNode.id();
+            float[] vector = id == null ? null : vectorLookup.apply(id);
+            if (vector == null) {
+                numberOfRemovedNodes++;
+                id = null;
+            } else {
+                nodeIndices.put(id, node);
+            }
+            ids.add(id);
+            neighbours.add(persistedNode.neighbours());
+            loadedVectors.add(vector);
+            int level = persistedNode.neighbours().length - 1;
+            if (level > maxLevel) {
+                maxLevel = level;
+                entryPoint = node;
+            }
+        }
+
+        int dimension = loadedVectors.stream().filter(vector -> vector != null).mapToInt(vector -> vector.length).findFirst().orElse(0);
+        if (dimension == 0 || loadedVectors.stream().anyMatch(vector -> vector != null && vector.length != dimension)) {
+            clear();
+        } else {
+            vectors = new OffHeapVectors(dimension);
+            // Removed nodes get a zero vector: they can still be traversed, but do not attract searches
+            float[] zeroVector = new float[dimension];
+            loadedVectors.forEach(vector -> vectors.add(vector == null ? zeroVector : vector));
+        }
+
+        for (String id : embeddingIds) {
+            if (!nodeIndices.containsKey(id)) {
+                float[] vector = vectorLookup.apply(id);
+                if (vector != null) {
+                    add(id, vector);
+                }
+            }
+        }
+        rebuildIfNeeded();
+    }
+
+    /**
+     * Adds the vector of an embedding. If the embedding has already been added, its vector is replaced.
+     */
+    public synchronized void add(String id, float[] vector) {
+        if (nodeIndices.containsKey(id)) {
+            remove(id);
+        }
+        if ((vectors != null) && (vectors.dimension() != vector.length)) {
+            // The embedding model has changed. The vectors of the other model cannot be compared with the ones of the new model.
+            if (!nodeIndices.isEmpty()) {
+                LOGGER.warn("Embedding of dimension {} added to an index of dimension {}. Dropping the {} embeddings of the previous model from the index.",
+                        vector.length, vectors.dimension(), nodeIndices.size());
+            }
+            clear();
+        }
+        if (vectors == null) {
+            vectors = new OffHeapVectors(vector.length);
+        }
+
+        int node = vectors.add(vector);
+        int level = randomLevel();
+        int[][] nodeNeighbours = new int[level + 1][];
+        Arrays.fill(nodeNeighbours, new int[0]);
+        ids.add(id);
+        neighbours.add(nodeNeighbours);
+        nodeIndices.put(id, node);
+
+        Set<Integer> changedNodes = new HashSet<>();
+        changedNodes.add(node);
+        if (entryPoint == -1) {
+            entryPoint = node;
+            maxLevel = level;
+            persist(changedNodes);
+            return;
+        }
+
+        float[] query = vectors.get(node);
+        int closest = entryPoint;
+        for (int currentLevel = maxLevel; currentLevel > level; currentLevel--) {
+            closest = searchLevel(query, closest, 1, currentLevel, _ -> true).getFirst().node();
+        }
+        for (int currentLevel = Math.min(level, maxLevel); currentLevel >= 0; currentLevel--) {
+            List<Candidate> candidates = searchLevel(query, closest, EF_CONSTRUCTION, currentLevel, _ -> true);
+            nodeNeighbours[currentLevel] = selectNeighbours(candidates, maxNeighbours(currentLevel));
+            for (int neighbour : nodeNeighbours[currentLevel]) {
+                connect(neighbour, node, currentLevel);
+                changedNodes.add(neighbour);
+            }
+            closest = candidates.getFirst().node();
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+        persist(changedNodes);
+    }
+
+    public synchronized void remove(String id) {
+        Integer node = nodeIndices.remove(id);
+        if (node == null) {
+            return;
+        }
+        ids.set(node, null);
+        numberOfRemovedNodes++;
+        persistedNodes.put(node, new Node(null, neighbours.get(node).clone()));
+        rebuildIfNeeded();
+    }
+
+    public synchronized void clear() {
+        clearInMemory();
+        persistedNodes.clear();
+    }
+
+    public synchronized int size() {
+        return nodeIndices.size();
+    }
+
+    /**
+     * Searches the approximate nearest neighbours of the query.
+     *
+     * @param accept decides whether an embedding id may be part of the result
+     * @return at most {@code maxResults} neighbours ordered by decreasing similarity
+     */
+    public synchronized List<Neighbour> search(float[] query, int maxResults, Predicate<String> accept) {
+        if ((entryPoint == -1) || (maxResults <= 0)) {
+            return List.of();
+        }
+        float[] normalizedQuery = normalizedQuery(query);
+
+        int closest = entryPoint;
+        for (int currentLevel = maxLevel; currentLevel > 0; currentLevel--) {
+            closest = searchLevel(normalizedQuery, closest, 1, currentLevel, _ -> true).getFirst().node();
+        }
+        IntPredicate acceptNode = node -> (ids.get(node) != null) && accept.test(ids.get(node));
+        return searchLevel(normalizedQuery, closest, Math.max(EF_SEARCH, maxResults), 0, acceptNode)
+                .stream()
+                .limit(maxResults)
+                .map(candidate -> new Neighbour(ids.get(candidate.node()), candidate.similarity()))
+                .toList();
+    }
+
+    /**
+     * Compares the query with each of the given embeddings. This is faster than {@link #search(float[], int, Predicate)}
+     * if only few embeddings are candidates.
+     *
+     * @return at most {@code maxResults} neighbours ordered by decreasing similarity
+     */
+    public synchronized List<Neighbour> searchExhaustively(float[] query, int maxResults, Collection<String> embeddingIds) {
+        if ((vectors == null) || (maxResults <= 0)) {
+            return List.of();
+        }
+        float[] normalizedQuery = normalizedQuery(query);
+
+        PriorityQueue<Candidate> results = new PriorityQueue<>(WORST_FIRST);
+        for (String id : embeddingIds) {
+            Integer node = nodeIndices.get(id);
+            if (node == null) {
+                continue;
+            }
+            results.add(new Candidate(node, vectors.dot(node, normalizedQuery)));
+            if (results.size() > maxResults) {
+                results.poll();
+            }
+        }
+        return results.stream()
+                      .sorted(BEST_FIRST)
+                      .map(candidate -> new Neighbour(ids.get(candidate.node()), candidate.similarity()))
+                      .toList();
+    }
+
+    private float[] normalizedQuery(float[] query) {
+        if (query.length != vectors.dimension()) {
+            throw new IllegalArgumentException("Expected a query of dimension %d, but got %d".formatted(vectors.dimension(), query.length));
+        }
+        return OffHeapVectors.normalize(query);
+    }
+
+    /**
+     * Searches the nodes most similar to the query on one level of the graph.
+     * All nodes are traversed, but only accepted nodes are part of the result.
+     *
+     * @return at most {@code ef} accepted nodes ordered by decreasing similarity
+     */
+    private List<Candidate> searchLevel(float[] query, int entry, int ef, int level, IntPredicate accept) {
+        int mark = nextVisitMark();
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(BEST_FIRST);
+        PriorityQueue<Candidate> results = new PriorityQueue<>(WORST_FIRST);
+
+        Candidate start = new Candidate(entry, vectors.dot(entry, query));
+        visited[entry] = mark;
+        candidates.add(start);
+        if (accept.test(entry)) {
+            results.add(start);
+        }
+
+        while (!candidates.isEmpty()) {
+            Candidate candidate = candidates.poll();
+            if ((results.size() >= ef) && (candidate.similarity() < results.peek().similarity())) {
+                break;
+            }
+            for (int neighbour : neighbours.get(candidate.node())[level]) {
+                if (visited[neighbour] == mark) {
+                    continue;
+                }
+                visited[neighbour] = mark;
+
+                float similarity = vectors.dot(neighbour, query);
+                if ((results.size() < ef) || (similarity > results.peek().similarity())) {
+                    Candidate next = new Candidate(neighbour, similarity);
+                    candidates.add(next);
+                    if (accept.test(neighbour)) {
+                        results.add(next);
+                        if (results.size() > ef) {
+                            results.poll();
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Candidate> sorted = new ArrayList<>(results);
+        sorted.sort(BEST_FIRST);
+        return sorted;
+    }
+
+    /**
+     * Selects neighbours which are more similar to the node than to the already selected neighbours.
+     * This keeps the graph navigable between clusters of similar vectors.
+     *
+     * @param candidates ordered by decreasing similarity to the node
+     */
+    private int[] selectNeighbours(List<Candidate> candidates, int maxNeighbours) {
+        List<Candidate> selected = new ArrayList<>(maxNeighbours);
+        for (Candidate candidate : candidates) {
+            if (selected.size() >= maxNeighbours) {
+                break;
+            }
+            boolean closerToNode = selected.stream().allMatch(other -> vectors.dot(candidate.node(), other.node()) <= candidate.similarity());
+            if (closerToNode) {
+                selected.add(candidate);
+            }
+        }
+        return selected.stream().mapToInt(Candidate::node).toArray();
+    }
+
+    private void connect(int node, int newNeighbour, int level) {
+        int[][] nodeNeighbours = neighbours.get(node);
+        int[] current = nodeNeighbours[level];
+        if (current.length < maxNeighbours(level)) {
+            int[] extended = Arrays.copyOf(current, current.length + 1);
+            extended[current.length] = newNeighbour;
+            nodeNeighbours[level] = extended;
+            return;
+        }
+
+        List<Candidate> candidates = new ArrayList<>(current.length + 1);
+        for (int neighbour : current) {
+            candidates.add(new Candidate(neighbour, vectors.dot(node, neighbour)));
+        }
+        candidates.add(new Candidate(newNeighbour, vectors.dot(node, newNeighbour)));
+        candidates.sort(BEST_FIRST);
+        nodeNeighbours[level] = selectNeighbours(candidates, maxNeighbours(level));
+    }
+
+    private void rebuildIfNeeded() {
+        if (numberOfRemovedNodes * 4 <= ids.size()) {
+            return;
+        }
+
+        LOGGER.debug("Rebuilding the index of {} embeddings, {} embeddings have been removed", nodeIndices.size(), numberOfRemovedNodes);
+        Map<String, float[]> remaining = new HashMap<>();
+        nodeIndices.forEach((id, node) -> remaining.put(id, vectors.get(node)));
+        clear();
+        remaining.forEach(this::add);
+    }
+
+    private void persist(Set<Integer> changedNodes) {
+        for (int node : changedNodes) {
+            // The levels of a node are replaced when the node is changed, thus a shallow copy is sufficient
+            persistedNodes.put(node, new Node(ids.get(node), neighbours.get(node).clone()));
+        }
+    }
+
+    private void clearInMemory() {
+        ids.clear();
+        neighbours.clear();
+        nodeIndices.clear();
+        vectors = null;
+        entryPoint = -1;
+        maxLevel = -1;
+        numberOfRemovedNodes = 0;
+    }
+
+    private int nextVisitMark() {
+        if (visited.length < ids.size()) {
+            visited = Arrays.copyOf(visited, Math.max(ids.size(), 2 * visited.length));
+        }
+        visitMark++;
+        if (visitMark == 0) {
+            Arrays.fill(visited, 0);
+            visitMark = 1;
+        }
+        return visitMark;
+    }
+
+    private int randomLevel() {
+        return Math.min(MAX_LEVEL, (int) (-Math.log(1 - random.nextDouble()) * LEVEL_MULTIPLIER));
+    }
+
+    private static int maxNeighbours(int level) {
+        return level == 0 ? MAX_NEIGHBOURS_LEVEL_0 : MAX_NEIGHBOURS;
+    }
+}
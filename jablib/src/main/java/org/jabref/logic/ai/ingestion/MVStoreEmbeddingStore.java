@@ -4,15 +4,14 @@ import java.io.Serializable;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.UUID;
-import java.util.function.Predicate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 import org.jabref.logic.ai.util.MVStoreBase;
 import org.jabref.logic.l10n.Localization;
@@ -21,7 +20,6 @@ import org.jabref.logic.util.NotificationService;
 import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
-import dev.langchain4j.store.embedding.CosineSimilarity;
 import dev.langchain4j.store.embedding.EmbeddingMatch;
 import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
 import dev.langchain4j.store.embedding.EmbeddingSearchResult;
@@ -31,30 +29,50 @@ import dev.langchain4j.store.embedding.filter.Filter;
 import dev.langchain4j.store.embedding.filter.comparison.IsEqualTo;
 import dev.langchain4j.store.embedding.filter.comparison.IsIn;
 import jakarta.annotation.Nullable;
+import org.h2.mvstore.MVMap;
 import org.h2.mvstore.MVStore;
 
-import static java.util.Comparator.comparingDouble;
 import static org.jabref.logic.ai.ingestion.FileEmbeddingsManager.LINK_METADATA_KEY;
 
 /**
  * A custom implementation of langchain4j's {@link EmbeddingStore} that uses a {@link MVStore} as an embedded database.
  * <p>
  * Every embedding has 3 fields: float array (the embedding itself), file where it was generated from, and the embedded
- * string (the content).
+ * string (the content). The float arrays are kept in a map of their own, which {@link MVStore} writes as plain arrays of floats,
+ * so that they are not part of the serialized records of the file and the content.
  * <p>
+ * Searches use a {@link HnswIndex}, which is stored in the same {@link MVStore}. The index and the assignment of embeddings to files
+ * are loaded on first use, so that opening the store does not read all embeddings.
  */
 public class MVStoreEmbeddingStore extends MVStoreBase implements EmbeddingStore<TextSegment> {
     // `file` field is nullable, because {@link Optional} can't be serialized.
-    private record EmbeddingRecord(@Nullable String file, String content, float[] embeddingVector) implements Serializable { }
+    private record SegmentRecord(@Nullable String file, String content) implements Serializable { }
 
-    private static final String EMBEDDINGS_MAP_NAME = "embeddings";
+    // The format of stores written before the vectors were stored separately. Only read to convert these stores.
+    record EmbeddingRecord(@Nullable String file, String content, float[] embeddingVector) implements Serializable { }
 
-    private final Map<String, EmbeddingRecord> embeddingsMap;
+    static final String EMBEDDINGS_MAP_NAME = "embeddings";
+    private static final String SEGMENTS_MAP_NAME = "embedding-segments";
+    private static final String VECTORS_MAP_NAME = "embedding-vectors";
+    private static final String EMBEDDINGS_INDEX_MAP_NAME = "embeddings-index";
+
+    // Up to this number of embeddings matching the filter of a search, the query is compared with each of them instead of searching the index
+    private static final int EXHAUSTIVE_SEARCH_LIMIT = 10_000;
+
+    private final Map<String, SegmentRecord> segmentsMap;
+    private final Map<String, float[]> vectorsMap;
+    private final HnswIndex index;
+
+    // The ids of the embeddings of each file
+    private final Map<String, Set<String>> idsByFile = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
 
     public MVStoreEmbeddingStore(Path path, NotificationService dialogService) {
         super(path, dialogService);
 
-        this.embeddingsMap = this.mvStore.openMap(EMBEDDINGS_MAP_NAME);
+        this.segmentsMap = this.mvStore.openMap(SEGMENTS_MAP_NAME);
+        this.vectorsMap = this.mvStore.openMap(VECTORS_MAP_NAME);
+        this.index = new HnswIndex(this.mvStore.openMap(EMBEDDINGS_INDEX_MAP_NAME));
     }
 
     @Override
@@ -76,14 +94,14 @@ public class MVStoreEmbeddingStore extends MVStoreBase implements EmbeddingStore
     public void add(String id, Embedding embedding) {
         // It does not make much sense to store single embedding vector, but this is a requirement from langchain4j's
         // {@link EmbeddingStore}.
-        embeddingsMap.put(id, new EmbeddingRecord(null, "", embedding.vector()));
+        put(id, new SegmentRecord(null, ""), embedding.vector());
     }
 
     @Override
     public String add(Embedding embedding, TextSegment textSegment) {
         String id = String.valueOf(UUID.randomUUID());
         String linkedFile = textSegment.metadata().getString(LINK_METADATA_KEY);
-        embeddingsMap.put(id, new EmbeddingRecord(linkedFile, textSegment.text(), embedding.vector()));
+        put(id, new SegmentRecord(linkedFile, textSegment.text()), embedding.vector());
         return id;
     }
 
@@ -94,18 +112,32 @@ public class MVStoreEmbeddingStore extends MVStoreBase implements EmbeddingStore
 
     @Override
     public void remove(String id) {
-        embeddingsMap.remove(id);
+        ensureLoaded();
+        SegmentRecord segment = segmentsMap.remove(id);
+        vectorsMap.remove(id);
+        if (segment != null) {
+            removeFromFile(segment.file, id);
+        }
+        index.remove(id);
     }
 
     @Override
     public void removeAll(Filter filter) {
-        List<String> idsToRemove = applyFilter(filter).toList();
-        idsToRemove.forEach(this::remove);
+        if (filter == null) {
+            removeAll();
+            return;
+        }
+        ensureLoaded();
+        filteredIds(filter).forEach(this::remove);
     }
 
     @Override
     public void removeAll() {
-        embeddingsMap.clear();
+        ensureLoaded();
+        segmentsMap.clear();
+        vectorsMap.clear();
+        idsByFile.clear();
+        index.clear();
     }
 
     /// The main function of finding most relevant text segments.
@@ -114,66 +146,124 @@ public class MVStoreEmbeddingStore extends MVStoreBase implements EmbeddingStore
     /// - [IsIn] with key [FileEmbeddingsManager#LINK_METADATA_KEY]
     /// - [IsEqualTo] with key [FileEmbeddingsManager#LINK_METADATA_KEY]
     ///
+    /// If only few embeddings match the filter, all of them are compared with the query. Otherwise, the approximate nearest neighbours are searched in the index.
+    ///
     /// @param request embedding search request
     ///
     /// @return an [EmbeddingSearchResult], which contains most relevant text segments
     @Override
     public EmbeddingSearchResult<TextSegment> search(EmbeddingSearchRequest request) {
-        // Source: {@link InMemoryEmbeddingStore}.
-
-        Comparator<EmbeddingMatch<TextSegment>> comparator = comparingDouble(EmbeddingMatch::score);
-        PriorityQueue<EmbeddingMatch<TextSegment>> matches = new PriorityQueue<>(comparator);
-
-        applyFilter(request.filter()).forEach(id -> {
-            EmbeddingRecord eRecord = embeddingsMap.get(id);
-
-            double cosineSimilarity = CosineSimilarity.between(Embedding.from(eRecord.embeddingVector), request.queryEmbedding());
-            double score = RelevanceScore.fromCosineSimilarity(cosineSimilarity);
-
-            if (score >= request.minScore()) {
-                matches.add(
+        ensureLoaded();
+        float[] query = request.queryEmbedding().vector();
+
+        List<HnswIndex.Neighbour> neighbours;
+        if (request.filter() == null) {
+            neighbours = index.search(query, request.maxResults(), _ -> true);
+        } else {
+            Set<String> ids = filteredIds(request.filter());
+            neighbours = ids.size() <= EXHAUSTIVE_SEARCH_LIMIT
+                         ? index.searchExhaustively(query, request.maxResults(), ids)
+                         : index.search(query, request.maxResults(), ids::contains);
+        }
+
+        List<EmbeddingMatch<TextSegment>> result = new ArrayList<>(neighbours.size());
+        for (HnswIndex.Neighbour neighbour : neighbours) {
+            double score = RelevanceScore.fromCosineSimilarity(neighbour.cosineSimilarity());
+            SegmentRecord segment = segmentsMap.get(neighbour.id());
+            float[] vector = vectorsMap.get(neighbour.id());
+            if ((score >= request.minScore()) && (segment != null) && (vector != null)) {
+                result.add(
                         new EmbeddingMatch<>(
                                 score,
-                                id,
-                                Embedding.from(eRecord.embeddingVector),
+                                neighbour.id(),
+                                Embedding.from(vector),
                                 new TextSegment(
-                                        eRecord.content,
+                                        segment.content,
                                         new Metadata(
-                                                eRecord.file == null ? Map.of() : Map.of(LINK_METADATA_KEY, eRecord.file)))));
-
-                if (matches.size() > request.maxResults()) {
-                    matches.poll();
-                }
+                                                segment.file == null ? Map.of() : Map.of(LINK_METADATA_KEY, segment.file)))));
             }
-        });
-
-        List<EmbeddingMatch<TextSegment>> result = new ArrayList<>(matches);
-        result.sort(comparator.reversed());
+        }
 
         return new EmbeddingSearchResult<>(result);
     }
 
     @Override
     public void removeAll(Collection ids) {
-        embeddingsMap.entrySet().removeIf(entry -> ids.contains(entry.getKey()));
+        for (Object id : ids) {
+            remove(String.valueOf(id));
+        }
     }
 
-    private Stream<String> applyFilter(@Nullable Filter filter) {
-        return switch (filter) {
-            case null -> embeddingsMap.keySet().stream();
+    private void put(String id, SegmentRecord segment, float[] vector) {
+        ensureLoaded();
+        SegmentRecord previous = segmentsMap.put(id, segment);
+        vectorsMap.put(id, vector);
+        if (previous != null) {
+            removeFromFile(previous.file, id);
+        }
+        if (segment.file != null) {
+            idsByFile.computeIfAbsent(segment.file, _ -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+        index.add(id, vector);
+    }
 
+    private void removeFromFile(@Nullable String file, String id) {
+        if (file != null) {
+            idsByFile.computeIfPresent(file, (_, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private Set<String> filteredIds(Filter filter) {
+        return switch (filter) {
             case IsIn isInFilter when Objects.equals(isInFilter.key(), LINK_METADATA_KEY) ->
-                    filterEntries(entry -> isInFilter.comparisonValues().contains(entry.getValue().file));
+                    isInFilter.comparisonValues().stream()
+                              .flatMap(file -> idsByFile.getOrDefault(file, Set.of()).stream())
+                              .collect(Collectors.toSet());
 
             case IsEqualTo isEqualToFilter when Objects.equals(isEqualToFilter.key(), LINK_METADATA_KEY) ->
-                    filterEntries(entry -> isEqualToFilter.comparisonValue().equals(entry.getValue().file));
+                    Set.copyOf(idsByFile.getOrDefault(isEqualToFilter.comparisonValue(), Set.of()));
 
             default -> throw new IllegalArgumentException("Wrong filter passed to MVStoreEmbeddingStore");
         };
     }
 
-    private Stream<String> filterEntries(Predicate<Map.Entry<String, EmbeddingRecord>> predicate) {
-        return embeddingsMap.entrySet().stream().filter(predicate).map(Map.Entry::getKey);
+    /**
+     * Reads all embeddings once to assign them to their files and to bring the index in line with them.
+     * If the store was written by a version of JabRef without index, the index is built here.
+     * If the store was written by a version of JabRef keeping the vectors in the records, the records are split first.
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            convertEmbeddingRecords();
+            segmentsMap.forEach((id, segment) -> {
+                if (segment.file != null) {
+                    idsByFile.computeIfAbsent(segment.file, _ -> ConcurrentHashMap.newKeySet()).add(id);
+                }
+            });
+            index.load(vectorsMap.keySet(), vectorsMap::get);
+            loaded = true;
+        }
+    }
+
+    private void convertEmbeddingRecords() {
+        if (!mvStore.hasMap(EMBEDDINGS_MAP_NAME)) {
+            return;
+        }
+        MVMap<String, EmbeddingRecord> embeddingsMap = mvStore.openMap(EMBEDDINGS_MAP_NAME);
+        embeddingsMap.forEach((id, eRecord) -> {
+            segmentsMap.put(id, new SegmentRecord(eRecord.file, eRecord.content));
+            vectorsMap.put(id, eRecord.embeddingVector);
+        });
+        mvStore.removeMap(embeddingsMap);
     }
 
     @Override
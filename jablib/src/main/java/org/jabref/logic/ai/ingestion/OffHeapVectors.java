@@ -0,0 +1,115 @@
+package org.jabref.logic.ai.ingestion;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * Stores vectors of the same dimension one after another in a direct buffer, i.e., outside the Java heap.
+ * <p>
+ * The vectors are normalized to unit length when they are added, so that the dot product of two vectors is their cosine similarity.
+ * Zero vectors are kept as they are.
+ */
+final class OffHeapVectors {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int dimension;
+    private FloatBuffer buffer;
+    private int size;
+
+    OffHeapVectors(int dimension) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("The dimension of a vector must be positive");
+        }
+        this.dimension = dimension;
+        this.buffer = allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @return the index of the added vector
+     */
+    int add(float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("Expected a vector of dimension %d, but got %d".formatted(dimension, vector.length));
+        }
+        if ((long) (size + 1) * dimension > buffer.capacity()) {
+            grow();
+        }
+
+        float[] normalized = normalize(vector);
+        buffer.put(size * dimension, normalized, 0, dimension);
+        return size++;
+    }
+
+    float[] get(int index) {
+        float[] vector = new float[dimension];
+        buffer.get(index * dimension, vector, 0, dimension);
+        return vector;
+    }
+
+    /**
+     * @param normalizedVector a vector of unit length, see {@link #normalize(float[])}
+     */
+    float dot(int index, float[] normalizedVector) {
+        int offset = index * dimension;
+        float sum = 0;
+        for (int i = 0; i < dimension; i++) {
+            sum += buffer.get(offset + i) * normalizedVector[i];
+        }
+        return sum;
+    }
+
+    float dot(int first, int second) {
+        int firstOffset = first * dimension;
+        int secondOffset = second * dimension;
+        float sum = 0;
+        for (int i = 0; i < dimension; i++) {
+            sum += buffer.get(firstOffset + i) * buffer.get(secondOffset + i);
+        }
+        return sum;
+    }
+
+    int dimension() {
+        return dimension;
+    }
+
+    int size() {
+        return size;
+    }
+
+    static float[] normalize(float[] vector) {
+        double squaredNorm = 0;
+        for (float value : vector) {
+            squaredNorm += value * value;
+        }
+        if (squaredNorm == 0) {
+            return vector.clone();
+        }
+
+        float norm = (float) Math.sqrt(squaredNorm);
+        float[] normalized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = vector[i] / norm;
+        }
+        return normalized;
+    }
+
+    private void grow() {
+        int capacity = buffer.capacity() / dimension;
+        // A direct buffer can hold at most Integer.MAX_VALUE bytes
+        int maxCapacity = Integer.MAX_VALUE / Float.BYTES / dimension;
+        if (capacity >= maxCapacity) {
+            throw new IllegalStateException("Cannot store more than %d vectors of dimension %d".formatted(maxCapacity, dimension));
+        }
+
+        FloatBuffer grown = allocate((int) Math.min(2L * capacity, maxCapacity));
+        grown.put(0, buffer, 0, size * dimension);
+        buffer = grown;
+    }
+
+    private FloatBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * dimension * Float.BYTES)
+                         .order(ByteOrder.nativeOrder())
+                         .asFloatBuffer();
+    }
+}
@@ -1,10 +1,14 @@
 package org.jabref.logic.citationkeypattern;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.regex.PatternSyntaxException;
 
 import org.jabref.model.FieldChange;
@@ -14,6 +18,7 @@ import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.types.EntryType;
 import org.jabref.model.strings.StringUtil;
 
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -101,23 +106,29 @@ public class CitationKeyGenerator extends BracketedPattern {
      * @return a citation key based on the user's preferences
      */
     public String generateKey(BibEntry entry) {
+        return generateKey(entry, null);
+    }
+
+    private String generateKey(BibEntry entry, @Nullable Map<String, Integer> nextSuffixNumbers) {
         Objects.requireNonNull(entry);
         String currentKey = entry.getCitationKey().orElse(null);
 
         String newKey = createCitationKeyFromPattern(entry);
         newKey = replaceWithRegex(newKey);
-        newKey = appendLettersToKey(newKey, currentKey);
+        newKey = appendLettersToKey(newKey, currentKey, nextSuffixNumbers);
         return cleanKey(newKey, unwantedCharacters);
     }
 
     /**
      * A letter will be appended to the key based on the user's preferences, either always or to prevent duplicated keys.
      *
-     * @param key    the new key
-     * @param oldKey the old key
+     * @param key               the new key
+     * @param oldKey            the old key
+     * @param nextSuffixNumbers if present, the table of the next suffix number to try for each key generated in the current run.
+     *                          This avoids probing all suffixes already handed out for the same key again.
      * @return a key, if needed, with an appended letter
      */
-    private String appendLettersToKey(String key, String oldKey) {
+    private String appendLettersToKey(String key, String oldKey, @Nullable Map<String, Integer> nextSuffixNumbers) {
         long occurrences = database.getNumberOfCitationKeyOccurrences(key);
 
         if ((occurrences > 0) && Objects.equals(oldKey, key)) {
@@ -133,6 +144,9 @@ public class CitationKeyGenerator extends BracketedPattern {
                     == CitationKeyPatternPreferences.KeySuffix.SECOND_WITH_A;
 
             int number = !alwaysAddLetter && !firstLetterA ? 1 : 0;
+            if (nextSuffixNumbers != null) {
+                number = Math.max(number, nextSuffixNumbers.getOrDefault(key, number));
+            }
             String moddedKey;
 
             do {
@@ -146,6 +160,9 @@ public class CitationKeyGenerator extends BracketedPattern {
                 }
             } while (occurrences > 0);
 
+            if (nextSuffixNumbers != null) {
+                nextSuffixNumbers.put(key, number);
+            }
             key = moddedKey;
         }
         return key;
@@ -215,4 +232,37 @@ public class CitationKeyGenerator extends BracketedPattern {
         String newKey = generateKey(entry);
         return entry.setCitationKey(newKey);
     }
+
+    /**
+     * Generates and sets the citation keys for all given entries.
+     *
+     * @see #generateAndSetKeys(List, IntConsumer)
+     */
+    public List<FieldChange> generateAndSetKeys(List<BibEntry> entries) {
+        return generateAndSetKeys(entries, _ -> {
+        });
+    }
+
+    /**
+     * Generates and sets the citation keys for all given entries.
+     * <p>
+     * In contrast to calling {@link #generateAndSetKey(BibEntry)} for each entry, the suffixes handed out in this run are remembered per key.
+     * Thus, generating the keys for many entries sharing the same key (e.g., <code>Smith2020</code>, <code>Smith2020a</code>, ...) scales linearly.
+     *
+     * @param entries          the entries to generate the keys for
+     * @param progressConsumer called with the number of processed entries after each entry
+     * @return the changes to the keys
+     */
+    public List<FieldChange> generateAndSetKeys(List<BibEntry> entries, IntConsumer progressConsumer) {
+        Map<String, Integer> nextSuffixNumbers = new HashMap<>();
+        List<FieldChange> changes = new ArrayList<>();
+        int entriesDone = 0;
+        for (BibEntry entry : entries) {
+            String newKey = generateKey(entry, nextSuffixNumbers);
+            entry.setCitationKey(newKey).ifPresent(changes::add);
+            entriesDone++;
+            progressConsumer.accept(entriesDone);
+        }
+        return changes;
+    }
 }
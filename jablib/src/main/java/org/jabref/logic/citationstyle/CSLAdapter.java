@@ -1,9 +1,13 @@
 package org.jabref.logic.citationstyle;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
@@ -13,70 +17,137 @@ import de.undercouch.citeproc.CSL;
 import de.undercouch.citeproc.DefaultAbbreviationProvider;
 import de.undercouch.citeproc.output.Bibliography;
 import de.undercouch.citeproc.output.Citation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Provides an adapter class to CSL. It holds a CSL instance under the hood that is only recreated when
- * the style changes.
+ * Provides an adapter class to CSL. It keeps a bounded pool of CSL engines, each initialized for one style and one output format.
  * <p>
- * Note on the API: The first call to {@link #makeBibliography} is expensive since the
- * CSL instance will be created. As long as the style stays the same, we can reuse this instance. On style-change, the
- * engine is re-instantiated. Therefore, the use-case of this class is many calls to {@link #makeBibliography} with the
- * same style. Changing the output format is cheap.
+ * Note on the API: Creating a CSL engine is expensive since the style has to be compiled. Thus, the engines are reused
+ * for later calls with the same style and output format. The pool keeps at most {@link #DEFAULT_MAX_IDLE_ENGINES} idle engines;
+ * if there are more, the least recently used engine is dropped. Hence, alternating between a few styles and output formats,
+ * e.g., in the preview and in the CAYW endpoint, does not create new engines.
  * <p>
  * Note on the implementation:
- * The main function {@link #makeBibliography} will enforce
- * synchronized calling. The main CSL engine under the hood is not thread-safe. Since this class is usually called from
- * a BackgroundTask, the only other option would be to create several CSL instances which is wasting a lot of resources and very slow.
- * In the current scheme, {@link #makeBibliography} can be called as usual
- * background task and to the best of my knowledge, concurrent calls will pile up and processed sequentially.
+ * A CSL engine is not thread-safe. Each call takes an engine out of the pool and puts it back when it is done. If there is no idle
+ * engine for the style and the output format, a new one is created. Thus, concurrent calls are processed in parallel, each with its own engine.
+ * An engine whose call failed is not put back, because its state is unknown.
  */
 public class CSLAdapter {
 
-    private final JabRefItemDataProvider dataProvider = new JabRefItemDataProvider();
-    private String style;
-    private CitationStyleOutputFormat format;
-    private CSL cslInstance;
+    public static final int DEFAULT_MAX_IDLE_ENGINES = 8;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CSLAdapter.class);
+
+    private record EngineKey(String style, CitationStyleOutputFormat format) {
+    }
+
+    /**
+     * A CSL engine together with the data provider it reads the items from
+     */
+    private record Engine(EngineKey key, CSL cslInstance, JabRefItemDataProvider dataProvider) {
+    }
+
+    private final int maxIdleEngines;
+
+    // The least recently used engine comes first
+    private final Deque<Engine> idleEngines = new ArrayDeque<>();
+
+    public CSLAdapter() {
+        this(DEFAULT_MAX_IDLE_ENGINES);
+    }
+
+    public CSLAdapter(int maxIdleEngines) {
+        this.maxIdleEngines = maxIdleEngines;
+    }
 
     /**
-     * Creates the bibliography of the provided items. This method needs to run synchronized because the underlying
-     * CSL engine is not thread-safe.
+     * Creates the bibliography of the provided items.
      *
      * @param databaseContext {@link BibDatabaseContext} is used to be able to resolve fields and their aliases
      */
-    public synchronized List<String> makeBibliography(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat, BibDatabaseContext databaseContext, BibEntryTypesManager entryTypesManager) throws IOException, IllegalArgumentException {
-        dataProvider.setData(bibEntries, databaseContext, entryTypesManager);
-        initialize(style, outputFormat);
-        cslInstance.registerCitationItems(dataProvider.getIds());
-        final Bibliography bibliography = cslInstance.makeBibliography();
+    public List<String> makeBibliography(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat, BibDatabaseContext databaseContext, BibEntryTypesManager entryTypesManager) throws IOException, IllegalArgumentException {
+        Engine engine = acquire(style, outputFormat);
+        engine.dataProvider().setData(bibEntries, databaseContext, entryTypesManager);
+        engine.cslInstance().registerCitationItems(engine.dataProvider().getIds());
+        final Bibliography bibliography = engine.cslInstance().makeBibliography();
+        release(engine);
         return Arrays.asList(bibliography.getEntries());
     }
 
-    public synchronized Citation makeCitation(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat, BibDatabaseContext databaseContext, BibEntryTypesManager entryTypesManager) throws IOException {
-        dataProvider.setData(bibEntries, databaseContext, entryTypesManager);
-        initialize(style, outputFormat);
-        cslInstance.registerCitationItems(dataProvider.getIds());
-        return cslInstance.makeCitation(bibEntries.stream().map(entry -> entry.getCitationKey().orElse("")).toList()).getFirst();
+    /**
+     * Creates the bibliography of the provided items in a single run of the CSL engine.
+     *
+     * @return the bibliography entries by the citation keys of the items, in the order of the bibliography
+     */
+    public Map<String, String> makeBibliographyByCitationKey(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat, BibDatabaseContext databaseContext, BibEntryTypesManager entryTypesManager) throws IOException, IllegalArgumentException {
+        Engine engine = acquire(style, outputFormat);
+        engine.dataProvider().setData(bibEntries, databaseContext, entryTypesManager);
+        engine.cslInstance().registerCitationItems(engine.dataProvider().getIds());
+        final Bibliography bibliography = engine.cslInstance().makeBibliography();
+        release(engine);
+
+        Map<String, String> entriesByCitationKey = new LinkedHashMap<>();
+        String[] entryIds = bibliography.getEntryIds();
+        String[] entries = bibliography.getEntries();
+        for (int i = 0; i < entries.length; i++) {
+            entriesByCitationKey.put(entryIds[i], entries[i]);
+        }
+        return entriesByCitationKey;
+    }
+
+    public Citation makeCitation(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat, BibDatabaseContext databaseContext, BibEntryTypesManager entryTypesManager) throws IOException {
+        Engine engine = acquire(style, outputFormat);
+        engine.dataProvider().setData(bibEntries, databaseContext, entryTypesManager);
+        engine.cslInstance().registerCitationItems(engine.dataProvider().getIds());
+        Citation citation = engine.cslInstance().makeCitation(bibEntries.stream().map(entry -> entry.getCitationKey().orElse("")).toList()).getFirst();
+        release(engine);
+        return citation;
     }
 
     /**
-     * Initialized the static CSL instance if needed.
+     * @return the number of engines which are currently not in use
+     */
+    synchronized int getNumberOfIdleEngines() {
+        return idleEngines.size();
+    }
+
+    /**
+     * Takes the most recently used idle engine for the given style and output format out of the pool, or creates a new one.
      *
-     * @param newStyle  journal style of the output
-     * @param newFormat usually HTML or RTF.
+     * @param style     journal style of the output
+     * @param outputFormat usually HTML or RTF.
      * @throws IOException An error occurred in the underlying framework
      */
-    private void initialize(String newStyle, CitationStyleOutputFormat newFormat) throws IOException {
-        final boolean newCslInstanceNeedsToBeCreated = (cslInstance == null) || !Objects.equals(newStyle, style);
-        if (newCslInstanceNeedsToBeCreated) {
-            // lang and forceLang are set to the default values of other CSL constructors
-            cslInstance = new CSL(dataProvider, new JabRefLocaleProvider(),
-                    new DefaultAbbreviationProvider(), newStyle, "en-US");
-            style = newStyle;
+    private Engine acquire(String style, CitationStyleOutputFormat outputFormat) throws IOException {
+        EngineKey key = new EngineKey(style, outputFormat);
+        synchronized (this) {
+            Iterator<Engine> mostRecentlyUsedFirst = idleEngines.descendingIterator();
+            while (mostRecentlyUsedFirst.hasNext()) {
+                Engine engine = mostRecentlyUsedFirst.next();
+                if (engine.key().equals(key)) {
+                    mostRecentlyUsedFirst.remove();
+                    // Forget the items and citations of the previous call
+                    engine.cslInstance().reset();
+                    return engine;
+                }
+            }
         }
 
-        if (newCslInstanceNeedsToBeCreated || (!Objects.equals(newFormat, format))) {
-            cslInstance.setOutputFormat(newFormat.getFormat());
-            format = newFormat;
+        // Compiling the style is expensive and thus done outside the lock
+        LOGGER.debug("Creating CSL engine for output format {}", outputFormat);
+        JabRefItemDataProvider dataProvider = new JabRefItemDataProvider();
+        // lang and forceLang are set to the default values of other CSL constructors
+        CSL cslInstance = new CSL(dataProvider, new JabRefLocaleProvider(),
+                new DefaultAbbreviationProvider(), style, "en-US");
+        cslInstance.setOutputFormat(outputFormat.getFormat());
+        return new Engine(key, cslInstance, dataProvider);
+    }
+
+    private synchronized void release(Engine engine) {
+        idleEngines.addLast(engine);
+        while (idleEngines.size() > maxIdleEngines) {
+            idleEngines.removeFirst();
         }
     }
 }
@@ -0,0 +1,84 @@
+package org.jabref.logic.citationstyle;
+
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.database.BibDatabaseMode;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.event.EntryChangedEvent;
+import org.jabref.model.entry.field.StandardField;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import de.undercouch.citeproc.csl.CSLItemData;
+
+/**
+ * Caches the CSL item data of entries, so that an entry is converted only once, even if it is rendered again and again,
+ * e.g., when an OpenOffice document with thousands of citations is refreshed.
+ * <p>
+ * The item data of an entry is removed when the entry changes. The item data of entries linking to other entries or
+ * referencing strings of the library are not cached, because it changes with the other entries and the strings.
+ */
+class CSLItemDataCache {
+
+    private static final int CACHE_SIZE = 20_000;
+
+    private record CachedItemData(BibDatabaseMode mode, BibEntryTypesManager entryTypesManager, CSLItemData itemData) {
+    }
+
+    // By the id of the entry, because the hash code of an entry changes with its content
+    private final Cache<String, CachedItemData> cache = CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build();
+    private final EntryChangeListener entryChangeListener = new EntryChangeListener();
+
+    /**
+     * Returns the item data of the given entry. If the item data is not cached, it is created by the given converter.
+     */
+    CSLItemData getItemData(BibEntry entry, BibDatabaseContext databaseContext, BibEntryTypesManager entryTypesManager, Supplier<CSLItemData> converter) {
+        if (!isCacheable(entry, databaseContext)) {
+            return converter.get();
+        }
+
+        CachedItemData cachedItemData = cache.getIfPresent(entry.getId());
+        if ((cachedItemData != null)
+                && (cachedItemData.mode() == databaseContext.getMode())
+                && (cachedItemData.entryTypesManager() == entryTypesManager)) {
+            return cachedItemData.itemData();
+        }
+
+        // Registering the same listener again has no effect
+        entry.registerListener(entryChangeListener);
+        try {
+            cache.invalidate(entry.getId());
+            return cache.get(entry.getId(), () -> new CachedItemData(databaseContext.getMode(), entryTypesManager, converter.get())).itemData();
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            // Converting the entry failed; the caller shall see the same exception as without the cache
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    long size() {
+        return cache.size();
+    }
+
+    private static boolean isCacheable(BibEntry entry, BibDatabaseContext databaseContext) {
+        if (entry.hasField(StandardField.CROSSREF) || entry.hasField(StandardField.XDATA)) {
+            return false;
+        }
+        return databaseContext.getDatabase().hasNoStrings()
+                || entry.getFieldValues().stream().noneMatch(value -> value.contains("#"));
+    }
+
+    private class EntryChangeListener {
+        @Subscribe
+        public void listen(EntryChangedEvent entryChangedEvent) {
+            cache.invalidate(entryChangedEvent.getBibEntry().getId());
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package org.jabref.logic.citationstyle;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.jabref.logic.l10n.Localization;
 import org.jabref.model.database.BibDatabase;
@@ -16,7 +18,7 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Facade to unify the access to the citation style engine. Use these methods if you need rendered BibTeX item(s) in a
- * given journal style. This class uses {@link CSLAdapter} to create output.
+ * given journal style. This class uses {@link CSLAdapter} to create output, which can be called from several threads at once.
  */
 public class CitationStyleGenerator {
 
@@ -59,20 +61,48 @@ public class CitationStyleGenerator {
     public static List<String> generateBibliography(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat, BibDatabaseContext databaseContext, BibEntryTypesManager entryTypesManager) {
         try {
             return CSL_ADAPTER.makeBibliography(bibEntries, style, outputFormat, databaseContext, entryTypesManager);
-        } catch (IllegalArgumentException e) {
-            LOGGER.error("Could not generate BibEntry bibliography. The CSL engine could not create a bibliography output for your item.", e);
-            return List.of(Localization.lang("Cannot generate bibliography based on selected citation style."));
-        } catch (IOException | ArrayIndexOutOfBoundsException e) {
-            LOGGER.error("Could not generate BibEntry bibliography", e);
-            return List.of(Localization.lang("Cannot generate bibliography based on selected citation style."));
-        } catch (TokenMgrException e) {
-            LOGGER.error("Bad character inside BibEntry", e);
-            // sadly one cannot easily retrieve the bad char from the TokenMgrError
-            return List.of(Localization.lang("Cannot generate bibliography based on selected citation style.") +
-                    outputFormat.getLineSeparator() +
-                    Localization.lang("Bad character inside entry") +
-                    outputFormat.getLineSeparator() +
-                    e.getLocalizedMessage());
+        } catch (IllegalArgumentException | IOException | ArrayIndexOutOfBoundsException | TokenMgrException e) {
+            return List.of(getBibliographyErrorMessage(e, outputFormat));
+        }
+    }
+
+    /**
+     * Generates the bibliography entries of all given entries in a single run of the citation style engine. Use this method instead of calling
+     * {@link #generateBibliography(List, String, CitationStyleOutputFormat, BibDatabaseContext, BibEntryTypesManager)} for each entry,
+     * e.g., if the entries are to be numbered by their own order.
+     *
+     * @return the bibliography entries by citation key. If the bibliography could not be generated, each citation key is mapped to the error message.
+     */
+    public static Map<String, String> generateBibliographyByCitationKey(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat, BibDatabaseContext databaseContext, BibEntryTypesManager entryTypesManager) {
+        try {
+            return CSL_ADAPTER.makeBibliographyByCitationKey(bibEntries, style, outputFormat, databaseContext, entryTypesManager);
+        } catch (IllegalArgumentException | IOException | ArrayIndexOutOfBoundsException | TokenMgrException e) {
+            String errorMessage = getBibliographyErrorMessage(e, outputFormat);
+            Map<String, String> errorMessages = new LinkedHashMap<>();
+            bibEntries.forEach(entry -> errorMessages.put(entry.getCitationKey().orElse(""), errorMessage));
+            return errorMessages;
+        }
+    }
+
+    private static String getBibliographyErrorMessage(Exception exception, CitationStyleOutputFormat outputFormat) {
+        switch (exception) {
+            case IllegalArgumentException e -> {
+                LOGGER.error("Could not generate BibEntry bibliography. The CSL engine could not create a bibliography output for your item.", e);
+                return Localization.lang("Cannot generate bibliography based on selected citation style.");
+            }
+            case TokenMgrException e -> {
+                LOGGER.error("Bad character inside BibEntry", e);
+                // sadly one cannot easily retrieve the bad char from the TokenMgrError
+                return Localization.lang("Cannot generate bibliography based on selected citation style.") +
+                        outputFormat.getLineSeparator() +
+                        Localization.lang("Bad character inside entry") +
+                        outputFormat.getLineSeparator() +
+                        e.getLocalizedMessage();
+            }
+            default -> {
+                LOGGER.error("Could not generate BibEntry bibliography", exception);
+                return Localization.lang("Cannot generate bibliography based on selected citation style.");
+            }
         }
     }
 }
@@ -2,9 +2,11 @@ package org.jabref.logic.citationstyle;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.SequencedCollection;
 import java.util.stream.Collectors;
@@ -33,14 +35,20 @@ import org.jbibtex.Key;
 /**
  * Custom {@link ItemDataProvider} that allows to set the data so that we don't have to instantiate a new CSL object
  * every time.
+ * <p>
+ * The item data of the entries is kept in a {@link CSLItemDataCache} shared by all providers. Thus, an entry is converted
+ * only once, no matter how often and by which CSL engine it is rendered.
  */
 public class JabRefItemDataProvider implements ItemDataProvider {
 
     private static final BibTeXConverter BIBTEX_CONVERTER = new BibTeXConverter();
+    private static final CSLItemDataCache ITEM_DATA_CACHE = new CSLItemDataCache();
 
     private final StringJsonBuilderFactory stringJsonBuilderFactory;
 
     private final List<BibEntry> data = new ArrayList<>();
+    // The CSL engine retrieves each item by its citation key; the first entry with a key wins
+    private final Map<String, BibEntry> entriesByCitationKey = new HashMap<>();
 
     private BibDatabaseContext bibDatabaseContext;
     private BibEntryTypesManager entryTypesManager;
@@ -181,6 +189,10 @@ public class JabRefItemDataProvider implements ItemDataProvider {
     public void setData(List<BibEntry> data, BibDatabaseContext bibDatabaseContext, BibEntryTypesManager entryTypesManager) {
         this.data.clear();
         this.data.addAll(data);
+        this.entriesByCitationKey.clear();
+        for (BibEntry entry : data) {
+            entriesByCitationKey.putIfAbsent(entry.getCitationKey().orElse(""), entry);
+        }
         this.bibDatabaseContext = bibDatabaseContext;
         this.entryTypesManager = entryTypesManager;
 
@@ -193,10 +205,15 @@ public class JabRefItemDataProvider implements ItemDataProvider {
 
     @Override
     public CSLItemData retrieveItem(String id) {
-        return data.stream()
-                   .filter(entry -> entry.getCitationKey().orElse("").equals(id))
-                   .map(entry -> bibEntryToCSLItemData(entry, bibDatabaseContext, entryTypesManager))
-                   .findFirst().orElse(null);
+        BibEntry entry = entriesByCitationKey.get(id);
+        if (entry == null) {
+            return null;
+        }
+        return getItemData(entry);
+    }
+
+    private CSLItemData getItemData(BibEntry entry) {
+        return ITEM_DATA_CACHE.getItemData(entry, bibDatabaseContext, entryTypesManager, () -> bibEntryToCSLItemData(entry, bibDatabaseContext, entryTypesManager));
     }
 
     @Override
@@ -210,7 +227,7 @@ public class JabRefItemDataProvider implements ItemDataProvider {
         List<BibEntry> entries = bibDatabaseContext.getEntries();
         this.setData(entries, bibDatabaseContext, entryTypesManager);
         return entries.stream()
-                      .map(entry -> bibEntryToCSLItemData(entry, bibDatabaseContext, entryTypesManager))
+                      .map(this::getItemData)
                       .map(item -> item.toJson(stringJsonBuilderFactory.createJsonBuilder()))
                       .map(String.class::cast)
                       .collect(Collectors.joining(",", "[", "]"));
@@ -6,6 +6,7 @@ import java.util.stream.Collectors;
 
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.database.BibDatabaseMode;
 import org.jabref.model.database.BibDatabaseModeDetection;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.BibEntryTypesManager;
@@ -55,9 +56,11 @@ public class DatabaseMerger {
 
     private void mergeEntries(BibDatabase target, BibDatabase other) {
         DuplicateCheck duplicateCheck = new DuplicateCheck(new BibEntryTypesManager());
+        DuplicateCandidates candidates = new DuplicateCandidates(target.getEntries());
+        BibDatabaseMode mode = BibDatabaseModeDetection.inferMode(target);
         List<BibEntry> newEntries = other.getEntries().stream()
                                          // Remove all entries that are already part of the database (duplicate)
-                                         .filter(entry -> duplicateCheck.containsDuplicate(target, entry, BibDatabaseModeDetection.inferMode(target)).isEmpty())
+                                         .filter(entry -> duplicateCheck.containsDuplicate(candidates, entry, mode).isEmpty())
                                          .collect(Collectors.toList());
         target.insertEntries(newEntries);
     }
@@ -0,0 +1,246 @@
+package org.jabref.logic.database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.AuthorList;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.EntriesEvent;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.FieldProperty;
+import org.jabref.model.entry.field.StandardField;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Candidate generation for the duplicate search: instead of comparing each pair of entries with {@link DuplicateCheck#isDuplicate},
+ * the entries are put into buckets by blocking keys and only entries sharing a bucket are compared.
+ * <p>
+ * The blocking keys of an entry are
+ * <ul>
+ *     <li>the values of its identifier fields (e.g., DOI) and its ISBN,</li>
+ *     <li>the MinHash bands of the character trigrams of its normalized title, so that titles differing in a few characters share a bucket with a high probability,</li>
+ *     <li>the family name of the first author (or editor) and the year. If there is no title, the family name alone is used.</li>
+ * </ul>
+ * Except for the identifiers, the keys include the entry type, because {@link DuplicateCheck#isDuplicate} does not consider entries of different types as duplicates.
+ * Entries without any blocking key are candidates of all other entries.
+ */
+public class DuplicateCandidates {
+
+    private static final int TRIGRAM_LENGTH = 3;
+    private static final int NUMBER_OF_BANDS = 8;
+    private static final int ROWS_PER_BAND = 2;
+    private static final long[] HASH_SEEDS = new Random(42).longs(NUMBER_OF_BANDS * ROWS_PER_BAND).toArray();
+
+    // Both keys and values are weak: the database keeps its listener alive, and the candidates reference the entries, which reference the database
+    private static final Cache<BibDatabase, DatabaseListener> LISTENERS = CacheBuilder.newBuilder().weakKeys().weakValues().build();
+
+    private final List<BibEntry> entries;
+    private final List<Set<String>> keysByPosition;
+    private final Map<String, List<Integer>> positionsByKey = new HashMap<>();
+    private final List<Integer> positionsWithoutKeys = new ArrayList<>();
+
+    /**
+     * Computes the blocking keys of the given entries in parallel
+     */
+    public DuplicateCandidates(List<BibEntry> entries) {
+        this.entries = List.copyOf(entries);
+        this.keysByPosition = IntStream.range(0, this.entries.size())
+                                       .parallel()
+                                       .mapToObj(position -> getBlockingKeys(this.entries.get(position)))
+                                       .toList();
+        for (int position = 0; position < keysByPosition.size(); position++) {
+            Set<String> keys = keysByPosition.get(position);
+            if (keys.isEmpty()) {
+                positionsWithoutKeys.add(position);
+            }
+            for (String key : keys) {
+                positionsByKey.computeIfAbsent(key, _ -> new ArrayList<>()).add(position);
+            }
+        }
+    }
+
+    /**
+     * Returns the candidates of all entries of the given database.
+     * The candidates are computed once and reused until an entry of the database is added, removed, or changed.
+     */
+    public static DuplicateCandidates of(BibDatabase database) {
+        try {
+            return LISTENERS.get(database, () -> {
+                DatabaseListener listener = new DatabaseListener();
+                database.registerListener(listener);
+                return listener;
+            }).getCandidates(database);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not register listener", e.getCause());
+        }
+    }
+
+    public List<BibEntry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Returns the positions of the entries which have to be compared with the entry at the given position.
+     * Only positions after the given one are returned, so that each pair is considered once.
+     *
+     * @return the positions in ascending order
+     */
+    public int[] getCandidatesAfter(int position) {
+        Set<String> keys = keysByPosition.get(position);
+        if (keys.isEmpty()) {
+            return IntStream.range(position + 1, entries.size()).toArray();
+        }
+        BitSet candidates = new BitSet(entries.size());
+        for (String key : keys) {
+            addPositionsAfter(candidates, positionsByKey.get(key), position);
+        }
+        addPositionsAfter(candidates, positionsWithoutKeys, position);
+        return candidates.stream().toArray();
+    }
+
+    /**
+     * Returns the entries sharing a blocking key with the given entry, which does not need to be part of the candidates.
+     *
+     * @return the entries in the order of the list the candidates were created from
+     */
+    public List<BibEntry> getCandidates(BibEntry entry) {
+        Set<String> keys = getBlockingKeys(entry);
+        if (keys.isEmpty()) {
+            return entries;
+        }
+        BitSet candidates = new BitSet(entries.size());
+        for (String key : keys) {
+            addPositionsAfter(candidates, positionsByKey.get(key), -1);
+        }
+        addPositionsAfter(candidates, positionsWithoutKeys, -1);
+        return candidates.stream().mapToObj(entries::get).toList();
+    }
+
+    private static void addPositionsAfter(BitSet candidates, List<Integer> positions, int position) {
+        if (positions == null) {
+            return;
+        }
+        for (int candidate : positions) {
+            if (candidate > position) {
+                candidates.set(candidate);
+            }
+        }
+    }
+
+    static Set<String> getBlockingKeys(BibEntry entry) {
+        Set<String> keys = new HashSet<>();
+
+        for (Field field : entry.getFields()) {
+            if (field.getProperties().contains(FieldProperty.IDENTIFIER)) {
+                entry.getField(field).ifPresent(value -> keys.add("id:" + field.getName() + ":" + value));
+            }
+        }
+        entry.getISBN().ifPresent(isbn -> keys.add("isbn:" + isbn.asString().toLowerCase(Locale.ROOT)));
+
+        String type = entry.getType().getName() + ":";
+        String title = normalize(entry.getFieldLatexFree(StandardField.TITLE).orElse(""));
+        if (title.length() >= TRIGRAM_LENGTH) {
+            long[] signature = getMinHashSignature(title);
+            for (int band = 0; band < NUMBER_OF_BANDS; band++) {
+                StringBuilder key = new StringBuilder("title:").append(type).append(band);
+                for (int row = 0; row < ROWS_PER_BAND; row++) {
+                    key.append(':').append(signature[band * ROWS_PER_BAND + row]);
+                }
+                keys.add(key.toString());
+            }
+        } else if (!title.isEmpty()) {
+            keys.add("title:" + type + title);
+        }
+
+        entry.getFieldLatexFree(StandardField.AUTHOR)
+             .or(() -> entry.getFieldLatexFree(StandardField.EDITOR))
+             .map(AuthorList::parse)
+             .filter(authors -> !authors.isEmpty())
+             .flatMap(authors -> authors.getAuthor(0).getFamilyName())
+             .map(DuplicateCandidates::normalize)
+             .filter(familyName -> !familyName.isEmpty())
+             .ifPresent(familyName -> {
+                 if (title.isEmpty()) {
+                     keys.add("author:" + type + familyName);
+                 } else {
+                     keys.add("author:" + type + familyName + ":" + entry.getFieldOrAlias(StandardField.YEAR).orElse(""));
+                 }
+             });
+
+        return keys;
+    }
+
+    /**
+     * Lower-cases the value and replaces all sequences of characters other than letters and digits by a single space
+     */
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private static long[] getMinHashSignature(String normalizedTitle) {
+        long[] signature = new long[HASH_SEEDS.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (int i = 0; i + TRIGRAM_LENGTH <= normalizedTitle.length(); i++) {
+            int trigramHash = normalizedTitle.substring(i, i + TRIGRAM_LENGTH).hashCode();
+            for (int j = 0; j < HASH_SEEDS.length; j++) {
+                signature[j] = Math.min(signature[j], mix(trigramHash ^ HASH_SEEDS[j]));
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * The finalizer of SplitMix64, used to derive independent hash functions from the seeds
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Holds the candidates of a database and drops them as soon as the entries of the database change
+     */
+    private static class DatabaseListener {
+        private DuplicateCandidates candidates;
+        private long version;
+
+        DuplicateCandidates getCandidates(BibDatabase database) {
+            long versionBefore;
+            synchronized (this) {
+                if (candidates != null) {
+                    return candidates;
+                }
+                versionBefore = version;
+            }
+            // Computed outside the lock, so that events are not blocked while the blocking keys are computed
+            DuplicateCandidates computed = new DuplicateCandidates(database.getEntries());
+            synchronized (this) {
+                if (version == versionBefore) {
+                    candidates = computed;
+                }
+            }
+            return computed;
+        }
+
+        @Subscribe
+        public synchronized void listen(EntriesEvent event) {
+            candidates = null;
+            version++;
+        }
+    }
+}
@@ -3,12 +3,15 @@ package org.jabref.logic.database;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.jabref.logic.os.OS;
 import org.jabref.logic.util.strings.StringSimilarity;
@@ -366,6 +369,7 @@ public class DuplicateCheck {
      * them is a duplicate of the given entry, as per
      * Util.isDuplicate(BibEntry, BibEntry), the duplicate is returned.
      * The search is terminated when the first duplicate is found.
+     * The blocking keys of the entries of the database are cached until the database changes (see {@link DuplicateCandidates#of(BibDatabase)}).
      *
      * @param database The database to search.
      * @param entry    The entry of which we are looking for duplicates.
@@ -374,7 +378,51 @@ public class DuplicateCheck {
     public Optional<BibEntry> containsDuplicate(final BibDatabase database,
                                                 final BibEntry entry,
                                                 final BibDatabaseMode bibDatabaseMode) {
+        return containsDuplicate(DuplicateCandidates.of(database), entry, bibDatabaseMode);
+    }
 
-        return database.getEntries().stream().filter(other -> isDuplicate(entry, other, bibDatabaseMode)).findFirst();
+    /**
+     * Same as {@link #containsDuplicate(BibDatabase, BibEntry, BibDatabaseMode)}, but reuses the blocking keys of the entries to search.
+     * Use this when checking many entries against the same unchanged entries.
+     *
+     * @param candidates The entries to search.
+     * @param entry      The entry of which we are looking for duplicates.
+     * @return The first duplicate entry found (in the order of the entries). Empty Optional if no duplicates are found.
+     */
+    public Optional<BibEntry> containsDuplicate(final DuplicateCandidates candidates,
+                                                final BibEntry entry,
+                                                final BibDatabaseMode bibDatabaseMode) {
+        return candidates.getCandidates(entry)
+                         .parallelStream()
+                         .filter(other -> isDuplicate(entry, other, bibDatabaseMode))
+                         .findFirst();
+    }
+
+    /**
+     * Finds all pairs of duplicates among the given entries.
+     * Only entries sharing a blocking key (see {@link DuplicateCandidates}) are compared. The comparisons run in parallel.
+     * <p>
+     * Each pair is passed to the consumer as soon as it is found, potentially from different threads.
+     * The first entry of a pair is the one appearing earlier in the given list.
+     * The search stops early if the calling thread is interrupted.
+     */
+    public void findDuplicates(final List<BibEntry> entries,
+                               final BibDatabaseMode bibDatabaseMode,
+                               final BiConsumer<BibEntry, BibEntry> duplicateConsumer) {
+        DuplicateCandidates candidates = new DuplicateCandidates(entries);
+        List<BibEntry> candidateEntries = candidates.getEntries();
+        Thread callingThread = Thread.currentThread();
+        IntStream.range(0, candidateEntries.size()).parallel().forEach(position -> {
+            BibEntry first = candidateEntries.get(position);
+            for (int candidate : candidates.getCandidatesAfter(position)) {
+                if (callingThread.isInterrupted()) {
+                    return;
+                }
+                BibEntry second = candidateEntries.get(candidate);
+                if (isDuplicate(first, second, bibDatabaseMode)) {
+                    duplicateConsumer.accept(first, second);
+                }
+            }
+        });
     }
 }
@@ -0,0 +1,113 @@
+package org.jabref.logic.exporter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.jabref.logic.bibtex.FieldPreferences;
+import org.jabref.logic.citationkeypattern.CitationKeyPatternPreferences;
+import org.jabref.logic.importer.fileformat.BibtexParserListener;
+import org.jabref.model.database.BibDatabaseMode;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryType;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.BibtexString;
+import org.jabref.model.metadata.MetaData;
+
+/**
+ * Writes the parts of a library as they are passed by the {@link org.jabref.logic.importer.fileformat.BibtexParser}, so that a library can be rewritten without keeping all entries in memory.
+ * <p>
+ * In contrast to {@link BibDatabaseWriter#saveDatabase}, the entries are written in the order of the file, and neither save actions nor citation key generation are applied,
+ * because these depend on the metadata, which is stored at the end of the file.
+ * Consecutive strings are kept until the next part of the library arrives, so that their values are aligned as by {@link BibDatabaseWriter}.
+ * Write errors are thrown as {@link UncheckedIOException}, which aborts the parsing.
+ */
+public class StreamingBibDatabaseWriter extends BibDatabaseWriter implements BibtexParserListener {
+
+    private final BibDatabaseMode mode;
+    private final SortedSet<BibEntryType> typesToWrite = new TreeSet<>();
+    private final List<BibtexString> pendingStrings = new ArrayList<>();
+
+    public StreamingBibDatabaseWriter(BibWriter bibWriter,
+                                      SelfContainedSaveConfiguration saveConfiguration,
+                                      FieldPreferences fieldPreferences,
+                                      CitationKeyPatternPreferences keyPatternPreferences,
+                                      BibEntryTypesManager entryTypesManager,
+                                      BibDatabaseMode mode) {
+        super(bibWriter, saveConfiguration, fieldPreferences, keyPatternPreferences, entryTypesManager);
+        this.mode = mode;
+    }
+
+    @Override
+    public void onPreamble(String preamble) {
+        try {
+            finishStrings();
+            writePreamble(preamble);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onString(BibtexString bibtexString) {
+        pendingStrings.add(bibtexString);
+    }
+
+    @Override
+    public void onEntry(BibEntry entry) {
+        if (entry.isEmpty()) {
+            return;
+        }
+        try {
+            finishStrings();
+            if (entryTypesManager.isCustomType(entry.getType(), mode)) {
+                entryTypesManager.enrich(entry.getType(), mode).ifPresent(typesToWrite::add);
+            }
+            writeEntry(entry, mode);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onMetaData(MetaData metaData) {
+        if (saveConfiguration.getSaveType() != SaveType.WITH_JABREF_META_DATA) {
+            return;
+        }
+        try {
+            finishStrings();
+            writeMetaData(metaData, keyPatternPreferences.getKeyPatterns());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the definitions of the custom entry types used and the text following the last entry. To be called after the parsing has finished.
+     */
+    public void finish(String epilog) throws IOException {
+        finishStrings();
+        if (saveConfiguration.getSaveType() == SaveType.WITH_JABREF_META_DATA) {
+            writeEntryTypeDefinitions(typesToWrite);
+        }
+        writeEpilogue(epilog);
+    }
+
+    private void finishStrings() throws IOException {
+        if (pendingStrings.isEmpty()) {
+            return;
+        }
+        int maxKeyLength = pendingStrings.stream()
+                                         .mapToInt(bibtexString -> bibtexString.getName().length())
+                                         .max()
+                                         .orElse(0);
+        for (BibtexString bibtexString : pendingStrings) {
+            writeString(bibtexString, maxKeyLength);
+        }
+        pendingStrings.clear();
+        bibWriter.finishBlock();
+    }
+}
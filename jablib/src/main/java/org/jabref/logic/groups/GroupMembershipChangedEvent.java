@@ -0,0 +1,12 @@
+package org.jabref.logic.groups;
+
+import java.util.Set;
+
+import org.jabref.model.groups.GroupTreeNode;
+
+/**
+ * Posted by a {@link GroupMembershipIndex} if entries joined or left the given groups.
+ * The set of groups compares the groups by identity.
+ */
+public record GroupMembershipChangedEvent(Set<GroupTreeNode> groups) {
+}
@@ -0,0 +1,283 @@
+package org.jabref.logic.groups;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.groups.GroupTreeNode;
+import org.jabref.model.groups.event.GroupUpdatedEvent;
+import org.jabref.model.search.SearchMatcher;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import io.github.adr.linked.ADR;
+
+/**
+ * Keeps the entries matched by the groups of a library as one bit set per group. Each entry of the library gets an ordinal,
+ * which is the index of its bit in the bit sets.
+ * <p>
+ * The members of a group are computed by scanning the library once, when they are requested for the first time. Afterward,
+ * the bit sets are updated incrementally: an added or changed entry is matched against the groups, a removed entry is cleared from
+ * all groups. Hence, the hit counts of the groups and the entries matched by several groups are computed by bit set operations
+ * instead of matching all entries against all groups again.
+ * <p>
+ * The members of all groups are computed again when the group tree changes. {@link GroupMembershipChangedEvent}s are posted to the
+ * registered listeners if entries join or leave groups, or if the group tree changed.
+ */
+public class GroupMembershipIndex {
+
+    /**
+     * The matcher of a group and the ordinals of the entries it matches
+     */
+    private record Membership(SearchMatcher matcher, BitSet members) {
+    }
+
+    private final BibDatabaseContext databaseContext;
+    private final EventBus eventBus = new EventBus();
+    private final LibraryListener libraryListener = new LibraryListener();
+
+    // By the id of the entry, because the hash code of an entry changes with its content
+    @ADR(38)
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<BibEntry> entriesByOrdinal = new ArrayList<>();
+    private final BitSet freeOrdinals = new BitSet();
+
+    // By identity, because the hash code of a group tree node changes with its group
+    private final Map<GroupTreeNode, Membership> memberships = new IdentityHashMap<>();
+
+    public GroupMembershipIndex(BibDatabaseContext databaseContext) {
+        this.databaseContext = databaseContext;
+        synchronized (this) {
+            databaseContext.getDatabase().getEntries().forEach(this::addOrdinal);
+        }
+        databaseContext.getDatabase().registerListener(libraryListener);
+        databaseContext.getMetaData().registerListener(libraryListener);
+    }
+
+    /**
+     * @return the ordinals of the entries matched by the given group
+     */
+    public synchronized BitSet getMembers(GroupTreeNode group) {
+        return (BitSet) getMembership(group).members().clone();
+    }
+
+    public synchronized int getHitCount(GroupTreeNode group) {
+        return getMembership(group).members().cardinality();
+    }
+
+    /**
+     * @return the ordinals of the entries matched by at least one of the given groups
+     */
+    public synchronized BitSet getUnion(Collection<GroupTreeNode> groups) {
+        BitSet union = new BitSet();
+        for (GroupTreeNode group : groups) {
+            union.or(getMembership(group).members());
+        }
+        return union;
+    }
+
+    /**
+     * @return the ordinals of the entries matched by all the given groups
+     */
+    public synchronized BitSet getIntersection(Collection<GroupTreeNode> groups) {
+        BitSet intersection = null;
+        for (GroupTreeNode group : groups) {
+            if (intersection == null) {
+                intersection = (BitSet) getMembership(group).members().clone();
+            } else {
+                intersection.and(getMembership(group).members());
+            }
+        }
+        return intersection == null ? new BitSet() : intersection;
+    }
+
+    /**
+     * @return true if the ordinal of the given entry is contained in the given bit set
+     */
+    public synchronized boolean contains(BitSet members, BibEntry entry) {
+        Integer ordinal = ordinals.get(entry.getId());
+        return (ordinal != null) && members.get(ordinal);
+    }
+
+    /**
+     * @return the entries whose ordinals are contained in the given bit set
+     */
+    public synchronized List<BibEntry> getEntries(BitSet members) {
+        List<BibEntry> entries = new ArrayList<>(members.cardinality());
+        members.stream()
+               .filter(ordinal -> ordinal < entriesByOrdinal.size())
+               .mapToObj(entriesByOrdinal::get)
+               .filter(Objects::nonNull)
+               .forEach(entries::add);
+        return entries;
+    }
+
+    /**
+     * Matches the given entries against the groups again. This is required for groups whose matches do not depend
+     * on the fields of the entries only, e.g., search groups, which are updated when the search index changes.
+     */
+    public void update(Collection<BibEntry> entries) {
+        Set<GroupTreeNode> changedGroups;
+        synchronized (this) {
+            changedGroups = matchAgainstGroups(entries);
+        }
+        postChange(changedGroups);
+    }
+
+    /**
+     * Drops the members of the given group and of the groups depending on it. They are computed again when they are requested next time.
+     * This is required if the group matches different entries although neither the entries nor the group tree changed, e.g., when a search
+     * group is matched against a new search index.
+     */
+    public synchronized void invalidate(GroupTreeNode group) {
+        memberships.keySet().removeIf(other -> (other == group)
+                || containsByIdentity(other.getPathFromRoot(), group)
+                || containsByIdentity(group.getPathFromRoot(), other));
+    }
+
+    public void registerListener(Object listener) {
+        eventBus.register(listener);
+    }
+
+    public void unregisterListener(Object listener) {
+        try {
+            eventBus.unregister(listener);
+        } catch (IllegalArgumentException e) {
+            // occurs if the event source has not been registered, should not prevent shutdown
+        }
+    }
+
+    public void close() {
+        databaseContext.getDatabase().unregisterListener(libraryListener);
+        databaseContext.getMetaData().unregisterListener(libraryListener);
+        synchronized (this) {
+            memberships.clear();
+        }
+    }
+
+    private Membership getMembership(GroupTreeNode group) {
+        Membership membership = memberships.get(group);
+        if (membership == null) {
+            SearchMatcher matcher = group.getSearchMatcher();
+            BitSet members = new BitSet(entriesByOrdinal.size());
+            for (int ordinal = 0; ordinal < entriesByOrdinal.size(); ordinal++) {
+                BibEntry entry = entriesByOrdinal.get(ordinal);
+                if ((entry != null) && matcher.isMatch(entry)) {
+                    members.set(ordinal);
+                }
+            }
+            membership = new Membership(matcher, members);
+            memberships.put(group, membership);
+        }
+        return membership;
+    }
+
+    private Set<GroupTreeNode> matchAgainstGroups(Collection<BibEntry> entries) {
+        Set<GroupTreeNode> changedGroups = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (BibEntry entry : entries) {
+            Integer ordinal = ordinals.get(entry.getId());
+            if (ordinal == null) {
+                continue;
+            }
+            memberships.forEach((group, membership) -> {
+                boolean isMatch = membership.matcher().isMatch(entry);
+                if (membership.members().get(ordinal) != isMatch) {
+                    membership.members().set(ordinal, isMatch);
+                    changedGroups.add(group);
+                }
+            });
+        }
+        return changedGroups;
+    }
+
+    private void addOrdinal(BibEntry entry) {
+        if (ordinals.containsKey(entry.getId())) {
+            return;
+        }
+        int ordinal = freeOrdinals.nextSetBit(0);
+        if (ordinal < 0) {
+            ordinal = entriesByOrdinal.size();
+            entriesByOrdinal.add(entry);
+        } else {
+            freeOrdinals.clear(ordinal);
+            entriesByOrdinal.set(ordinal, entry);
+        }
+        ordinals.put(entry.getId(), ordinal);
+    }
+
+    private Set<GroupTreeNode> removeOrdinal(BibEntry entry) {
+        Set<GroupTreeNode> changedGroups = Collections.newSetFromMap(new IdentityHashMap<>());
+        Integer ordinal = ordinals.remove(entry.getId());
+        if (ordinal == null) {
+            return changedGroups;
+        }
+        memberships.forEach((group, membership) -> {
+            if (membership.members().get(ordinal)) {
+                membership.members().clear(ordinal);
+                changedGroups.add(group);
+            }
+        });
+        entriesByOrdinal.set(ordinal, null);
+        freeOrdinals.set(ordinal);
+        return changedGroups;
+    }
+
+    private void postChange(Set<GroupTreeNode> changedGroups) {
+        if (!changedGroups.isEmpty()) {
+            eventBus.post(new GroupMembershipChangedEvent(changedGroups));
+        }
+    }
+
+    private static boolean containsByIdentity(List<GroupTreeNode> groups, GroupTreeNode group) {
+        return groups.stream().anyMatch(other -> other == group);
+    }
+
+    private class LibraryListener {
+        @Subscribe
+        public void listen(EntriesAddedEvent event) {
+            Set<GroupTreeNode> changedGroups;
+            synchronized (GroupMembershipIndex.this) {
+                event.getBibEntries().forEach(GroupMembershipIndex.this::addOrdinal);
+                changedGroups = matchAgainstGroups(event.getBibEntries());
+            }
+            postChange(changedGroups);
+        }
+
+        @Subscribe
+        public void listen(EntriesRemovedEvent event) {
+            Set<GroupTreeNode> changedGroups = Collections.newSetFromMap(new IdentityHashMap<>());
+            synchronized (GroupMembershipIndex.this) {
+                event.getBibEntries().forEach(entry -> changedGroups.addAll(removeOrdinal(entry)));
+            }
+            postChange(changedGroups);
+        }
+
+        @Subscribe
+        public void listen(FieldChangedEvent event) {
+            update(List.of(event.getBibEntry()));
+        }
+
+        @Subscribe
+        public void listen(GroupUpdatedEvent event) {
+            // The members are computed again when they are requested by the listeners
+            Set<GroupTreeNode> changedGroups = Collections.newSetFromMap(new IdentityHashMap<>());
+            synchronized (GroupMembershipIndex.this) {
+                changedGroups.addAll(memberships.keySet());
+                memberships.clear();
+            }
+            postChange(changedGroups);
+        }
+    }
+}
@@ -47,7 +47,7 @@ public interface IdBasedParserFetcher extends IdBasedFetcher, ParserFetcher {
         } catch (URISyntaxException | MalformedURLException e) {
             throw new FetcherException("Search URI is malformed", e);
         }
-        try (InputStream stream = getUrlDownload(urlForIdentifier).asInputStream()) {
+        try (InputStream stream = getCachedUrlDownload(urlForIdentifier).asInputStream()) {
             List<BibEntry> fetchedEntries = getParser().parseEntries(stream);
             if (fetchedEntries.isEmpty()) {
                 return Optional.empty();
@@ -32,6 +32,8 @@ public class ImporterPreferences {
     private final ObservableList<String> catalogs;
     private final ObjectProperty<PlainCitationParserChoice> defaultPlainCitationParser;
     private final IntegerProperty citationsRelationsStoreTTL;
+    private final BooleanProperty cacheWebResponses;
+    private final IntegerProperty webResponsesCacheTTL;
 
     public ImporterPreferences(boolean importerEnabled,
                                boolean generateNewKeyOnImport,
@@ -43,7 +45,9 @@ public class ImporterPreferences {
                                boolean persistCustomKeys,
                                List<String> catalogs,
                                PlainCitationParserChoice defaultPlainCitationParser,
-                               int citationsRelationsStoreTTL
+                               int citationsRelationsStoreTTL,
+                               boolean cacheWebResponses,
+                               int webResponsesCacheTTL
     ) {
         this.importerEnabled = new SimpleBooleanProperty(importerEnabled);
         this.generateNewKeyOnImport = new SimpleBooleanProperty(generateNewKeyOnImport);
@@ -56,6 +60,8 @@ public class ImporterPreferences {
         this.catalogs = FXCollections.observableArrayList(catalogs);
         this.defaultPlainCitationParser = new SimpleObjectProperty<>(defaultPlainCitationParser);
         this.citationsRelationsStoreTTL = new SimpleIntegerProperty(citationsRelationsStoreTTL);
+        this.cacheWebResponses = new SimpleBooleanProperty(cacheWebResponses);
+        this.webResponsesCacheTTL = new SimpleIntegerProperty(webResponsesCacheTTL);
     }
 
     public boolean areImporterEnabled() {
@@ -176,4 +182,31 @@ public class ImporterPreferences {
     public void setCitationsRelationsStoreTTL(int citationsRelationsStoreTTL) {
         this.citationsRelationsStoreTTL.set(citationsRelationsStoreTTL);
     }
+
+    public boolean shouldCacheWebResponses() {
+        return cacheWebResponses.get();
+    }
+
+    public BooleanProperty cacheWebResponsesProperty() {
+        return cacheWebResponses;
+    }
+
+    public void setCacheWebResponses(boolean cacheWebResponses) {
+        this.cacheWebResponses.set(cacheWebResponses);
+    }
+
+    /**
+     * @return the days a response of a web search is served from the cache if the server does not state it
+     */
+    public int getWebResponsesCacheTTL() {
+        return webResponsesCacheTTL.get();
+    }
+
+    public IntegerProperty webResponsesCacheTTLProperty() {
+        return webResponsesCacheTTL;
+    }
+
+    public void setWebResponsesCacheTTL(int webResponsesCacheTTL) {
+        this.webResponsesCacheTTL.set(webResponsesCacheTTL);
+    }
 }
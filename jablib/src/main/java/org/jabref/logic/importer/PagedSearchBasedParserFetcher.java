@@ -27,7 +27,7 @@ public interface PagedSearchBasedParserFetcher extends SearchBasedParserFetcher,
     }
 
     private List<BibEntry> getBibEntries(URL urlForQuery) throws FetcherException {
-        try (InputStream stream = getUrlDownload(urlForQuery).asInputStream()) {
+        try (InputStream stream = getCachedUrlDownload(urlForQuery).asInputStream()) {
             List<BibEntry> fetchedEntries = getParser().parseEntries(stream);
             fetchedEntries.forEach(this::doPostCleanup);
             return fetchedEntries;
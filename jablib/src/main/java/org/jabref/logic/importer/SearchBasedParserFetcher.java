@@ -55,7 +55,7 @@ public interface SearchBasedParserFetcher extends SearchBasedFetcher, ParserFetc
     }
 
     private List<BibEntry> getBibEntries(URL urlForQuery) throws FetcherException {
-        try (InputStream stream = getUrlDownload(urlForQuery).asInputStream()) {
+        try (InputStream stream = getCachedUrlDownload(urlForQuery).asInputStream()) {
             List<BibEntry> fetchedEntries = getParser().parseEntries(stream);
             fetchedEntries.forEach(this::doPostCleanup);
             return fetchedEntries;
@@ -1,16 +1,25 @@
 package org.jabref.logic.importer;
 
 import java.net.URL;
+import java.time.Duration;
 import java.util.Optional;
 
 import org.jabref.logic.help.HelpFile;
+import org.jabref.logic.net.HttpResponseCache;
 import org.jabref.logic.net.URLDownload;
 
+import com.airhacks.afterburner.injection.Injector;
+
 /**
  * Searches web resources for bibliographic information.
  */
 public interface WebFetcher {
 
+    /**
+     * For fetchers looking up the record of an identifier, which rarely changes, in contrast to the results of a search
+     */
+    Duration IDENTIFIER_RESPONSE_CACHE_TIME_TO_LIVE = Duration.ofDays(7);
+
     /**
      * Returns the localized name of this fetcher.
      * The title can be used to display the fetcher in the menu and in the side pane.
@@ -34,4 +43,23 @@ public interface WebFetcher {
     default URLDownload getUrlDownload(URL url) {
         return new URLDownload(url);
     }
+
+    /**
+     * Returns how long the responses of this fetcher are served from the {@link HttpResponseCache} if the server does not state it.
+     * Overwrite, if the responses change less or more frequently than the configured time to live of the cache. {@link Duration#ZERO} disables the cache.
+     */
+    default Optional<Duration> getResponseCacheTimeToLive() {
+        return Optional.empty();
+    }
+
+    /**
+     * Constructs an {@link URLDownload} object using {@link #getUrlDownload(URL)}, whose responses are cached in the {@link HttpResponseCache}.
+     */
+    default URLDownload getCachedUrlDownload(URL url) {
+        URLDownload download = getUrlDownload(url);
+        // Using Injector to avoid widespread refactoring for constructor injection
+        HttpResponseCache responseCache = Injector.instantiateModelOrService(HttpResponseCache.class);
+        download.setResponseCache(responseCache, getResponseCacheTimeToLive().orElse(responseCache.getTimeToLive()));
+        return download;
+    }
 }
@@ -1,6 +1,7 @@
 package org.jabref.logic.importer.fetcher;
 
 import java.net.URISyntaxException;
+import java.time.Duration;
 import java.util.Optional;
 
 import org.jabref.logic.help.HelpFile;
@@ -23,6 +24,11 @@ public abstract class AbstractIsbnFetcher implements IdBasedParserFetcher {
         return Optional.of(HelpFile.FETCHER_ISBN);
     }
 
+    @Override
+    public Optional<Duration> getResponseCacheTimeToLive() {
+        return Optional.of(IDENTIFIER_RESPONSE_CACHE_TIME_TO_LIVE);
+    }
+
     /**
      * @throws URISyntaxException if the ISBN is invalid
      * @implNote We could have created a new exception (which causes much implementation efforts) or we could have used "FetcherException", which is currently more used for I/O errors than syntax errors (thus also more WTF). Moreover, a ISBN is "kind of" an URI (even if the isbn: prefix is missing)
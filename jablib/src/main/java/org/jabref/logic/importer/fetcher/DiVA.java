@@ -3,6 +3,7 @@ package org.jabref.logic.importer.fetcher;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.time.Duration;
 import java.util.Optional;
 
 import org.jabref.logic.help.HelpFile;
@@ -30,6 +31,11 @@ public class DiVA implements IdBasedParserFetcher {
         return "DiVA";
     }
 
+    @Override
+    public Optional<Duration> getResponseCacheTimeToLive() {
+        return Optional.of(IDENTIFIER_RESPONSE_CACHE_TIME_TO_LIVE);
+    }
+
     @Override
     public Optional<HelpFile> getHelpPage() {
         return Optional.of(HelpFile.FETCHER_DIVA);
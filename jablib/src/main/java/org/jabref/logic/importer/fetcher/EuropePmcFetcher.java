@@ -4,6 +4,7 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -151,4 +152,9 @@ public class EuropePmcFetcher implements IdBasedParserFetcher {
     public String getName() {
         return "Europe/PMCID";
     }
+
+    @Override
+    public Optional<Duration> getResponseCacheTimeToLive() {
+        return Optional.of(IDENTIFIER_RESPONSE_CACHE_TIME_TO_LIVE);
+    }
 }
@@ -1,5 +1,7 @@
 package org.jabref.logic.importer.fetcher;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -106,12 +108,12 @@ public class INSPIREFetcher implements SearchBasedParserFetcher, EntryBasedFetch
             throw new FetcherException("Invalid URL", e);
         }
 
-        try {
-            URLDownload download = getUrlDownload(url);
-            List<BibEntry> results = getParser().parseEntries(download.asInputStream());
+        URLDownload download = getUrlDownload(url);
+        try (InputStream stream = download.asInputStream()) {
+            List<BibEntry> results = getParser().parseEntries(stream);
             results.forEach(this::doPostCleanup);
             return results;
-        } catch (ParseException e) {
+        } catch (IOException | ParseException e) {
             throw new FetcherException(url, e);
         }
     }
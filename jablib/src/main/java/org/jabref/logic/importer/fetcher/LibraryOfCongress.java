@@ -3,6 +3,8 @@ package org.jabref.logic.importer.fetcher;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.time.Duration;
+import java.util.Optional;
 
 import org.jabref.logic.importer.IdBasedParserFetcher;
 import org.jabref.logic.importer.ImportFormatPreferences;
@@ -27,6 +29,11 @@ public class LibraryOfCongress implements IdBasedParserFetcher {
         return "Library of Congress";
     }
 
+    @Override
+    public Optional<Duration> getResponseCacheTimeToLive() {
+        return Optional.of(IDENTIFIER_RESPONSE_CACHE_TIME_TO_LIVE);
+    }
+
     @Override
     public URL getUrlForIdentifier(String identifier) throws URISyntaxException, MalformedURLException {
         URIBuilder uriBuilder = new URIBuilder("https://lccn.loc.gov/" + identifier + "/mods");
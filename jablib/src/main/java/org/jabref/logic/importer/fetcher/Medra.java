@@ -3,6 +3,7 @@ package org.jabref.logic.importer.fetcher;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.IntStream;
@@ -42,6 +43,11 @@ public class Medra implements IdBasedParserFetcher {
         return "mEDRA";
     }
 
+    @Override
+    public Optional<Duration> getResponseCacheTimeToLive() {
+        return Optional.of(IDENTIFIER_RESPONSE_CACHE_TIME_TO_LIVE);
+    }
+
     @Override
     public Parser getParser() {
         return inputStream -> {
@@ -65,7 +65,8 @@ public class BibtexImporter extends Importer {
 
         try (InputStreamReader inputStreamReader = new InputStreamReader(Files.newInputStream(filePath), decoder);
              BufferedReader reader = new BufferedReader(inputStreamReader)) {
-            ParserResult parserResult = this.importDatabase(reader);
+            // Large libraries are parsed on multiple threads; small ones are parsed sequentially by the same call
+            ParserResult parserResult = new ParallelBibtexParser(importFormatPreferences, fileMonitor).parse(reader);
             parserResult.getMetaData().setEncoding(result.encoding());
             parserResult.getMetaData().setEncodingExplicitlySupplied(result.encodingExplicitlySupplied());
             parserResult.setPath(filePath);
@@ -76,6 +77,27 @@ public class BibtexImporter extends Importer {
         }
     }
 
+    /**
+     * Reads the library entry by entry and passes the entries to the listener instead of keeping them.
+     *
+     * @return the result without entries, see {@link BibtexParser#parse(java.io.Reader, BibtexParserListener)}
+     */
+    public ParserResult importDatabase(Path filePath, BibtexParserListener listener) throws IOException {
+        EncodingResult result = getEncodingResult(filePath);
+
+        CharsetDecoder decoder = result.encoding().newDecoder();
+        decoder.onMalformedInput(CodingErrorAction.REPLACE);
+
+        try (InputStreamReader inputStreamReader = new InputStreamReader(Files.newInputStream(filePath), decoder);
+             BufferedReader reader = new BufferedReader(inputStreamReader)) {
+            ParserResult parserResult = new BibtexParser(importFormatPreferences, fileMonitor).parse(reader, listener);
+            parserResult.getMetaData().setEncoding(result.encoding());
+            parserResult.getMetaData().setEncodingExplicitlySupplied(result.encodingExplicitlySupplied());
+            parserResult.setPath(filePath);
+            return parserResult;
+        }
+    }
+
     public static Charset getEncoding(Path filePath) throws IOException {
         return getEncodingResult(filePath).encoding();
     }
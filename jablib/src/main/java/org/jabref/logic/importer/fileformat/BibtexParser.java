@@ -7,12 +7,11 @@ import java.io.PushbackReader;
 import java.io.Reader;
 import java.io.StringWriter;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collection;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -59,6 +58,7 @@ import com.dd.plist.BinaryPropertyListParser;
 import com.dd.plist.NSArray;
 import com.dd.plist.NSDictionary;
 import com.dd.plist.NSString;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -94,7 +94,10 @@ public class BibtexParser implements Parser {
     private static final String BIB_DESK_ROOT_GROUP_NAME = "BibDeskGroups";
     private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = DocumentBuilderFactory.newInstance();
     private static final int INDEX_RELATIVE_PATH_IN_PLIST = 4;
-    private final Deque<Character> pureTextFromFile = new LinkedList<>();
+    // Upper bound of the capacity kept for the text of the next entry; a larger buffer is released after a huge entry has been parsed
+    private static final int MAX_RETAINED_TEXT_CAPACITY = 64 * 1024;
+    // The text read since the last dump; kept as primitive chars, because it holds each character of the file for a while
+    private StringBuilder pureTextFromFile = new StringBuilder();
     private final ImportFormatPreferences importFormatPreferences;
     private PushbackReader pushbackReader;
     private BibDatabase database;
@@ -107,6 +110,9 @@ public class BibtexParser implements Parser {
 
     private GroupTreeNode bibDeskGroupTreeNode;
 
+    // If set, the entries are passed to the listener instead of being stored in the database
+    private @Nullable BibtexParserListener listener;
+
     public BibtexParser(ImportFormatPreferences importFormatPreferences, FileUpdateMonitor fileMonitor) {
         this.importFormatPreferences = Objects.requireNonNull(importFormatPreferences);
         this.metaDataParser = new MetaDataParser(fileMonitor);
@@ -162,6 +168,86 @@ public class BibtexParser implements Parser {
      */
     public ParserResult parse(Reader in) throws IOException {
         Objects.requireNonNull(in);
+        listener = null;
+        return parseFromReader(in);
+    }
+
+    /**
+     * Parses BibTeX data found when reading from reader and passes the parsed parts to the listener in the order they appear in the file.
+     * <p>
+     * In contrast to {@link #parse(Reader)}, the entries are not kept: The returned result contains the strings, the preamble, the metadata, the custom entry types, and the warnings, but no entries.
+     * Thus, a library of arbitrary size can be processed with bounded memory.
+     * Static groups of BibDesk cannot be assigned to the entries, because these groups are stored after the entries.
+     * <p>
+     * The reader will be consumed. An exception thrown by the listener aborts the parsing.
+     */
+    public ParserResult parse(Reader in, BibtexParserListener listener) throws IOException {
+        Objects.requireNonNull(in);
+        this.listener = Objects.requireNonNull(listener);
+        try {
+            return parseFromReader(in);
+        } finally {
+            this.listener = null;
+        }
+    }
+
+    private ParserResult parseFromReader(Reader in) throws IOException {
+        startParsing(in);
+
+        Map<String, String> meta = new HashMap<>();
+        parseFileContent(meta);
+        return finishParsing(meta);
+    }
+
+    /**
+     * Parses a part of a file for the {@link ParallelBibtexParser}.
+     * The metadata comments are collected, but not interpreted, and the text following the last parsed item is returned unchanged instead of being stored as epilog.
+     */
+    PartialResult parsePart(Reader in) throws IOException {
+        List<BibEntry> entries = new ArrayList<>();
+        List<String> preambles = new ArrayList<>();
+        this.listener = new BibtexParserListener() {
+            @Override
+            public void onEntry(BibEntry entry) {
+                entries.add(entry);
+            }
+
+            @Override
+            public void onPreamble(String preamble) {
+                preambles.add(preamble);
+            }
+        };
+        try {
+            startParsing(in);
+            Map<String, String> meta = new HashMap<>();
+            parseFileContent(meta);
+            return new PartialResult(parserResult, entries, preambles, meta, getPureTextFromFile());
+        } finally {
+            this.listener = null;
+        }
+    }
+
+    /**
+     * Completes a result merged from {@link PartialResult}s the same way {@link #parse(Reader)} completes its result after the last item of the file has been parsed
+     *
+     * @param remainingText the text following the last parsed item of the file
+     */
+    ParserResult finishParts(ParserResult mergedResult, Map<String, String> meta, String remainingText) {
+        parserResult = mergedResult;
+        database = mergedResult.getDatabase();
+        entryTypes = mergedResult.getEntryTypes();
+        pureTextFromFile.setLength(0);
+        pureTextFromFile.append(remainingText);
+        return finishParsing(meta);
+    }
+
+    /**
+     * The result of {@link #parsePart(Reader)}. The database of the parser result does not contain the entries, these are given in file order.
+     */
+    record PartialResult(ParserResult parserResult, List<BibEntry> entries, List<String> preambles, Map<String, String> meta, String remainingText) {
+    }
+
+    private void startParsing(Reader in) throws IOException {
         pushbackReader = new PushbackReader(in, BibtexParser.LOOKAHEAD);
 
         String newLineSeparator = determineNewLineSeparator();
@@ -172,8 +258,6 @@ public class BibtexParser implements Parser {
         parseDatabaseID();
 
         skipWhitespace();
-
-        return parseFileContent();
     }
 
     private String determineNewLineSeparator() throws IOException {
@@ -225,9 +309,7 @@ public class BibtexParser implements Parser {
         }
     }
 
-    private ParserResult parseFileContent() throws IOException {
-        Map<String, String> meta = new HashMap<>();
-
+    private void parseFileContent(Map<String, String> meta) throws IOException {
         while (!eof) {
             boolean found = consumeUncritically('@');
             if (!found) {
@@ -241,7 +323,11 @@ public class BibtexParser implements Parser {
 
             switch (entryType) {
                 case "preamble" -> {
-                    database.setPreamble(parsePreamble());
+                    String preamble = parsePreamble();
+                    database.setPreamble(preamble);
+                    if (listener != null) {
+                        listener.onPreamble(preamble);
+                    }
                     // Consume a new line which separates the preamble from the next part (if the file was written with JabRef)
                     skipOneNewline();
                     // the preamble is saved verbatim anyway, so the text read so far can be dropped
@@ -258,7 +344,9 @@ public class BibtexParser implements Parser {
 
             skipWhitespace();
         }
+    }
 
+    private ParserResult finishParsing(Map<String, String> meta) {
         addBibDeskGroupEntriesToJabRefGroups();
 
         try {
@@ -285,6 +373,9 @@ public class BibtexParser implements Parser {
                 );
             }
             parserResult.setMetaData(metaData);
+            if (listener != null) {
+                listener.onMetaData(metaData);
+            }
         } catch (ParseException exception) {
             parserResult.addException(exception);
         }
@@ -332,7 +423,11 @@ public class BibtexParser implements Parser {
             String parsedSerialization = commentsAndEntryTypeDefinition + dumpTextReadSoFarToString();
             entry.setParsedSerialization(parsedSerialization);
 
-            database.insertEntry(entry);
+            if (listener == null) {
+                database.insertEntry(entry);
+            } else {
+                listener.onEntry(entry);
+            }
         } catch (IOException ex) {
             // This makes the parser more robust:
             // If an exception is thrown when parsing an entry, drop the entry and try to resume parsing.
@@ -454,6 +549,9 @@ public class BibtexParser implements Parser {
         BibtexString bibtexString = parseString();
         try {
             database.addString(bibtexString);
+            if (listener != null) {
+                listener.onString(bibtexString);
+            }
         } catch (KeyCollisionException ex) {
             parserResult.addWarning(Localization.lang("Duplicate string name: '%0'", bibtexString.getName()));
         }
@@ -510,12 +608,13 @@ public class BibtexParser implements Parser {
     }
 
     private String getPureTextFromFile() {
-        StringBuilder entry = new StringBuilder();
-        while (!pureTextFromFile.isEmpty()) {
-            entry.append(pureTextFromFile.pollFirst());
+        String text = pureTextFromFile.toString();
+        if (pureTextFromFile.capacity() > MAX_RETAINED_TEXT_CAPACITY) {
+            pureTextFromFile = new StringBuilder();
+        } else {
+            pureTextFromFile.setLength(0);
         }
-
-        return entry.toString();
+        return text;
     }
 
     /**
@@ -630,7 +729,7 @@ public class BibtexParser implements Parser {
         int character = pushbackReader.read();
 
         if (!isEOFCharacter(character)) {
-            pureTextFromFile.offerLast((char) character);
+            pureTextFromFile.append((char) character);
         }
         if (character == '\n') {
             line++;
@@ -643,8 +742,9 @@ public class BibtexParser implements Parser {
             line--;
         }
         pushbackReader.unread(character);
-        if (pureTextFromFile.getLast() == character) {
-            pureTextFromFile.pollLast();
+        int length = pureTextFromFile.length();
+        if ((length > 0) && (pureTextFromFile.charAt(length - 1) == character)) {
+            pureTextFromFile.setLength(length - 1);
         }
     }
 
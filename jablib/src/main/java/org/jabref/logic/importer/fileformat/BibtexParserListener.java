@@ -0,0 +1,26 @@
+package org.jabref.logic.importer.fileformat;
+
+import java.io.Reader;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibtexString;
+import org.jabref.model.metadata.MetaData;
+
+/**
+ * Receives the parts of a BibTeX library while it is parsed by {@link BibtexParser#parse(Reader, BibtexParserListener)}.
+ * <p>
+ * The parts are passed in the order they appear in the file. As JabRef stores its metadata at the end of the file, the metadata is passed after all entries.
+ */
+public interface BibtexParserListener {
+
+    void onEntry(BibEntry entry);
+
+    default void onString(BibtexString bibtexString) {
+    }
+
+    default void onPreamble(String preamble) {
+    }
+
+    default void onMetaData(MetaData metaData) {
+    }
+}
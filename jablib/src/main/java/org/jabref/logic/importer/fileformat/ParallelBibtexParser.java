@@ -0,0 +1,200 @@
+package org.jabref.logic.importer.fileformat;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.jabref.logic.importer.ImportFormatPreferences;
+import org.jabref.logic.importer.ParserResult;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.KeyCollisionException;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryType;
+import org.jabref.model.entry.BibtexString;
+import org.jabref.model.entry.IdGenerator;
+import org.jabref.model.metadata.MetaData;
+import org.jabref.model.util.DummyFileUpdateMonitor;
+import org.jabref.model.util.FileUpdateMonitor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parses large BibTeX files on multiple threads with the same result as {@link BibtexParser#parse(Reader)}.
+ * <p>
+ * The content is split into chunks at lines starting with {@code @}. The chunks are parsed in parallel and the partial results are merged in file order.
+ * A split may not be located between two items of the file, e.g., if a line of a field value starts with {@code @}. This is detected as follows:
+ * <ul>
+ *     <li>The text following the last item parsed from a chunk (e.g., an unfinished comment) is prepended to the next chunk, which is then parsed again.</li>
+ *     <li>If the parsing of a chunk produces warnings, the file is parsed sequentially, so that the warnings are the ones of the sequential parser.</li>
+ * </ul>
+ * Files containing static groups of BibDesk are parsed sequentially, because these groups are assigned to the entries of the whole file.
+ */
+public class ParallelBibtexParser {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelBibtexParser.class);
+
+    private static final int DEFAULT_MIN_CHUNK_LENGTH = 1024 * 1024;
+
+    private final ImportFormatPreferences importFormatPreferences;
+    private final FileUpdateMonitor fileMonitor;
+    private final int minChunkLength;
+
+    public ParallelBibtexParser(ImportFormatPreferences importFormatPreferences, FileUpdateMonitor fileMonitor) {
+        this(importFormatPreferences, fileMonitor, DEFAULT_MIN_CHUNK_LENGTH);
+    }
+
+    public ParallelBibtexParser(ImportFormatPreferences importFormatPreferences) {
+        this(importFormatPreferences, new DummyFileUpdateMonitor());
+    }
+
+    ParallelBibtexParser(ImportFormatPreferences importFormatPreferences, FileUpdateMonitor fileMonitor, int minChunkLength) {
+        this.importFormatPreferences = Objects.requireNonNull(importFormatPreferences);
+        this.fileMonitor = fileMonitor;
+        this.minChunkLength = minChunkLength;
+    }
+
+    /**
+     * Reads the reader completely and parses its content. The reader will be consumed.
+     */
+    public ParserResult parse(Reader in) throws IOException {
+        Objects.requireNonNull(in);
+        StringBuilder content = new StringBuilder();
+        char[] buffer = new char[64 * 1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            content.append(buffer, 0, read);
+        }
+        return parse(content.toString());
+    }
+
+    public ParserResult parse(String content) throws IOException {
+        List<Integer> boundaries = getChunkBoundaries(content);
+        // The sequential parser stops at the first U+FFFF, which would not be the case if the following chunks were parsed independently
+        if ((boundaries.size() <= 2) || content.contains(MetaData.BIBDESK_STATIC_FLAG) || (content.indexOf(0xFFFF) >= 0)) {
+            return parseSequentially(content);
+        }
+
+        List<String> chunks = IntStream.range(0, boundaries.size() - 1)
+                                       .mapToObj(i -> content.substring(boundaries.get(i), boundaries.get(i + 1)))
+                                       .toList();
+        List<BibtexParser.PartialResult> parts;
+        try {
+            parts = chunks.parallelStream()
+                          .map(chunk -> {
+                              try {
+                                  return parsePart(chunk);
+                              } catch (IOException e) {
+                                  throw new UncheckedIOException(e);
+                              }
+                          })
+                          .toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        Optional<ParserResult> merged = merge(chunks, parts);
+        if (merged.isEmpty()) {
+            LOGGER.debug("Could not merge the chunks, parsing sequentially");
+            return parseSequentially(content);
+        }
+        return merged.get();
+    }
+
+    /**
+     * Returns the start of each chunk followed by the end of the content.
+     * <p>
+     * A chunk ends with the line break following the last non-whitespace character in front of a line starting with {@code @}.
+     * Thus, if that character closes an item, the chunk ends where the parser has completely read the item:
+     * The parser consumes the line break following an entry, and the whitespace in front of an item belongs to the item.
+     */
+    private List<Integer> getChunkBoundaries(String content) {
+        int numberOfChunks = Math.min(content.length() / minChunkLength, 4 * ForkJoinPool.getCommonPoolParallelism());
+        List<Integer> boundaries = new ArrayList<>();
+        boundaries.add(0);
+        for (int chunk = 1; chunk < numberOfChunks; chunk++) {
+            int target = (int) ((long) content.length() * chunk / numberOfChunks);
+            int lineStart = content.indexOf("\n@", target) + 1;
+            if (lineStart == 0) {
+                break;
+            }
+            int endOfText = lineStart;
+            while ((endOfText > 0) && Character.isWhitespace(content.charAt(endOfText - 1))) {
+                endOfText--;
+            }
+            int boundary = content.indexOf('\n', endOfText) + 1;
+            if (boundary > boundaries.getLast()) {
+                boundaries.add(boundary);
+            }
+        }
+        boundaries.add(content.length());
+        return boundaries;
+    }
+
+    private Optional<ParserResult> merge(List<String> chunks, List<BibtexParser.PartialResult> parts) throws IOException {
+        BibDatabase firstDatabase = parts.getFirst().parserResult().getDatabase();
+        BibDatabase database = new BibDatabase();
+        database.setNewLineSeparator(firstDatabase.getNewLineSeparator());
+        firstDatabase.getSharedDatabaseID().ifPresent(database::setSharedDatabaseID);
+        ParserResult result = new ParserResult(database, new MetaData(), new HashSet<>());
+
+        List<BibEntry> entries = new ArrayList<>();
+        Map<String, String> meta = new HashMap<>();
+        String remainingText = "";
+        for (int i = 0; i < parts.size(); i++) {
+            BibtexParser.PartialResult part = parts.get(i);
+            if (!remainingText.isEmpty()) {
+                // The previous chunk ended within an item (or after text which belongs to the next entry)
+                part = parsePart(remainingText + chunks.get(i));
+            }
+
+            BibDatabase partDatabase = part.parserResult().getDatabase();
+            if (part.parserResult().hasWarnings() || ((i > 0) && partDatabase.getSharedDatabaseID().isPresent())) {
+                return Optional.empty();
+            }
+
+            entries.addAll(part.entries());
+            for (BibtexString bibtexString : partDatabase.getStringValues()) {
+                try {
+                    database.addString(bibtexString);
+                } catch (KeyCollisionException e) {
+                    // The sequential parser reports a warning at the position of the duplicate
+                    return Optional.empty();
+                }
+            }
+            part.preambles().forEach(database::setPreamble);
+            meta.putAll(part.meta());
+            for (BibEntryType entryType : part.parserResult().getEntryTypes()) {
+                result.getEntryTypes().add(entryType);
+            }
+            remainingText = part.remainingText();
+        }
+        // The entries of the chunks got their IDs on different threads. The IDs are assigned again in file order,
+        // because the database relies on IDs increasing with the position of the entries.
+        for (BibEntry entry : entries) {
+            boolean changed = entry.hasChanged();
+            entry.setId(IdGenerator.next());
+            entry.setChanged(changed);
+        }
+        database.insertEntries(entries);
+
+        return Optional.of(new BibtexParser(importFormatPreferences, fileMonitor).finishParts(result, meta, remainingText));
+    }
+
+    private BibtexParser.PartialResult parsePart(String chunk) throws IOException {
+        return new BibtexParser(importFormatPreferences, fileMonitor).parsePart(Reader.of(chunk));
+    }
+
+    private ParserResult parseSequentially(String content) throws IOException {
+        return new BibtexParser(importFormatPreferences, fileMonitor).parse(Reader.of(content));
+    }
+}
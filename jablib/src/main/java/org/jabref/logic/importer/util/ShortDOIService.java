@@ -1,5 +1,7 @@
 package org.jabref.logic.importer.util;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -52,13 +54,13 @@ public class ShortDOIService {
 
         URLDownload urlDownload = new URLDownload(url);
 
-        try {
-            JSONObject resultAsJSON = JsonReader.toJsonObject(urlDownload.asInputStream());
+        try (InputStream stream = urlDownload.asInputStream()) {
+            JSONObject resultAsJSON = JsonReader.toJsonObject(stream);
             if (resultAsJSON.isEmpty()) {
                 throw new ShortDOIServiceException("Cannot get short DOI");
             }
             return resultAsJSON;
-        } catch (ParseException | JSONException | FetcherException e) {
+        } catch (IOException | ParseException | JSONException | FetcherException e) {
             throw new ShortDOIServiceException("Cannot get short DOI", e);
         }
     }
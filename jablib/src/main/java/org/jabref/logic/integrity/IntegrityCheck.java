@@ -17,6 +17,7 @@ public class IntegrityCheck {
     private final BibDatabaseContext bibDatabaseContext;
     private final FieldCheckers fieldCheckers;
     private final List<EntryChecker> entryCheckers;
+    private final List<EntryChecker> libraryDependentEntryCheckers;
 
     public IntegrityCheck(BibDatabaseContext bibDatabaseContext,
                           FilePreferences filePreferences,
@@ -30,14 +31,18 @@ public class IntegrityCheck {
                 journalAbbreviationRepository,
                 allowIntegerEdition);
 
+        EntryLinkChecker entryLinkChecker = new EntryLinkChecker(bibDatabaseContext.getDatabase());
+        CitationKeyDuplicationChecker citationKeyDuplicationChecker = new CitationKeyDuplicationChecker(bibDatabaseContext.getDatabase());
+        libraryDependentEntryCheckers = List.of(entryLinkChecker, citationKeyDuplicationChecker);
+
         entryCheckers = new ArrayList<>(List.of(
                 new CitationKeyChecker(),
                 new TypeChecker(),
                 new BibStringChecker(),
                 new HTMLCharacterChecker(),
-                new EntryLinkChecker(bibDatabaseContext.getDatabase()),
+                entryLinkChecker,
                 new CitationKeyDeviationChecker(bibDatabaseContext, citationKeyPatternPreferences),
-                new CitationKeyDuplicationChecker(bibDatabaseContext.getDatabase()),
+                citationKeyDuplicationChecker,
                 new AmpersandChecker(),
                 new LatexIntegrityChecker(),
                 new JournalInAbbreviationListChecker(StandardField.JOURNAL, journalAbbreviationRepository)));
@@ -84,6 +89,26 @@ public class IntegrityCheck {
         return result;
     }
 
+    /**
+     * Checks the entry without the checks comparing it to the other entries of the library (entry links and duplicate citation keys).
+     * Used if the entries are checked one by one while the library is parsed and thus the other entries are not available.
+     */
+    public List<IntegrityMessage> checkEntryWithoutLibrary(BibEntry entry) {
+        List<IntegrityMessage> result = new ArrayList<>();
+
+        for (FieldChecker fieldChecker : fieldCheckers.getAll()) {
+            result.addAll(fieldChecker.check(entry));
+        }
+
+        for (EntryChecker entryChecker : entryCheckers) {
+            if (!libraryDependentEntryCheckers.contains(entryChecker)) {
+                result.addAll(entryChecker.check(entry));
+            }
+        }
+
+        return result;
+    }
+
     public List<IntegrityMessage> checkDatabase(BibDatabase database) {
         return new DoiDuplicationChecker().check(database);
     }
@@ -0,0 +1,422 @@
+package org.jabref.logic.net;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.common.hash.Hashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores successful HTTP responses on disk, so that identical requests, e.g., when running a systematic literature review again,
+ * are served locally.
+ * <p>
+ * Responses are keyed by the normalized request: the method, the URL with sorted query parameters, the headers, and the hash of the body.
+ * A response is fresh for the {@code max-age} of its {@code Cache-Control} header or, if the server does not state it, for the time to live
+ * given by the fetcher. Responses with {@code no-store} are not stored, responses with {@code no-cache} are revalidated on each request.
+ * A stale response with an {@code ETag} or {@code Last-Modified} header is revalidated using a conditional request.
+ * <p>
+ * The size of the cache is bounded. If it is exceeded, the least recently used responses are removed.
+ * <p>
+ * Each response is stored in one file holding the freshness information and the body. The file is replaced atomically,
+ * so that a read without holding the lock never combines the body of one response with the headers of another.
+ * The URL of the request is not stored, because it may contain API keys.
+ */
+public class HttpResponseCache {
+
+    public static final long DEFAULT_MAX_SIZE = 100L * 1024 * 1024;
+
+    /**
+     * Larger responses, e.g., PDF files, are not stored
+     */
+    public static final int MAX_RESPONSE_SIZE = 5 * 1024 * 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpResponseCache.class);
+
+    private static final String RESPONSE_EXTENSION = ".response";
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path directory;
+    private final long maxSize;
+    private final Duration timeToLive;
+    private final Clock clock;
+
+    // The stored responses by key, least recently used first
+    private final LinkedHashMap<String, StoredResponse> storedResponses = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalSize;
+    private long lastGeneration;
+
+    /**
+     * @param generation distinguishes the files written for the same key, so that a failed read does not remove a response stored afterward
+     */
+    private record StoredResponse(long size, long generation) {
+    }
+
+    /**
+     * A stored response
+     *
+     * @param expires      the time until the response is fresh
+     * @param eTag         the {@code ETag} header of the response
+     * @param lastModified the {@code Last-Modified} header of the response
+     */
+    public record CachedResponse(byte[] body, Instant expires, Optional<String> eTag, Optional<String> lastModified) {
+        public boolean isRevalidatable() {
+            return eTag.isPresent() || lastModified.isPresent();
+        }
+    }
+
+    /**
+     * Creates a cache stored in the given directory.
+     *
+     * @param timeToLive the time a response is fresh if neither the server nor the fetcher states it
+     */
+    public HttpResponseCache(Path directory, long maxSize, Duration timeToLive) {
+        this(directory, maxSize, timeToLive, Clock.systemUTC());
+    }
+
+    HttpResponseCache(Path directory, long maxSize, Duration timeToLive, Clock clock) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        loadIndex();
+    }
+
+    /**
+     * Creates a cache which stores nothing, so that every request is sent to the server.
+     */
+    public HttpResponseCache() {
+        this.directory = null;
+        this.maxSize = 0;
+        this.timeToLive = Duration.ZERO;
+        this.clock = Clock.systemUTC();
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * @return the time a response is fresh if neither the server nor the fetcher states it
+     */
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Computes the key of the given request.
+     *
+     * @param body the body of the request, empty for requests without body
+     */
+    public static String getKey(HttpRequest request, String body) {
+        String headers = request.headers().map().entrySet().stream()
+                                .map(header -> header.getKey().toLowerCase(Locale.ROOT) + ":" + String.join(",", header.getValue()))
+                                .sorted()
+                                .collect(Collectors.joining("\n"));
+        String normalizedRequest = request.method() + " " + normalize(request.uri()) + "\n"
+                + headers + "\n"
+                + Hashing.sha256().hashString(body, StandardCharsets.UTF_8);
+        return Hashing.sha256().hashString(normalizedRequest, StandardCharsets.UTF_8).toString();
+    }
+
+    /**
+     * @return the URL with lower case scheme and host, without default port and fragment, and with sorted query parameters
+     */
+    static String normalize(URI uri) {
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+        String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+        int port = uri.getPort();
+        if (("http".equals(scheme) && (port == 80)) || ("https".equals(scheme) && (port == 443))) {
+            port = -1;
+        }
+        String query = uri.getRawQuery() == null ? null : Stream.of(uri.getRawQuery().split("&"))
+                                                                .filter(parameter -> !parameter.isEmpty())
+                                                                .sorted()
+                                                                .collect(Collectors.joining("&"));
+        String path = (uri.getRawPath() == null) || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        return scheme + "://" + host + (port == -1 ? "" : ":" + port) + path + (query == null ? "" : "?" + query);
+    }
+
+    public Optional<CachedResponse> get(String key) {
+        StoredResponse storedResponse;
+        synchronized (this) {
+            // Marks the response as used recently
+            storedResponse = storedResponses.get(key);
+        }
+        if (storedResponse == null) {
+            return Optional.empty();
+        }
+        // The file is replaced atomically, thus it is read without holding the lock
+        try {
+            CachedResponse response = decode(Files.readAllBytes(getResponsePath(key)));
+            // Keeps the order of use when the index is loaded again
+            Files.setLastModifiedTime(getResponsePath(key), FileTime.from(clock.instant()));
+            return Optional.of(response);
+        } catch (NoSuchFileException e) {
+            // Evicted or removed concurrently
+            return Optional.empty();
+        } catch (IOException e) {
+            LOGGER.warn("Could not read cached response {}", key, e);
+            synchronized (this) {
+                StoredResponse current = storedResponses.get(key);
+                if ((current != null) && (current.generation() == storedResponse.generation())) {
+                    remove(key);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    public boolean isFresh(CachedResponse response) {
+        return clock.instant().isBefore(response.expires());
+    }
+
+    /**
+     * Stores the given response unless its headers forbid it.
+     *
+     * @param defaultTimeToLive the time the response is fresh if the server does not state it
+     */
+    public synchronized void put(String key, HttpHeaders headers, byte[] body, Duration defaultTimeToLive) {
+        if (!isEnabled() || isNoStore(headers) || (body.length > MAX_RESPONSE_SIZE)) {
+            return;
+        }
+        CachedResponse response = new CachedResponse(body, getExpires(headers, defaultTimeToLive), headers.firstValue("ETag"), headers.firstValue("Last-Modified"));
+        store(key, response);
+    }
+
+    /**
+     * Updates the freshness of a stored response after the server confirmed it is still valid.
+     */
+    public synchronized void refresh(String key, HttpHeaders headers, Duration defaultTimeToLive) {
+        if (!storedResponses.containsKey(key)) {
+            return;
+        }
+        if (isNoStore(headers)) {
+            remove(key);
+            return;
+        }
+        try {
+            CachedResponse response = decode(Files.readAllBytes(getResponsePath(key)));
+            Optional<String> eTag = headers.firstValue("ETag").or(response::eTag);
+            store(key, new CachedResponse(response.body(), getExpires(headers, defaultTimeToLive), eTag, response.lastModified()));
+        } catch (IOException e) {
+            LOGGER.warn("Could not refresh cached response {}", key, e);
+            remove(key);
+        }
+    }
+
+    private void store(String key, CachedResponse response) {
+        byte[] encoded;
+        try {
+            encoded = encode(response);
+            Files.createDirectories(directory);
+            writeAtomically(getResponsePath(key), output -> output.write(encoded));
+        } catch (IOException e) {
+            LOGGER.warn("Could not store response {}", key, e);
+            remove(key);
+            return;
+        }
+
+        StoredResponse previous = storedResponses.put(key, new StoredResponse(encoded.length, ++lastGeneration));
+        totalSize += encoded.length - (previous == null ? 0 : previous.size());
+        evict();
+    }
+
+    public synchronized long getSize() {
+        return totalSize;
+    }
+
+    private Instant getExpires(HttpHeaders headers, Duration defaultTimeToLive) {
+        Instant now = clock.instant();
+        for (String directive : getCacheControl(headers)) {
+            if ("no-cache".equals(directive)) {
+                return now;
+            }
+            if (directive.startsWith("max-age=")) {
+                try {
+                    return now.plusSeconds(Long.parseLong(directive.substring("max-age=".length())));
+                } catch (NumberFormatException e) {
+                    LOGGER.debug("Invalid max-age {}", directive);
+                }
+            }
+        }
+        return now.plus(defaultTimeToLive);
+    }
+
+    private static boolean isNoStore(HttpHeaders headers) {
+        return getCacheControl(headers).contains("no-store");
+    }
+
+    private static List<String> getCacheControl(HttpHeaders headers) {
+        return headers.allValues("Cache-Control").stream()
+                      .flatMap(value -> Stream.of(value.split(",")))
+                      .map(directive -> directive.trim().toLowerCase(Locale.ROOT))
+                      .toList();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, StoredResponse>> leastRecentlyUsed = storedResponses.entrySet().iterator();
+        List<String> evicted = new ArrayList<>();
+        while ((totalSize > maxSize) && leastRecentlyUsed.hasNext()) {
+            Map.Entry<String, StoredResponse> entry = leastRecentlyUsed.next();
+            evicted.add(entry.getKey());
+            totalSize -= entry.getValue().size();
+            leastRecentlyUsed.remove();
+        }
+        evicted.forEach(this::deleteFiles);
+    }
+
+    private void remove(String key) {
+        StoredResponse storedResponse = storedResponses.remove(key);
+        if (storedResponse != null) {
+            totalSize -= storedResponse.size();
+        }
+        deleteFiles(key);
+    }
+
+    private void deleteFiles(String key) {
+        try {
+            Files.deleteIfExists(getResponsePath(key));
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete cached response {}", key, e);
+        }
+    }
+
+    private void loadIndex() {
+        if ((directory == null) || !Files.isDirectory(directory)) {
+            return;
+        }
+        deleteLegacyFiles();
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> responseFiles = files.filter(file -> file.getFileName().toString().endsWith(RESPONSE_EXTENSION))
+                                            .sorted(Comparator.comparing(HttpResponseCache::getLastModifiedTime))
+                                            .toList();
+            for (Path responseFile : responseFiles) {
+                String fileName = responseFile.getFileName().toString();
+                String key = fileName.substring(0, fileName.length() - RESPONSE_EXTENSION.length());
+                try {
+                    long size = Files.size(responseFile);
+                    storedResponses.put(key, new StoredResponse(size, ++lastGeneration));
+                    totalSize += size;
+                } catch (NoSuchFileException e) {
+                    LOGGER.debug("Cached response {} removed while loading the index", key);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not read HTTP cache directory {}", directory, e);
+        }
+        evict();
+    }
+
+    /**
+     * Removes the files of the previous format, which stored the URL of the request in plain text
+     */
+    private void deleteLegacyFiles() {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> legacyFiles = files.filter(file -> file.getFileName().toString().endsWith(".properties")
+                                                  || file.getFileName().toString().endsWith(".body"))
+                                          .toList();
+            for (Path legacyFile : legacyFiles) {
+                Files.deleteIfExists(legacyFile);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not remove outdated cached responses in {}", directory, e);
+        }
+    }
+
+    private static byte[] encode(CachedResponse response) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(response.body().length + 256);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(FORMAT_VERSION);
+            output.writeLong(response.expires().toEpochMilli());
+            writeOptional(output, response.eTag());
+            writeOptional(output, response.lastModified());
+            output.writeInt(response.body().length);
+            output.write(response.body());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static CachedResponse decode(byte[] encoded) throws IOException {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(encoded))) {
+            int version = input.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unknown format " + version + " of cached response");
+            }
+            Instant expires = Instant.ofEpochMilli(input.readLong());
+            Optional<String> eTag = readOptional(input);
+            Optional<String> lastModified = readOptional(input);
+            byte[] body = input.readNBytes(input.readInt());
+            if (input.read() != -1) {
+                throw new IOException("Cached response has trailing bytes");
+            }
+            return new CachedResponse(body, expires, eTag, lastModified);
+        }
+    }
+
+    private static void writeOptional(DataOutputStream output, Optional<String> value) throws IOException {
+        output.writeBoolean(value.isPresent());
+        if (value.isPresent()) {
+            output.writeUTF(value.get());
+        }
+    }
+
+    private static Optional<String> readOptional(DataInputStream input) throws IOException {
+        return input.readBoolean() ? Optional.of(input.readUTF()) : Optional.empty();
+    }
+
+    private static FileTime getLastModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private Path getResponsePath(String key) {
+        return directory.resolve(key + RESPONSE_EXTENSION);
+    }
+
+    private void writeAtomically(Path file, Writer writer) throws IOException {
+        Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream output = Files.newOutputStream(temporaryFile)) {
+                writer.write(output);
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(OutputStream output) throws IOException;
+    }
+}
@@ -0,0 +1,225 @@
+package org.jabref.logic.net;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.CookieHandler;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.net.ssl.SSLSession;
+
+/**
+ * Sends HTTP requests using one {@link HttpClient}, which keeps the connections to the hosts alive and reuses them for
+ * subsequent requests. HTTP/2 is used if the server supports it, so that several requests to the same host share one connection.
+ * <p>
+ * The number of requests in flight per host is limited. Requests exceeding the limit wait until a previous request to the host completed.
+ * For responses read as stream, the request completes when the stream is closed or has been read to its end.
+ * <p>
+ * Redirects are followed, except from HTTPS to HTTP. The proxy settings registered by {@link ProxyRegisterer} and the default
+ * {@link CookieHandler} are used.
+ */
+public class HttpTransport {
+
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(30);
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 6;
+
+    private static final HttpTransport DEFAULT = new HttpTransport(DEFAULT_CONNECT_TIMEOUT, DEFAULT_MAX_CONNECTIONS_PER_HOST);
+
+    // Waiting for a free connection blocks, which is cheap on virtual threads
+    private static final ExecutorService WAITING_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final HttpClient client;
+    private final int maxConnectionsPerHost;
+    private final Map<String, Semaphore> connectionsByHost = new ConcurrentHashMap<>();
+
+    public HttpTransport(Duration connectTimeout, int maxConnectionsPerHost) {
+        if (maxConnectionsPerHost < 1) {
+            throw new IllegalArgumentException("At least one connection per host is required");
+        }
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.client = HttpClient.newBuilder()
+                                .version(HttpClient.Version.HTTP_2)
+                                .followRedirects(HttpClient.Redirect.NORMAL)
+                                .connectTimeout(connectTimeout)
+                                .cookieHandler(new DefaultCookieHandler())
+                                .authenticator(new ProxyAuthenticator())
+                                .build();
+    }
+
+    /**
+     * @return the transport shared by all downloads
+     */
+    public static HttpTransport getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Sends the given request and waits for the response.
+     */
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException {
+        Semaphore connections = getConnections(request.uri());
+        connections.acquire();
+        try {
+            return client.send(request, bodyHandler);
+        } finally {
+            connections.release();
+        }
+    }
+
+    /**
+     * Sends the given request and returns the response with the body as stream. The connection is released when the stream is closed
+     * or has been read to its end.
+     */
+    public HttpResponse<InputStream> sendForStream(HttpRequest request) throws IOException, InterruptedException {
+        Semaphore connections = getConnections(request.uri());
+        connections.acquire();
+        HttpResponse<InputStream> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            connections.release();
+            throw e;
+        }
+        return new StreamResponse(response, new ReleasingInputStream(response.body(), connections));
+    }
+
+    /**
+     * Sends the given request without waiting for the response.
+     */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
+        Semaphore connections = getConnections(request.uri());
+        return CompletableFuture.runAsync(connections::acquireUninterruptibly, WAITING_EXECUTOR)
+                                .thenCompose(_ -> client.sendAsync(request, bodyHandler)
+                                                        .whenComplete((_, _) -> connections.release()));
+    }
+
+    private Semaphore getConnections(URI uri) {
+        String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+        return connectionsByHost.computeIfAbsent(host + ":" + uri.getPort(), _ -> new Semaphore(maxConnectionsPerHost));
+    }
+
+    /**
+     * Releases the connection to the host once when the stream is closed or its end is reached.
+     * Thus, callers reading the complete body do not block other requests to the host, even if they do not close the stream.
+     */
+    private static class ReleasingInputStream extends FilterInputStream {
+        private final Semaphore connections;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleasingInputStream(InputStream in, Semaphore connections) {
+            super(in);
+            this.connections = connections;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read == -1) {
+                release();
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read == -1) {
+                release();
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                release();
+            }
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                connections.release();
+            }
+        }
+    }
+
+    /**
+     * A response whose body is replaced by the given stream
+     */
+    private record StreamResponse(HttpResponse<InputStream> response, InputStream body) implements HttpResponse<InputStream> {
+        @Override
+        public int statusCode() {
+            return response.statusCode();
+        }
+
+        @Override
+        public HttpRequest request() {
+            return response.request();
+        }
+
+        @Override
+        public Optional<HttpResponse<InputStream>> previousResponse() {
+            return response.previousResponse();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return response.headers();
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return response.sslSession();
+        }
+
+        @Override
+        public URI uri() {
+            return response.uri();
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return response.version();
+        }
+    }
+
+    /**
+     * Delegates to the default cookie handler, which some fetchers replace to keep the cookies of a session
+     */
+    private static class DefaultCookieHandler extends CookieHandler {
+        private final CookieManager fallback = new CookieManager();
+
+        @Override
+        public Map<String, List<String>> get(URI uri, Map<String, List<String>> requestHeaders) throws IOException {
+            return getHandler().get(uri, requestHeaders);
+        }
+
+        @Override
+        public void put(URI uri, Map<String, List<String>> responseHeaders) throws IOException {
+            getHandler().put(uri, responseHeaders);
+        }
+
+        private CookieHandler getHandler() {
+            CookieHandler handler = CookieHandler.getDefault();
+            return handler == null ? fallback : handler;
+        }
+    }
+}
@@ -2,11 +2,13 @@ package org.jabref.logic.net;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.SequenceInputStream;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.net.CookieHandler;
@@ -15,9 +17,12 @@ import java.net.CookiePolicy;
 import java.net.HttpCookie;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
+import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -44,9 +49,9 @@ import org.jabref.logic.util.io.FileUtil;
 import org.jabref.model.http.SimpleHttpResponse;
 import org.jabref.model.strings.StringUtil;
 
-import kong.unirest.core.HttpResponse;
 import kong.unirest.core.Unirest;
 import kong.unirest.core.UnirestException;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -61,21 +66,36 @@ import org.slf4j.LoggerFactory;
  * String contentType = dl.getMimeType();
  * </code>
  * <br/><br/>
- * Almost each call to a public method creates a new HTTP connection (except for {@link #asString(Charset, URLConnection) asString},
- * which uses an already opened connection). Nothing is cached.
+ * HTTP and HTTPS resources are downloaded using an {@link HttpTransport}, which reuses the connections to the hosts. By default,
+ * all downloads share {@link HttpTransport#getDefault()}. Other resources, e.g., FTP or local files, and {@link #openConnection()}
+ * open a new connection for each call. Nothing is cached.
  */
 public class URLDownload {
 
     public static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:130.0) Gecko/20100101 Firefox/130.0";
     private static final Logger LOGGER = LoggerFactory.getLogger(URLDownload.class);
     private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(30);
-    private static final int MAX_RETRIES = 3;
+    // Redirects the transport does not follow itself, i.e., from HTTPS to HTTP
+    private static final int MAX_REDIRECTS = 3;
 
     private final URL source;
+    private final HttpTransport transport;
     private final Map<String, String> parameters = new HashMap<>();
     private String postData = "";
-    private Duration connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+    // null if not set, then the connect timeout of the transport applies
+    private @Nullable Duration connectTimeout;
     private SSLContext sslContext;
+    private @Nullable HttpResponseCache responseCache;
+    private Duration responseCacheTimeToLive = Duration.ZERO;
+
+    /**
+     * The body of a response and its size, -1 if unknown
+     */
+    private record ResponseBody(InputStream stream, long size) {
+        static ResponseBody of(byte[] body) {
+            return new ResponseBody(new ByteArrayInputStream(body), body.length);
+        }
+    }
 
     static {
         Unirest.config()
@@ -96,7 +116,16 @@ public class URLDownload {
      * @param source The URL to download.
      */
     public URLDownload(URL source) {
+        this(source, HttpTransport.getDefault());
+    }
+
+    /**
+     * @param source    The URL to download.
+     * @param transport The transport used to download HTTP and HTTPS resources.
+     */
+    public URLDownload(URL source, HttpTransport transport) {
         this.source = source;
+        this.transport = transport;
         this.addHeader("User-Agent", URLDownload.USER_AGENT);
 
         try {
@@ -116,38 +145,35 @@ public class URLDownload {
     public Optional<String> getMimeType() {
         String contentType;
 
-        int retries = 0;
-        // Try to use HEAD request to avoid downloading the whole file
-        try {
-            String urlToCheck = source.toString();
-            String locationHeader;
-            do {
-                retries++;
-                HttpResponse<String> response = Unirest.head(urlToCheck).asString();
-                // Check if we have redirects, e.g. arxiv will give otherwise content type html for the original url
-                // We need to do it "manually", because ".followRedirects(true)" only works for GET not for HEAD
-                locationHeader = response.getHeaders().getFirst("location");
-                if (!StringUtil.isNullOrEmpty(locationHeader)) {
-                    urlToCheck = locationHeader;
+        if (isHttp()) {
+            // Try to use HEAD request to avoid downloading the whole file
+            // Redirects are followed, e.g. arxiv will give otherwise content type html for the original url
+            try {
+                HttpRequest request = newRequest().method("HEAD", HttpRequest.BodyPublishers.noBody()).build();
+                contentType = transport.send(request, HttpResponse.BodyHandlers.discarding()).headers().firstValue("Content-Type").orElse(null);
+                if (!StringUtil.isNullOrEmpty(contentType)) {
+                    return Optional.of(contentType);
                 }
-                // while loop, because there could be multiple redirects
-            } while (!StringUtil.isNullOrEmpty(locationHeader) && retries <= MAX_RETRIES);
-            contentType = Unirest.head(urlToCheck).asString().getHeaders().getFirst("Content-Type");
-            if ((contentType != null) && !contentType.isEmpty()) {
-                return Optional.of(contentType);
+            } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+                LOGGER.debug("Error getting MIME type of URL via HEAD request", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
             }
-        } catch (Exception e) {
-            LOGGER.debug("Error getting MIME type of URL via HEAD request", e);
-        }
 
-        // Use GET request as alternative if no HEAD request is available
-        try {
-            contentType = Unirest.get(source.toString()).asString().getHeaders().get("Content-Type").getFirst();
-            if (!StringUtil.isNullOrEmpty(contentType)) {
-                return Optional.of(contentType);
+            // Use GET request as alternative if no HEAD request is available
+            try {
+                HttpRequest request = newRequest().GET().build();
+                contentType = transport.send(request, HttpResponse.BodyHandlers.discarding()).headers().firstValue("Content-Type").orElse(null);
+                if (!StringUtil.isNullOrEmpty(contentType)) {
+                    return Optional.of(contentType);
+                }
+            } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+                LOGGER.debug("Error getting MIME type of URL via GET request", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
             }
-        } catch (Exception e) {
-            LOGGER.debug("Error getting MIME type of URL via GET request", e);
         }
 
         // Try to resolve local URIs
@@ -188,6 +214,16 @@ public class URLDownload {
         this.parameters.put(key, value);
     }
 
+    /**
+     * Serves the HTTP and HTTPS responses from the given cache and stores them there.
+     *
+     * @param timeToLive the time a response is served from the cache if the server does not state it. {@link Duration#ZERO} disables the cache.
+     */
+    public void setResponseCache(HttpResponseCache responseCache, Duration timeToLive) {
+        this.responseCache = responseCache;
+        this.responseCacheTimeToLive = timeToLive;
+    }
+
     public void setPostData(String postData) {
         if (postData != null) {
             this.postData = postData;
@@ -200,7 +236,7 @@ public class URLDownload {
      * @return the downloaded string
      */
     public String asString() throws FetcherException {
-        return asString(StandardCharsets.UTF_8, this.openConnection());
+        return asString(StandardCharsets.UTF_8);
     }
 
     /**
@@ -210,7 +246,16 @@ public class URLDownload {
      * @return the downloaded string
      */
     public String asString(Charset encoding) throws FetcherException {
-        return asString(encoding, this.openConnection());
+        if (!isHttp()) {
+            return asString(encoding, this.openConnection());
+        }
+        try (InputStream input = new BufferedInputStream(openHttpBody().stream());
+             Writer output = new StringWriter()) {
+            copy(input, output, encoding);
+            return output.toString();
+        } catch (IOException e) {
+            throw new FetcherException("Error downloading", e);
+        }
     }
 
     /**
@@ -262,7 +307,7 @@ public class URLDownload {
      * @param destination the destination file path.
      */
     public void toFile(Path destination) throws FetcherException {
-        try (InputStream input = new BufferedInputStream(this.openConnection().getInputStream())) {
+        try (InputStream input = new BufferedInputStream(isHttp() ? openHttpBody().stream() : this.openConnection().getInputStream())) {
             Files.copy(input, destination, StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException e) {
             LOGGER.warn("Could not copy input", e);
@@ -274,6 +319,11 @@ public class URLDownload {
      * Takes the web resource as the source for a monitored input stream.
      */
     public ProgressInputStream asInputStream() throws FetcherException {
+        if (isHttp()) {
+            ResponseBody body = openHttpBody();
+            return new ProgressInputStream(new BufferedInputStream(body.stream()), body.size());
+        }
+
         HttpURLConnection urlConnection = (HttpURLConnection) this.openConnection();
 
         int responseCode;
@@ -341,6 +391,175 @@ public class URLDownload {
         }
     }
 
+    private boolean isHttp() {
+        String protocol = source.getProtocol();
+        return "http".equalsIgnoreCase(protocol) || "https".equalsIgnoreCase(protocol);
+    }
+
+    private HttpRequest.Builder newRequest() throws URISyntaxException {
+        return newRequest(source.toURI());
+    }
+
+    private HttpRequest.Builder newRequest(URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri);
+        parameters.forEach(builder::header);
+        if (connectTimeout != null) {
+            builder.timeout(connectTimeout);
+        }
+        return builder;
+    }
+
+    private HttpRequest newDownloadRequest(Map<String, String> additionalHeaders) throws URISyntaxException {
+        return newDownloadRequest(source.toURI(), additionalHeaders, postData.isEmpty() ? "GET" : "POST");
+    }
+
+    /**
+     * @param method GET or POST. The post data is sent with POST only.
+     */
+    private HttpRequest newDownloadRequest(URI uri, Map<String, String> additionalHeaders, String method) {
+        HttpRequest.Builder builder = newRequest(uri);
+        additionalHeaders.forEach(builder::header);
+        if ("GET".equals(method)) {
+            builder.GET();
+        } else {
+            if (parameters.keySet().stream().noneMatch("Content-Type"::equalsIgnoreCase)) {
+                // Same as the default of HttpURLConnection
+                builder.header("Content-Type", "application/x-www-form-urlencoded");
+            }
+            builder.POST(HttpRequest.BodyPublishers.ofString(postData));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Opens the body of the response, served from the response cache if possible.
+     * <p>
+     * The body has to be closed after usage to release the connection.
+     */
+    private ResponseBody openHttpBody() throws FetcherException {
+        if ((responseCache == null) || !responseCache.isEnabled() || responseCacheTimeToLive.isZero()) {
+            HttpResponse<InputStream> response = sendForStream(Map.of());
+            return new ResponseBody(response.body(), response.headers().firstValueAsLong("Content-Length").orElse(-1));
+        }
+
+        String key;
+        try {
+            key = HttpResponseCache.getKey(newDownloadRequest(Map.of()), postData);
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            throw new FetcherException("Error opening connection", e);
+        }
+        Optional<HttpResponseCache.CachedResponse> cachedResponse = responseCache.get(key);
+        if (cachedResponse.isPresent() && responseCache.isFresh(cachedResponse.get())) {
+            LOGGER.debug("Serving {} from cache", FetcherException.getRedactedUrl(this.source));
+            return ResponseBody.of(cachedResponse.get().body());
+        }
+
+        // Asks the server whether the stale response is still valid
+        Map<String, String> conditionalHeaders = new HashMap<>();
+        cachedResponse.ifPresent(cached -> {
+            cached.eTag().ifPresent(eTag -> conditionalHeaders.put("If-None-Match", eTag));
+            cached.lastModified().ifPresent(lastModified -> conditionalHeaders.put("If-Modified-Since", lastModified));
+        });
+        HttpResponse<InputStream> response = sendForStream(conditionalHeaders);
+        if ((response.statusCode() == HttpURLConnection.HTTP_NOT_MODIFIED) && cachedResponse.isPresent()) {
+            readBody(response);
+            responseCache.refresh(key, response.headers(), responseCacheTimeToLive);
+            return ResponseBody.of(cachedResponse.get().body());
+        }
+
+        InputStream stream = response.body();
+        byte[] body;
+        try {
+            body = stream.readNBytes(HttpResponseCache.MAX_RESPONSE_SIZE + 1);
+        } catch (IOException e) {
+            readBody(response);
+            throw new FetcherException(source, "Error downloading", e);
+        }
+        if (body.length > HttpResponseCache.MAX_RESPONSE_SIZE) {
+            // Too large to be cached, the rest is read from the connection
+            return new ResponseBody(new SequenceInputStream(new ByteArrayInputStream(body), stream), response.headers().firstValueAsLong("Content-Length").orElse(-1));
+        }
+        readBody(response);
+        if (response.statusCode() == HttpURLConnection.HTTP_OK) {
+            responseCache.put(key, response.headers(), body, responseCacheTimeToLive);
+        }
+        return ResponseBody.of(body);
+    }
+
+    /**
+     * Sends the request using the transport and checks the status of the response.
+     * <p>
+     * The body of the response has to be closed after usage to release the connection.
+     *
+     * @param additionalHeaders headers sent in addition to the headers of this download
+     */
+    private HttpResponse<InputStream> sendForStream(Map<String, String> additionalHeaders) throws FetcherException {
+        try {
+            return sendForStream(newDownloadRequest(additionalHeaders), 0);
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            throw new FetcherException("Error opening connection", e);
+        }
+    }
+
+    /**
+     * @param redirects the number of redirects followed so far
+     */
+    private HttpResponse<InputStream> sendForStream(HttpRequest request, int redirects) throws FetcherException {
+        HttpResponse<InputStream> response;
+        try {
+            response = transport.sendForStream(request);
+        } catch (IllegalArgumentException e) {
+            throw new FetcherException("Error opening connection", e);
+        } catch (IOException e) {
+            throw new FetcherException(source, "Error opening connection", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FetcherException(source, "Download was interrupted", e);
+        }
+
+        int status = response.statusCode();
+        LOGGER.debug("Response code: {}", status);
+        Optional<String> location = response.headers().firstValue("location");
+        if ((status >= 300) && (status < 400) && location.isPresent()) {
+            // The transport does not follow redirects from HTTPS to HTTP
+            readBody(response);
+            if (redirects >= MAX_REDIRECTS) {
+                throw new FetcherException("Too many redirects from " + FetcherException.getRedactedUrl(source));
+            }
+            // Same as the transport: the method is kept for 307 and 308 only, the other redirects are followed with GET
+            String method = (status == 307) || (status == 308) ? request.method() : "GET";
+            // The headers of this download are added again, the conditional headers are carried over
+            Map<String, String> headers = new HashMap<>();
+            request.headers().map().forEach((name, values) -> headers.put(name, values.getFirst()));
+            parameters.keySet().forEach(headers::remove);
+            headers.remove("Content-Type");
+            try {
+                return sendForStream(newDownloadRequest(response.uri().resolve(location.get()), headers, method), redirects + 1);
+            } catch (IllegalArgumentException e) {
+                throw new FetcherException("Could not open URL Download", e);
+            }
+        }
+        if (status >= 400) {
+            // in case of an error, propagate the error message
+            SimpleHttpResponse httpResponse = new SimpleHttpResponse(status, "", readBody(response));
+            LOGGER.info("{}: {}", FetcherException.getRedactedUrl(this.source), httpResponse);
+            if (status < 500) {
+                throw new FetcherClientException(this.source, httpResponse);
+            } else {
+                throw new FetcherServerException(this.source, httpResponse);
+            }
+        }
+        return response;
+    }
+
+    private static String readBody(HttpResponse<InputStream> response) {
+        try (InputStream body = response.body()) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
     /**
      * Open a connection to this object's URL (with specified settings).
      * <p>
@@ -404,7 +623,7 @@ public class URLDownload {
             httpsConnection.setSSLSocketFactory(sslContext.getSocketFactory());
         }
 
-        connection.setConnectTimeout((int) connectTimeout.toMillis());
+        connection.setConnectTimeout((int) getConnectTimeout().toMillis());
         for (Entry<String, String> entry : this.parameters.entrySet()) {
             connection.setRequestProperty(entry.getKey(), entry.getValue());
         }
@@ -417,6 +636,12 @@ public class URLDownload {
         return connection;
     }
 
+    /**
+     * Sets the connect timeout of connections opened by this download.
+     * <p>
+     * HTTP and HTTPS requests share the connections of the transport, which have the connect timeout of the transport.
+     * For these requests, the timeout limits the time until the response starts instead. If no timeout is set, they wait for the response without limit.
+     */
     public void setConnectTimeout(Duration connectTimeout) {
         if (connectTimeout != null) {
             this.connectTimeout = connectTimeout;
@@ -424,6 +649,6 @@ public class URLDownload {
     }
 
     public Duration getConnectTimeout() {
-        return connectTimeout;
+        return connectTimeout == null ? DEFAULT_CONNECT_TIMEOUT : connectTimeout;
     }
 }
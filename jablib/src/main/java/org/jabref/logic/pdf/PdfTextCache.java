@@ -0,0 +1,287 @@
+package org.jabref.logic.pdf;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.h2.mvstore.MVStore;
+import org.h2.mvstore.MVStoreException;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the text and the annotation contents of each page of PDF files, so that the fulltext index and the AI features parse a PDF file only once.
+ * <p>
+ * The pages are stored by the SHA-256 hash of the file content. The size and the modification time of each path are remembered,
+ * so that unchanged files are not hashed again. The pages are deflated and stored in an {@link MVStore}. If it contains more than
+ * {@link #MAX_ENTRIES} files when closed, the least recently used ones are removed.
+ * <p>
+ * The GUI registers a persistent cache as service. Where none is registered, the {@link #PdfTextCache() default} one parses the file on every call.
+ */
+public class PdfTextCache implements AutoCloseable {
+
+    /**
+     * @param text the text of the page with {@code \n} as line separator
+     * @param annotations the contents of the annotations of the page
+     */
+    public record Page(String text, List<String> annotations) {
+    }
+
+    private record FileStamp(long size, long modifiedTime, String hash) implements Serializable {
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PdfTextCache.class);
+
+    private static final int MAX_ENTRIES = 20_000;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String PAGES_MAP_NAME = "pages";
+    private static final String FILES_MAP_NAME = "files";
+    private static final String LAST_USED_MAP_NAME = "lastUsed";
+
+    private final @Nullable MVStore mvStore;
+    // The encoded pages by content hash
+    private final @Nullable Map<String, byte[]> pagesMap;
+    // The content hash by absolute path
+    private final @Nullable Map<String, FileStamp> filesMap;
+    // The time of the last use by content hash
+    private final @Nullable Map<String, Long> lastUsedMap;
+
+    /**
+     * Creates a cache stored in the given file. If the file cannot be opened, nothing is cached.
+     */
+    public PdfTextCache(Path path) {
+        MVStore store = null;
+        try {
+            Files.createDirectories(path.getParent());
+            // The pages are compressed by encode(), the other maps are small
+            store = new MVStore.Builder().fileName(path.toString()).open();
+        } catch (IOException | MVStoreException e) {
+            LOGGER.error("Could not open the cache of PDF texts {}. PDF files will be parsed every time they are read.", path, e);
+        }
+        this.mvStore = store;
+        this.pagesMap = store == null ? null : store.openMap(PAGES_MAP_NAME);
+        this.filesMap = store == null ? null : store.openMap(FILES_MAP_NAME);
+        this.lastUsedMap = store == null ? null : store.openMap(LAST_USED_MAP_NAME);
+    }
+
+    /**
+     * Creates a cache which caches nothing and parses the file on every call.
+     */
+    public PdfTextCache() {
+        this.mvStore = null;
+        this.pagesMap = null;
+        this.filesMap = null;
+        this.lastUsedMap = null;
+    }
+
+    public List<Page> getPages(Path pdf) throws IOException {
+        return getPages(pdf, () -> false).orElseThrow();
+    }
+
+    /**
+     * Returns the pages of the given PDF file, parsing the file if it is not cached.
+     *
+     * @param cancelled checked before each page is parsed
+     * @return empty if the parsing has been cancelled
+     */
+    public Optional<List<Page>> getPages(Path pdf, BooleanSupplier cancelled) throws IOException {
+        if (mvStore == null) {
+            return readPages(pdf, cancelled);
+        }
+
+        try {
+            String hash = getContentHash(pdf);
+            byte[] encodedPages = pagesMap.get(hash);
+            if (encodedPages != null) {
+                lastUsedMap.put(hash, System.currentTimeMillis());
+                return Optional.of(decode(encodedPages));
+            }
+
+            Optional<List<Page>> pages = readPages(pdf, cancelled);
+            if (pages.isPresent()) {
+                pagesMap.put(hash, encode(pages.get()));
+                lastUsedMap.put(hash, System.currentTimeMillis());
+            }
+            return pages;
+        } catch (MVStoreException e) {
+            // The store is closed when JabRef shuts down while a file is read
+            LOGGER.debug("Could not use the cache of PDF texts for {}", pdf, e);
+            return readPages(pdf, cancelled);
+        }
+    }
+
+    private static Optional<List<Page>> readPages(Path pdf, BooleanSupplier cancelled) throws IOException {
+        try (PDDocument document = Loader.loadPDF(pdf.toFile())) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setLineSeparator("\n");
+
+            List<Page> pages = new ArrayList<>(document.getNumberOfPages());
+            for (int pageNumber = 1; pageNumber <= document.getNumberOfPages(); pageNumber++) {
+                if (cancelled.getAsBoolean()) {
+                    return Optional.empty();
+                }
+                pages.add(readPage(document, stripper, pageNumber, pdf));
+            }
+            return Optional.of(pages);
+        }
+    }
+
+    private static Page readPage(PDDocument document, PDFTextStripper stripper, int pageNumber, Path pdf) {
+        // Apache PDFTextStripper is 1-based. See {@link org.apache.pdfbox.text.PDFTextStripper.processPages}
+        stripper.setStartPage(pageNumber);
+        stripper.setEndPage(pageNumber);
+        try {
+            String text = stripper.getText(document);
+            List<String> annotations = document.getPage(pageNumber - 1)
+                                               .getAnnotations()
+                                               .stream()
+                                               .map(PDAnnotation::getContents)
+                                               .filter(Objects::nonNull)
+                                               .toList();
+            return new Page(text, annotations);
+        } catch (IOException e) {
+            LOGGER.warn("Could not read page {} of {}", pageNumber, pdf.toAbsolutePath(), e);
+            return new Page("", List.of());
+        }
+    }
+
+    private String getContentHash(Path pdf) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(pdf, BasicFileAttributes.class);
+        long modifiedTime = attributes.lastModifiedTime().toMillis();
+        String key = pdf.toAbsolutePath().normalize().toString();
+
+        FileStamp fileStamp = filesMap.get(key);
+        if ((fileStamp != null) && (fileStamp.size() == attributes.size()) && (fileStamp.modifiedTime() == modifiedTime)) {
+            return fileStamp.hash();
+        }
+
+        String hash = hash(pdf);
+        filesMap.put(key, new FileStamp(attributes.size(), modifiedTime, hash));
+        return hash;
+    }
+
+    private static String hash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is supported by every Java platform", e);
+        }
+
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static byte[] encode(List<Page> pages) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(pages.size());
+            for (Page page : pages) {
+                writeString(output, page.text());
+                output.writeInt(page.annotations().size());
+                for (String annotation : page.annotations()) {
+                    writeString(output, annotation);
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<Page> decode(byte[] encodedPages) throws IOException {
+        try (DataInputStream input = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(encodedPages)))) {
+            int version = input.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unknown format " + version + " of cached PDF text");
+            }
+
+            int numberOfPages = input.readInt();
+            List<Page> pages = new ArrayList<>(numberOfPages);
+            for (int i = 0; i < numberOfPages; i++) {
+                String text = readString(input);
+                int numberOfAnnotations = input.readInt();
+                List<String> annotations = new ArrayList<>(numberOfAnnotations);
+                for (int j = 0; j < numberOfAnnotations; j++) {
+                    annotations.add(readString(input));
+                }
+                pages.add(new Page(text, annotations));
+            }
+            return pages;
+        }
+    }
+
+    // DataOutputStream.writeUTF is limited to 64 KiB
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        return new String(input.readNBytes(input.readInt()), StandardCharsets.UTF_8);
+    }
+
+    private void removeLeastRecentlyUsed() {
+        int numberOfEntriesToRemove = pagesMap.size() - MAX_ENTRIES;
+        if (numberOfEntriesToRemove <= 0) {
+            return;
+        }
+
+        LOGGER.debug("Removing {} least recently used files from the cache of PDF texts", numberOfEntriesToRemove);
+        lastUsedMap.entrySet().stream()
+                   .sorted(Map.Entry.comparingByValue(Comparator.naturalOrder()))
+                   .limit(numberOfEntriesToRemove)
+                   .map(Map.Entry::getKey)
+                   .toList()
+                   .forEach(hash -> {
+                       pagesMap.remove(hash);
+                       lastUsedMap.remove(hash);
+                   });
+
+        Set<String> remainingHashes = new HashSet<>(pagesMap.keySet());
+        filesMap.entrySet().removeIf(entry -> !remainingHashes.contains(entry.getValue().hash()));
+    }
+
+    @Override
+    public void close() {
+        if (mvStore == null || mvStore.isClosed()) {
+            return;
+        }
+        removeLeastRecentlyUsed();
+        mvStore.close();
+    }
+}
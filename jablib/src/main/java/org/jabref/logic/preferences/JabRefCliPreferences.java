@@ -228,6 +228,8 @@ public class JabRefCliPreferences implements CliPreferences {
     public static final String SEARCH_CATALOGS = "searchCatalogs";
     public static final String DEFAULT_PLAIN_CITATION_PARSER = "defaultPlainCitationParser";
     public static final String CITATIONS_RELATIONS_STORE_TTL = "citationsRelationsStoreTTL";
+    public static final String CACHE_WEB_RESPONSES = "cacheWebResponses";
+    public static final String WEB_RESPONSES_CACHE_TTL = "webResponsesCacheTTL";
     public static final String IMPORTERS_ENABLED = "importersEnabled";
     public static final String GENERATE_KEY_ON_IMPORT = "generateKeyOnImport";
     public static final String GROBID_ENABLED = "grobidEnabled";
@@ -515,6 +517,8 @@ public class JabRefCliPreferences implements CliPreferences {
         defaults.put(IMPORTERS_ENABLED, Boolean.TRUE);
         defaults.put(GENERATE_KEY_ON_IMPORT, Boolean.TRUE);
         defaults.put(CITATIONS_RELATIONS_STORE_TTL, 30);
+        defaults.put(CACHE_WEB_RESPONSES, Boolean.TRUE);
+        defaults.put(WEB_RESPONSES_CACHE_TTL, 1);
 
         defaults.put(ADD_IMPORTED_ENTRIES, Boolean.FALSE);
         defaults.put(ADD_IMPORTED_ENTRIES_GROUP_NAME, Localization.lang("Imported entries"));
@@ -2194,7 +2198,9 @@ public class JabRefCliPreferences implements CliPreferences {
                 getBoolean(FETCHER_CUSTOM_KEY_PERSIST),
                 getStringList(SEARCH_CATALOGS),
                 PlainCitationParserChoice.valueOf(get(DEFAULT_PLAIN_CITATION_PARSER)),
-                getInt(CITATIONS_RELATIONS_STORE_TTL)
+                getInt(CITATIONS_RELATIONS_STORE_TTL),
+                getBoolean(CACHE_WEB_RESPONSES),
+                getInt(WEB_RESPONSES_CACHE_TTL)
         );
 
         EasyBind.listen(importerPreferences.importerEnabledProperty(), (_, _, newValue) -> putBoolean(IMPORTERS_ENABLED, newValue));
@@ -2207,6 +2213,8 @@ public class JabRefCliPreferences implements CliPreferences {
         importerPreferences.getCatalogs().addListener((InvalidationListener) _ -> putStringList(SEARCH_CATALOGS, importerPreferences.getCatalogs()));
         EasyBind.listen(importerPreferences.defaultPlainCitationParserProperty(), (_, _, newValue) -> put(DEFAULT_PLAIN_CITATION_PARSER, newValue.name()));
         EasyBind.listen(importerPreferences.citationsRelationsStoreTTLProperty(), (_, _, newValue) -> put(CITATIONS_RELATIONS_STORE_TTL, newValue.toString()));
+        EasyBind.listen(importerPreferences.cacheWebResponsesProperty(), (_, _, newValue) -> putBoolean(CACHE_WEB_RESPONSES, newValue));
+        EasyBind.listen(importerPreferences.webResponsesCacheTTLProperty(), (_, _, newValue) -> putInt(WEB_RESPONSES_CACHE_TTL, newValue.intValue()));
 
         return importerPreferences;
     }
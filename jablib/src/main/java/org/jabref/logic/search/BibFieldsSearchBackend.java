@@ -0,0 +1,34 @@
+package org.jabref.logic.search;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.jabref.logic.util.BackgroundTask;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.search.query.SearchQuery;
+import org.jabref.model.search.query.SearchResults;
+
+/**
+ * Indexes the fields of the entries of a library and answers search queries on them.
+ * <p>
+ * Implementations are {@link PostgresSearchBackend} (using the embedded Postgres server) and {@link InMemorySearchBackend} (pure JVM, used if Postgres is not available).
+ * Both have to return the same matches for the same query; this is ensured by {@code BibFieldsSearchBackendConformanceTest}.
+ */
+public interface BibFieldsSearchBackend {
+    void updateOnStart(BackgroundTask<?> task);
+
+    void addToIndex(List<BibEntry> entries, BackgroundTask<?> task);
+
+    void removeFromIndex(Collection<BibEntry> entries, BackgroundTask<?> task);
+
+    void updateEntry(BibEntry entry, Field field);
+
+    SearchResults search(SearchQuery searchQuery);
+
+    boolean isMatched(BibEntry entry, SearchQuery searchQuery);
+
+    void close();
+
+    void closeAndWait();
+}
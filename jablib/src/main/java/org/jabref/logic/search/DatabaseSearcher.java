@@ -10,6 +10,7 @@ import org.jabref.model.database.BibDatabases;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.search.query.SearchQuery;
 
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,10 +20,19 @@ public class DatabaseSearcher {
     private final BibDatabaseContext databaseContext;
     private final IndexManager indexManager;
 
+    /**
+     * Creates a searcher which searches the bib fields in memory, without starting a Postgres server
+     */
+    public DatabaseSearcher(BibDatabaseContext databaseContext,
+                            TaskExecutor taskExecutor,
+                            CliPreferences preferences) throws IOException {
+        this(databaseContext, taskExecutor, preferences, null);
+    }
+
     public DatabaseSearcher(BibDatabaseContext databaseContext,
                             TaskExecutor taskExecutor,
                             CliPreferences preferences,
-                            PostgreServer postgreServer) throws IOException {
+                            @Nullable PostgreServer postgreServer) throws IOException {
         this.databaseContext = databaseContext;
         this.indexManager = new IndexManager(databaseContext, taskExecutor, preferences, postgreServer);
     }
@@ -0,0 +1,97 @@
+package org.jabref.logic.search;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.PatternSyntaxException;
+
+import org.jabref.logic.search.indexing.InMemoryBibFieldsIndexer;
+import org.jabref.logic.search.query.SearchQueryConversion;
+import org.jabref.logic.util.BackgroundTask;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryPreferences;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.search.query.SearchQuery;
+import org.jabref.model.search.query.SearchResult;
+import org.jabref.model.search.query.SearchResults;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Searches the bib fields without the embedded Postgres server. Used if no Postgres server is available (e.g., in headless environments without the native binaries).
+ * <p>
+ * Regular expressions are evaluated by {@link java.util.regex.Pattern}; its syntax differs from the one of Postgres in rarely used constructs only.
+ */
+public class InMemorySearchBackend implements BibFieldsSearchBackend {
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemorySearchBackend.class);
+
+    private final InMemoryBibFieldsIndexer bibFieldsIndexer;
+
+    public InMemorySearchBackend(BibEntryPreferences bibEntryPreferences, BibDatabaseContext databaseContext) {
+        this.bibFieldsIndexer = new InMemoryBibFieldsIndexer(bibEntryPreferences, databaseContext);
+    }
+
+    @Override
+    public void updateOnStart(BackgroundTask<?> task) {
+        bibFieldsIndexer.updateOnStart(task);
+    }
+
+    @Override
+    public void addToIndex(List<BibEntry> entries, BackgroundTask<?> task) {
+        bibFieldsIndexer.addToIndex(entries, task);
+    }
+
+    @Override
+    public void removeFromIndex(Collection<BibEntry> entries, BackgroundTask<?> task) {
+        bibFieldsIndexer.removeFromIndex(entries, task);
+    }
+
+    @Override
+    public void updateEntry(BibEntry entry, Field field) {
+        bibFieldsIndexer.updateEntry(entry, field);
+    }
+
+    @Override
+    public SearchResults search(SearchQuery searchQuery) {
+        SearchResults searchResults = new SearchResults();
+        getMatchingEntryIds(searchQuery).forEach(entryId -> searchResults.addSearchResult(entryId, new SearchResult()));
+        return searchResults;
+    }
+
+    @Override
+    public boolean isMatched(BibEntry entry, SearchQuery searchQuery) {
+        if (!searchQuery.isValid()) {
+            return false;
+        }
+        try {
+            return SearchQueryConversion.matchesInMemory(bibFieldsIndexer, entry.getId(), searchQuery);
+        } catch (PatternSyntaxException e) {
+            LOGGER.error("Error during bib fields search execution", e);
+            return false;
+        }
+    }
+
+    private Set<String> getMatchingEntryIds(SearchQuery searchQuery) {
+        if (!searchQuery.isValid()) {
+            return Set.of();
+        }
+        try {
+            return SearchQueryConversion.searchToInMemory(bibFieldsIndexer, searchQuery);
+        } catch (PatternSyntaxException e) {
+            LOGGER.error("Error during bib fields search execution", e);
+            return Set.of();
+        }
+    }
+
+    @Override
+    public void close() {
+        bibFieldsIndexer.close();
+    }
+
+    @Override
+    public void closeAndWait() {
+        bibFieldsIndexer.closeAndWait();
+    }
+}
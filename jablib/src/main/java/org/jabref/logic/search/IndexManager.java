@@ -13,13 +13,12 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
 import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.value.ChangeListener;
 
 import org.jabref.logic.preferences.CliPreferences;
-import org.jabref.logic.search.indexing.BibFieldsIndexer;
 import org.jabref.logic.search.indexing.DefaultLinkedFilesIndexer;
 import org.jabref.logic.search.indexing.ReadOnlyLinkedFilesIndexer;
-import org.jabref.logic.search.retrieval.BibFieldsSearcher;
 import org.jabref.logic.search.retrieval.LinkedFilesSearcher;
 import org.jabref.logic.util.BackgroundTask;
 import org.jabref.logic.util.Directories;
@@ -37,6 +36,7 @@ import org.jabref.model.search.event.IndexStartedEvent;
 import org.jabref.model.search.query.SearchQuery;
 import org.jabref.model.search.query.SearchResults;
 
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,34 +47,66 @@ public class IndexManager {
     private final BibDatabaseContext databaseContext;
     private final BooleanProperty shouldIndexLinkedFiles;
     private final ChangeListener<Boolean> preferencesListener;
-    private final BibFieldsIndexer bibFieldsIndexer;
-    private final LuceneIndexer linkedFilesIndexer;
-    private final BibFieldsSearcher bibFieldsSearcher;
-    private final LinkedFilesSearcher linkedFilesSearcher;
+    private final BibFieldsSearchBackend bibFieldsSearchBackend;
+    private final @Nullable LuceneIndexer linkedFilesIndexer;
+    private final @Nullable LinkedFilesSearcher linkedFilesSearcher;
 
+    /**
+     * Creates an index manager searching the bib fields in memory. To be used if no Postgres server is available.
+     */
+    public IndexManager(BibDatabaseContext databaseContext,
+                        TaskExecutor executor,
+                        CliPreferences preferences) {
+        this(databaseContext, executor, preferences, null);
+    }
+
+    /**
+     * @param postgreServer the server to index the bib fields in. If <code>null</code> or not running, the bib fields are searched in memory.
+     */
     public IndexManager(BibDatabaseContext databaseContext,
                         TaskExecutor executor,
                         CliPreferences preferences,
-                        PostgreServer postgreServer) {
+                        @Nullable PostgreServer postgreServer) {
+        this(databaseContext, executor, preferences, postgreServer, true);
+    }
+
+    /**
+     * @param postgreServer    the server to index the bib fields in. If <code>null</code> or not running, the bib fields are searched in memory.
+     * @param searchLinkedFiles whether the linked files are indexed (as configured in the preferences) and searched. If <code>false</code>, only the bib fields are indexed.
+     */
+    public IndexManager(BibDatabaseContext databaseContext,
+                        TaskExecutor executor,
+                        CliPreferences preferences,
+                        @Nullable PostgreServer postgreServer,
+                        boolean searchLinkedFiles) {
         this.taskExecutor = executor;
         this.databaseContext = databaseContext;
-        this.shouldIndexLinkedFiles = preferences.getFilePreferences().fulltextIndexLinkedFilesProperty();
+        this.shouldIndexLinkedFiles = searchLinkedFiles ? preferences.getFilePreferences().fulltextIndexLinkedFilesProperty() : new SimpleBooleanProperty(false);
         this.preferencesListener = (_, _, newValue) -> bindToPreferences(newValue);
         this.shouldIndexLinkedFiles.addListener(preferencesListener);
 
-        bibFieldsIndexer = new BibFieldsIndexer(preferences.getBibEntryPreferences(), databaseContext, postgreServer.getConnection());
-
-        LuceneIndexer indexer;
-        try {
-            indexer = new DefaultLinkedFilesIndexer(databaseContext, preferences.getFilePreferences());
-        } catch (IOException e) {
-            LOGGER.debug("Error initializing linked files index - using read only index");
-            indexer = new ReadOnlyLinkedFilesIndexer(databaseContext);
+        if (postgreServer != null && postgreServer.isRunning()) {
+            bibFieldsSearchBackend = new PostgresSearchBackend(preferences.getBibEntryPreferences(), databaseContext, postgreServer);
+        } else {
+            LOGGER.debug("No Postgres server available - searching bib fields in memory");
+            bibFieldsSearchBackend = new InMemorySearchBackend(preferences.getBibEntryPreferences(), databaseContext);
         }
-        linkedFilesIndexer = indexer;
 
-        this.bibFieldsSearcher = new BibFieldsSearcher(postgreServer.getConnection(), bibFieldsIndexer.getTable());
-        this.linkedFilesSearcher = new LinkedFilesSearcher(databaseContext, linkedFilesIndexer, preferences.getFilePreferences());
+        if (searchLinkedFiles) {
+            LuceneIndexer indexer;
+            try {
+                indexer = new DefaultLinkedFilesIndexer(databaseContext, preferences.getFilePreferences());
+            } catch (IOException e) {
+                LOGGER.debug("Error initializing linked files index - using read only index");
+                indexer = new ReadOnlyLinkedFilesIndexer(databaseContext);
+            }
+            linkedFilesIndexer = indexer;
+            linkedFilesSearcher = new LinkedFilesSearcher(databaseContext, linkedFilesIndexer, preferences.getFilePreferences());
+        } else {
+            // The linked files are never indexed, because shouldIndexLinkedFiles is constantly false
+            linkedFilesIndexer = null;
+            linkedFilesSearcher = null;
+        }
         updateOnStart();
     }
 
@@ -96,7 +128,7 @@ public class IndexManager {
         new BackgroundTask<>() {
             @Override
             public Object call() {
-                bibFieldsIndexer.updateOnStart(this);
+                bibFieldsSearchBackend.updateOnStart(this);
                 return null;
             }
         }.willBeRecoveredAutomatically(true)
@@ -118,7 +150,7 @@ public class IndexManager {
         new BackgroundTask<>() {
             @Override
             public Object call() {
-                bibFieldsIndexer.addToIndex(entries, this);
+                bibFieldsSearchBackend.addToIndex(entries, this);
                 return null;
             }
         }.onFinished(() -> this.databaseContext.getDatabase().postEvent(new IndexAddedOrUpdatedEvent(entries)))
@@ -139,7 +171,7 @@ public class IndexManager {
         new BackgroundTask<>() {
             @Override
             public Object call() {
-                bibFieldsIndexer.removeFromIndex(entries, this);
+                bibFieldsSearchBackend.removeFromIndex(entries, this);
                 return null;
             }
         }.onFinished(() -> this.databaseContext.getDatabase().postEvent(new IndexRemovedEvent(entries)))
@@ -160,7 +192,7 @@ public class IndexManager {
         new BackgroundTask<>() {
             @Override
             public Object call() {
-                bibFieldsIndexer.updateEntry(event.getBibEntry(), event.getField());
+                bibFieldsSearchBackend.updateEntry(event.getBibEntry(), event.getField());
                 return null;
             }
         }.onFinished(() -> this.databaseContext.getDatabase().postEvent(new IndexAddedOrUpdatedEvent(List.of(event.getBibEntry()))))
@@ -190,24 +222,28 @@ public class IndexManager {
     }
 
     public void close() {
-        bibFieldsIndexer.close();
+        bibFieldsSearchBackend.close();
         shouldIndexLinkedFiles.removeListener(preferencesListener);
-        linkedFilesIndexer.close();
+        if (linkedFilesIndexer != null) {
+            linkedFilesIndexer.close();
+        }
         databaseContext.getDatabase().postEvent(new IndexClosedEvent());
     }
 
     public void closeAndWait() {
-        bibFieldsIndexer.closeAndWait();
+        bibFieldsSearchBackend.closeAndWait();
         shouldIndexLinkedFiles.removeListener(preferencesListener);
-        linkedFilesIndexer.closeAndWait();
+        if (linkedFilesIndexer != null) {
+            linkedFilesIndexer.closeAndWait();
+        }
         databaseContext.getDatabase().postEvent(new IndexClosedEvent());
     }
 
     public SearchResults search(SearchQuery query) {
         List<Callable<SearchResults>> tasks = new ArrayList<>();
-        tasks.add(() -> bibFieldsSearcher.search(query));
+        tasks.add(() -> bibFieldsSearchBackend.search(query));
 
-        if (query.getSearchFlags().contains(SearchFlags.FULLTEXT)) {
+        if (query.getSearchFlags().contains(SearchFlags.FULLTEXT) && linkedFilesSearcher != null) {
             tasks.add(() -> linkedFilesSearcher.search(query));
         }
 
@@ -229,7 +265,7 @@ public class IndexManager {
      * @implNote No need to check for full-text searches as this method only used by the search groups
      */
     public boolean isEntryMatched(BibEntry entry, SearchQuery query) {
-        return bibFieldsSearcher.isMatched(entry, query);
+        return bibFieldsSearchBackend.isMatched(entry, query);
     }
 
     public static void clearOldSearchIndices() {
@@ -1,36 +1,79 @@
 package org.jabref.logic.search;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.sql.DataSource;
 
 import org.jabref.model.search.PostgreConstants;
 
 import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static org.jabref.model.search.PostgreConstants.BIB_FIELDS_SCHEME;
+import static org.jabref.model.search.PostgreConstants.LAST_OPENED;
+import static org.jabref.model.search.PostgreConstants.TABLE_NAME;
 
 public class PostgreServer {
     private static final Logger LOGGER = LoggerFactory.getLogger(PostgreServer.class);
+
+    /**
+     * Tables of libraries not opened for this number of days are dropped on startup
+     */
+    private static final int DAYS_TO_KEEP_UNUSED_TABLES = 30;
+
     private final EmbeddedPostgres embeddedPostgres;
     private final DataSource dataSource;
+    private final boolean persistent;
 
+    /**
+     * Starts a server with a temporary data directory. All indexes are discarded on shutdown.
+     */
     public PostgreServer() {
-        EmbeddedPostgres embeddedPostgres;
-        try {
-            embeddedPostgres = EmbeddedPostgres.builder()
-                                               .setOutputRedirector(ProcessBuilder.Redirect.DISCARD)
-                                               .start();
-            LOGGER.info("Postgres server started, connection port: {}", embeddedPostgres.getPort());
-        } catch (IOException e) {
-            LOGGER.error("Could not start Postgres server", e);
-            this.embeddedPostgres = null;
-            this.dataSource = null;
-            return;
+        this(null);
+    }
+
+    /**
+     * Starts a server keeping its data in the given directory, so that the indexes of the libraries can be reused in the next session.
+     * In case the server cannot be started on that directory (e.g., because it is used by another JabRef instance), a temporary data directory is used.
+     *
+     * @param dataDirectory the directory to store the data in, <code>null</code> for a temporary data directory
+     */
+    public PostgreServer(@Nullable Path dataDirectory) {
+        EmbeddedPostgres embeddedPostgres = null;
+        if (dataDirectory != null) {
+            try {
+                embeddedPostgres = EmbeddedPostgres.builder()
+                                                   .setOutputRedirector(ProcessBuilder.Redirect.DISCARD)
+                                                   .setDataDirectory(dataDirectory)
+                                                   .setCleanDataDirectory(false)
+                                                   .start();
+                LOGGER.info("Postgres server started using data directory {}, connection port: {}", dataDirectory, embeddedPostgres.getPort());
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("Could not start Postgres server using data directory {}. Using a temporary one.", dataDirectory, e);
+            }
+        }
+        this.persistent = embeddedPostgres != null;
+
+        if (embeddedPostgres == null) {
+            try {
+                embeddedPostgres = EmbeddedPostgres.builder()
+                                                   .setOutputRedirector(ProcessBuilder.Redirect.DISCARD)
+                                                   .start();
+                LOGGER.info("Postgres server started, connection port: {}", embeddedPostgres.getPort());
+            } catch (IOException e) {
+                LOGGER.error("Could not start Postgres server", e);
+                this.embeddedPostgres = null;
+                this.dataSource = null;
+                return;
+            }
         }
 
         this.embeddedPostgres = embeddedPostgres;
@@ -38,14 +81,26 @@ public class PostgreServer {
         addTrigramExtension();
         createScheme();
         addFunctions();
+        dropOutdatedTables();
     }
 
+    /**
+     * Creates the scheme for the bib fields. In case of a persistent data directory, the scheme of the last session is kept.
+     */
     private void createScheme() {
         try (Connection connection = getConnection()) {
             if (connection != null) {
                 LOGGER.debug("Creating scheme for bib fields");
-                connection.createStatement().execute("DROP SCHEMA IF EXISTS " + BIB_FIELDS_SCHEME);
-                connection.createStatement().execute("CREATE SCHEMA " + BIB_FIELDS_SCHEME);
+                connection.createStatement().execute("CREATE SCHEMA IF NOT EXISTS " + BIB_FIELDS_SCHEME);
+                connection.createStatement().execute("""
+                        CREATE TABLE IF NOT EXISTS %s (
+                            %s TEXT PRIMARY KEY,
+                            %s TIMESTAMP NOT NULL
+                        )
+                        """.formatted(
+                        PostgreConstants.getLibrariesTableSchemaReference(),
+                        TABLE_NAME,
+                        LAST_OPENED));
             }
         } catch (SQLException e) {
             LOGGER.error("Could not create scheme for bib fields", e);
@@ -76,6 +131,37 @@ public class PostgreServer {
         }
     }
 
+    /**
+     * Drops the tables of libraries, which were not opened for {@link #DAYS_TO_KEEP_UNUSED_TABLES} days.
+     */
+    private void dropOutdatedTables() {
+        try (Connection connection = getConnection()) {
+            if (connection == null) {
+                return;
+            }
+            List<String> outdatedTables = new ArrayList<>();
+            ResultSet resultSet = connection.createStatement().executeQuery("""
+                    SELECT %s FROM %s
+                    WHERE %s < now() - interval '%d days'
+                    """.formatted(
+                    TABLE_NAME,
+                    PostgreConstants.getLibrariesTableSchemaReference(),
+                    LAST_OPENED, DAYS_TO_KEEP_UNUSED_TABLES));
+            while (resultSet.next()) {
+                outdatedTables.add(resultSet.getString(1));
+            }
+            for (String table : outdatedTables) {
+                LOGGER.debug("Dropping outdated index tables {}", table);
+                connection.createStatement().executeUpdate("DROP TABLE IF EXISTS " + PostgreConstants.getMainTableSchemaReference(table));
+                connection.createStatement().executeUpdate("DROP TABLE IF EXISTS " + PostgreConstants.getSplitTableSchemaReference(table));
+                connection.createStatement().executeUpdate("DROP TABLE IF EXISTS " + PostgreConstants.getFingerprintTableSchemaReference(table));
+                connection.createStatement().executeUpdate("DELETE FROM %s WHERE %s = '%s'".formatted(PostgreConstants.getLibrariesTableSchemaReference(), TABLE_NAME, table));
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Could not drop outdated tables", e);
+        }
+    }
+
     public Connection getConnection() {
         if (dataSource != null) {
             try {
@@ -87,6 +173,20 @@ public class PostgreServer {
         return null;
     }
 
+    /**
+     * @return false if the server could not be started, e.g., because the native binaries are not available on the platform
+     */
+    public boolean isRunning() {
+        return dataSource != null;
+    }
+
+    /**
+     * @return true if the data of the server is kept across sessions
+     */
+    public boolean isPersistent() {
+        return persistent;
+    }
+
     public void shutdown() {
         if (embeddedPostgres != null) {
             try {
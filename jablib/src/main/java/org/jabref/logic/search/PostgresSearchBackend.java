@@ -0,0 +1,64 @@
+package org.jabref.logic.search;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.jabref.logic.search.indexing.BibFieldsIndexer;
+import org.jabref.logic.search.retrieval.BibFieldsSearcher;
+import org.jabref.logic.util.BackgroundTask;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryPreferences;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.search.query.SearchQuery;
+import org.jabref.model.search.query.SearchResults;
+
+public class PostgresSearchBackend implements BibFieldsSearchBackend {
+    private final BibFieldsIndexer bibFieldsIndexer;
+    private final BibFieldsSearcher bibFieldsSearcher;
+
+    public PostgresSearchBackend(BibEntryPreferences bibEntryPreferences, BibDatabaseContext databaseContext, PostgreServer postgreServer) {
+        this.bibFieldsIndexer = new BibFieldsIndexer(bibEntryPreferences, databaseContext, postgreServer.getConnection(), postgreServer.isPersistent());
+        this.bibFieldsSearcher = new BibFieldsSearcher(postgreServer.getConnection(), bibFieldsIndexer.getTable());
+    }
+
+    @Override
+    public void updateOnStart(BackgroundTask<?> task) {
+        bibFieldsIndexer.updateOnStart(task);
+    }
+
+    @Override
+    public void addToIndex(List<BibEntry> entries, BackgroundTask<?> task) {
+        bibFieldsIndexer.addToIndex(entries, task);
+    }
+
+    @Override
+    public void removeFromIndex(Collection<BibEntry> entries, BackgroundTask<?> task) {
+        bibFieldsIndexer.removeFromIndex(entries, task);
+    }
+
+    @Override
+    public void updateEntry(BibEntry entry, Field field) {
+        bibFieldsIndexer.updateEntry(entry, field);
+    }
+
+    @Override
+    public SearchResults search(SearchQuery searchQuery) {
+        return bibFieldsSearcher.search(searchQuery);
+    }
+
+    @Override
+    public boolean isMatched(BibEntry entry, SearchQuery searchQuery) {
+        return bibFieldsSearcher.isMatched(entry, searchQuery);
+    }
+
+    @Override
+    public void close() {
+        bibFieldsIndexer.close();
+    }
+
+    @Override
+    public void closeAndWait() {
+        bibFieldsIndexer.closeAndWait();
+    }
+}
@@ -0,0 +1,122 @@
+package org.jabref.logic.search.indexing;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.AuthorList;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.KeywordList;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.FieldProperty;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.strings.LatexToUnicodeAdapter;
+
+import static org.jabref.model.entry.field.InternalField.TYPE_HEADER;
+
+/**
+ * Computes the rows which are indexed for the fields of an entry.
+ * <p>
+ * The main rows hold one value per field, the split rows hold the single values of known multi-value fields (e.g., each author).
+ * The row generation is shared by {@link BibFieldsIndexer} and {@link InMemoryBibFieldsIndexer} so that both search backends find the same entries.
+ */
+final class BibFieldsIndexRows {
+
+    static final Set<Field> DATE_FIELDS = Set.of(StandardField.DATE, StandardField.YEAR, StandardField.MONTH, StandardField.DAY);
+
+    private static final Pattern GROUPS_SEPARATOR_REGEX = Pattern.compile("\s*,\s*");
+
+    @FunctionalInterface
+    interface RowConsumer {
+        /**
+         * The values are passed as they should be inserted into the index
+         */
+        void accept(Field field, String literal, String transformed);
+
+        default void accept(Field field, String value) {
+            accept(field, value, LatexToUnicodeAdapter.format(value));
+        }
+    }
+
+    private BibFieldsIndexRows() {
+    }
+
+    static void forEachRow(BibEntry bibEntry, BibDatabase database, Character keywordSeparator, RowConsumer mainRows, RowConsumer splitRows) {
+        for (Map.Entry<Field, String> fieldPair : bibEntry.getFieldMap().entrySet()) {
+            Field field = fieldPair.getKey();
+            String value = fieldPair.getValue();
+
+            // Skip indexing of date-related fields separately to ensure proper handling later in the process.
+            if (!DATE_FIELDS.contains(field)) {
+                // If a field exists, there also exists a resolved field latex free.
+                // Only exception: If the content of the field is empty, then the resolved field is also empty. Example: `series = {{}}`.
+                String resolvedFieldLatexFree = bibEntry.getResolvedFieldOrAliasLatexFree(field, database).orElse("");
+
+                // One potential future flaw is that the bibEntry is modified concurrently and the field being deleted.
+                mainRows.accept(field, value, resolvedFieldLatexFree);
+            }
+
+            forEachSplitValue(bibEntry, field, value, database, keywordSeparator, splitRows);
+        }
+        // ensure all date-related fields are indexed.
+        forEachDateRow(bibEntry, database, mainRows);
+        // add entry type
+        mainRows.accept(TYPE_HEADER, bibEntry.getType().getName());
+    }
+
+    static void forEachDateRow(BibEntry bibEntry, BibDatabase database, RowConsumer mainRows) {
+        for (Field dateField : DATE_FIELDS) {
+            Optional<String> resolvedDateValue = bibEntry.getResolvedFieldOrAlias(dateField, database);
+            resolvedDateValue.ifPresent(dateValue -> mainRows.accept(dateField, dateValue));
+        }
+    }
+
+    static void forEachSplitValue(BibEntry bibEntry, Field field, String value, BibDatabase database, Character keywordSeparator, RowConsumer splitRows) {
+        // region Handling of known multi-value fields
+        // split and convert to Unicode
+        if (field.getProperties().contains(FieldProperty.PERSON_NAMES)) {
+            addAuthors(value, field, splitRows);
+        } else if (field == StandardField.KEYWORDS) {
+            addKeywords(value, field, keywordSeparator, splitRows);
+        } else if (field == StandardField.GROUPS) {
+            addGroups(value, field, splitRows);
+        } else if (field.getProperties().contains(FieldProperty.MULTIPLE_ENTRY_LINK)) {
+            bibEntry.getEntryLinkList(field, database).stream()
+                    .distinct()
+                    .forEach(link -> splitRows.accept(field, link.getKey()));
+        } else if (field == StandardField.FILE) {
+            // No handling of File, because due to relative paths, we think, there won't be any exact match operation
+            // We could add the filename itself (with and without extension). However, the user can also use regular expressions to achieve the same.
+            // The use case to search for file names seems pretty seldom, therefore we omit it.
+        } else {
+            // No other multi-value fields are known
+            // No action needed -> main table has the value
+        }
+        // endregion
+    }
+
+    private static void addGroups(String value, Field field, RowConsumer splitRows) {
+        // We could use KeywordList, but we are afraid that group names could have ">" in their name, and then they would not be handled correctly
+        Arrays.stream(GROUPS_SEPARATOR_REGEX.split(value))
+              .distinct()
+              .forEach(group -> splitRows.accept(field, group));
+    }
+
+    private static void addKeywords(String keywordsString, Field field, Character keywordSeparator, RowConsumer splitRows) {
+        KeywordList keywordList = KeywordList.parse(keywordsString, keywordSeparator);
+        keywordList.stream().flatMap(keyword -> keyword.flatten().stream()).forEach(keyword -> splitRows.accept(field, keyword.toString()));
+    }
+
+    private static void addAuthors(String value, Field field, RowConsumer splitRows) {
+        AuthorList.parse(value).getAuthors().forEach(author -> {
+            // Author object does not support literal values
+            // We use the method giving us the most complete information for the literal value;
+            String literal = author.getGivenFamily(false);
+            String transformed = author.latexFree().getGivenFamily(false);
+            splitRows.accept(field, literal, transformed);
+        });
+    }
+}
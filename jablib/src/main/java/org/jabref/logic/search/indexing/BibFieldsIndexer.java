@@ -1,75 +1,155 @@
 package org.jabref.logic.search.indexing;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Arrays;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.regex.Pattern;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 
 import org.jabref.logic.l10n.Localization;
 import org.jabref.logic.util.BackgroundTask;
 import org.jabref.logic.util.HeadlessExecutorService;
 import org.jabref.model.database.BibDatabaseContext;
-import org.jabref.model.entry.AuthorList;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.BibEntryPreferences;
-import org.jabref.model.entry.KeywordList;
 import org.jabref.model.entry.field.Field;
-import org.jabref.model.entry.field.FieldProperty;
-import org.jabref.model.entry.field.StandardField;
 import org.jabref.model.search.PostgreConstants;
-import org.jabref.model.strings.LatexToUnicodeAdapter;
 
 import io.github.thibaultmeyer.cuid.CUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import static org.jabref.model.entry.field.InternalField.TYPE_HEADER;
+import static org.jabref.model.search.PostgreConstants.BIB_FIELDS_SCHEME;
+import static org.jabref.model.search.PostgreConstants.ENTRY_FINGERPRINT;
 import static org.jabref.model.search.PostgreConstants.ENTRY_ID;
 import static org.jabref.model.search.PostgreConstants.FIELD_NAME;
 import static org.jabref.model.search.PostgreConstants.FIELD_VALUE_LITERAL;
 import static org.jabref.model.search.PostgreConstants.FIELD_VALUE_TRANSFORMED;
+import static org.jabref.model.search.PostgreConstants.LAST_OPENED;
 import static org.jabref.model.search.PostgreConstants.SPLIT_TABLE_SUFFIX;
-
+import static org.jabref.model.search.PostgreConstants.TABLE_NAME;
+
+/**
+ * Indexes the bib fields of a library in the tables of the embedded Postgres server.
+ * <p>
+ * All statements are sent over the one connection of the library. The auto-commit mode of a connection applies to all statements sent over it.
+ * Thus, the operations are serialized, so that an update of a single entry does not become part of (or is rolled back with) a transaction adding many entries.
+ */
 public class BibFieldsIndexer {
     private static final Logger LOGGER = LoggerFactory.getLogger(BibFieldsIndexer.class);
 
-    private static final Pattern GROUPS_SEPARATOR_REGEX = Pattern.compile("\s*,\s*");
-    private static final Set<Field> DATE_FIELDS = Set.of(StandardField.DATE, StandardField.YEAR, StandardField.MONTH, StandardField.DAY);
+    /**
+     * Number of entries whose rows are sent to the database in one batch when adding many entries
+     */
+    private static final int ENTRIES_PER_BATCH = 500;
 
     private final BibDatabaseContext databaseContext;
     private final Connection connection;
+    private final Lock connectionLock = new ReentrantLock();
     private final String libraryName;
     private final String mainTable;
     private final String schemaMainTableReference;
     private final String splitValuesTable;
     private final String schemaSplitValuesTableReference;
+    private final String schemaFingerprintTableReference;
+    private final String insertFieldQuery;
+    private final String insertIntoSplitTableQuery;
+    private final String upsertFingerprintQuery;
     private final Character keywordSeparator;
+    private final boolean keepTables;
 
     public BibFieldsIndexer(BibEntryPreferences bibEntryPreferences, BibDatabaseContext databaseContext, Connection connection) {
+        this(bibEntryPreferences, databaseContext, connection, false);
+    }
+
+    /**
+     * @param keepTables if true and the library is saved, the tables are named after the path of the library and kept on close.
+     *                   Then, the index of the unchanged entries is reused when the library is opened again.
+     */
+    public BibFieldsIndexer(BibEntryPreferences bibEntryPreferences, BibDatabaseContext databaseContext, Connection connection, boolean keepTables) {
         this.databaseContext = databaseContext;
         this.connection = connection;
         this.keywordSeparator = bibEntryPreferences.getKeywordSeparator();
         this.libraryName = databaseContext.getDatabasePath().map(path -> path.getFileName().toString()).orElse("unsaved");
+        this.keepTables = keepTables && databaseContext.getDatabasePath().isPresent();
 
-        this.mainTable = CUID.randomCUID2(12).toString();
+        this.mainTable = this.keepTables ? getTableName(databaseContext.getDatabasePath().get()) : CUID.randomCUID2(12).toString();
         this.splitValuesTable = mainTable + SPLIT_TABLE_SUFFIX;
 
         this.schemaMainTableReference = PostgreConstants.getMainTableSchemaReference(mainTable);
         this.schemaSplitValuesTableReference = PostgreConstants.getSplitTableSchemaReference(mainTable);
+        this.schemaFingerprintTableReference = PostgreConstants.getFingerprintTableSchemaReference(mainTable);
+        this.insertFieldQuery = """
+                INSERT INTO %s ("%s", "%s", "%s", "%s")
+                VALUES (?, ?, ?, ?)
+                """.formatted(
+                schemaMainTableReference,
+                ENTRY_ID,
+                FIELD_NAME,
+                FIELD_VALUE_LITERAL,
+                FIELD_VALUE_TRANSFORMED);
+        this.insertIntoSplitTableQuery = """
+                INSERT INTO %s ("%s", "%s", "%s", "%s")
+                VALUES (?, ?, ?, ?)
+                """.formatted(
+                schemaSplitValuesTableReference,
+                ENTRY_ID,
+                FIELD_NAME,
+                FIELD_VALUE_LITERAL,
+                FIELD_VALUE_TRANSFORMED);
+        this.upsertFingerprintQuery = """
+                INSERT INTO %s ("%s", "%s")
+                VALUES (?, ?)
+                ON CONFLICT ("%s")
+                DO UPDATE SET "%s" = EXCLUDED."%s"
+                """.formatted(
+                schemaFingerprintTableReference,
+                ENTRY_ID,
+                ENTRY_FINGERPRINT,
+                ENTRY_ID,
+                ENTRY_FINGERPRINT, ENTRY_FINGERPRINT);
         // TODO: Set-up should be in a background task
-        setup();
+        createTables();
+    }
+
+    /**
+     * The table name is derived from the path of the library, so that the same table is used in the next session.
+     */
+    private static String getTableName(Path databasePath) {
+        String key = PostgreConstants.INDEX_VERSION + "--" + databasePath.toAbsolutePath().normalize();
+        return HexFormat.of().formatHex(sha256(key)).substring(0, 16);
+    }
+
+    private static byte[] sha256(String content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
     }
 
     /**
-     * Creates a table for the library in the database, and sets up indexes on the columns.
+     * Creates a table for the library in the database.
+     * The indexes on the columns are created by {@link #createIndexes()} after the initial load of the entries, because filling indexed tables is much slower.
      */
-    private void setup() {
+    private void createTables() {
         try {
             connection.createStatement().executeUpdate("""
                     CREATE TABLE IF NOT EXISTS %s (
@@ -101,10 +181,40 @@ public class BibFieldsIndexer {
                     FIELD_VALUE_LITERAL,
                     FIELD_VALUE_TRANSFORMED));
 
+            connection.createStatement().executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS %s (
+                        %s TEXT PRIMARY KEY,
+                        %s TEXT NOT NULL
+                    )
+                    """.formatted(
+                    schemaFingerprintTableReference,
+                    ENTRY_ID,
+                    ENTRY_FINGERPRINT));
+
+            if (keepTables) {
+                connection.createStatement().executeUpdate("""
+                        INSERT INTO %s ("%s", "%s")
+                        VALUES ('%s', now())
+                        ON CONFLICT ("%s")
+                        DO UPDATE SET "%s" = now()
+                        """.formatted(
+                        PostgreConstants.getLibrariesTableSchemaReference(),
+                        TABLE_NAME, LAST_OPENED,
+                        mainTable,
+                        TABLE_NAME,
+                        LAST_OPENED));
+            }
+
             LOGGER.debug("Created tables for library: {}", libraryName);
         } catch (SQLException e) {
             LOGGER.error("Could not create tables for library: {}", libraryName, e);
         }
+    }
+
+    /**
+     * Sets up indexes on the columns of the tables.
+     */
+    private void createIndexes() {
         try {
             // region btree index on id column
             connection.createStatement().executeUpdate("""
@@ -161,10 +271,196 @@ public class BibFieldsIndexer {
         }
     }
 
+    /**
+     * Drops the indexes created by {@link #createIndexes()}.
+     */
+    private void dropIndexes() throws SQLException {
+        for (String index : List.of(
+                mainTable + "_" + ENTRY_ID,
+                splitValuesTable + "_" + ENTRY_ID,
+                mainTable + "_" + FIELD_NAME,
+                splitValuesTable + "_" + FIELD_NAME,
+                mainTable + "_" + FIELD_VALUE_LITERAL,
+                splitValuesTable + "_" + FIELD_VALUE_LITERAL)) {
+            connection.createStatement().executeUpdate("""
+                    DROP INDEX IF EXISTS %s."%s_index"
+                    """.formatted(BIB_FIELDS_SCHEME, index));
+        }
+    }
+
     public void updateOnStart(BackgroundTask<?> task) {
-        addToIndex(databaseContext.getDatabase().getEntries(), task);
+        List<BibEntry> entries = List.copyOf(databaseContext.getDatabase().getEntries());
+        connectionLock.lock();
+        try {
+            addToIndex(reuseIndexOfUnchangedEntries(entries), task);
+        } finally {
+            createIndexes();
+            connectionLock.unlock();
+        }
+    }
+
+    /**
+     * Matches the entries with the fingerprints of the entries indexed in an earlier session.
+     * The rows of unchanged entries are kept and assigned to the ids of the entries in this session. All other rows are removed.
+     *
+     * @return the entries which need to be indexed
+     */
+    private List<BibEntry> reuseIndexOfUnchangedEntries(List<BibEntry> entries) {
+        Map<String, Deque<String>> previousIdsByFingerprint = new HashMap<>();
+        try (ResultSet resultSet = connection.createStatement().executeQuery("""
+                SELECT "%s", "%s" FROM %s
+                """.formatted(ENTRY_ID, ENTRY_FINGERPRINT, schemaFingerprintTableReference))) {
+            while (resultSet.next()) {
+                previousIdsByFingerprint.computeIfAbsent(resultSet.getString(2), _ -> new ArrayDeque<>())
+                                        .add(resultSet.getString(1));
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Could not read fingerprints of library: {}", libraryName, e);
+        }
+        if (previousIdsByFingerprint.isEmpty()) {
+            // Nothing to reuse, ensure that the tables do not contain any left-overs
+            clearTables();
+            return entries;
+        }
+
+        String stringsFingerprint = getStringsFingerprint();
+        List<BibEntry> entriesToIndex = new ArrayList<>();
+        Map<String, String> newIdByPreviousId = new HashMap<>();
+        for (BibEntry entry : entries) {
+            Deque<String> previousIds = previousIdsByFingerprint.get(computeFingerprint(entry, stringsFingerprint));
+            if ((previousIds == null) || previousIds.isEmpty()) {
+                entriesToIndex.add(entry);
+            } else {
+                newIdByPreviousId.put(previousIds.poll(), entry.getId());
+            }
+        }
+        LOGGER.debug("Reusing the index of {} entries of library: {}", newIdByPreviousId.size(), libraryName);
+
+        try {
+            // Updating indexed tables is much slower, the indexes are recreated afterwards
+            dropIndexes();
+            connection.setAutoCommit(false);
+            remapEntryIds(newIdByPreviousId);
+            connection.commit();
+            return entriesToIndex;
+        } catch (SQLException e) {
+            LOGGER.error("Could not reuse the index of library: {}", libraryName, e);
+            rollback();
+            clearTables();
+            return entries;
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                LOGGER.error("Could not restore auto-commit mode for library: {}", libraryName, e);
+            }
+        }
+    }
+
+    /**
+     * Removes the rows of all entries not contained in the given mapping and replaces the ids of the remaining rows.
+     * Only the rows whose id changed are rewritten. The ids of the sessions overlap, thus, a row whose new id is still used by another kept row
+     * is moved to a prefixed id first and renamed once all rows have been moved.
+     */
+    private void remapEntryIds(Map<String, String> newIdByPreviousId) throws SQLException {
+        connection.createStatement().execute("""
+                CREATE TEMPORARY TABLE kept_ids (
+                    previous_id TEXT PRIMARY KEY
+                ) ON COMMIT DROP
+                """);
+        connection.createStatement().execute("""
+                CREATE TEMPORARY TABLE id_mapping (
+                    previous_id TEXT PRIMARY KEY,
+                    new_id TEXT NOT NULL,
+                    conflicting BOOLEAN NOT NULL
+                ) ON COMMIT DROP
+                """);
+        boolean anyChanged = false;
+        boolean anyConflicting = false;
+        try (PreparedStatement keptStatement = connection.prepareStatement("INSERT INTO kept_ids VALUES (?)");
+             PreparedStatement mappingStatement = connection.prepareStatement("INSERT INTO id_mapping VALUES (?, ?, ?)")) {
+            for (Map.Entry<String, String> mapping : newIdByPreviousId.entrySet()) {
+                keptStatement.setString(1, mapping.getKey());
+                keptStatement.addBatch();
+                if (!mapping.getKey().equals(mapping.getValue())) {
+                    boolean conflicting = newIdByPreviousId.containsKey(mapping.getValue());
+                    mappingStatement.setString(1, mapping.getKey());
+                    mappingStatement.setString(2, mapping.getValue());
+                    mappingStatement.setBoolean(3, conflicting);
+                    mappingStatement.addBatch();
+                    anyChanged = true;
+                    anyConflicting |= conflicting;
+                }
+            }
+            keptStatement.executeBatch();
+            mappingStatement.executeBatch();
+        }
+
+        for (String table : List.of(schemaMainTableReference, schemaSplitValuesTableReference, schemaFingerprintTableReference)) {
+            connection.createStatement().executeUpdate("""
+                    DELETE FROM %s AS t
+                    WHERE NOT EXISTS (SELECT 1 FROM kept_ids WHERE previous_id = t."%s")
+                    """.formatted(table, ENTRY_ID));
+            if (anyChanged) {
+                connection.createStatement().executeUpdate("""
+                        UPDATE %s AS t
+                        SET "%s" = CASE WHEN id_mapping.conflicting THEN '~' || id_mapping.new_id ELSE id_mapping.new_id END
+                        FROM id_mapping
+                        WHERE t."%s" = id_mapping.previous_id
+                        """.formatted(table, ENTRY_ID, ENTRY_ID));
+            }
+            if (anyConflicting) {
+                connection.createStatement().executeUpdate("""
+                        UPDATE %s AS t
+                        SET "%s" = id_mapping.new_id
+                        FROM id_mapping
+                        WHERE id_mapping.conflicting AND t."%s" = '~' || id_mapping.new_id
+                        """.formatted(table, ENTRY_ID, ENTRY_ID));
+            }
+        }
+    }
+
+    private void clearTables() {
+        try {
+            for (String table : List.of(schemaMainTableReference, schemaSplitValuesTableReference, schemaFingerprintTableReference)) {
+                connection.createStatement().executeUpdate("DELETE FROM " + table);
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Could not clear tables of library: {}", libraryName, e);
+        }
     }
 
+    /**
+     * The indexed content of an entry also depends on the strings of the library and the keyword separator.
+     */
+    private String getStringsFingerprint() {
+        String strings = databaseContext.getDatabase().getStringValues().stream()
+                                        .map(string -> string.getName() + "=" + string.getContent())
+                                        .sorted()
+                                        .collect(Collectors.joining("\n"));
+        return HexFormat.of().formatHex(sha256(keywordSeparator + "\n" + strings));
+    }
+
+    private String computeFingerprint(BibEntry entry, String stringsFingerprint) {
+        StringBuilder content = new StringBuilder(stringsFingerprint);
+        appendContent(content, entry);
+        // Fields of the referenced entry are indexed as well, see BibEntry#getResolvedFieldOrAlias
+        databaseContext.getDatabase().getReferencedEntry(entry).ifPresent(referencedEntry -> appendContent(content, referencedEntry));
+        return HexFormat.of().formatHex(sha256(content.toString()));
+    }
+
+    private static void appendContent(StringBuilder content, BibEntry entry) {
+        content.append('\n').append('@').append(entry.getType().getName());
+        entry.getFieldMap().entrySet().stream()
+             .sorted(Comparator.comparing(fieldPair -> fieldPair.getKey().getName()))
+             .forEach(fieldPair -> content.append('\n').append(fieldPair.getKey().getName()).append('=').append(fieldPair.getValue()));
+    }
+
+    /**
+     * Adds the given entries to the index.
+     * The rows of {@link #ENTRIES_PER_BATCH} entries are sent to the database and committed at once.
+     * Thus, the transactions stay small, and the entries of the batches committed before a failure or a cancellation remain indexed.
+     */
     public void addToIndex(List<BibEntry> entries, BackgroundTask<?> task) {
         int count = entries.size();
         if (count > 1) {
@@ -172,94 +468,88 @@ public class BibFieldsIndexer {
             task.setTitle(Localization.lang("Indexing bib fields for %0", libraryName));
         }
         long startTime = System.currentTimeMillis();
+        long rowsAdded = 0;
         LOGGER.debug("Adding {} entries to index", count);
-        for (int i = 0; i < count; i++) {
-            if (task.isCancelled()) {
-                LOGGER.debug("Indexing canceled");
-                return;
+        connectionLock.lock();
+        try {
+            connection.setAutoCommit(false);
+            String stringsFingerprint = getStringsFingerprint();
+            try (PreparedStatement preparedStatement = connection.prepareStatement(insertFieldQuery);
+                 PreparedStatement preparedStatementSplitValues = connection.prepareStatement(insertIntoSplitTableQuery);
+                 PreparedStatement preparedStatementFingerprints = connection.prepareStatement(upsertFingerprintQuery)) {
+                for (int i = 0; i < count; i++) {
+                    if (task.isCancelled()) {
+                        LOGGER.debug("Indexing canceled");
+                        break;
+                    }
+                    BibEntry entry = entries.get(i);
+                    addToBatch(entry, preparedStatement, preparedStatementSplitValues);
+                    addFingerprintToBatch(preparedStatementFingerprints, entry, stringsFingerprint);
+
+                    int entriesDone = i + 1;
+                    if ((entriesDone % ENTRIES_PER_BATCH == 0) || (entriesDone == count)) {
+                        rowsAdded += preparedStatement.executeBatch().length;
+                        rowsAdded += preparedStatementSplitValues.executeBatch().length;
+                        preparedStatementFingerprints.executeBatch();
+                        connection.commit();
+                        long rowsPerSecond = rowsAdded * 1000 / Math.max(1, System.currentTimeMillis() - startTime);
+                        task.updateProgress(entriesDone, count);
+                        task.updateMessage(Localization.lang("%0 of %1 entries added to the index (%2 rows per second).", entriesDone, count, rowsPerSecond));
+                    }
+                }
+                // In case of cancellation, the entries of the last batch are discarded
+                preparedStatement.clearBatch();
+                preparedStatementSplitValues.clearBatch();
+                preparedStatementFingerprints.clearBatch();
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Could not add entries to the index.", e);
+            rollback();
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                LOGGER.error("Could not restore auto-commit mode for library: {}", libraryName, e);
             }
-            BibEntry entry = entries.get(i);
-            addToIndex(entry);
-            task.updateProgress(i, count);
-            task.updateMessage(Localization.lang("%0 of %1 entries added to the index.", i, count));
+            connectionLock.unlock();
         }
-        LOGGER.debug("Added {} entries to index in {} ms", count, System.currentTimeMillis() - startTime);
+        LOGGER.debug("Added {} entries ({} rows) to index in {} ms", count, rowsAdded, System.currentTimeMillis() - startTime);
     }
 
-    private void addToIndex(BibEntry bibEntry) {
-        String insertFieldQuery = """
-                INSERT INTO %s ("%s", "%s", "%s", "%s")
-                VALUES (?, ?, ?, ?)
-                """.formatted(
-                schemaMainTableReference,
-                ENTRY_ID,
-                FIELD_NAME,
-                FIELD_VALUE_LITERAL,
-                FIELD_VALUE_TRANSFORMED);
-
-        String insertIntoSplitTable = """
-                INSERT INTO %s ("%s", "%s", "%s", "%s")
-                VALUES (?, ?, ?, ?)
-                """.formatted(
-                schemaSplitValuesTableReference,
-                ENTRY_ID,
-                FIELD_NAME,
-                FIELD_VALUE_LITERAL,
-                FIELD_VALUE_TRANSFORMED);
-
-        try (PreparedStatement preparedStatement = connection.prepareStatement(insertFieldQuery);
-             PreparedStatement preparedStatementSplitValues = connection.prepareStatement(insertIntoSplitTable)) {
-            String entryId = bibEntry.getId();
-            LOGGER.atTrace().setMessage("Adding entry {}").addArgument(() -> bibEntry.getKeyAuthorTitleYear()).log();
-            for (Map.Entry<Field, String> fieldPair : bibEntry.getFieldMap().entrySet()) {
-                Field field = fieldPair.getKey();
-                String value = fieldPair.getValue();
-
-                // Skip indexing of date-related fields separately to ensure proper handling later in the process.
-                if (!DATE_FIELDS.contains(field)) {
-                    // If a field exists, there also exists a resolved field latex free.
-                    // Only exception: If the content of the field is empty, then the resolved field is also empty. Example: `series = {{}}`.
-                    String resolvedFieldLatexFree = bibEntry.getResolvedFieldOrAliasLatexFree(field, this.databaseContext.getDatabase()).orElse("");
-
-                    // One potential future flaw is that the bibEntry is modified concurrently and the field being deleted.
-                    addBatch(preparedStatement, entryId, field, value, resolvedFieldLatexFree);
-                }
-
-                // region Handling of known multi-value fields
-                // split and convert to Unicode
-                if (field.getProperties().contains(FieldProperty.PERSON_NAMES)) {
-                    addAuthors(value, preparedStatementSplitValues, entryId, field);
-                } else if (field == StandardField.KEYWORDS) {
-                    addKeywords(value, preparedStatementSplitValues, entryId, field, keywordSeparator);
-                } else if (field == StandardField.GROUPS) {
-                    addGroups(value, preparedStatementSplitValues, entryId, field);
-                } else if (field.getProperties().contains(FieldProperty.MULTIPLE_ENTRY_LINK)) {
-                    addEntryLinks(bibEntry, field, preparedStatementSplitValues, entryId);
-                } else if (field == StandardField.FILE) {
-                    // No handling of File, because due to relative paths, we think, there won't be any exact match operation
-                    // We could add the filename itself (with and without extension). However, the user can also use regular expressions to achieve the same.
-                    // The use case to search for file names seems pretty seldom, therefore we omit it.
-                } else {
-                    // No other multi-value fields are known
-                    // No action needed -> main table has the value
-                }
-                // endregion
-            }
-            // ensure all date-related fields are indexed.
-            for (Field dateField : DATE_FIELDS) {
-                Optional<String> resolvedDateValue = bibEntry.getResolvedFieldOrAlias(dateField, this.databaseContext.getDatabase());
-                resolvedDateValue.ifPresent(dateValue -> addBatch(preparedStatement, entryId, dateField, dateValue));
-            }
-            // add entry type
-            addBatch(preparedStatement, entryId, TYPE_HEADER, bibEntry.getType().getName());
+    private void addFingerprintToBatch(PreparedStatement preparedStatement, BibEntry entry, String stringsFingerprint) throws SQLException {
+        preparedStatement.setString(1, entry.getId());
+        preparedStatement.setString(2, computeFingerprint(entry, stringsFingerprint));
+        preparedStatement.addBatch();
+    }
 
+    private void updateFingerprint(BibEntry entry) {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(upsertFingerprintQuery)) {
+            addFingerprintToBatch(preparedStatement, entry, getStringsFingerprint());
             preparedStatement.executeBatch();
-            preparedStatementSplitValues.executeBatch();
         } catch (SQLException e) {
-            LOGGER.error("Could not add an entry to the index.", e);
+            LOGGER.error("Could not update the fingerprint of entry {}", entry.getId(), e);
         }
     }
 
+    private void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            LOGGER.error("Could not roll back adding entries to the index for library: {}", libraryName, e);
+        }
+    }
+
+    /**
+     * Adds the rows of the given entry to the batches of the given statements. The caller is responsible for executing the batches.
+     */
+    private void addToBatch(BibEntry bibEntry, PreparedStatement preparedStatement, PreparedStatement preparedStatementSplitValues) {
+        String entryId = bibEntry.getId();
+        LOGGER.atTrace().setMessage("Adding entry {}").addArgument(() -> bibEntry.getKeyAuthorTitleYear()).log();
+        BibFieldsIndexRows.forEachRow(bibEntry, databaseContext.getDatabase(), keywordSeparator,
+                (field, value, normalized) -> addBatch(preparedStatement, entryId, field, value, normalized),
+                (field, value, normalized) -> addBatch(preparedStatementSplitValues, entryId, field, value, normalized));
+    }
+
     public void removeFromIndex(Collection<BibEntry> entries, BackgroundTask<?> task) {
         if (entries.size() > 1) {
             task.showToUser(true);
@@ -279,6 +569,7 @@ public class BibFieldsIndexer {
     }
 
     private void removeFromIndex(BibEntry entry) {
+        connectionLock.lock();
         try {
             connection.createStatement().executeUpdate("""
                     DELETE FROM %s
@@ -288,30 +579,30 @@ public class BibFieldsIndexer {
                     DELETE FROM %s
                     WHERE "%s" = '%s'
                     """.formatted(schemaSplitValuesTableReference, ENTRY_ID, entry.getId()));
+            connection.createStatement().executeUpdate("""
+                    DELETE FROM %s
+                    WHERE "%s" = '%s'
+                    """.formatted(schemaFingerprintTableReference, ENTRY_ID, entry.getId()));
             LOGGER.debug("Entry {} removed from index", entry.getId());
         } catch (SQLException e) {
             LOGGER.error("Error deleting entry from index", e);
+        } finally {
+            connectionLock.unlock();
         }
     }
 
     public void updateEntry(BibEntry entry, Field field) {
-        synchronized (entry.getId()) {
+        connectionLock.lock();
+        try {
             removeField(entry, field);
             insertField(entry, field);
+            updateFingerprint(entry);
+        } finally {
+            connectionLock.unlock();
         }
     }
 
     private void insertField(BibEntry entry, Field field) {
-        String insertFieldQuery = """
-                INSERT INTO %s ("%s", "%s", "%s", "%s")
-                VALUES (?, ?, ?, ?)
-                """.formatted(
-                schemaMainTableReference,
-                ENTRY_ID,
-                FIELD_NAME,
-                FIELD_VALUE_LITERAL,
-                FIELD_VALUE_TRANSFORMED);
-
         // Inserts or updates date-related fields (e.g., date, year, month, day) into the index.
         // If a conflict occurs (e.g., the same ENTRY_ID and FIELD_NAME already exist),
         // the existing values are overwritten with the new ones to ensure the latest data is stored.
@@ -331,12 +622,10 @@ public class BibFieldsIndexer {
                 FIELD_VALUE_TRANSFORMED, FIELD_VALUE_TRANSFORMED);
 
         String entryId = entry.getId();
-        if (DATE_FIELDS.contains(field)) {
+        if (BibFieldsIndexRows.DATE_FIELDS.contains(field)) {
             try (PreparedStatement preparedStatement = connection.prepareStatement(insertDateFieldQuery)) {
-                for (Field dateField : DATE_FIELDS) {
-                    Optional<String> resolvedDateValue = entry.getResolvedFieldOrAlias(dateField, this.databaseContext.getDatabase());
-                    resolvedDateValue.ifPresent(dateValue -> addBatch(preparedStatement, entryId, dateField, dateValue));
-                }
+                BibFieldsIndexRows.forEachDateRow(entry, databaseContext.getDatabase(),
+                        (dateField, value, normalized) -> addBatch(preparedStatement, entryId, dateField, value, normalized));
                 preparedStatement.executeBatch();
             } catch (SQLException e) {
                 LOGGER.error("Could not add an entry to the index.", e);
@@ -354,30 +643,10 @@ public class BibFieldsIndexer {
             }
         }
 
-        String insertIntoSplitTable = """
-                INSERT INTO %s ("%s", "%s", "%s", "%s")
-                VALUES (?, ?, ?, ?)
-                """.formatted(
-                schemaSplitValuesTableReference,
-                ENTRY_ID,
-                FIELD_NAME,
-                FIELD_VALUE_LITERAL,
-                FIELD_VALUE_TRANSFORMED);
-
-        try (PreparedStatement preparedStatement = connection.prepareStatement(insertIntoSplitTable)) {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(insertIntoSplitTableQuery)) {
             String value = entry.getField(field).orElse("");
-
-            if (field.getProperties().contains(FieldProperty.PERSON_NAMES)) {
-                addAuthors(value, preparedStatement, entryId, field);
-            } else if (field == StandardField.KEYWORDS) {
-                addKeywords(value, preparedStatement, entryId, field, keywordSeparator);
-            } else if (field == StandardField.GROUPS) {
-                addGroups(value, preparedStatement, entryId, field);
-            } else if (field.getProperties().contains(FieldProperty.MULTIPLE_ENTRY_LINK)) {
-                addEntryLinks(entry, field, preparedStatement, entryId);
-            } else if (field == StandardField.FILE) {
-                // No handling of File, because due to relative paths, we think, there won't be any exact match operation
-            }
+            BibFieldsIndexRows.forEachSplitValue(entry, field, value, databaseContext.getDatabase(), keywordSeparator,
+                    (splitField, splitValue, normalized) -> addBatch(preparedStatement, entryId, splitField, splitValue, normalized));
             preparedStatement.executeBatch();
         } catch (SQLException e) {
             LOGGER.error("Could not add an entry to the index.", e);
@@ -409,17 +678,25 @@ public class BibFieldsIndexer {
     }
 
     private void closeIndex() {
+        connectionLock.lock();
         try {
             LOGGER.debug("Closing connection to Postgres server for library: {}", libraryName);
-            connection.createStatement().executeUpdate("""
-                        DROP TABLE IF EXISTS %s
-                        """.formatted(schemaMainTableReference));
-            connection.createStatement().executeUpdate("""
-                        DROP TABLE IF EXISTS %s
-                        """.formatted(schemaSplitValuesTableReference));
+            if (!keepTables) {
+                connection.createStatement().executeUpdate("""
+                            DROP TABLE IF EXISTS %s
+                            """.formatted(schemaMainTableReference));
+                connection.createStatement().executeUpdate("""
+                            DROP TABLE IF EXISTS %s
+                            """.formatted(schemaSplitValuesTableReference));
+                connection.createStatement().executeUpdate("""
+                            DROP TABLE IF EXISTS %s
+                            """.formatted(schemaFingerprintTableReference));
+            }
             connection.close();
         } catch (SQLException e) {
             LOGGER.error("Could not drop table for library: {}", libraryName, e);
+        } finally {
+            connectionLock.unlock();
         }
     }
 
@@ -427,41 +704,6 @@ public class BibFieldsIndexer {
         return mainTable;
     }
 
-    private void addEntryLinks(BibEntry bibEntry, Field field, PreparedStatement preparedStatementSplitValues, String entryId) {
-        bibEntry.getEntryLinkList(field, databaseContext.getDatabase()).stream()
-            .distinct()
-            .forEach(link -> addBatch(preparedStatementSplitValues, entryId, field, link.getKey()));
-    }
-
-    private static void addGroups(String value, PreparedStatement preparedStatementSplitValues, String entryId, Field field) {
-        // We could use KeywordList, but we are afraid that group names could have ">" in their name, and then they would not be handled correctly
-        Arrays.stream(GROUPS_SEPARATOR_REGEX.split(value))
-              .distinct()
-              .forEach(group -> addBatch(preparedStatementSplitValues, entryId, field, group));
-    }
-
-    private static void addKeywords(String keywordsString, PreparedStatement preparedStatementSplitValues, String entryId, Field field, Character keywordSeparator) {
-        KeywordList keywordList = KeywordList.parse(keywordsString, keywordSeparator);
-        keywordList.stream().flatMap(keyword -> keyword.flatten().stream()).forEach(keyword -> {
-            String value = keyword.toString();
-            addBatch(preparedStatementSplitValues, entryId, field, value);
-        });
-    }
-
-    private static void addAuthors(String value, PreparedStatement preparedStatementSplitValues, String entryId, Field field) {
-        AuthorList.parse(value).getAuthors().forEach(author -> {
-            // Author object does not support literal values
-            // We use the method giving us the most complete information for the literal value;
-            String literal = author.getGivenFamily(false);
-            String transformed = author.latexFree().getGivenFamily(false);
-            addBatch(preparedStatementSplitValues, entryId, field, literal, transformed);
-        });
-    }
-
-    private static void addBatch(PreparedStatement preparedStatement, String entryId, Field field, String value) {
-        addBatch(preparedStatement, entryId, field, value, LatexToUnicodeAdapter.format(value));
-    }
-
     /**
      * The values are passed as they should be inserted into the database table
      */
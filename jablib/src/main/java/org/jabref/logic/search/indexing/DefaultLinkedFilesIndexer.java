@@ -3,6 +3,7 @@ package org.jabref.logic.search.indexing;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -19,7 +20,9 @@ import javafx.util.Pair;
 import org.jabref.logic.FilePreferences;
 import org.jabref.logic.importer.util.FileFieldParser;
 import org.jabref.logic.l10n.Localization;
+import org.jabref.logic.pdf.PdfTextCache;
 import org.jabref.logic.search.LuceneIndexer;
+import org.jabref.logic.search.indexing.ParallelDocumentReader.FileToRead;
 import org.jabref.logic.util.BackgroundTask;
 import org.jabref.logic.util.HeadlessExecutorService;
 import org.jabref.logic.util.StandardFileType;
@@ -29,6 +32,7 @@ import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.LinkedFile;
 import org.jabref.model.search.LinkedFilesConstants;
 
+import com.airhacks.afterburner.injection.Injector;
 import org.apache.commons.io.FileUtils;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.index.IndexWriter;
@@ -48,11 +52,14 @@ import org.slf4j.LoggerFactory;
 
 public class DefaultLinkedFilesIndexer implements LuceneIndexer {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultLinkedFilesIndexer.class);
-    private static final DocumentReader DOCUMENT_READER = new DocumentReader();
+    // PDFs are read in parallel, the pages are added to the index by the thread of the indexing task
+    private static final int NUMBER_OF_READING_WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    private static final Duration READING_TIMEOUT = Duration.ofMinutes(5);
     private static int NUMBER_OF_UNSAVED_LIBRARIES = 1;
 
     private final BibDatabaseContext databaseContext;
     private final FilePreferences filePreferences;
+    private final DocumentReader documentReader;
     private final String libraryName;
     private final Directory indexDirectory;
     private final IndexWriter indexWriter;
@@ -63,6 +70,7 @@ public class DefaultLinkedFilesIndexer implements LuceneIndexer {
     public DefaultLinkedFilesIndexer(BibDatabaseContext databaseContext, FilePreferences filePreferences) throws IOException {
         this.databaseContext = databaseContext;
         this.filePreferences = filePreferences;
+        this.documentReader = new DocumentReader(Injector.instantiateModelOrService(PdfTextCache.class));
         this.libraryName = databaseContext.getDatabasePath().map(path -> path.getFileName().toString()).orElse("untitled");
         this.indexedFiles = new ConcurrentHashMap<>();
 
@@ -136,25 +144,46 @@ public class DefaultLinkedFilesIndexer implements LuceneIndexer {
         }
 
         LOGGER.debug("Adding {} files to index", linkedFiles.size());
-        int i = 1;
-        for (Map.Entry<String, Pair<Long, Path>> entry : linkedFiles.entrySet()) {
-            if (task.isCancelled()) {
-                LOGGER.debug("Adding files to index canceled");
-                return;
-            }
-            addToIndex(entry.getKey(), entry.getValue().getKey(), entry.getValue().getValue());
-            task.setTitle(Localization.lang("Indexing files for %1 | %2 of %0 file(s) indexed.", linkedFiles.size(), libraryName, i));
-            task.updateProgress(i, linkedFiles.size());
-            task.updateMessage(Localization.lang("Indexing %0", FileUtil.shortenFileName(entry.getValue().getValue().getFileName().toString(), 68)));
-            task.showToUser(true);
-            i++;
+        List<FileToRead> filesToRead = linkedFiles.entrySet().stream()
+                                                  .map(entry -> new FileToRead(entry.getKey(), entry.getValue().getKey(), entry.getValue().getValue()))
+                                                  .toList();
+        int numberOfWorkers = Math.min(filesToRead.size(), NUMBER_OF_READING_WORKERS);
+        long startTime = System.nanoTime();
+        int[] numberOfReadFiles = {0};
+        long[] numberOfReadPages = {0};
+        try (ParallelDocumentReader reader = new ParallelDocumentReader(documentReader::readPdfContents, numberOfWorkers, READING_TIMEOUT)) {
+            reader.read(filesToRead, task::isCancelled, readFile -> {
+                FileToRead file = readFile.file();
+                // A file which could not be read is recorded as well, so that it is not read again until it is modified.
+                // A file which timed out is read again at the next update.
+                if (!readFile.timedOut()) {
+                    addToIndex(file.fileLink(), file.modifiedTime(), readFile.pages());
+                }
+
+                numberOfReadFiles[0]++;
+                numberOfReadPages[0] += readFile.pages().size();
+                double elapsedSeconds = Math.max((System.nanoTime() - startTime) / 1e9, 1e-3);
+                task.setTitle(Localization.lang("Indexing files for %1 | %2 of %0 file(s) indexed.", linkedFiles.size(), libraryName, numberOfReadFiles[0]));
+                task.updateProgress(numberOfReadFiles[0], linkedFiles.size());
+                task.updateMessage(Localization.lang("Indexing %0 (%1 pages per second).",
+                        FileUtil.shortenFileName(file.path().getFileName().toString(), 68),
+                        Math.round(numberOfReadPages[0] / elapsedSeconds)));
+                task.showToUser(true);
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.debug("Adding files to index interrupted");
+            return;
+        }
+        if (task.isCancelled()) {
+            LOGGER.debug("Adding files to index canceled");
+            return;
         }
-        LOGGER.debug("Added {} files to index", linkedFiles.size());
+        LOGGER.debug("Added {} files with {} pages to index in {} ms", numberOfReadFiles[0], numberOfReadPages[0], (System.nanoTime() - startTime) / 1_000_000);
     }
 
-    private void addToIndex(String fileLink, long modifiedTime, Path resolvedPath) {
+    private void addToIndex(String fileLink, long modifiedTime, List<Document> pages) {
         LOGGER.debug("Adding file {} to the index.", fileLink);
-        List<Document> pages = DOCUMENT_READER.readPdfContents(fileLink, resolvedPath);
         try {
             indexWriter.addDocuments(pages);
             indexedFiles.put(fileLink, modifiedTime);
@@ -0,0 +1,408 @@
+package org.jabref.logic.search.indexing;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.jabref.logic.l10n.Localization;
+import org.jabref.logic.util.BackgroundTask;
+import org.jabref.logic.util.HeadlessExecutorService;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryPreferences;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.StandardField;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the rows of {@link BibFieldsIndexer} in memory, so that searching does not require the embedded Postgres server.
+ * <p>
+ * Besides the rows of each entry, two inverted indexes are maintained:
+ * <ul>
+ *     <li>trigram postings of the main rows to narrow down the candidates of contains queries</li>
+ *     <li>postings of the complete main and split values to answer exact queries</li>
+ * </ul>
+ * All comparisons are done on lower-cased values first; case-sensitive matches are verified on the candidates afterward.
+ * Regular expressions cannot use the postings and scan all main rows.
+ * <p>
+ * The matching methods mirror the SQL built by {@link org.jabref.logic.search.query.SearchToSqlVisitor}: the groups field is excluded from any-field searches,
+ * contains and regular expression searches only consider the main rows, and exact searches consider the main rows and the split rows.
+ */
+public class InMemoryBibFieldsIndexer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryBibFieldsIndexer.class);
+
+    private static final int TRIGRAM_LENGTH = 3;
+    private static final String GROUPS_FIELD = StandardField.GROUPS.getName();
+
+    private final BibDatabaseContext databaseContext;
+    private final String libraryName;
+    private final Character keywordSeparator;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Held during each update of the index, so that closing waits for running updates
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private boolean closed;
+    private final Map<String, EntryRows> rowsByEntryId = new HashMap<>();
+    private final Map<String, Set<String>> entryIdsByTrigram = new HashMap<>();
+    private final Map<String, Set<String>> entryIdsByValue = new HashMap<>();
+
+    private record Row(String fieldName, String literal, String transformed, String literalLowerCase, String transformedLowerCase) {
+        Row(Field field, String literal, String transformed) {
+            this(field.getName(), literal, transformed, toLowerCase(literal), toLowerCase(transformed));
+        }
+    }
+
+    private record EntryRows(List<Row> mainRows, List<Row> splitRows) {
+    }
+
+    public InMemoryBibFieldsIndexer(BibEntryPreferences bibEntryPreferences, BibDatabaseContext databaseContext) {
+        this.databaseContext = databaseContext;
+        this.keywordSeparator = bibEntryPreferences.getKeywordSeparator();
+        this.libraryName = databaseContext.getDatabasePath().map(path -> path.getFileName().toString()).orElse("unsaved");
+    }
+
+    public void updateOnStart(BackgroundTask<?> task) {
+        addToIndex(List.copyOf(databaseContext.getDatabase().getEntries()), task);
+    }
+
+    public void addToIndex(Collection<BibEntry> entries, BackgroundTask<?> task) {
+        updateLock.lock();
+        try {
+            if (!closed) {
+                addToOpenIndex(entries, task);
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private void addToOpenIndex(Collection<BibEntry> entries, BackgroundTask<?> task) {
+        if (entries.size() > 1) {
+            task.showToUser(true);
+            task.setTitle(Localization.lang("Indexing bib fields for %0", libraryName));
+        }
+        long startTime = System.currentTimeMillis();
+        int entriesDone = 0;
+        long rowsDone = 0;
+        for (BibEntry entry : entries) {
+            if (task.isCancelled()) {
+                LOGGER.debug("Adding entries to the in-memory index canceled");
+                return;
+            }
+            rowsDone += index(entry);
+            entriesDone++;
+            task.updateProgress(entriesDone, entries.size());
+        }
+        long rowsPerSecond = rowsDone * 1000 / Math.max(1, System.currentTimeMillis() - startTime);
+        task.updateMessage(Localization.lang("%0 of %1 entries added to the index (%2 rows per second).", entriesDone, entries.size(), rowsPerSecond));
+        LOGGER.debug("Added {} entries ({} rows) of library {} to the in-memory index", entriesDone, rowsDone, libraryName);
+    }
+
+    public void removeFromIndex(Collection<BibEntry> entries, BackgroundTask<?> task) {
+        updateLock.lock();
+        try {
+            if (!closed) {
+                removeFromOpenIndex(entries, task);
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private void removeFromOpenIndex(Collection<BibEntry> entries, BackgroundTask<?> task) {
+        if (entries.size() > 1) {
+            task.showToUser(true);
+            task.setTitle(Localization.lang("Removing entries from index for %0", libraryName));
+        }
+        int i = 1;
+        for (BibEntry entry : entries) {
+            if (task.isCancelled()) {
+                LOGGER.debug("Removing entries canceled");
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                removeRows(entry.getId());
+            } finally {
+                lock.writeLock().unlock();
+            }
+            task.updateProgress(i, entries.size());
+            task.updateMessage(Localization.lang("%0 of %1 entries removed from the index.", i, entries.size()));
+            i++;
+        }
+    }
+
+    /**
+     * Re-indexes the complete entry, because a changed field can influence other rows (e.g., resolved date fields or fields inherited by a crossref).
+     * Entries which are not indexed (anymore) are ignored.
+     */
+    public void updateEntry(BibEntry entry, Field field) {
+        LOGGER.trace("Updating field {} of entry {} in the in-memory index", field, entry.getId());
+        updateLock.lock();
+        try {
+            if (!closed && !findEntryId(entry.getId(), null).isEmpty()) {
+                index(entry);
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    public void close() {
+        HeadlessExecutorService.INSTANCE.execute(this::closeAndWait);
+    }
+
+    /**
+     * Waits for a running update of the index to finish and frees the index. Later updates are ignored.
+     */
+    public void closeAndWait() {
+        updateLock.lock();
+        try {
+            closed = true;
+            lock.writeLock().lock();
+            try {
+                rowsByEntryId.clear();
+                entryIdsByTrigram.clear();
+                entryIdsByValue.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of indexed rows
+     */
+    private int index(BibEntry entry) {
+        List<Row> mainRows = new ArrayList<>();
+        List<Row> splitRows = new ArrayList<>();
+        BibFieldsIndexRows.forEachRow(entry, databaseContext.getDatabase(), keywordSeparator,
+                (field, literal, transformed) -> mainRows.add(new Row(field, literal, transformed)),
+                (field, literal, transformed) -> splitRows.add(new Row(field, literal, transformed)));
+
+        String entryId = entry.getId();
+        lock.writeLock().lock();
+        try {
+            removeRows(entryId);
+            rowsByEntryId.put(entryId, new EntryRows(List.copyOf(mainRows), List.copyOf(splitRows)));
+            for (Row row : mainRows) {
+                addTrigrams(entryId, row.literalLowerCase());
+                addTrigrams(entryId, row.transformedLowerCase());
+                addValue(entryId, row);
+            }
+            splitRows.forEach(row -> addValue(entryId, row));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return mainRows.size() + splitRows.size();
+    }
+
+    private void removeRows(String entryId) {
+        EntryRows entryRows = rowsByEntryId.remove(entryId);
+        if (entryRows == null) {
+            return;
+        }
+        for (Row row : entryRows.mainRows()) {
+            removeFromPostings(entryIdsByTrigram, trigrams(row.literalLowerCase()), entryId);
+            removeFromPostings(entryIdsByTrigram, trigrams(row.transformedLowerCase()), entryId);
+            removeFromPostings(entryIdsByValue, List.of(row.literalLowerCase(), row.transformedLowerCase()), entryId);
+        }
+        for (Row row : entryRows.splitRows()) {
+            removeFromPostings(entryIdsByValue, List.of(row.literalLowerCase(), row.transformedLowerCase()), entryId);
+        }
+    }
+
+    private void addTrigrams(String entryId, String lowerCaseValue) {
+        for (String trigram : trigrams(lowerCaseValue)) {
+            entryIdsByTrigram.computeIfAbsent(trigram, _ -> new HashSet<>()).add(entryId);
+        }
+    }
+
+    private void addValue(String entryId, Row row) {
+        entryIdsByValue.computeIfAbsent(row.literalLowerCase(), _ -> new HashSet<>()).add(entryId);
+        entryIdsByValue.computeIfAbsent(row.transformedLowerCase(), _ -> new HashSet<>()).add(entryId);
+    }
+
+    private static void removeFromPostings(Map<String, Set<String>> postings, Collection<String> keys, String entryId) {
+        for (String key : keys) {
+            Set<String> entryIds = postings.get(key);
+            if (entryIds != null) {
+                entryIds.remove(entryId);
+                if (entryIds.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * The matching methods take the id of the entry to restrict the search to. Checking a single entry only looks at its rows instead of
+     * evaluating the search on all entries.
+     *
+     * @param scope the id of the entry to restrict the result to, {@code null} for all entries
+     * @return the ids of all indexed entries
+     */
+    public Set<String> getEntryIds(@Nullable String scope) {
+        lock.readLock().lock();
+        try {
+            if (scope != null) {
+                return rowsByEntryId.containsKey(scope) ? Set.of(scope) : Set.of();
+            }
+            return new HashSet<>(rowsByEntryId.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param scope the id of the entry to restrict the search to, {@code null} for all entries
+     */
+    public Set<String> findEntryId(String entryId, @Nullable String scope) {
+        if (scope != null && !scope.equals(entryId)) {
+            return Set.of();
+        }
+        lock.readLock().lock();
+        try {
+            return rowsByEntryId.containsKey(entryId) ? Set.of(entryId) : Set.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the entries having a main row containing the term (SQL: {@code LIKE '%term%'}).
+     *
+     * @param fieldName the name of the field to search in, {@code null} for any field except groups
+     * @param scope     the id of the entry to restrict the search to, {@code null} for all entries
+     */
+    public Set<String> findContaining(@Nullable String fieldName, String term, boolean caseSensitive, @Nullable String scope) {
+        String lowerCaseTerm = toLowerCase(term);
+        Predicate<Row> matcher = caseSensitive
+                                 ? row -> row.literal().contains(term) || row.transformed().contains(term)
+                                 : row -> row.literalLowerCase().contains(lowerCaseTerm) || row.transformedLowerCase().contains(lowerCaseTerm);
+
+        lock.readLock().lock();
+        try {
+            Set<String> candidates = scope == null ? getContainsCandidates(lowerCaseTerm) : Set.of(scope);
+            return filter(candidates, fieldName, matcher, false);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the entries having a main row or a split row equal to the term (SQL: {@code LIKE 'term'}).
+     *
+     * @param fieldName the name of the field to search in, {@code null} for any field except groups
+     * @param scope     the id of the entry to restrict the search to, {@code null} for all entries
+     */
+    public Set<String> findExact(@Nullable String fieldName, String term, boolean caseSensitive, @Nullable String scope) {
+        String lowerCaseTerm = toLowerCase(term);
+        Predicate<Row> matcher = caseSensitive
+                                 ? row -> row.literal().equals(term) || row.transformed().equals(term)
+                                 : row -> row.literalLowerCase().equals(lowerCaseTerm) || row.transformedLowerCase().equals(lowerCaseTerm);
+
+        lock.readLock().lock();
+        try {
+            Set<String> candidates = scope == null ? entryIdsByValue.getOrDefault(lowerCaseTerm, Set.of()) : Set.of(scope);
+            return filter(candidates, fieldName, matcher, true);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the entries having a main row in which the pattern is found (SQL: {@code ~ 'pattern'}).
+     *
+     * @param fieldName the name of the field to search in, {@code null} for any field except groups
+     * @param scope     the id of the entry to restrict the search to, {@code null} for all entries
+     */
+    public Set<String> findMatchingRegex(@Nullable String fieldName, Pattern pattern, @Nullable String scope) {
+        Predicate<Row> matcher = row -> pattern.matcher(row.literal()).find() || pattern.matcher(row.transformed()).find();
+
+        lock.readLock().lock();
+        try {
+            return filter(scope == null ? rowsByEntryId.keySet() : Set.of(scope), fieldName, matcher, false);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the entries which might contain the term. Terms shorter than a trigram cannot be looked up; then, all entries are candidates.
+     */
+    private Set<String> getContainsCandidates(String lowerCaseTerm) {
+        if (lowerCaseTerm.length() < TRIGRAM_LENGTH) {
+            return rowsByEntryId.keySet();
+        }
+        List<Set<String>> postings = new ArrayList<>();
+        for (String trigram : trigrams(lowerCaseTerm)) {
+            Set<String> entryIds = entryIdsByTrigram.get(trigram);
+            if (entryIds == null) {
+                return Set.of();
+            }
+            postings.add(entryIds);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+        Set<String> candidates = new HashSet<>(postings.getFirst());
+        for (Set<String> entryIds : postings.subList(1, postings.size())) {
+            candidates.retainAll(entryIds);
+        }
+        return candidates;
+    }
+
+    private Set<String> filter(Set<String> candidates, @Nullable String fieldName, Predicate<Row> matcher, boolean includeSplitRows) {
+        Predicate<Row> fieldMatcher = fieldName == null
+                                      ? row -> !GROUPS_FIELD.equals(row.fieldName())
+                                      : row -> fieldName.equals(row.fieldName());
+        Predicate<Row> rowMatcher = fieldMatcher.and(matcher);
+
+        Set<String> result = new HashSet<>();
+        for (String entryId : candidates) {
+            EntryRows entryRows = rowsByEntryId.get(entryId);
+            if (entryRows == null) {
+                continue;
+            }
+            if (entryRows.mainRows().stream().anyMatch(rowMatcher)
+                    || (includeSplitRows && entryRows.splitRows().stream().anyMatch(rowMatcher))) {
+                result.add(entryId);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> trigrams(String lowerCaseValue) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + TRIGRAM_LENGTH <= lowerCaseValue.length(); i++) {
+            trigrams.add(lowerCaseValue.substring(i, i + TRIGRAM_LENGTH));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Lower-cases character by character. In contrast to {@link String#toLowerCase}, the length is kept, so that a value containing a term
+     * also contains the term after lower-casing both.
+     */
+    private static String toLowerCase(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+}
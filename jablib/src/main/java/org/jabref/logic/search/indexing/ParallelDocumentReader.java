@@ -0,0 +1,170 @@
+package org.jabref.logic.search.indexing;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.lucene.document.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads linked files with several workers in parallel and passes the pages of each file to a single consumer running on the calling thread.
+ * <p>
+ * At most twice as many files as there are workers are read or waiting for the consumer at the same time.
+ * Thus, the memory used for the pages stays bounded if the consumer is slower than the workers.
+ * The reading of a file taking longer than the timeout is interrupted, and the file is passed to the consumer without pages.
+ * <p>
+ * Each file is read on its own thread, and the number of workers limits how many of these threads read at the same time.
+ * The PDF library does not react to interrupts, so a thread reading a file that hangs may never finish. Such a thread is abandoned
+ * when the timeout expires, and its worker slot is handed to the next file.
+ */
+final class ParallelDocumentReader implements AutoCloseable {
+
+    record FileToRead(String fileLink, long modifiedTime, Path path) {
+    }
+
+    /**
+     * @param pages    empty if the file could not be read
+     * @param timedOut whether the reading was abandoned because it took longer than the timeout
+     */
+    record ReadFile(FileToRead file, List<Document> pages, boolean timedOut) {
+    }
+
+    /**
+     * @param startTime   the time the reading started in nanoseconds, 0 as long as the file waits for a worker
+     * @param holdsWorker whether the file holds one of the worker slots
+     */
+    private record FileInProgress(FileToRead file, AtomicLong startTime, AtomicBoolean holdsWorker) {
+
+        /**
+         * Gives the worker slot back once, either when the reading finishes or when the reading is abandoned
+         */
+        void releaseWorker(Semaphore workers) {
+            if (holdsWorker.compareAndSet(true, false)) {
+                workers.release();
+            }
+        }
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelDocumentReader.class);
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(500);
+
+    private final BiFunction<String, Path, List<Document>> documentReader;
+    private final int numberOfWorkers;
+    private final Duration timeout;
+    private final ExecutorService executor;
+    private final Semaphore workers;
+
+    /**
+     * @param documentReader reads the pages of a file given its link and its resolved path, see {@link DocumentReader#readPdfContents(String, Path)}
+     */
+    ParallelDocumentReader(BiFunction<String, Path, List<Document>> documentReader, int numberOfWorkers, Duration timeout) {
+        this.documentReader = documentReader;
+        this.numberOfWorkers = numberOfWorkers;
+        this.timeout = timeout;
+        this.workers = new Semaphore(numberOfWorkers);
+        this.executor = Executors.newThreadPerTaskExecutor(
+                new ThreadFactoryBuilder().setNameFormat("linked-files-reader-%d").setDaemon(true).build());
+    }
+
+    /**
+     * Reads the files in parallel and passes them to the consumer in the order in which the reading finishes.
+     *
+     * @param cancelled checked whenever a file has been read or the workers are polled; if true, the files being read are abandoned and no further files are read
+     */
+    void read(List<FileToRead> files, BooleanSupplier cancelled, Consumer<ReadFile> consumer) throws InterruptedException {
+        CompletionService<ReadFile> completionService = new ExecutorCompletionService<>(executor);
+        Map<Future<ReadFile>, FileInProgress> inProgress = new HashMap<>();
+        Iterator<FileToRead> pendingFiles = files.iterator();
+
+        while (true) {
+            while ((inProgress.size() < 2 * numberOfWorkers) && pendingFiles.hasNext()) {
+                FileToRead file = pendingFiles.next();
+                FileInProgress fileInProgress = new FileInProgress(file, new AtomicLong(), new AtomicBoolean());
+                inProgress.put(completionService.submit(() -> {
+                    workers.acquire();
+                    fileInProgress.holdsWorker().set(true);
+                    fileInProgress.startTime().set(System.nanoTime());
+                    try {
+                        return new ReadFile(file, documentReader.apply(file.fileLink(), file.path()), false);
+                    } finally {
+                        fileInProgress.releaseWorker(workers);
+                    }
+                }), fileInProgress);
+            }
+            if (inProgress.isEmpty()) {
+                return;
+            }
+            if (cancelled.getAsBoolean()) {
+                inProgress.forEach((future, fileInProgress) -> {
+                    future.cancel(true);
+                    fileInProgress.releaseWorker(workers);
+                });
+                return;
+            }
+
+            Future<ReadFile> done = completionService.poll(POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+            if (done != null) {
+                // Futures cancelled because of the timeout are completed as well, but have already been removed
+                FileInProgress fileInProgress = inProgress.remove(done);
+                if (fileInProgress != null) {
+                    consumer.accept(getReadFile(done, fileInProgress.file()));
+                }
+            }
+            abandonTimedOut(inProgress, consumer);
+        }
+    }
+
+    private ReadFile getReadFile(Future<ReadFile> done, FileToRead file) throws InterruptedException {
+        try {
+            return done.get();
+        } catch (ExecutionException e) {
+            // The document reader handles I/O errors itself, thus, this is an error of the PDF library
+            LOGGER.warn("Could not read {}", file.path(), e.getCause());
+            return new ReadFile(file, List.of(), false);
+        }
+    }
+
+    /**
+     * Interrupts the threads reading files for longer than the timeout and frees their worker slots, even if the threads keep running
+     */
+    private void abandonTimedOut(Map<Future<ReadFile>, FileInProgress> inProgress, Consumer<ReadFile> consumer) {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Future<ReadFile>, FileInProgress>> iterator = inProgress.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Future<ReadFile>, FileInProgress> entry = iterator.next();
+            long startTime = entry.getValue().startTime().get();
+            if ((startTime != 0) && (now - startTime >= timeout.toNanos())) {
+                LOGGER.warn("Reading {} took longer than {} seconds. The file will not be indexed.", entry.getValue().file().path(), timeout.toSeconds());
+                entry.getKey().cancel(true);
+                entry.getValue().releaseWorker(workers);
+                iterator.remove();
+                consumer.accept(new ReadFile(entry.getValue().file(), List.of(), true));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
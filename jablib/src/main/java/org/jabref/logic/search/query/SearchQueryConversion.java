@@ -1,7 +1,9 @@
 package org.jabref.logic.search.query;
 
 import java.util.List;
+import java.util.Set;
 
+import org.jabref.logic.search.indexing.InMemoryBibFieldsIndexer;
 import org.jabref.model.search.query.SearchQuery;
 import org.jabref.model.search.query.SearchQueryNode;
 import org.jabref.model.search.query.SqlQueryNode;
@@ -18,6 +20,16 @@ public class SearchQueryConversion {
         return new SearchToSqlVisitor(table, searchQuery.getSearchFlags()).visit(searchQuery.getContext());
     }
 
+    public static Set<String> searchToInMemory(InMemoryBibFieldsIndexer index, SearchQuery searchQuery) {
+        LOGGER.debug("Evaluating search expression in memory: {}", searchQuery.getSearchExpression());
+        return new SearchToInMemoryVisitor(index, searchQuery.getSearchFlags()).visit(searchQuery.getContext());
+    }
+
+    public static boolean matchesInMemory(InMemoryBibFieldsIndexer index, String entryId, SearchQuery searchQuery) {
+        LOGGER.debug("Evaluating search expression in memory for entry {}: {}", entryId, searchQuery.getSearchExpression());
+        return !new SearchToInMemoryVisitor(index, searchQuery.getSearchFlags(), entryId).visit(searchQuery.getContext()).isEmpty();
+    }
+
     public static String flagsToSearchExpression(SearchQuery searchQuery) {
         LOGGER.debug("Converting search flags to search expression: {}, flags {}", searchQuery.getSearchExpression(), searchQuery.getSearchFlags());
         return new SearchFlagsToExpressionVisitor(searchQuery.getSearchFlags()).visit(searchQuery.getContext());
@@ -0,0 +1,196 @@
+package org.jabref.logic.search.query;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.jabref.logic.search.indexing.InMemoryBibFieldsIndexer;
+import org.jabref.model.entry.field.InternalField;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.search.SearchFlags;
+import org.jabref.search.SearchBaseVisitor;
+import org.jabref.search.SearchParser;
+
+import org.jspecify.annotations.Nullable;
+
+import static org.jabref.model.search.PostgreConstants.ENTRY_ID;
+import static org.jabref.model.search.SearchFlags.CASE_INSENSITIVE;
+import static org.jabref.model.search.SearchFlags.CASE_SENSITIVE;
+import static org.jabref.model.search.SearchFlags.EXACT_MATCH;
+import static org.jabref.model.search.SearchFlags.INEXACT_MATCH;
+import static org.jabref.model.search.SearchFlags.NEGATION;
+import static org.jabref.model.search.SearchFlags.REGULAR_EXPRESSION;
+
+/// Evaluates a search query on an [InMemoryBibFieldsIndexer] and returns the ids of the matching entries.
+/// If an entry id is given, only that entry is checked, so the result is either empty or contains that id.
+///
+/// The semantics are the same as the ones of [SearchToSqlVisitor]; the operators are mapped to the same search flags.
+
+/// Tests are located in `org.jabref.logic.search.BibFieldsSearchBackendConformanceTest`
+public class SearchToInMemoryVisitor extends SearchBaseVisitor<Set<String>> {
+
+    private final EnumSet<SearchFlags> searchBarFlags;
+    private final InMemoryBibFieldsIndexer index;
+    private final @Nullable String entryId;
+
+    public SearchToInMemoryVisitor(InMemoryBibFieldsIndexer index, EnumSet<SearchFlags> searchBarFlags) {
+        this(index, searchBarFlags, null);
+    }
+
+    public SearchToInMemoryVisitor(InMemoryBibFieldsIndexer index, EnumSet<SearchFlags> searchBarFlags, @Nullable String entryId) {
+        this.searchBarFlags = searchBarFlags;
+        this.index = index;
+        this.entryId = entryId;
+    }
+
+    @Override
+    public Set<String> visitStart(SearchParser.StartContext ctx) {
+        return visit(ctx.andExpression());
+    }
+
+    @Override
+    public Set<String> visitImplicitAndExpression(SearchParser.ImplicitAndExpressionContext ctx) {
+        List<Set<String>> children = ctx.expression().stream().map(this::visit).toList();
+
+        Set<String> result = new HashSet<>(children.getFirst());
+        for (Set<String> child : children.subList(1, children.size())) {
+            result.retainAll(child);
+        }
+        return result;
+    }
+
+    @Override
+    public Set<String> visitParenExpression(SearchParser.ParenExpressionContext ctx) {
+        return visit(ctx.andExpression());
+    }
+
+    @Override
+    public Set<String> visitNegatedExpression(SearchParser.NegatedExpressionContext ctx) {
+        return complement(visit(ctx.expression()));
+    }
+
+    @Override
+    public Set<String> visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
+        Set<String> result = new HashSet<>(visit(ctx.left));
+        Set<String> right = visit(ctx.right);
+
+        if (ctx.bin_op.getType() == SearchParser.AND) {
+            result.retainAll(right);
+        } else {
+            result.addAll(right);
+        }
+        return result;
+    }
+
+    @Override
+    public Set<String> visitComparisonExpression(SearchParser.ComparisonExpressionContext ctx) {
+        return visit(ctx.comparison());
+    }
+
+    @Override
+    public Set<String> visitComparison(SearchParser.ComparisonContext ctx) {
+        EnumSet<SearchFlags> searchFlags = EnumSet.noneOf(SearchFlags.class);
+        String term = SearchQueryConversion.unescapeSearchValue(ctx.searchValue());
+
+        // unfielded expression
+        if (ctx.FIELD() == null) {
+            // apply search bar flags to unfielded expressions
+            boolean isCaseSensitive = searchBarFlags.contains(CASE_SENSITIVE);
+            if (searchBarFlags.contains(REGULAR_EXPRESSION)) {
+                setFlags(searchFlags, REGULAR_EXPRESSION, isCaseSensitive, false);
+            } else {
+                setFlags(searchFlags, INEXACT_MATCH, isCaseSensitive, false);
+            }
+            return getFieldMatches("any", term, searchFlags);
+        }
+
+        // fielded expression
+        String field = ctx.FIELD().getText();
+        int operator = ctx.operator().getStart().getType();
+
+        if (operator == SearchParser.EQUAL || operator == SearchParser.CONTAINS) {
+            setFlags(searchFlags, INEXACT_MATCH, false, false);
+        } else if (operator == SearchParser.CEQUAL) {
+            setFlags(searchFlags, INEXACT_MATCH, true, false);
+        } else if (operator == SearchParser.EEQUAL || operator == SearchParser.MATCHES) {
+            setFlags(searchFlags, EXACT_MATCH, false, false);
+        } else if (operator == SearchParser.CEEQUAL) {
+            setFlags(searchFlags, EXACT_MATCH, true, false);
+        } else if (operator == SearchParser.REQUAL) {
+            setFlags(searchFlags, REGULAR_EXPRESSION, false, false);
+        } else if (operator == SearchParser.CREEQUAL) {
+            setFlags(searchFlags, REGULAR_EXPRESSION, true, false);
+        } else if (operator == SearchParser.NEQUAL) {
+            setFlags(searchFlags, INEXACT_MATCH, false, true);
+        } else if (operator == SearchParser.NCEQUAL) {
+            setFlags(searchFlags, INEXACT_MATCH, true, true);
+        } else if (operator == SearchParser.NEEQUAL) {
+            setFlags(searchFlags, EXACT_MATCH, false, true);
+        } else if (operator == SearchParser.NCEEQUAL) {
+            setFlags(searchFlags, EXACT_MATCH, true, true);
+        } else if (operator == SearchParser.NREQUAL) {
+            setFlags(searchFlags, REGULAR_EXPRESSION, false, true);
+        } else if (operator == SearchParser.NCREEQUAL) {
+            setFlags(searchFlags, REGULAR_EXPRESSION, true, true);
+        }
+
+        // field = "" -> should find entries where the field is empty
+        // field != "" -> should find entries where the field is not empty
+        if (term.isEmpty()) {
+            if (searchFlags.contains(NEGATION)) {
+                searchFlags.remove(NEGATION);
+            } else {
+                searchFlags.add(NEGATION);
+            }
+        }
+
+        return getFieldMatches(field.toLowerCase(Locale.ROOT), term, searchFlags);
+    }
+
+    private Set<String> getFieldMatches(String field, String term, EnumSet<SearchFlags> searchFlags) {
+        // Pseudo-fields
+        field = switch (field) {
+            case "key" -> InternalField.KEY_FIELD.getName();
+            case "anykeyword" -> StandardField.KEYWORDS.getName();
+            case "anyfield" -> "any";
+            default -> field;
+        };
+
+        if (ENTRY_ID.toString().equals(field)) {
+            return index.findEntryId(term, entryId);
+        }
+
+        String fieldName = "any".equals(field) ? null : field;
+        boolean isCaseSensitive = searchFlags.contains(CASE_SENSITIVE);
+        Set<String> matches;
+        if (searchFlags.contains(REGULAR_EXPRESSION)) {
+            // An invalid pattern throws a PatternSyntaxException, just as Postgres fails on invalid patterns
+            Pattern pattern = isCaseSensitive ? Pattern.compile(term) : Pattern.compile(term, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+            matches = index.findMatchingRegex(fieldName, pattern, entryId);
+        } else if (searchFlags.contains(EXACT_MATCH)) {
+            matches = index.findExact(fieldName, term, isCaseSensitive, entryId);
+        } else {
+            matches = index.findContaining(fieldName, term, isCaseSensitive, entryId);
+        }
+
+        return searchFlags.contains(NEGATION) ? complement(matches) : matches;
+    }
+
+    private Set<String> complement(Set<String> entryIds) {
+        Set<String> result = index.getEntryIds(entryId);
+        result.removeAll(entryIds);
+        return result;
+    }
+
+    private static void setFlags(EnumSet<SearchFlags> flags, SearchFlags matchType, boolean caseSensitive, boolean negation) {
+        flags.add(matchType);
+
+        flags.add(caseSensitive ? CASE_SENSITIVE : CASE_INSENSITIVE);
+        if (negation) {
+            flags.add(NEGATION);
+        }
+    }
+}
@@ -6,14 +6,14 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -27,6 +27,7 @@ import org.jabref.model.entry.types.EntryTypeFactory;
 import org.jabref.model.metadata.MetaData;
 
 import com.google.common.collect.Lists;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,10 +36,34 @@ import org.slf4j.LoggerFactory;
  */
 public abstract class DBMSProcessor {
 
+    /**
+     * A row of the change log of the shared database.
+     *
+     * @param sequence the sequence number of the last change of the entry
+     * @param version  the version of the entry, 0 if the entry has been removed
+     */
+    public record SharedEntryChange(int sharedID, long sequence, int version) {
+
+        public boolean isRemoved() {
+            return version == 0;
+        }
+    }
+
+    /**
+     * A row of the FIELD table
+     *
+     * @param value the value of the field, null if the row is to be deleted
+     */
+    private record FieldRow(int sharedID, String name, @Nullable String value) {
+    }
+
     public static final String PROCESSOR_ID = UUID.randomUUID().toString();
 
     protected static final Logger LOGGER = LoggerFactory.getLogger(DBMSProcessor.class);
 
+    // Number of entries or fields read or written by one statement
+    private static final int BATCH_SIZE = 500;
+
     protected final Connection connection;
 
     protected DatabaseConnectionProperties connectionProperties;
@@ -294,148 +319,165 @@ public abstract class DBMSProcessor {
      * Updates the whole {@link BibEntry} on shared database.
      *
      * @param localBibEntry {@link BibEntry} affected by changes
+     * @throws OfflineLockException if the shared entry has been changed since the local entry was synchronized
      * @throws SQLException in case of error
      */
     public void updateEntry(BibEntry localBibEntry) throws OfflineLockException, SQLException {
+        List<OfflineLockException> conflicts = updateEntries(List.of(localBibEntry));
+        if (!conflicts.isEmpty()) {
+            throw conflicts.getFirst();
+        }
+    }
+
+    /**
+     * Updates the given entries on shared database in one transaction. The fields are deleted and inserted with a few
+     * statements for all entries, instead of several statements for each entry.
+     * <p>
+     * An entry is updated only if its local version is not lower than the shared one or if both are equal (optimistic
+     * offline lock). The shared entries are locked during the transaction, so that no other client changes them in between.
+     *
+     * @param localBibEntries {@link BibEntry BibEntries} affected by changes
+     * @return the conflicts of the entries not updated, because they have been changed on shared database in the meantime
+     * @throws SQLException in case of error
+     */
+    public List<OfflineLockException> updateEntries(List<BibEntry> localBibEntries) throws SQLException {
+        List<OfflineLockException> conflicts = new ArrayList<>();
+        if (localBibEntries.isEmpty()) {
+            return conflicts;
+        }
+
+        // The last change of an entry given twice wins
+        Map<Integer, BibEntry> localEntriesBySharedID = new LinkedHashMap<>();
+        localBibEntries.forEach(entry -> localEntriesBySharedID.put(entry.getSharedBibEntryData().getSharedID(), entry));
+        List<Integer> sharedIDs = new ArrayList<>(localEntriesBySharedID.keySet());
+
         connection.setAutoCommit(false); // disable auto commit due to transaction
 
         try {
-            Optional<BibEntry> sharedEntryOptional = getSharedEntry(localBibEntry.getSharedBibEntryData().getSharedID());
+            lockSharedEntries(sharedIDs);
+            Map<Integer, BibEntry> sharedEntriesBySharedID = partitionAndGetSharedEntries(sharedIDs)
+                    .stream()
+                    .collect(Collectors.toMap(entry -> entry.getSharedBibEntryData().getSharedID(), entry -> entry));
+
+            List<BibEntry> entriesToUpdate = new ArrayList<>();
+            List<FieldRow> fieldsToDelete = new ArrayList<>();
+            List<FieldRow> fieldsToInsert = new ArrayList<>();
+            for (BibEntry localBibEntry : localEntriesBySharedID.values()) {
+                BibEntry sharedBibEntry = sharedEntriesBySharedID.get(localBibEntry.getSharedBibEntryData().getSharedID());
+                if (sharedBibEntry == null) {
+                    continue;
+                }
 
-            if (sharedEntryOptional.isEmpty()) {
-                return;
+                // update only if local version is higher or the entries are equal
+                if ((localBibEntry.getSharedBibEntryData().getVersion() >= sharedBibEntry.getSharedBibEntryData()
+                                                                                         .getVersion()) || localBibEntry.equals(sharedBibEntry)) {
+                    entriesToUpdate.add(localBibEntry);
+                    addChangedFields(localBibEntry, sharedBibEntry, fieldsToDelete, fieldsToInsert);
+                } else {
+                    conflicts.add(new OfflineLockException(localBibEntry, sharedBibEntry));
+                }
             }
 
-            BibEntry sharedBibEntry = sharedEntryOptional.get();
-
-            // remove shared fields which do not exist locally
-            removeSharedFieldsByDifference(localBibEntry, sharedBibEntry);
-
-            // update only if local version is higher or the entries are equal
-            if ((localBibEntry.getSharedBibEntryData().getVersion() >= sharedBibEntry.getSharedBibEntryData()
-                                                                                     .getVersion()) || localBibEntry.equals(sharedBibEntry)) {
-                insertOrUpdateFields(localBibEntry);
-
-                // updating entry type
-                String updateEntryTypeQuery = "UPDATE " +
-                        escape_Table("ENTRY") +
-                        " SET " +
-                        escape("TYPE") +
-                        " = ?, " +
-                        escape("VERSION") +
-                        " = " +
-                        escape("VERSION") +
-                        " + 1 WHERE " +
-                        escape("SHARED_ID") +
-                        " = ?";
-
-                try (PreparedStatement preparedUpdateEntryTypeStatement = connection.prepareStatement(updateEntryTypeQuery)) {
-                    preparedUpdateEntryTypeStatement.setString(1, localBibEntry.getType().getName());
-                    preparedUpdateEntryTypeStatement.setInt(2, localBibEntry.getSharedBibEntryData().getSharedID());
-                    preparedUpdateEntryTypeStatement.executeUpdate();
-                }
+            deleteFields(fieldsToDelete);
+            insertFields(fieldsToInsert);
+            updateTypesAndVersions(entriesToUpdate);
 
-                connection.commit(); // apply all changes in current transaction
-            } else {
-                throw new OfflineLockException(localBibEntry, sharedBibEntry);
-            }
+            connection.commit(); // apply all changes in current transaction
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
             connection.rollback(); // undo changes made in current transaction
         } finally {
             connection.setAutoCommit(true); // enable auto commit mode again
         }
+        return conflicts;
     }
 
     /**
-     * Helping method. Removes shared fields which do not exist locally
+     * Helping method. Determines the shared fields which do not exist locally or have a different value, and the local
+     * fields which do not exist shared or have a different value. A changed field is deleted and inserted again.
      */
-    private void removeSharedFieldsByDifference(BibEntry localBibEntry, BibEntry sharedBibEntry) throws SQLException {
-        Set<Field> nullFields = new HashSet<>(sharedBibEntry.getFields());
-        nullFields.removeAll(localBibEntry.getFields());
-        for (Field nullField : nullFields) {
-            String deleteFieldQuery = "DELETE FROM " +
-                    escape_Table("FIELD") +
-                    " WHERE " +
-                    escape("NAME") +
-                    " = ? AND " +
-                    escape("ENTRY_SHARED_ID") +
-                    " = ?";
-
-            try (PreparedStatement preparedDeleteFieldStatement = connection
-                    .prepareStatement(deleteFieldQuery)) {
-                preparedDeleteFieldStatement.setString(1, nullField.getName());
-                preparedDeleteFieldStatement.setInt(2, localBibEntry.getSharedBibEntryData().getSharedID());
-                preparedDeleteFieldStatement.executeUpdate();
+    private static void addChangedFields(BibEntry localBibEntry, BibEntry sharedBibEntry, List<FieldRow> fieldsToDelete, List<FieldRow> fieldsToInsert) {
+        int sharedID = localBibEntry.getSharedBibEntryData().getSharedID();
+        for (Field sharedField : sharedBibEntry.getFields()) {
+            if (!localBibEntry.getField(sharedField).equals(sharedBibEntry.getField(sharedField))) {
+                fieldsToDelete.add(new FieldRow(sharedID, sharedField.getName(), null));
+            }
+        }
+        for (Field localField : localBibEntry.getFields()) {
+            Optional<String> value = localBibEntry.getField(localField);
+            if (!value.equals(sharedBibEntry.getField(localField))) {
+                fieldsToInsert.add(new FieldRow(sharedID, localField.getName(), value.orElse(null)));
             }
         }
     }
 
     /**
-     * Helping method. Inserts a key-value pair into FIELD table for every field if not existing. Otherwise only an
-     * update is performed.
+     * Helping method. Locks the rows of the given entries in the ENTRY table until the end of the current transaction.
+     * The rows are locked in the order of their IDs to prevent deadlocks with other clients.
      */
-    private void insertOrUpdateFields(BibEntry localBibEntry) throws SQLException {
-        for (Field field : localBibEntry.getFields()) {
-            // avoiding to use deprecated BibEntry.getField() method. null values are accepted by PreparedStatement!
-            Optional<String> valueOptional = localBibEntry.getField(field);
-            String value = null;
-            if (valueOptional.isPresent()) {
-                value = valueOptional.get();
+    private void lockSharedEntries(List<Integer> sharedIDs) throws SQLException {
+        for (List<Integer> partition : Lists.partition(sharedIDs.stream().sorted().toList(), BATCH_SIZE)) {
+            String lockQuery = "SELECT " + escape("SHARED_ID") + " FROM " + escape_Table("ENTRY") +
+                    " WHERE " + escape("SHARED_ID") + " IN (" + "?, ".repeat(partition.size() - 1) + "?)" +
+                    " ORDER BY " + escape("SHARED_ID") + " FOR UPDATE";
+            try (PreparedStatement preparedLockStatement = connection.prepareStatement(lockQuery)) {
+                for (int i = 0; i < partition.size(); i++) {
+                    preparedLockStatement.setInt(i + 1, partition.get(i));
+                }
+                preparedLockStatement.executeQuery().close();
             }
+        }
+    }
 
-            String selectFieldQuery = "SELECT * FROM " +
-                    escape_Table("FIELD") +
-                    " WHERE " +
-                    escape("NAME") +
-                    " = ? AND " +
-                    escape("ENTRY_SHARED_ID") +
-                    " = ?";
-
-            try (PreparedStatement preparedSelectFieldStatement = connection
-                    .prepareStatement(selectFieldQuery)) {
-                preparedSelectFieldStatement.setString(1, field.getName());
-                preparedSelectFieldStatement.setInt(2, localBibEntry.getSharedBibEntryData().getSharedID());
-
-                try (ResultSet selectFieldResultSet = preparedSelectFieldStatement.executeQuery()) {
-                    if (selectFieldResultSet.next()) { // check if field already exists
-                        String updateFieldQuery = "UPDATE " +
-                                escape_Table("FIELD") +
-                                " SET " +
-                                escape("VALUE") +
-                                " = ? WHERE " +
-                                escape("NAME") +
-                                " = ? AND " +
-                                escape("ENTRY_SHARED_ID") +
-                                " = ?";
-
-                        try (PreparedStatement preparedUpdateFieldStatement = connection
-                                .prepareStatement(updateFieldQuery)) {
-                            preparedUpdateFieldStatement.setString(1, value);
-                            preparedUpdateFieldStatement.setString(2, field.getName());
-                            preparedUpdateFieldStatement.setInt(3, localBibEntry.getSharedBibEntryData().getSharedID());
-                            preparedUpdateFieldStatement.executeUpdate();
-                        }
-                    } else {
-                        String insertFieldQuery = "INSERT INTO " +
-                                escape_Table("FIELD") +
-                                "(" +
-                                escape("ENTRY_SHARED_ID") +
-                                ", " +
-                                escape("NAME") +
-                                ", " +
-                                escape("VALUE") +
-                                ") VALUES(?, ?, ?)";
-
-                        try (PreparedStatement preparedFieldStatement = connection
-                                .prepareStatement(insertFieldQuery)) {
-                            preparedFieldStatement.setInt(1, localBibEntry.getSharedBibEntryData().getSharedID());
-                            preparedFieldStatement.setString(2, field.getName());
-                            preparedFieldStatement.setString(3, value);
-                            preparedFieldStatement.executeUpdate();
-                        }
-                    }
+    private void deleteFields(List<FieldRow> fields) throws SQLException {
+        for (List<FieldRow> partition : Lists.partition(fields, BATCH_SIZE)) {
+            String deleteFieldQuery = "DELETE FROM " + escape_Table("FIELD") +
+                    " WHERE (" + escape("ENTRY_SHARED_ID") + ", " + escape("NAME") + ") IN (" +
+                    "(?, ?), ".repeat(partition.size() - 1) + "(?, ?))";
+            try (PreparedStatement preparedDeleteFieldStatement = connection.prepareStatement(deleteFieldQuery)) {
+                for (int i = 0; i < partition.size(); i++) {
+                    preparedDeleteFieldStatement.setInt((2 * i) + 1, partition.get(i).sharedID());
+                    preparedDeleteFieldStatement.setString((2 * i) + 2, partition.get(i).name());
+                }
+                preparedDeleteFieldStatement.executeUpdate();
+            }
+        }
+    }
+
+    private void insertFields(List<FieldRow> fields) throws SQLException {
+        for (List<FieldRow> partition : Lists.partition(fields, BATCH_SIZE)) {
+            String insertFieldQuery = "INSERT INTO " + escape_Table("FIELD") +
+                    "(" + escape("ENTRY_SHARED_ID") + ", " + escape("NAME") + ", " + escape("VALUE") + ") VALUES" +
+                    "(?, ?, ?), ".repeat(partition.size() - 1) + "(?, ?, ?)";
+            try (PreparedStatement preparedInsertFieldStatement = connection.prepareStatement(insertFieldQuery)) {
+                for (int i = 0; i < partition.size(); i++) {
+                    // null values are accepted by PreparedStatement!
+                    preparedInsertFieldStatement.setInt((3 * i) + 1, partition.get(i).sharedID());
+                    preparedInsertFieldStatement.setString((3 * i) + 2, partition.get(i).name());
+                    preparedInsertFieldStatement.setString((3 * i) + 3, partition.get(i).value());
                 }
+                preparedInsertFieldStatement.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Helping method. Sets the entry types and increases the versions of the given entries.
+     */
+    private void updateTypesAndVersions(List<BibEntry> bibEntries) throws SQLException {
+        for (List<BibEntry> partition : Lists.partition(bibEntries, BATCH_SIZE)) {
+            String updateEntryTypeQuery = "UPDATE " + escape_Table("ENTRY") + " AS E" +
+                    " SET " + escape("TYPE") + " = V." + escape("TYPE") + ", " +
+                    escape("VERSION") + " = E." + escape("VERSION") + " + 1" +
+                    " FROM (VALUES " + "(?, ?), ".repeat(partition.size() - 1) + "(?, ?))" +
+                    " AS V(" + escape("SHARED_ID") + ", " + escape("TYPE") + ")" +
+                    " WHERE E." + escape("SHARED_ID") + " = V." + escape("SHARED_ID");
+            try (PreparedStatement preparedUpdateEntryTypeStatement = connection.prepareStatement(updateEntryTypeQuery)) {
+                for (int i = 0; i < partition.size(); i++) {
+                    preparedUpdateEntryTypeStatement.setInt((2 * i) + 1, partition.get(i).getSharedBibEntryData().getSharedID());
+                    preparedUpdateEntryTypeStatement.setString((2 * i) + 2, partition.get(i).getType().getName());
+                }
+                preparedUpdateEntryTypeStatement.executeUpdate();
             }
         }
     }
@@ -489,7 +531,7 @@ public abstract class DBMSProcessor {
      * @param sharedIDs the list of Ids to filter. If list is empty, then no filter is applied
      */
     public List<BibEntry> partitionAndGetSharedEntries(List<Integer> sharedIDs) {
-        List<List<Integer>> partitions = Lists.partition(sharedIDs, 500);
+        List<List<Integer>> partitions = Lists.partition(sharedIDs, BATCH_SIZE);
         List<BibEntry> result = new ArrayList<>();
 
         for (List<Integer> sublist : partitions) {
@@ -595,6 +637,70 @@ public abstract class DBMSProcessor {
         return sharedIDVersionMapping;
     }
 
+    /**
+     * Returns the highest sequence number in the change log, i.e., the sequence number of the latest change of an entry.
+     *
+     * @return 0 if no entry has been changed yet, -1 if the change log could not be read
+     */
+    public long getLatestChangeSequence() {
+        String selectQuery = "SELECT COALESCE(MAX(" + escape("SEQUENCE") + "), 0) FROM " + escape_Table("CHANGE_LOG");
+
+        try (ResultSet resultSet = connection.createStatement().executeQuery(selectQuery)) {
+            if (resultSet.next()) {
+                return resultSet.getLong(1);
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the id of the oldest transaction which is still in progress. Transactions with a lower id have completed,
+     * so their changes are visible. Changes of transactions with this or a higher id may still become visible later, possibly with a lower
+     * sequence number than changes already visible.
+     *
+     * @return -1 if the id could not be read
+     */
+    public long getOldestActiveTransaction() {
+        try (ResultSet resultSet = connection.createStatement().executeQuery("SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint")) {
+            if (resultSet.next()) {
+                return resultSet.getLong(1);
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+        }
+        return -1;
+    }
+
+    /**
+     * Retrieves the entries added, updated, or removed after the given sequence number or by a transaction with the given or a higher id,
+     * together with their current version.
+     *
+     * @param sequence          the latest sequence number read before
+     * @param oldestTransaction the oldest transaction in progress when the sequence number was read (see {@link #getOldestActiveTransaction()})
+     */
+    public List<SharedEntryChange> getSharedEntryChangesSince(long sequence, long oldestTransaction) throws SQLException {
+        List<SharedEntryChange> changes = new ArrayList<>();
+        String selectQuery = "SELECT C." + escape("ENTRY_SHARED_ID") + ", C." + escape("SEQUENCE") + ", E." + escape("VERSION") +
+                " FROM " + escape_Table("CHANGE_LOG") + " C" +
+                " LEFT OUTER JOIN " + escape_Table("ENTRY") + " E" +
+                " ON C." + escape("ENTRY_SHARED_ID") + " = E." + escape("SHARED_ID") +
+                " WHERE C." + escape("SEQUENCE") + " > ? OR C." + escape("TRANSACTION_ID") + " >= ?";
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(selectQuery)) {
+            preparedStatement.setLong(1, sequence);
+            preparedStatement.setLong(2, oldestTransaction);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    // The version is NULL for removed entries, which getInt returns as 0
+                    changes.add(new SharedEntryChange(resultSet.getInt("ENTRY_SHARED_ID"), resultSet.getLong("SEQUENCE"), resultSet.getInt("VERSION")));
+                }
+            }
+        }
+        return changes;
+    }
+
     /**
      * Fetches and returns all shared meta data.
      */
@@ -691,4 +797,14 @@ public abstract class DBMSProcessor {
     public void notifyClients() {
         // nothing to do
     }
+
+    /**
+     * Notifies all clients ({@link DBMSSynchronizer}) which are connected to the same DBMS about the given changed entries.
+     * Needs to be implemented if LiveUpdate is supported by the DBMS
+     *
+     * @param sharedIDs the shared IDs of the inserted, updated, or removed entries
+     */
+    public void notifyClients(@SuppressWarnings("unused") Collection<Integer> sharedIDs) {
+        // nothing to do
+    }
 }
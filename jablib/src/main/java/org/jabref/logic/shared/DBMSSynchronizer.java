@@ -8,6 +8,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.jabref.logic.bibtex.FieldPreferences;
@@ -57,6 +58,10 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
     private final FieldPreferences fieldPreferences;
     private final FileUpdateMonitor fileMonitor;
     private Optional<BibEntry> lastEntryChanged;
+    // The sequence number of the change log up to which the local database is synchronized, -1 before the first synchronization
+    private long lastChangeSequence = -1;
+    // The oldest transaction in progress when lastChangeSequence was read. Its changes and the ones of later transactions may still have lower sequence numbers.
+    private long lastOldestActiveTransaction = -1;
 
     public DBMSSynchronizer(BibDatabaseContext bibDatabaseContext, Character keywordSeparator,
                             FieldPreferences fieldPreferences,
@@ -84,6 +89,7 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
             pullWithLastEntry();
             synchronizeLocalDatabase();
             dbmsProcessor.insertEntries(event.getBibEntries());
+            dbmsProcessor.notifyClients(getSharedIDs(event.getBibEntries()));
             // Reset last changed entry because it just has already been synchronized -> Why necessary?
             lastEntryChanged = Optional.empty();
         }
@@ -119,6 +125,7 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
             synchronizeLocalMetaData();
             pullWithLastEntry();
             dbmsProcessor.removeEntries(event.getBibEntries());
+            dbmsProcessor.notifyClients(getSharedIDs(event.getBibEntries()));
             synchronizeLocalDatabase();
         }
     }
@@ -168,6 +175,9 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
     /**
      * Synchronizes the local database with shared one. Possible update types are: removal, update, or insert of a
      * {@link BibEntry}.
+     * <p>
+     * Only the entries changed since the last synchronization are compared. They are read from the change log of the
+     * shared database. All entries are compared on the first synchronization and if the change log cannot be read.
      */
     @Override
     public void synchronizeLocalDatabase() {
@@ -175,51 +185,103 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
             return;
         }
 
-        List<BibEntry> localEntries = bibDatabase.getEntries();
+        // Read before the entries, so that changes made in the meantime are pulled again on the next synchronization
+        long oldestActiveTransaction = dbmsProcessor.getOldestActiveTransaction();
+        long latestChangeSequence = dbmsProcessor.getLatestChangeSequence();
+        if ((lastChangeSequence < 0) || (lastOldestActiveTransaction < 0) || (latestChangeSequence < lastChangeSequence)) {
+            // The change log is smaller than before if the shared database has been recreated
+            synchronizeAllEntries();
+        } else {
+            try {
+                // Transactions in progress at the last synchronization may have committed changes with lower sequence numbers meanwhile
+                synchronizeChangedEntries(dbmsProcessor.getSharedEntryChangesSince(lastChangeSequence, lastOldestActiveTransaction));
+            } catch (SQLException e) {
+                LOGGER.error("Could not read the change log. Synchronizing all entries.", e);
+                synchronizeAllEntries();
+            }
+        }
+        lastChangeSequence = latestChangeSequence;
+        lastOldestActiveTransaction = oldestActiveTransaction;
+    }
+
+    private void synchronizeAllEntries() {
         Map<Integer, Integer> idVersionMap = dbmsProcessor.getSharedIDVersionMapping();
 
         // remove old entries locally
-        removeNotSharedEntries(localEntries, idVersionMap.keySet());
+        removeNotSharedEntries(bibDatabase.getEntries(), idVersionMap.keySet());
+        updateLocalEntries(idVersionMap);
+    }
+
+    private void synchronizeChangedEntries(List<DBMSProcessor.SharedEntryChange> changes) {
+        Map<Integer, BibEntry> localEntries = getLocalEntriesBySharedID();
+        List<BibEntry> entriesToRemove = changes.stream()
+                                                .filter(DBMSProcessor.SharedEntryChange::isRemoved)
+                                                .map(change -> localEntries.get(change.sharedID()))
+                                                .filter(Objects::nonNull)
+                                                .toList();
+        removeLocalEntries(entriesToRemove);
+
+        updateLocalEntries(changes.stream()
+                                  .filter(change -> !change.isRemoved())
+                                  .collect(Collectors.toMap(DBMSProcessor.SharedEntryChange::sharedID, DBMSProcessor.SharedEntryChange::version)));
+    }
+
+    /**
+     * Updates the local entries whose version is lower than the shared one and inserts the shared entries not present locally.
+     *
+     * @param idVersionMap the versions of the shared entries to compare by shared ID
+     */
+    private void updateLocalEntries(Map<Integer, Integer> idVersionMap) {
+        Map<Integer, BibEntry> localEntries = getLocalEntriesBySharedID();
+        List<Integer> entriesToUpdateLocally = new ArrayList<>();
         List<Integer> entriesToInsertIntoLocalDatabase = new ArrayList<>();
         // compare versions and update local entry if needed
         for (Map.Entry<Integer, Integer> idVersionEntry : idVersionMap.entrySet()) {
-            boolean remoteEntryMatchingOneLocalEntryFound = false;
-            for (BibEntry localEntry : localEntries) {
-                if (idVersionEntry.getKey().equals(localEntry.getSharedBibEntryData().getSharedID())) {
-                    remoteEntryMatchingOneLocalEntryFound = true;
-                    if (idVersionEntry.getValue() > localEntry.getSharedBibEntryData().getVersion()) {
-                        Optional<BibEntry> sharedEntry = dbmsProcessor.getSharedEntry(idVersionEntry.getKey());
-                        if (sharedEntry.isPresent()) {
-                            // update fields
-                            localEntry.setType(sharedEntry.get().getType(), EntriesEventSource.SHARED);
-                            localEntry.getSharedBibEntryData()
-                                      .setVersion(sharedEntry.get().getSharedBibEntryData().getVersion());
-                            sharedEntry.get().getFieldMap().forEach(
-                                    // copy remote values to local entry
-                                    (field, value) -> localEntry.setField(field, value, EntriesEventSource.SHARED)
-                            );
-
-                            // locally remove not existing fields
-                            localEntry.getFields().stream()
-                                      .filter(field -> !sharedEntry.get().hasField(field))
-                                      .forEach(
-                                              field -> localEntry.clearField(field, EntriesEventSource.SHARED)
-                                      );
-                        }
-                    }
-                }
-            }
-            if (!remoteEntryMatchingOneLocalEntryFound) {
+            BibEntry localEntry = localEntries.get(idVersionEntry.getKey());
+            if (localEntry == null) {
                 entriesToInsertIntoLocalDatabase.add(idVersionEntry.getKey());
+            } else if (idVersionEntry.getValue() > localEntry.getSharedBibEntryData().getVersion()) {
+                entriesToUpdateLocally.add(idVersionEntry.getKey());
             }
         }
 
+        for (BibEntry sharedEntry : dbmsProcessor.partitionAndGetSharedEntries(entriesToUpdateLocally)) {
+            updateLocalEntry(localEntries.get(sharedEntry.getSharedBibEntryData().getSharedID()), sharedEntry);
+        }
+
         if (!entriesToInsertIntoLocalDatabase.isEmpty()) {
             // in case entries should be added into the local database, insert them
             bibDatabase.insertEntries(dbmsProcessor.partitionAndGetSharedEntries(entriesToInsertIntoLocalDatabase), EntriesEventSource.SHARED);
         }
     }
 
+    private void updateLocalEntry(BibEntry localEntry, BibEntry sharedEntry) {
+        // update fields
+        localEntry.setType(sharedEntry.getType(), EntriesEventSource.SHARED);
+        localEntry.getSharedBibEntryData()
+                  .setVersion(sharedEntry.getSharedBibEntryData().getVersion());
+        sharedEntry.getFieldMap().forEach(
+                // copy remote values to local entry
+                (field, value) -> localEntry.setField(field, value, EntriesEventSource.SHARED)
+        );
+
+        // locally remove not existing fields
+        localEntry.getFields().stream()
+                  .filter(field -> !sharedEntry.hasField(field))
+                  .forEach(
+                          field -> localEntry.clearField(field, EntriesEventSource.SHARED)
+                  );
+    }
+
+    private static List<Integer> getSharedIDs(List<BibEntry> entries) {
+        return entries.stream().map(entry -> entry.getSharedBibEntryData().getSharedID()).toList();
+    }
+
+    private Map<Integer, BibEntry> getLocalEntriesBySharedID() {
+        return bibDatabase.getEntries().stream()
+                          .collect(Collectors.toMap(entry -> entry.getSharedBibEntryData().getSharedID(), Function.identity(), (first, _) -> first));
+    }
+
     /**
      * Removes all local entries which are not present on shared database.
      *
@@ -227,10 +289,12 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
      * @param sharedIDs    Set of all IDs which are present on shared database
      */
     private void removeNotSharedEntries(List<BibEntry> localEntries, Set<Integer> sharedIDs) {
-        List<BibEntry> entriesToRemove =
-                localEntries.stream()
-                            .filter(localEntry -> !sharedIDs.contains(localEntry.getSharedBibEntryData().getSharedID()))
-                            .collect(Collectors.toList());
+        removeLocalEntries(localEntries.stream()
+                                       .filter(localEntry -> !sharedIDs.contains(localEntry.getSharedBibEntryData().getSharedID()))
+                                       .collect(Collectors.toList()));
+    }
+
+    private void removeLocalEntries(List<BibEntry> entriesToRemove) {
         if (!entriesToRemove.isEmpty()) {
             eventBus.post(new SharedEntriesNotPresentEvent(entriesToRemove));
             // remove all non-shared entries without triggering listeners
@@ -249,6 +313,7 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         try {
             BibDatabaseWriter.applySaveActions(bibEntry, metaData, fieldPreferences); // perform possibly existing save actions
             dbmsProcessor.updateEntry(bibEntry);
+            dbmsProcessor.notifyClients(List.of(bibEntry.getSharedBibEntryData().getSharedID()));
         } catch (OfflineLockException exception) {
             eventBus.post(new UpdateRefusedEvent(bibDatabaseContext, exception.getLocalBibEntry(), exception.getSharedBibEntry()));
         } catch (SQLException e) {
@@ -295,17 +360,23 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         if (!checkCurrentConnection()) {
             return;
         }
+        List<BibEntry> changedEntries = new ArrayList<>();
         for (BibEntry bibEntry : bibDatabase.getEntries()) {
-            try {
-                // synchronize only if changes were present
-                if (!BibDatabaseWriter.applySaveActions(bibEntry, metaData, fieldPreferences).isEmpty()) {
-                    dbmsProcessor.updateEntry(bibEntry);
-                }
-            } catch (OfflineLockException exception) {
+            // synchronize only if changes were present
+            if (!BibDatabaseWriter.applySaveActions(bibEntry, metaData, fieldPreferences).isEmpty()) {
+                changedEntries.add(bibEntry);
+            }
+        }
+        if (changedEntries.isEmpty()) {
+            return;
+        }
+        try {
+            for (OfflineLockException exception : dbmsProcessor.updateEntries(changedEntries)) {
                 eventBus.post(new UpdateRefusedEvent(bibDatabaseContext, exception.getLocalBibEntry(), exception.getSharedBibEntry()));
-            } catch (SQLException e) {
-                LOGGER.error("SQL Error: ", e);
             }
+            dbmsProcessor.notifyClients(getSharedIDs(changedEntries));
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error: ", e);
         }
     }
 
@@ -323,6 +394,40 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         synchronizeLocalMetaData();
     }
 
+    /**
+     * Synchronizes the given local BibEntries, which another client reported as changed.
+     * If some of them have been removed from the shared database, the local database is synchronized completely.
+     *
+     * @param sharedIDs the shared IDs of the inserted, updated, or removed entries
+     */
+    public void pullChangedEntries(Set<Integer> sharedIDs) {
+        if (!checkCurrentConnection()) {
+            return;
+        }
+        pullWithLastEntry();
+
+        List<BibEntry> sharedEntries = dbmsProcessor.partitionAndGetSharedEntries(new ArrayList<>(sharedIDs));
+        if (sharedEntries.size() < sharedIDs.size()) {
+            // An entry has been removed, or reading the entries failed. The change log tells which one.
+            synchronizeLocalDatabase();
+            return;
+        }
+
+        Map<Integer, BibEntry> localEntries = getLocalEntriesBySharedID();
+        List<BibEntry> entriesToInsertIntoLocalDatabase = new ArrayList<>();
+        for (BibEntry sharedEntry : sharedEntries) {
+            BibEntry localEntry = localEntries.get(sharedEntry.getSharedBibEntryData().getSharedID());
+            if (localEntry == null) {
+                entriesToInsertIntoLocalDatabase.add(sharedEntry);
+            } else if (sharedEntry.getSharedBibEntryData().getVersion() > localEntry.getSharedBibEntryData().getVersion()) {
+                updateLocalEntry(localEntry, sharedEntry);
+            }
+        }
+        if (!entriesToInsertIntoLocalDatabase.isEmpty()) {
+            bibDatabase.insertEntries(entriesToInsertIntoLocalDatabase, EntriesEventSource.SHARED);
+        }
+    }
+
     /**
      * Synchronizes local BibEntries only if last entry changes still remain
      */
@@ -385,6 +490,8 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         this.dbName = connection.getProperties().getDatabase();
         this.currentConnection = connection.getConnection();
         this.dbmsProcessor = DBMSProcessor.getProcessorInstance(connection);
+        this.lastChangeSequence = -1;
+        this.lastOldestActiveTransaction = -1;
         initializeDatabases();
     }
 
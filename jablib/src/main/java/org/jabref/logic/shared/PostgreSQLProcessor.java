@@ -1,19 +1,23 @@
 package org.jabref.logic.shared;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
+import org.jabref.logic.shared.exception.InvalidDBMSConnectionPropertiesException;
 import org.jabref.logic.shared.listener.PostgresSQLNotificationListener;
 import org.jabref.logic.util.HeadlessExecutorService;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.metadata.MetaData;
 
-import org.postgresql.PGConnection;
-
 /**
  * Processes all incoming or outgoing bib data to PostgreSQL database and manages its structure.
  */
@@ -22,7 +26,7 @@ public class PostgreSQLProcessor extends DBMSProcessor {
     private PostgresSQLNotificationListener listener;
 
     private int VERSION_DB_STRUCT_DEFAULT = -1;
-    private final int CURRENT_VERSION_DB_STRUCT = 1;
+    private final int CURRENT_VERSION_DB_STRUCT = 2;
 
     public PostgreSQLProcessor(DatabaseConnection connection) {
         super(connection);
@@ -36,7 +40,7 @@ public class PostgreSQLProcessor extends DBMSProcessor {
     @Override
     public void setUp() throws SQLException {
 
-        if (CURRENT_VERSION_DB_STRUCT == 1 && checkTableAvailability("ENTRY", "FIELD", "METADATA")) {
+        if (checkTableAvailability("ENTRY", "FIELD", "METADATA")) {
             // checkTableAvailability does not distinguish if same table name exists in different schemas
             // VERSION_DB_STRUCT_DEFAULT must be forced
             VERSION_DB_STRUCT_DEFAULT = 0;
@@ -61,6 +65,8 @@ public class PostgreSQLProcessor extends DBMSProcessor {
                         + "\"KEY\" VARCHAR,"
                         + "\"VALUE\" TEXT)");
 
+        setUpChangeLog();
+
         Map<String, String> metadata = getSharedMetaData();
 
         if (metadata.get(MetaData.VERSION_DB_STRUCT) != null) {
@@ -76,7 +82,7 @@ public class PostgreSQLProcessor extends DBMSProcessor {
 
         if (VERSION_DB_STRUCT_DEFAULT < CURRENT_VERSION_DB_STRUCT) {
             // We can to migrate from old table in new table
-            if (VERSION_DB_STRUCT_DEFAULT == 0 && CURRENT_VERSION_DB_STRUCT == 1) {
+            if (VERSION_DB_STRUCT_DEFAULT == 0) {
                 LOGGER.info("Migrating from VersionDBStructure == 0");
                 connection.createStatement().executeUpdate("INSERT INTO " + escape_Table("ENTRY") + " SELECT * FROM \"ENTRY\"");
                 connection.createStatement().executeUpdate("INSERT INTO " + escape_Table("FIELD") + " SELECT * FROM \"FIELD\"");
@@ -84,12 +90,96 @@ public class PostgreSQLProcessor extends DBMSProcessor {
                 connection.createStatement().execute("SELECT setval(\'jabref.\"ENTRY_SHARED_ID_seq\"\', (select max(\"SHARED_ID\") from jabref.\"ENTRY\"))");
                 metadata = getSharedMetaData();
             }
+            if (VERSION_DB_STRUCT_DEFAULT < 2) {
+                LOGGER.info("Adding the existing entries to the change log");
+                connection.createStatement().executeUpdate("INSERT INTO " + escape_Table("CHANGE_LOG") + " (" + escape("ENTRY_SHARED_ID") + ") " +
+                        "SELECT " + escape("SHARED_ID") + " FROM " + escape_Table("ENTRY") + " ON CONFLICT DO NOTHING");
+            }
 
             metadata.put(MetaData.VERSION_DB_STRUCT, String.valueOf(CURRENT_VERSION_DB_STRUCT));
             setSharedMetaData(metadata);
         }
     }
 
+    /**
+     * Creates the change log, which holds the sequence number of the last change of each entry, and the triggers filling it.
+     * The triggers also record the changes made by clients not reading the change log.
+     * <p>
+     * A removed entry keeps its row in the change log, so that other clients learn about the removal.
+     * The id of the transaction making the change is logged, too, because a change committed late may have a lower sequence number than changes already read
+     * (see {@link DBMSProcessor#getOldestActiveTransaction()}).
+     */
+    private void setUpChangeLog() throws SQLException {
+        connection.createStatement().executeUpdate("CREATE SEQUENCE IF NOT EXISTS " + escape_Table("CHANGE_LOG_SEQUENCE"));
+
+        connection.createStatement().executeUpdate(
+                "CREATE TABLE IF NOT EXISTS " + escape_Table("CHANGE_LOG") + " (" +
+                        "\"ENTRY_SHARED_ID\" INTEGER PRIMARY KEY, " +
+                        "\"SEQUENCE\" BIGINT NOT NULL DEFAULT nextval('" + escape_Table("CHANGE_LOG_SEQUENCE") + "'), " +
+                        "\"TRANSACTION_ID\" BIGINT NOT NULL DEFAULT pg_current_xact_id()::text::bigint)");
+
+        connection.createStatement().executeUpdate(
+                "CREATE INDEX IF NOT EXISTS \"CHANGE_LOG_SEQUENCE_INDEX\" ON " + escape_Table("CHANGE_LOG") + " (\"SEQUENCE\")");
+        connection.createStatement().executeUpdate(
+                "CREATE INDEX IF NOT EXISTS \"CHANGE_LOG_TRANSACTION_ID_INDEX\" ON " + escape_Table("CHANGE_LOG") + " (\"TRANSACTION_ID\")");
+
+        createChangeLogTrigger("ENTRY", "SHARED_ID");
+        createChangeLogTrigger("FIELD", "ENTRY_SHARED_ID");
+    }
+
+    /**
+     * Creates statement level triggers, which set a new sequence number for all entries changed by an insert, update, or delete on the given table.
+     * Statement level triggers are used, because inserting an entry inserts many rows into the FIELD table.
+     * <p>
+     * The trigger function is replaced to keep it up to date. The triggers only call the function and are created if they are missing,
+     * because creating a trigger locks the table against concurrent changes of other clients.
+     */
+    private void createChangeLogTrigger(String table, String sharedIdColumn) throws SQLException {
+        String function = "jabref.log_" + table.toLowerCase(Locale.ROOT) + "_change";
+        String logChangedEntries = "INSERT INTO " + escape_Table("CHANGE_LOG") + " (" + escape("ENTRY_SHARED_ID") + ") " +
+                "SELECT DISTINCT " + escape(sharedIdColumn) + " FROM %s " +
+                "ON CONFLICT (" + escape("ENTRY_SHARED_ID") + ") DO UPDATE SET " +
+                escape("SEQUENCE") + " = EXCLUDED." + escape("SEQUENCE") + ", " +
+                escape("TRANSACTION_ID") + " = EXCLUDED." + escape("TRANSACTION_ID") + ";";
+
+        // The transition table of the other operations does not exist; PL/pgSQL plans the branches only when they are executed
+        connection.createStatement().executeUpdate(
+                "CREATE OR REPLACE FUNCTION " + function + "() RETURNS TRIGGER AS $$ BEGIN " +
+                        "IF TG_OP = 'DELETE' THEN " + logChangedEntries.formatted("old_rows") + " " +
+                        "ELSE " + logChangedEntries.formatted("new_rows") + " " +
+                        "END IF; " +
+                        "RETURN NULL; " +
+                        "END; $$ LANGUAGE plpgsql");
+
+        Set<String> existingTriggers = getTriggers(table);
+        // Transition tables can only be used by triggers for a single operation
+        for (String operation : List.of("INSERT", "UPDATE", "DELETE")) {
+            String trigger = table + "_" + operation + "_CHANGE_LOG";
+            if (existingTriggers.contains(trigger)) {
+                continue;
+            }
+            String transitionTable = "DELETE".equals(operation) ? "OLD TABLE AS old_rows" : "NEW TABLE AS new_rows";
+            connection.createStatement().executeUpdate(
+                    "CREATE TRIGGER " + escape(trigger) + " AFTER " + operation + " ON " + escape_Table(table) +
+                            " REFERENCING " + transitionTable +
+                            " FOR EACH STATEMENT EXECUTE FUNCTION " + function + "()");
+        }
+    }
+
+    private Set<String> getTriggers(String table) throws SQLException {
+        Set<String> triggers = new HashSet<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT tgname FROM pg_trigger WHERE tgrelid = ?::regclass AND NOT tgisinternal")) {
+            statement.setString(1, escape_Table(table));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    triggers.add(resultSet.getString("tgname"));
+                }
+            }
+        }
+        return triggers;
+    }
+
     @Override
     protected void insertIntoEntryTable(List<BibEntry> bibEntries) {
         StringBuilder insertIntoEntryQuery = new StringBuilder()
@@ -140,16 +230,19 @@ public class PostgreSQLProcessor extends DBMSProcessor {
 
     @Override
     public void startNotificationListener(DBMSSynchronizer dbmsSynchronizer) {
-        // Disable cleanup output of ThreadedHousekeeper
-        // Logger.getLogger(ThreadedHousekeeper.class.getName()).setLevel(Level.SEVERE);
+        if (!(connectionProperties instanceof DBMSConnectionProperties properties)) {
+            LOGGER.warn("Cannot listen for changes of other clients without the connection properties");
+            return;
+        }
         try {
-            connection.createStatement().execute("LISTEN jabrefLiveUpdate");
+            // Waiting for notifications blocks the connection. Thus, the listener gets a connection of its own.
+            Connection listenerConnection = new DBMSConnection(properties).getConnection();
+            listenerConnection.createStatement().execute("LISTEN jabrefLiveUpdate");
             // Do not use `new PostgresSQLNotificationListener(...)` as the object has to exist continuously!
             // Otherwise, the listener is going to be deleted by Java's garbage collector.
-            PGConnection pgConnection = connection.unwrap(PGConnection.class);
-            listener = new PostgresSQLNotificationListener(dbmsSynchronizer, pgConnection);
+            listener = new PostgresSQLNotificationListener(dbmsSynchronizer, listenerConnection);
             HeadlessExecutorService.INSTANCE.execute(listener);
-        } catch (SQLException e) {
+        } catch (SQLException | InvalidDBMSConnectionPropertiesException e) {
             LOGGER.error("SQL Error during starting the notification listener", e);
         }
     }
@@ -157,7 +250,10 @@ public class PostgreSQLProcessor extends DBMSProcessor {
     @Override
     public void stopNotificationListener() {
         try {
-            listener.stop();
+            // The listener closes its connection itself
+            if (listener != null) {
+                listener.stop();
+            }
             connection.close();
         } catch (SQLException e) {
             LOGGER.error("SQL Error during stopping the notification listener", e);
@@ -166,8 +262,18 @@ public class PostgreSQLProcessor extends DBMSProcessor {
 
     @Override
     public void notifyClients() {
+        notify(PROCESSOR_ID);
+    }
+
+    @Override
+    public void notifyClients(Collection<Integer> sharedIDs) {
+        notify(PostgresSQLNotificationListener.createPayload(PROCESSOR_ID, sharedIDs));
+    }
+
+    private void notify(String payload) {
+        // The payload consists of the processor ID and numbers, thus, it does not need to be escaped
         try {
-            connection.createStatement().execute("NOTIFY jabrefLiveUpdate, '" + PROCESSOR_ID + "';");
+            connection.createStatement().execute("NOTIFY jabrefLiveUpdate, '" + payload + "';");
         } catch (SQLException e) {
             LOGGER.error("SQL Error during client notification", e);
         }
@@ -1,6 +1,12 @@
 package org.jabref.logic.shared.listener;
 
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.jabref.logic.shared.DBMSProcessor;
 import org.jabref.logic.shared.DBMSSynchronizer;
@@ -12,44 +18,94 @@ import org.slf4j.LoggerFactory;
 
 /**
  * A listener for PostgreSQL database notifications.
+ * <p>
+ * The payload of a notification is the ID of the notifying processor, optionally followed by the shared IDs of the changed entries,
+ * e.g., {@code 6f1e...;12,13}. Without shared IDs, all changes are pulled.
  */
 public class PostgresSQLNotificationListener implements Runnable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PostgresSQLNotificationListener.class);
 
+    // Waiting for notifications blocks the connection. The timeout only bounds the time until a stopped listener ends.
+    private static final Duration NOTIFICATION_TIMEOUT = Duration.ofSeconds(5);
+
+    // PostgreSQL limits the payload to 8000 bytes
+    private static final int MAX_PAYLOAD_LENGTH = 7900;
+
+    private static final String PROCESSOR_ID_SEPARATOR = ";";
+    private static final String SHARED_ID_SEPARATOR = ",";
+
     private final DBMSSynchronizer dbmsSynchronizer;
-    private final PGConnection pgConnection;
+    private final Connection connection;
     private volatile boolean stop;
 
-    public PostgresSQLNotificationListener(DBMSSynchronizer dbmsSynchronizer, PGConnection pgConnection) {
+    /**
+     * @param connection a connection used by this listener only, which is closed when the listener stops
+     */
+    public PostgresSQLNotificationListener(DBMSSynchronizer dbmsSynchronizer, Connection connection) {
         this.dbmsSynchronizer = dbmsSynchronizer;
-        this.pgConnection = pgConnection;
+        this.connection = connection;
+    }
+
+    /**
+     * Creates the payload of a notification about the given changed entries.
+     * If there are too many entries for one notification, the payload does not contain any shared IDs, and the clients pull all changes.
+     */
+    public static String createPayload(String processorId, Collection<Integer> sharedIDs) {
+        String payload = processorId + PROCESSOR_ID_SEPARATOR + sharedIDs.stream()
+                                                                        .map(String::valueOf)
+                                                                        .collect(Collectors.joining(SHARED_ID_SEPARATOR));
+        return payload.length() <= MAX_PAYLOAD_LENGTH ? payload : processorId;
     }
 
     @Override
     public void run() {
         stop = false;
-        try {
-            // noinspection InfiniteLoopStatement
+        try (connection) {
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
             while (!stop) {
-                PGNotification[] notifications = pgConnection.getNotifications();
-
-                if (notifications != null) {
-                    for (PGNotification notification : notifications) {
-                        if (!DBMSProcessor.PROCESSOR_ID.equals(notification.getName())) {
-                            dbmsSynchronizer.pullChanges();
-                        }
-                    }
-                }
+                // Blocks until a notification arrives
+                PGNotification[] notifications = pgConnection.getNotifications((int) NOTIFICATION_TIMEOUT.toMillis());
 
-                // Wait a while before checking again for new notifications
-                Thread.sleep(500);
+                if ((notifications != null) && !stop) {
+                    handleNotifications(notifications);
+                }
             }
-        } catch (SQLException | InterruptedException exception) {
+        } catch (SQLException exception) {
             LOGGER.error("Error while listening for updates to PostgresSQL", exception);
         }
     }
 
+    void handleNotifications(PGNotification[] notifications) {
+        Set<Integer> changedSharedIDs = new HashSet<>();
+        boolean pullAllChanges = false;
+        for (PGNotification notification : notifications) {
+            String[] payload = notification.getParameter().split(PROCESSOR_ID_SEPARATOR, 2);
+            if (DBMSProcessor.PROCESSOR_ID.equals(payload[0])) {
+                // Our own change
+                continue;
+            }
+            if ((payload.length == 1) || payload[1].isEmpty()) {
+                pullAllChanges = true;
+                continue;
+            }
+            try {
+                for (String sharedID : payload[1].split(SHARED_ID_SEPARATOR)) {
+                    changedSharedIDs.add(Integer.parseInt(sharedID));
+                }
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Invalid notification payload {}", notification.getParameter(), e);
+                pullAllChanges = true;
+            }
+        }
+
+        if (pullAllChanges) {
+            dbmsSynchronizer.pullChanges();
+        } else if (!changedSharedIDs.isEmpty()) {
+            dbmsSynchronizer.pullChangedEntries(changedSharedIDs);
+        }
+    }
+
     public void stop() {
         stop = true;
     }
@@ -37,6 +37,11 @@ public final class BuildInfo {
     public final String maintainers;
     public final String year;
 
+    /**
+     * The version of the embedded Postgres binaries, e.g., 17.5.0
+     */
+    public final String postgresVersion;
+
     public final String astrophysicsDataSystemAPIKey;
     public final String biodiversityHeritageApiKey;
     public final String ieeeAPIKey;
@@ -64,6 +69,7 @@ public final class BuildInfo {
         version = Version.parse(properties.getProperty("version"));
         year = properties.getProperty("year", "");
         maintainers = properties.getProperty("maintainers", "");
+        postgresVersion = BuildInfo.getValue(properties, "postgresVersion", UNKNOWN_VERSION);
 
         astrophysicsDataSystemAPIKey = BuildInfo.getValue(properties, "astrophysicsDataSystemAPIKey", "tAhPRKADc6cC26mZUnAoBt3MAjCvKbuCZsB4lI3c");
         biodiversityHeritageApiKey = BuildInfo.getValue(properties, "biodiversityHeritageApiKey", "36b910b6-2eb3-46f2-b64c-9abc149925ba");
@@ -6,6 +6,7 @@ import java.nio.file.Path;
 import org.jabref.logic.ai.AiService;
 import org.jabref.logic.os.OS;
 import org.jabref.model.search.LinkedFilesConstants;
+import org.jabref.model.search.PostgreConstants;
 
 import net.harawata.appdirs.AppDirsFactory;
 
@@ -46,6 +47,17 @@ public class Directories {
                                              OS.APP_DIR_APP_AUTHOR));
     }
 
+    /**
+     * A data directory can only be used by a server of the same major version, thus, the directory depends on the version of the embedded Postgres binaries.
+     */
+    public static Path getBibFieldsIndexDirectory() {
+        String postgresMajorVersion = new BuildInfo().postgresVersion.split("\\.")[0];
+        return Path.of(AppDirsFactory.getInstance()
+                                     .getUserDataDir(OS.APP_DIR_APP_NAME,
+                                             "postgres" + File.separator + PostgreConstants.INDEX_VERSION + File.separator + "pg" + postgresMajorVersion,
+                                             OS.APP_DIR_APP_AUTHOR));
+    }
+
     public static Path getAiFilesDirectory() {
         return Path.of(AppDirsFactory.getInstance()
                 .getUserDataDir(OS.APP_DIR_APP_NAME,
@@ -53,6 +65,20 @@ public class Directories {
                         OS.APP_DIR_APP_AUTHOR));
     }
 
+    public static Path getPdfTextCacheDirectory() {
+        return Path.of(AppDirsFactory.getInstance()
+                                     .getUserDataDir(OS.APP_DIR_APP_NAME,
+                                             "pdf-texts",
+                                             OS.APP_DIR_APP_AUTHOR));
+    }
+
+    public static Path getHttpCacheDirectory() {
+        return Path.of(AppDirsFactory.getInstance()
+                                     .getUserCacheDir(OS.APP_DIR_APP_NAME,
+                                             "http",
+                                             OS.APP_DIR_APP_AUTHOR));
+    }
+
     public static Path getSslDirectory() {
         return Path.of(AppDirsFactory.getInstance()
                                      .getUserDataDir(OS.APP_DIR_APP_NAME,
@@ -36,6 +36,7 @@ import org.jabref.model.entry.event.FieldChangedEvent;
 import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.FieldFactory;
 import org.jabref.model.entry.field.FieldProperty;
+import org.jabref.model.entry.field.InternalField;
 import org.jabref.model.entry.field.StandardField;
 import org.jabref.model.strings.StringUtil;
 
@@ -69,6 +70,9 @@ public class BibDatabase {
     // Reverse index for citation links
     private final Map<String, Set<BibEntry>> citationIndex = new ConcurrentHashMap<>();
 
+    // Citation key to the entries having that key. The lists are immutable and replaced on each change.
+    private final Map<String, List<BibEntry>> citationKeyIndex = new ConcurrentHashMap<>();
+
     private String preamble;
 
     // All file contents below the last entry in the file
@@ -144,8 +148,8 @@ public class BibDatabase {
     /**
      * Returns the entry with the given citation key.
      */
-    public synchronized Optional<BibEntry> getEntryByCitationKey(String key) {
-        return entries.stream().filter(entry -> Objects.equals(entry.getCitationKey().orElse(null), key)).findFirst();
+    public Optional<BibEntry> getEntryByCitationKey(String key) {
+        return getEntriesByCitationKey(key).stream().findFirst();
     }
 
     /**
@@ -153,16 +157,16 @@ public class BibDatabase {
      * The order of the entries is the order they appear in the database.
      *
      * @return list of entries that contains the given key
+     * @implNote The entries are looked up in {@link #citationKeyIndex}. In case of duplicate keys, the order is restored
+     * using the entry ids, same as in {@link #indexOf(BibEntry)}.
      */
-    public synchronized List<BibEntry> getEntriesByCitationKey(String key) {
-        List<BibEntry> result = new ArrayList<>();
-
-        for (BibEntry entry : entries) {
-            entry.getCitationKey().ifPresent(entryKey -> {
-                if (key.equals(entryKey)) {
-                    result.add(entry);
-                }
-            });
+    public List<BibEntry> getEntriesByCitationKey(String key) {
+        if (key == null) {
+            return new ArrayList<>();
+        }
+        List<BibEntry> result = new ArrayList<>(citationKeyIndex.getOrDefault(key, List.of()));
+        if (result.size() > 1) {
+            result.sort(Comparator.comparing(BibEntry::getId));
         }
         return result;
     }
@@ -203,6 +207,7 @@ public class BibDatabase {
         newEntries.forEach(entry -> {
                     entriesId.put(entry.getId(), entry);
                     indexEntry(entry);
+                    entry.getCitationKey().ifPresent(key -> addToCitationKeyIndex(key, entry));
                 }
         );
     }
@@ -252,6 +257,7 @@ public class BibDatabase {
         toBeDeleted.forEach(entry -> {
             entriesId.remove(entry.getId());
             removeEntryFromIndex(entry);
+            entry.getCitationKey().ifPresent(key -> removeFromCitationKeyIndex(key, entry));
         });
 
         entries.setAll(newEntries);
@@ -302,6 +308,42 @@ public class BibDatabase {
         });
     }
 
+    private void addToCitationKeyIndex(String key, BibEntry entry) {
+        citationKeyIndex.compute(key, (_, entriesForKey) -> {
+            if (entriesForKey == null) {
+                return List.of(entry);
+            }
+            List<BibEntry> updated = new ArrayList<>(entriesForKey.size() + 1);
+            updated.addAll(entriesForKey);
+            updated.add(entry);
+            return List.copyOf(updated);
+        });
+    }
+
+    private void removeFromCitationKeyIndex(String key, BibEntry entry) {
+        // Entries are removed based on their id, see removeEntries
+        citationKeyIndex.computeIfPresent(key, (_, entriesForKey) -> {
+            List<BibEntry> updated = entriesForKey.stream()
+                                                  .filter(entryForKey -> !entryForKey.getId().equals(entry.getId()))
+                                                  .toList();
+            return updated.isEmpty() ? null : updated;
+        });
+    }
+
+    private void updateCitationKeyIndex(FieldChangedEvent event) {
+        BibEntry entry = event.getBibEntry();
+        if (entriesId.get(entry.getId()) != entry) {
+            // Entries stay subscribed after their removal from the database
+            return;
+        }
+        if (!StringUtil.isBlank(event.getOldValue())) {
+            removeFromCitationKeyIndex(event.getOldValue(), entry);
+        }
+        if (!StringUtil.isBlank(event.getNewValue())) {
+            addToCitationKeyIndex(event.getNewValue(), entry);
+        }
+    }
+
     /**
      * Returns the database's preamble.
      * If the preamble text consists only of whitespace, then also an empty optional is returned.
@@ -625,6 +667,10 @@ public class BibDatabase {
 
     @Subscribe
     private void relayEntryChangeEvent(FieldChangedEvent event) {
+        // Update the index before relaying, so that listeners of this database see the new key
+        if (InternalField.KEY_FIELD == event.getField()) {
+            updateCitationKeyIndex(event);
+        }
         eventBus.post(event);
     }
 
@@ -662,10 +708,10 @@ public class BibDatabase {
      * Returns the number of occurrences of the given citation key in this database.
      */
     public long getNumberOfCitationKeyOccurrences(String key) {
-        return entries.stream()
-                      .flatMap(entry -> entry.getCitationKey().stream())
-                      .filter(key::equals)
-                      .count();
+        if (key == null) {
+            return 0;
+        }
+        return citationKeyIndex.getOrDefault(key, List.of()).size();
     }
 
     /**
@@ -5,11 +5,22 @@ import java.util.List;
 public enum PostgreConstants {
     BIB_FIELDS_SCHEME("bib_fields"),
     SPLIT_TABLE_SUFFIX("_split_values"),
+    FINGERPRINT_TABLE_SUFFIX("_fingerprints"),
+    LIBRARIES_TABLE("libraries"), // keeps track of the tables of persisted libraries
+    TABLE_NAME("table_name"),
+    LAST_OPENED("last_opened"),
     ENTRY_ID("entryid"),
+    ENTRY_FINGERPRINT("fingerprint"),
     FIELD_NAME("field_name"),
     FIELD_VALUE_LITERAL("field_value_literal"), // contains the value as-is
     FIELD_VALUE_TRANSFORMED("field_value_transformed"); // contains the value transformed for better querying
 
+    /**
+     * Version number of the persisted bib fields index.
+     * Increment when the layout or the content of the tables changes. Incrementing triggers reindexing.
+     */
+    public static final String INDEX_VERSION = "1";
+
     public static final List<String> POSTGRES_FUNCTIONS = List.of(
             // HTML highlighting function
             """
@@ -71,6 +82,18 @@ public enum PostgreConstants {
         return BIB_FIELDS_SCHEME + ".\"" + mainTable + SPLIT_TABLE_SUFFIX + "\"";
     }
 
+    /**
+     * Generates the schema reference for the fingerprint table, which stores a hash of the indexed content of each entry.
+     * This allows reusing the index of unchanged entries in the next session.
+     */
+    public static String getFingerprintTableSchemaReference(String mainTable) {
+        return BIB_FIELDS_SCHEME + ".\"" + mainTable + FINGERPRINT_TABLE_SUFFIX + "\"";
+    }
+
+    public static String getLibrariesTableSchemaReference() {
+        return BIB_FIELDS_SCHEME + "." + LIBRARIES_TABLE;
+    }
+
     @Override
     public String toString() {
         return value;
@@ -0,0 +1,165 @@
+package org.jabref.logic.ai.ingestion;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HnswIndexTest {
+
+    private static final int DIMENSION = 16;
+    private static final int NUMBER_OF_VECTORS = 1000;
+
+    private final Map<Integer, HnswIndex.Node> persistedNodes = new HashMap<>();
+    private final Map<String, float[]> vectors = new HashMap<>();
+    private HnswIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(1);
+        index = new HnswIndex(persistedNodes);
+        for (int i = 0; i < NUMBER_OF_VECTORS; i++) {
+            float[] vector = randomVector(random);
+            vectors.put("id" + i, vector);
+            index.add("id" + i, vector);
+        }
+    }
+
+    @Test
+    void searchFindsMostOfTheExactNeighbours() {
+        Random random = new Random(2);
+        int found = 0;
+        for (int i = 0; i < 50; i++) {
+            float[] query = randomVector(random);
+            List<String> exact = ids(index.searchExhaustively(query, 10, vectors.keySet()));
+            found += (int) ids(index.search(query, 10, _ -> true)).stream().filter(exact::contains).count();
+        }
+
+        assertTrue(found >= 0.9 * 50 * 10, "recall was " + found / 500.0);
+    }
+
+    /**
+     * Uses embeddings like the ones of the segments of documents: clustered and of the dimension of the default embedding model
+     */
+    @Test
+    void searchFindsMostOfTheExactNeighboursOfClusteredEmbeddings() {
+        Random random = new Random(5);
+        List<float[]> clusters = IntStream.range(0, 50).mapToObj(_ -> randomVector(random, 384, null)).toList();
+        HnswIndex clusteredIndex = new HnswIndex();
+        List<String> ids = IntStream.range(0, 2000).mapToObj(i -> "id" + i).toList();
+        ids.forEach(id -> clusteredIndex.add(id, randomVector(random, 384, clusters.get(random.nextInt(clusters.size())))));
+
+        int found = 0;
+        for (int i = 0; i < 50; i++) {
+            float[] query = randomVector(random, 384, clusters.get(random.nextInt(clusters.size())));
+            List<String> exact = ids(clusteredIndex.searchExhaustively(query, 10, ids));
+            found += (int) ids(clusteredIndex.search(query, 10, _ -> true)).stream().filter(exact::contains).count();
+        }
+
+        assertTrue(found >= 0.9 * 50 * 10, "recall was " + found / 500.0);
+    }
+
+    @Test
+    void searchFindsVectorItself() {
+        assertEquals("id42", index.search(vectors.get("id42"), 1, _ -> true).getFirst().id());
+    }
+
+    @Test
+    void similarityIsCosineSimilarity() {
+        float[] query = vectors.get("id7").clone();
+        for (int i = 0; i < DIMENSION; i++) {
+            query[i] *= 3;
+        }
+
+        assertEquals(1.0, index.search(query, 1, _ -> true).getFirst().cosineSimilarity(), 1e-5);
+    }
+
+    @Test
+    void searchReturnsAcceptedIdsOnly() {
+        List<String> result = ids(index.search(vectors.get("id1"), 5, id -> id.endsWith("0")));
+
+        assertEquals(5, result.size());
+        assertTrue(result.stream().allMatch(id -> id.endsWith("0")));
+    }
+
+    @Test
+    void removedIdIsNotFound() {
+        index.remove("id42");
+
+        assertTrue(index.search(vectors.get("id42"), 10, _ -> true).stream().noneMatch(neighbour -> "id42".equals(neighbour.id())));
+        assertEquals(NUMBER_OF_VECTORS - 1, index.size());
+    }
+
+    @Test
+    void removingMostIdsKeepsRemainingIdsFindable() {
+        IntStream.range(0, NUMBER_OF_VECTORS - 10).forEach(i -> index.remove("id" + i));
+
+        for (int i = NUMBER_OF_VECTORS - 10; i < NUMBER_OF_VECTORS; i++) {
+            assertEquals("id" + i, index.search(vectors.get("id" + i), 1, _ -> true).getFirst().id());
+        }
+    }
+
+    @Test
+    void loadedIndexGivesSameResults() {
+        index.remove("id3");
+        float[] query = randomVector(new Random(3));
+        List<HnswIndex.Neighbour> expected = index.search(query, 10, _ -> true);
+
+        HnswIndex loadedIndex = new HnswIndex(persistedNodes);
+        loadedIndex.load(vectors.keySet().stream().filter(id -> !"id3".equals(id)).toList(), vectors::get);
+
+        assertEquals(expected, loadedIndex.search(query, 10, _ -> true));
+        assertEquals(NUMBER_OF_VECTORS - 1, loadedIndex.size());
+    }
+
+    @Test
+    void loadAddsMissingAndRemovesDeletedEmbeddings() {
+        HnswIndex loadedIndex = new HnswIndex(persistedNodes);
+        Map<String, float[]> currentVectors = new HashMap<>(vectors);
+        currentVectors.remove("id5");
+        float[] newVector = randomVector(new Random(4));
+        currentVectors.put("new", newVector);
+
+        loadedIndex.load(currentVectors.keySet(), currentVectors::get);
+
+        assertEquals("new", loadedIndex.search(newVector, 1, _ -> true).getFirst().id());
+        assertTrue(loadedIndex.search(vectors.get("id5"), 10, _ -> true).stream().noneMatch(neighbour -> "id5".equals(neighbour.id())));
+    }
+
+    @Test
+    void embeddingOfOtherDimensionClearsIndex() {
+        float[] vector = new float[DIMENSION * 2];
+        vector[0] = 1;
+
+        index.add("other model", vector);
+
+        assertEquals(1, index.size());
+        assertEquals("other model", index.search(vector, 1, _ -> true).getFirst().id());
+    }
+
+    private static List<String> ids(List<HnswIndex.Neighbour> neighbours) {
+        return neighbours.stream().map(HnswIndex.Neighbour::id).toList();
+    }
+
+    private static float[] randomVector(Random random) {
+        return randomVector(random, DIMENSION, null);
+    }
+
+    /**
+     * @param center the center of the cluster of the vector, null for a vector without cluster
+     */
+    private static float[] randomVector(Random random, int dimension, float[] center) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = center == null ? (float) random.nextGaussian() : center[i] + (float) random.nextGaussian() * 0.5f;
+        }
+        return vector;
+    }
+}
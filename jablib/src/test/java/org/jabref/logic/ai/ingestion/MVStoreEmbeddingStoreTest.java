@@ -0,0 +1,119 @@
+package org.jabref.logic.ai.ingestion;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.jabref.logic.util.NotificationService;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.filter.Filter;
+import dev.langchain4j.store.embedding.filter.MetadataFilterBuilder;
+import org.h2.mvstore.MVStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.jabref.logic.ai.ingestion.FileEmbeddingsManager.LINK_METADATA_KEY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class MVStoreEmbeddingStoreTest {
+    @TempDir Path tempDir;
+
+    private MVStoreEmbeddingStore embeddingStore;
+
+    @BeforeEach
+    void setUp() {
+        embeddingStore = new MVStoreEmbeddingStore(tempDir.resolve("embeddings.mv"), mock(NotificationService.class));
+    }
+
+    private void reopen() {
+        embeddingStore.close();
+        setUp();
+    }
+
+    @AfterEach
+    void tearDown() {
+        embeddingStore.close();
+    }
+
+    @Test
+    void searchReturnsMostSimilarSegments() {
+        add("a.pdf", "first", 1, 0, 0);
+        add("a.pdf", "second", 0, 1, 0);
+        add("b.pdf", "third", 0.9f, 0.1f, 0);
+
+        assertEquals(List.of("first", "third"), search(null, 2, 1, 0, 0));
+    }
+
+    @Test
+    void searchReturnsSegmentsOfFilteredFilesOnly() {
+        add("a.pdf", "first", 1, 0, 0);
+        add("b.pdf", "second", 0, 1, 0);
+        add("c.pdf", "third", 0.9f, 0.1f, 0);
+
+        assertEquals(List.of("third", "second"), search(MetadataFilterBuilder.metadataKey(LINK_METADATA_KEY).isIn("b.pdf", "c.pdf"), 5, 1, 0, 0));
+        assertEquals(List.of("second"), search(MetadataFilterBuilder.metadataKey(LINK_METADATA_KEY).isEqualTo("b.pdf"), 5, 1, 0, 0));
+    }
+
+    @Test
+    void removeAllWithFilterRemovesSegmentsOfFile() {
+        add("a.pdf", "first", 1, 0, 0);
+        add("b.pdf", "second", 0, 1, 0);
+
+        embeddingStore.removeAll(MetadataFilterBuilder.metadataKey(LINK_METADATA_KEY).isEqualTo("a.pdf"));
+
+        assertEquals(List.of("second"), search(null, 5, 1, 0, 0));
+    }
+
+    @Test
+    void searchAfterReopening() {
+        add("a.pdf", "first", 1, 0, 0);
+        add("b.pdf", "second", 0, 1, 0);
+        embeddingStore.removeAll(MetadataFilterBuilder.metadataKey(LINK_METADATA_KEY).isEqualTo("b.pdf"));
+        add("b.pdf", "third", 0, 0, 1);
+        reopen();
+
+        assertEquals(List.of("third", "first"), search(null, 5, 0, 0, 1));
+        assertEquals(List.of("third"), search(MetadataFilterBuilder.metadataKey(LINK_METADATA_KEY).isEqualTo("b.pdf"), 5, 0, 0, 1));
+    }
+
+    @Test
+    void searchInStoreWithVectorsInRecords() {
+        embeddingStore.close();
+        try (MVStore mvStore = MVStore.open(tempDir.resolve("embeddings.mv").toString())) {
+            Map<String, MVStoreEmbeddingStore.EmbeddingRecord> embeddingsMap = mvStore.openMap(MVStoreEmbeddingStore.EMBEDDINGS_MAP_NAME);
+            embeddingsMap.put("1", new MVStoreEmbeddingStore.EmbeddingRecord("a.pdf", "first", new float[] {1, 0, 0}));
+            embeddingsMap.put("2", new MVStoreEmbeddingStore.EmbeddingRecord("b.pdf", "second", new float[] {0, 1, 0}));
+        }
+        setUp();
+
+        assertEquals(List.of("second", "first"), search(null, 5, 0, 1, 0));
+        assertEquals(List.of("first"), search(MetadataFilterBuilder.metadataKey(LINK_METADATA_KEY).isEqualTo("a.pdf"), 5, 0, 1, 0));
+
+        reopen();
+        assertEquals(List.of("second", "first"), search(null, 5, 0, 1, 0));
+    }
+
+    private void add(String file, String content, float... vector) {
+        embeddingStore.add(Embedding.from(vector), new TextSegment(content, new Metadata(Map.of(LINK_METADATA_KEY, file))));
+    }
+
+    private List<String> search(Filter filter, int maxResults, float... query) {
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                                                               .queryEmbedding(Embedding.from(query))
+                                                               .filter(filter)
+                                                               .maxResults(maxResults)
+                                                               .build();
+        return embeddingStore.search(request).matches().stream()
+                             .map(EmbeddingMatch::embedded)
+                             .map(TextSegment::text)
+                             .toList();
+    }
+}
@@ -1,5 +1,6 @@
 package org.jabref.logic.citationkeypattern;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.jabref.model.database.BibDatabase;
@@ -67,6 +68,35 @@ class MakeLabelWithDatabaseTest {
         assertEquals(Optional.of("Doe2016a"), entry2.getCitationKey());
     }
 
+    @Test
+    void generateAndSetKeysAppendsLettersForDuplicates() {
+        BibEntry entry2 = new BibEntry()
+                .withField(StandardField.AUTHOR, "John Doe")
+                .withField(StandardField.YEAR, "2016");
+        BibEntry entry3 = new BibEntry()
+                .withField(StandardField.AUTHOR, "John Doe")
+                .withField(StandardField.YEAR, "2016");
+        database.insertEntries(entry2, entry3);
+
+        new CitationKeyGenerator(bibtexKeyPattern, database, preferences).generateAndSetKeys(List.of(entry, entry2, entry3));
+
+        assertEquals(List.of(Optional.of("Doe2016"), Optional.of("Doe2016a"), Optional.of("Doe2016b")),
+                List.of(entry.getCitationKey(), entry2.getCitationKey(), entry3.getCitationKey()));
+    }
+
+    @Test
+    void generateAndSetKeysSkipsExistingKeys() {
+        BibEntry existing = new BibEntry().withCitationKey("Doe2016a");
+        BibEntry entry2 = new BibEntry()
+                .withField(StandardField.AUTHOR, "John Doe")
+                .withField(StandardField.YEAR, "2016");
+        database.insertEntries(existing, entry2);
+
+        new CitationKeyGenerator(bibtexKeyPattern, database, preferences).generateAndSetKeys(List.of(entry, entry2));
+
+        assertEquals(Optional.of("Doe2016b"), entry2.getCitationKey());
+    }
+
     @Test
     void generateDefaultKeyAlwaysLetter() {
         preferences = new CitationKeyPatternPreferences(
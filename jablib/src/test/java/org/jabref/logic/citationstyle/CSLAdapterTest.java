@@ -0,0 +1,80 @@
+package org.jabref.logic.citationstyle;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jabref.logic.util.TestEntry;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.database.BibDatabaseMode;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CSLAdapterTest {
+
+    private static final String DEFAULT_STYLE = CSLStyleLoader.getDefaultStyle().getSource();
+    private static final BibEntryTypesManager ENTRY_TYPES_MANAGER = new BibEntryTypesManager();
+
+    private final BibEntry testEntry = TestEntry.getTestEntry();
+    private final BibDatabaseContext testEntryContext = new BibDatabaseContext(new BibDatabase(List.of(testEntry)));
+
+    @BeforeEach
+    void setUp() {
+        testEntryContext.setMode(BibDatabaseMode.BIBLATEX);
+    }
+
+    @Test
+    void reusesEngineForSameStyleAndOutputFormat() throws IOException {
+        CSLAdapter adapter = new CSLAdapter();
+        List<String> bibliography = adapter.makeBibliography(List.of(testEntry), DEFAULT_STYLE, CitationStyleOutputFormat.TEXT, testEntryContext, ENTRY_TYPES_MANAGER);
+
+        assertEquals(bibliography, adapter.makeBibliography(List.of(testEntry), DEFAULT_STYLE, CitationStyleOutputFormat.TEXT, testEntryContext, ENTRY_TYPES_MANAGER));
+        assertEquals(1, adapter.getNumberOfIdleEngines());
+    }
+
+    @Test
+    void keepsEnginesOfAlternatingOutputFormats() throws IOException {
+        CSLAdapter adapter = new CSLAdapter();
+        for (int i = 0; i < 3; i++) {
+            adapter.makeCitation(List.of(testEntry), DEFAULT_STYLE, CitationStyleOutputFormat.TEXT, testEntryContext, ENTRY_TYPES_MANAGER);
+            adapter.makeCitation(List.of(testEntry), DEFAULT_STYLE, CitationStyleOutputFormat.HTML, testEntryContext, ENTRY_TYPES_MANAGER);
+        }
+
+        assertEquals(2, adapter.getNumberOfIdleEngines());
+    }
+
+    @Test
+    void limitsNumberOfIdleEngines() throws IOException {
+        CSLAdapter adapter = new CSLAdapter(1);
+        adapter.makeCitation(List.of(testEntry), DEFAULT_STYLE, CitationStyleOutputFormat.TEXT, testEntryContext, ENTRY_TYPES_MANAGER);
+        adapter.makeCitation(List.of(testEntry), DEFAULT_STYLE, CitationStyleOutputFormat.HTML, testEntryContext, ENTRY_TYPES_MANAGER);
+
+        assertEquals(1, adapter.getNumberOfIdleEngines());
+    }
+
+    @Test
+    void rendersConcurrently() throws Exception {
+        CSLAdapter adapter = new CSLAdapter();
+        List<String> expected = adapter.makeBibliography(List.of(testEntry), DEFAULT_STYLE, CitationStyleOutputFormat.TEXT, testEntryContext, ENTRY_TYPES_MANAGER);
+
+        List<Callable<List<String>>> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            tasks.add(() -> adapter.makeBibliography(List.of(testEntry), DEFAULT_STYLE, CitationStyleOutputFormat.TEXT, testEntryContext, ENTRY_TYPES_MANAGER));
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (Future<List<String>> result : executor.invokeAll(tasks)) {
+                assertEquals(expected, result.get());
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.jabref.logic.citationstyle;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.database.BibDatabaseMode;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.BibtexString;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import de.undercouch.citeproc.csl.CSLItemData;
+import de.undercouch.citeproc.csl.CSLItemDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CSLItemDataCacheTest {
+
+    private static final BibEntryTypesManager ENTRY_TYPES_MANAGER = new BibEntryTypesManager();
+
+    private final CSLItemDataCache cache = new CSLItemDataCache();
+    private final AtomicInteger numberOfConversions = new AtomicInteger();
+    private final Supplier<CSLItemData> converter = () -> {
+        numberOfConversions.incrementAndGet();
+        return new CSLItemDataBuilder().id("Smith2016").build();
+    };
+
+    private BibEntry entry;
+    private BibDatabaseContext databaseContext;
+
+    @BeforeEach
+    void setUp() {
+        entry = new BibEntry(StandardEntryType.Article)
+                .withCitationKey("Smith2016")
+                .withField(StandardField.AUTHOR, "Smith, Bill")
+                .withField(StandardField.TITLE, "An article");
+        databaseContext = new BibDatabaseContext(new BibDatabase(List.of(entry)));
+        databaseContext.setMode(BibDatabaseMode.BIBLATEX);
+    }
+
+    @Test
+    void convertsEntryOnlyOnce() {
+        cache.getItemData(entry, databaseContext, ENTRY_TYPES_MANAGER, converter);
+        cache.getItemData(entry, databaseContext, ENTRY_TYPES_MANAGER, converter);
+
+        assertEquals(1, numberOfConversions.get());
+    }
+
+    @Test
+    void convertsChangedEntryAgain() {
+        cache.getItemData(entry, databaseContext, ENTRY_TYPES_MANAGER, converter);
+        entry.setField(StandardField.TITLE, "Another article");
+        cache.getItemData(entry, databaseContext, ENTRY_TYPES_MANAGER, converter);
+
+        assertEquals(2, numberOfConversions.get());
+    }
+
+    @Test
+    void convertsEntryAgainForOtherMode() {
+        cache.getItemData(entry, databaseContext, ENTRY_TYPES_MANAGER, converter);
+        databaseContext.setMode(BibDatabaseMode.BIBTEX);
+        cache.getItemData(entry, databaseContext, ENTRY_TYPES_MANAGER, converter);
+
+        assertEquals(2, numberOfConversions.get());
+    }
+
+    @Test
+    void doesNotCacheEntryWithCrossref() {
+        entry.setField(StandardField.CROSSREF, "Proceedings2016");
+        cache.getItemData(entry, databaseContext, ENTRY_TYPES_MANAGER, converter);
+        cache.getItemData(entry, databaseContext, ENTRY_TYPES_MANAGER, converter);
+
+        assertEquals(2, numberOfConversions.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void doesNotCacheEntryReferencingString() {
+        entry.setField(StandardField.JOURNAL, "#jse#");
+        databaseContext.getDatabase().addString(new BibtexString("jse", "Journal of Software Engineering"));
+        cache.getItemData(entry, databaseContext, ENTRY_TYPES_MANAGER, converter);
+        cache.getItemData(entry, databaseContext, ENTRY_TYPES_MANAGER, converter);
+
+        assertEquals(2, numberOfConversions.get());
+    }
+}
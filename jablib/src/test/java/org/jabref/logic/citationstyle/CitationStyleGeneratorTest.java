@@ -1,6 +1,8 @@
 package org.jabref.logic.citationstyle;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.jabref.logic.l10n.Localization;
@@ -77,6 +79,31 @@ class CitationStyleGeneratorTest {
         assertEquals(expected, citation);
     }
 
+    @Test
+    void bibliographyByCitationKeyMatchesBibliographyOfSingleEntry() {
+        testEntryContext.setMode(BibDatabaseMode.BIBLATEX);
+        String bibliography = CitationStyleGenerator.generateBibliography(List.of(testEntry), DEFAULT_STYLE, HTML_OUTPUT_FORMAT, testEntryContext, ENTRY_TYPES_MANAGER).getFirst();
+
+        Map<String, String> bibliographyByCitationKey = CitationStyleGenerator.generateBibliographyByCitationKey(List.of(testEntry), DEFAULT_STYLE, HTML_OUTPUT_FORMAT, testEntryContext, ENTRY_TYPES_MANAGER);
+
+        assertEquals(Map.of(testEntry.getCitationKey().orElseThrow(), bibliography), bibliographyByCitationKey);
+    }
+
+    @Test
+    void bibliographyByCitationKeyContainsAllEntries() {
+        BibEntry otherEntry = new BibEntry(StandardEntryType.Article)
+                .withCitationKey("Other2020")
+                .withField(StandardField.AUTHOR, "Other, Olga")
+                .withField(StandardField.TITLE, "Another title")
+                .withField(StandardField.YEAR, "2020");
+        BibDatabaseContext context = new BibDatabaseContext(new BibDatabase(List.of(testEntry, otherEntry)));
+        context.setMode(BibDatabaseMode.BIBLATEX);
+
+        Map<String, String> bibliographyByCitationKey = CitationStyleGenerator.generateBibliographyByCitationKey(List.of(testEntry, otherEntry), DEFAULT_STYLE, TEXT_OUTPUT_FORMAT, context, ENTRY_TYPES_MANAGER);
+
+        assertEquals(Set.of(testEntry.getCitationKey().orElseThrow(), "Other2020"), bibliographyByCitationKey.keySet());
+    }
+
     @Test
     void defaultBibliography() {
         // IEEE
@@ -0,0 +1,174 @@
+package org.jabref.logic.database;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jabref.logic.importer.ImportFormatPreferences;
+import org.jabref.logic.importer.fileformat.BibtexImporter;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseMode;
+import org.jabref.model.entry.AuthorList;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.FieldProperty;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+import org.jabref.model.util.DummyFileUpdateMonitor;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+class DuplicateCandidatesTest {
+
+    private static BibEntry article(String author, String title, String year) {
+        return new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, author)
+                .withField(StandardField.TITLE, title)
+                .withField(StandardField.YEAR, year);
+    }
+
+    @Test
+    void entriesWithSameDoiAreCandidates() {
+        BibEntry one = article("Alice Anders", "A first title", "2001").withField(StandardField.DOI, "10.1000/xyz");
+        BibEntry two = article("Bob Berger", "Something else entirely", "1999").withField(StandardField.DOI, "10.1000/xyz");
+
+        assertArrayEquals(new int[] {1}, new DuplicateCandidates(List.of(one, two)).getCandidatesAfter(0));
+    }
+
+    @Test
+    void entriesWithSimilarTitlesAreCandidates() {
+        BibEntry one = article("Alice Anders", "Blocking keys for scalable duplicate detection", "2001");
+        BibEntry two = article("Bob Berger", "Blocking keys for scalable duplicte detection", "2002");
+
+        assertArrayEquals(new int[] {1}, new DuplicateCandidates(List.of(one, two)).getCandidatesAfter(0));
+    }
+
+    @Test
+    void entriesWithSameFirstAuthorAndYearAreCandidates() {
+        BibEntry one = article("Alice Anders and Bob Berger", "Completely different words", "2001");
+        BibEntry two = article("Anders, A.", "Nothing in common here", "2001");
+
+        assertArrayEquals(new int[] {1}, new DuplicateCandidates(List.of(one, two)).getCandidatesAfter(0));
+    }
+
+    @Test
+    void unrelatedEntriesAreNoCandidates() {
+        BibEntry one = article("Alice Anders", "Blocking keys for scalable duplicate detection", "2001");
+        BibEntry two = article("Bob Berger", "Holy Moly Uffdada und Trallalla", "1992");
+
+        assertArrayEquals(new int[] {}, new DuplicateCandidates(List.of(one, two)).getCandidatesAfter(0));
+    }
+
+    @Test
+    void entriesOfDifferentTypesAreNoCandidates() {
+        BibEntry one = article("Alice Anders", "Blocking keys", "2001");
+        BibEntry two = new BibEntry(StandardEntryType.Book)
+                .withField(StandardField.AUTHOR, "Alice Anders")
+                .withField(StandardField.TITLE, "Blocking keys")
+                .withField(StandardField.YEAR, "2001");
+
+        assertArrayEquals(new int[] {}, new DuplicateCandidates(List.of(one, two)).getCandidatesAfter(0));
+    }
+
+    @Test
+    void entryWithoutBlockingKeyIsCandidateOfAllEntries() {
+        BibEntry one = article("Alice Anders", "Blocking keys", "2001");
+        BibEntry two = article("Bob Berger", "Holy Moly", "1992");
+        BibEntry withoutKey = new BibEntry(StandardEntryType.Article).withField(StandardField.JOURNAL, "Some Journal");
+        DuplicateCandidates candidates = new DuplicateCandidates(List.of(one, two, withoutKey));
+
+        assertArrayEquals(new int[] {2}, candidates.getCandidatesAfter(0));
+        assertEquals(List.of(one, two, withoutKey), candidates.getCandidates(new BibEntry(StandardEntryType.Article)));
+    }
+
+    @Test
+    void candidatesOfNewEntryAreInOrderOfEntries() {
+        BibEntry one = article("Alice Anders", "Blocking keys for scalable duplicate detection", "2001");
+        BibEntry two = article("Bob Berger", "Holy Moly Uffdada und Trallalla", "1992");
+        BibEntry three = article("Carla Clark", "Blocking keys for scalable duplicate detection", "2010");
+        DuplicateCandidates candidates = new DuplicateCandidates(List.of(one, two, three));
+
+        assertEquals(List.of(one, three), candidates.getCandidates(article("Dora Diaz", "Blocking keys for scalable duplicate detection", "2020")));
+    }
+
+    @Test
+    void candidatesOfDatabaseAreReusedUntilDatabaseChanges() {
+        BibEntry one = article("Alice Anders", "Blocking keys for scalable duplicate detection", "2001");
+        BibDatabase database = new BibDatabase(List.of(one));
+        DuplicateCandidates candidates = DuplicateCandidates.of(database);
+
+        assertSame(candidates, DuplicateCandidates.of(database));
+
+        one.setField(StandardField.YEAR, "2002");
+        DuplicateCandidates afterChange = DuplicateCandidates.of(database);
+        assertNotSame(candidates, afterChange);
+
+        BibEntry two = article("Bob Berger", "Holy Moly Uffdada und Trallalla", "1992");
+        database.insertEntry(two);
+        assertEquals(List.of(one, two), DuplicateCandidates.of(database).getEntries());
+    }
+
+    /**
+     * Compares the blocked search with the comparison of all pairs on a real library and two altered copies of each of its entries
+     */
+    @Test
+    void blockingFindsAllDuplicatesOfBruteForce() throws IOException {
+        List<BibEntry> entries = new ArrayList<>();
+        BibtexImporter importer = new BibtexImporter(mock(ImportFormatPreferences.class, Answers.RETURNS_DEEP_STUBS), new DummyFileUpdateMonitor());
+        for (BibEntry entry : importer.importDatabase(Path.of("src/test/resources/testbib/jabref-authors.bib")).getDatabase().getEntries()) {
+            entries.add(entry);
+            entries.add(withoutIdentifiers(entry, true));
+            entries.add(withoutIdentifiers(entry, false));
+        }
+        DuplicateCheck duplicateCheck = new DuplicateCheck(new BibEntryTypesManager());
+
+        Set<String> bruteForcePairs = new HashSet<>();
+        for (int i = 0; i < entries.size(); i++) {
+            for (int j = i + 1; j < entries.size(); j++) {
+                if (duplicateCheck.isDuplicate(entries.get(i), entries.get(j), BibDatabaseMode.BIBTEX)) {
+                    bruteForcePairs.add(entries.get(i).getId() + ":" + entries.get(j).getId());
+                }
+            }
+        }
+        Set<String> blockedPairs = ConcurrentHashMap.newKeySet();
+        duplicateCheck.findDuplicates(entries, BibDatabaseMode.BIBTEX, (first, second) -> blockedPairs.add(first.getId() + ":" + second.getId()));
+
+        assertFalse(bruteForcePairs.isEmpty());
+        assertEquals(bruteForcePairs, blockedPairs);
+    }
+
+    /**
+     * Copies the entry without its identifiers, with a typo in the title, and with either the authors written as "Last, First" or the following year
+     */
+    private static BibEntry withoutIdentifiers(BibEntry entry, boolean reformatAuthors) {
+        BibEntry copy = new BibEntry(entry.getType());
+        for (Field field : entry.getFields()) {
+            if (!field.getProperties().contains(FieldProperty.IDENTIFIER)) {
+                copy.setField(field, entry.getField(field).orElseThrow());
+            }
+        }
+        copy.getField(StandardField.TITLE).filter(title -> title.length() > 1).ifPresent(title -> {
+            int position = title.length() / 2;
+            copy.setField(StandardField.TITLE, title.substring(0, position - 1) + title.charAt(position) + title.charAt(position - 1) + title.substring(position + 1));
+        });
+        if (reformatAuthors) {
+            copy.getField(StandardField.AUTHOR).ifPresent(authors -> copy.setField(StandardField.AUTHOR, AuthorList.parse(authors).getAsLastFirstNamesWithAnd(false)));
+        } else {
+            copy.getField(StandardField.YEAR).ifPresent(year -> copy.setField(StandardField.YEAR, String.valueOf(Integer.parseInt(year) + 1)));
+        }
+        return copy;
+    }
+}
@@ -1,7 +1,11 @@
 package org.jabref.logic.database;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Stream;
 
+import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseMode;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.BibEntryTypesManager;
@@ -310,6 +314,24 @@ public class DuplicateCheckTest {
         assertTrue(duplicateChecker.isDuplicate(one, two, BibDatabaseMode.BIBTEX));
     }
 
+    @Test
+    void findDuplicatesReportsEachPairOnce() {
+        BibEntry duplicateOfSimpleArticle = getSimpleArticle();
+        List<BibEntry> entries = List.of(simpleArticle, unrelatedArticle, simpleInBook, duplicateOfSimpleArticle);
+        List<List<BibEntry>> duplicates = new CopyOnWriteArrayList<>();
+
+        duplicateChecker.findDuplicates(entries, BibDatabaseMode.BIBTEX, (first, second) -> duplicates.add(List.of(first, second)));
+
+        assertEquals(List.of(List.of(simpleArticle, duplicateOfSimpleArticle)), duplicates);
+    }
+
+    @Test
+    void containsDuplicateFindsDuplicateInDatabase() {
+        BibDatabase database = new BibDatabase(List.of(unrelatedArticle, simpleArticle));
+
+        assertEquals(Optional.of(simpleArticle), duplicateChecker.containsDuplicate(database, getSimpleArticle(), BibDatabaseMode.BIBTEX));
+    }
+
     @Test
     void wordCorrelation() {
         String d1 = "Characterization of Calanus finmarchicus habitat in the North Sea";
@@ -0,0 +1,98 @@
+package org.jabref.logic.exporter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.jabref.logic.bibtex.FieldPreferences;
+import org.jabref.logic.citationkeypattern.CitationKeyPatternPreferences;
+import org.jabref.logic.importer.ImportFormatPreferences;
+import org.jabref.logic.importer.Importer;
+import org.jabref.logic.importer.ParserResult;
+import org.jabref.logic.importer.fileformat.BibtexParser;
+import org.jabref.model.database.BibDatabaseMode;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.metadata.SaveOrder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StreamingBibDatabaseWriterTest {
+
+    private ImportFormatPreferences importFormatPreferences;
+    private StringWriter stringWriter;
+    private StreamingBibDatabaseWriter databaseWriter;
+
+    @BeforeEach
+    void setUp() {
+        FieldPreferences fieldPreferences = new FieldPreferences(true, List.of(), List.of());
+        importFormatPreferences = mock(ImportFormatPreferences.class, Answers.RETURNS_DEEP_STUBS);
+        when(importFormatPreferences.fieldPreferences()).thenReturn(fieldPreferences);
+        stringWriter = new StringWriter();
+
+        // .gitattributes sets the .bib files to have LF line endings
+        databaseWriter = new StreamingBibDatabaseWriter(
+                new BibWriter(stringWriter, "\n"),
+                new SelfContainedSaveConfiguration(SaveOrder.getDefaultSaveOrder(), false, BibDatabaseWriter.SaveType.WITH_JABREF_META_DATA, false),
+                fieldPreferences,
+                mock(CitationKeyPatternPreferences.class, Answers.RETURNS_DEEP_STUBS),
+                new BibEntryTypesManager(),
+                BibDatabaseMode.BIBTEX);
+    }
+
+    @Test
+    void roundtripWithUserComment() throws IOException {
+        Path testBibtexFile = Path.of("src/test/resources/testbib/bibWithUserComments.bib");
+
+        ParserResult result = new BibtexParser(importFormatPreferences).parse(Importer.getReader(testBibtexFile), databaseWriter);
+        databaseWriter.finish(result.getDatabase().getEpilog());
+
+        assertEquals(Files.readString(testBibtexFile, StandardCharsets.UTF_8), stringWriter.toString());
+    }
+
+    @Test
+    void entriesAreWrittenInFileOrder() throws IOException {
+        ParserResult result = new BibtexParser(importFormatPreferences).parse(Reader.of("""
+                @article{b,}
+
+                @article{a,}
+                """), databaseWriter);
+        databaseWriter.finish(result.getDatabase().getEpilog());
+
+        String written = stringWriter.toString();
+        int positionOfB = written.indexOf("@article{b,}");
+        assertTrue((positionOfB >= 0) && (positionOfB < written.indexOf("@article{a,}")));
+    }
+
+    @Test
+    void reformattedStringsAreAlignedToLongestName() throws IOException {
+        FieldPreferences fieldPreferences = new FieldPreferences(true, List.of(), List.of());
+        databaseWriter = new StreamingBibDatabaseWriter(
+                new BibWriter(stringWriter, "\n"),
+                new SelfContainedSaveConfiguration(SaveOrder.getDefaultSaveOrder(), false, BibDatabaseWriter.SaveType.PLAIN_BIBTEX, true),
+                fieldPreferences,
+                mock(CitationKeyPatternPreferences.class, Answers.RETURNS_DEEP_STUBS),
+                new BibEntryTypesManager(),
+                BibDatabaseMode.BIBTEX);
+
+        ParserResult result = new BibtexParser(importFormatPreferences).parse(Reader.of("""
+                @String{a = {first}}
+                @String{longer = {second}}
+                """), databaseWriter);
+        databaseWriter.finish(result.getDatabase().getEpilog());
+
+        String written = stringWriter.toString();
+        assertTrue(written.contains("@String{a      = {first}}"), written);
+        assertTrue(written.contains("@String{longer = {second}}"), written);
+    }
+}
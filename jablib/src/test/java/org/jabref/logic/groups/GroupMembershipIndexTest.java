@@ -0,0 +1,126 @@
+package org.jabref.logic.groups;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.groups.ExplicitGroup;
+import org.jabref.model.groups.GroupHierarchyType;
+import org.jabref.model.groups.GroupTreeNode;
+import org.jabref.model.groups.WordKeywordGroup;
+
+import com.google.common.eventbus.Subscribe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GroupMembershipIndexTest {
+
+    private final BibEntry first = new BibEntry().withField(StandardField.KEYWORDS, "A, B");
+    private final BibEntry second = new BibEntry().withField(StandardField.KEYWORDS, "A");
+    private final BibEntry third = new BibEntry().withField(StandardField.KEYWORDS, "C");
+
+    private final GroupTreeNode groupA = new GroupTreeNode(new WordKeywordGroup("A", GroupHierarchyType.INDEPENDENT, StandardField.KEYWORDS, "A", true, ',', false));
+    private final GroupTreeNode groupB = new GroupTreeNode(new WordKeywordGroup("B", GroupHierarchyType.INDEPENDENT, StandardField.KEYWORDS, "B", true, ',', false));
+
+    private BibDatabaseContext databaseContext;
+    private GroupMembershipIndex index;
+
+    @BeforeEach
+    void setUp() {
+        databaseContext = new BibDatabaseContext(new BibDatabase(List.of(first, second, third)));
+        index = new GroupMembershipIndex(databaseContext);
+    }
+
+    @Test
+    void countsHitsOfGroups() {
+        assertEquals(2, index.getHitCount(groupA));
+        assertEquals(1, index.getHitCount(groupB));
+    }
+
+    @Test
+    void unionContainsEntriesOfAnyGroup() {
+        assertEquals(List.of(first, second), index.getEntries(index.getUnion(List.of(groupA, groupB))));
+    }
+
+    @Test
+    void intersectionContainsEntriesOfAllGroups() {
+        assertEquals(List.of(first), index.getEntries(index.getIntersection(List.of(groupA, groupB))));
+    }
+
+    @Test
+    void changedEntryJoinsAndLeavesGroups() {
+        index.getHitCount(groupA);
+        third.setField(StandardField.KEYWORDS, "A");
+        second.setField(StandardField.KEYWORDS, "C");
+
+        assertEquals(List.of(first, third), index.getEntries(index.getMembers(groupA)));
+    }
+
+    @Test
+    void addedEntryJoinsGroupAndReusesOrdinalOfRemovedEntry() {
+        index.getHitCount(groupA);
+        databaseContext.getDatabase().removeEntry(second);
+        BibEntry added = new BibEntry().withField(StandardField.KEYWORDS, "A");
+        databaseContext.getDatabase().insertEntry(added);
+
+        assertEquals(List.of(first, added), index.getEntries(index.getMembers(groupA)));
+        assertTrue(index.contains(index.getMembers(groupA), added));
+        assertFalse(index.contains(index.getMembers(groupA), second));
+    }
+
+    @Test
+    void postsChangedGroups() {
+        List<GroupMembershipChangedEvent> events = new ArrayList<>();
+        index.registerListener(new Object() {
+            @Subscribe
+            public void listen(GroupMembershipChangedEvent event) {
+                events.add(event);
+            }
+        });
+        index.getHitCount(groupA);
+        index.getHitCount(groupB);
+
+        third.setField(StandardField.KEYWORDS, "B");
+
+        assertEquals(1, events.size());
+        assertTrue(events.getFirst().groups().contains(groupB));
+        assertFalse(events.getFirst().groups().contains(groupA));
+    }
+
+    @Test
+    void postsComputedGroupsWhenGroupTreeChanges() {
+        List<GroupMembershipChangedEvent> events = new ArrayList<>();
+        index.registerListener(new Object() {
+            @Subscribe
+            public void listen(GroupMembershipChangedEvent event) {
+                events.add(event);
+            }
+        });
+        index.getHitCount(groupA);
+
+        databaseContext.getMetaData().setGroups(GroupTreeNode.fromGroup(new ExplicitGroup("root", GroupHierarchyType.INDEPENDENT, ',')));
+
+        assertEquals(1, events.size());
+        assertTrue(events.getFirst().groups().contains(groupA));
+    }
+
+    @Test
+    void changedGroupTreeIsMatchedAgain() {
+        GroupTreeNode root = GroupTreeNode.fromGroup(new ExplicitGroup("root", GroupHierarchyType.INDEPENDENT, ','));
+        GroupTreeNode child = root.addSubgroup(new WordKeywordGroup("A", GroupHierarchyType.INDEPENDENT, StandardField.KEYWORDS, "A", true, ',', false));
+        databaseContext.getMetaData().setGroups(root);
+        assertEquals(2, index.getHitCount(child));
+
+        child.setGroup(new WordKeywordGroup("C", GroupHierarchyType.INDEPENDENT, StandardField.KEYWORDS, "C", true, ',', false));
+        databaseContext.getMetaData().setGroups(root);
+
+        assertEquals(1, index.getHitCount(child));
+    }
+}
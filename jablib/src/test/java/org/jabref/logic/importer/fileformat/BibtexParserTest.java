@@ -57,6 +57,7 @@ import org.jabref.model.groups.GroupTreeNode;
 import org.jabref.model.groups.RegexKeywordGroup;
 import org.jabref.model.groups.TexGroup;
 import org.jabref.model.groups.WordKeywordGroup;
+import org.jabref.model.metadata.MetaData;
 import org.jabref.model.metadata.SaveOrder;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -169,6 +170,54 @@ class BibtexParserTest {
         assertEquals(List.of(expected), result.getDatabase().getEntries());
     }
 
+    @Test
+    void parseWithListenerPassesPartsInFileOrderWithoutKeepingEntries() throws IOException {
+        List<String> parts = new ArrayList<>();
+        ParserResult result = parser.parse(Reader.of("""
+                @preamble{some preamble}
+                @string{name = {Ed}}
+                @article{first,author={Ed von Test}}
+                @book{second}
+                @comment{jabref-meta: databaseType:biblatex;}
+                """), new BibtexParserListener() {
+            @Override
+            public void onEntry(BibEntry entry) {
+                parts.add("entry " + entry.getCitationKey().orElse(""));
+            }
+
+            @Override
+            public void onString(BibtexString bibtexString) {
+                parts.add("string " + bibtexString.getName());
+            }
+
+            @Override
+            public void onPreamble(String preamble) {
+                parts.add("preamble " + preamble);
+            }
+
+            @Override
+            public void onMetaData(MetaData metaData) {
+                parts.add("metadata " + metaData.getMode().map(BibDatabaseMode::getAsString).orElse(""));
+            }
+        });
+
+        assertEquals(List.of("preamble some preamble", "string name", "entry first", "entry second", "metadata biblatex"), parts);
+        assertEquals(List.of(), result.getDatabase().getEntries());
+        assertEquals(1, result.getDatabase().getStringCount());
+    }
+
+    @Test
+    void parseEntryLargerThanRetainedTextBuffer() throws IOException {
+        String longAbstract = "a".repeat(100_000);
+        ParserResult result = parser.parse(Reader.of("@article{first,abstract={" + longAbstract + "}}\n@article{second}"));
+
+        assertEquals(List.of(
+                        new BibEntry(StandardEntryType.Article).withCitationKey("first").withField(StandardField.ABSTRACT, longAbstract),
+                        new BibEntry(StandardEntryType.Article).withCitationKey("second")),
+                result.getDatabase().getEntries());
+        assertEquals("@article{second}", result.getDatabase().getEntries().getLast().getParsedSerialization());
+    }
+
     @Test
     void parseRecognizesFieldValuesInQuotationMarks() throws IOException {
         ParserResult result = parser
@@ -0,0 +1,135 @@
+package org.jabref.logic.importer.fileformat;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jabref.logic.importer.ImportFormatPreferences;
+import org.jabref.logic.importer.ParserResult;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibtexString;
+import org.jabref.model.util.DummyFileUpdateMonitor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.Answers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the results of the {@link ParallelBibtexParser} with the ones of the sequential {@link BibtexParser}.
+ * A minimal chunk length of one character splits the files at as many positions as possible.
+ */
+class ParallelBibtexParserTest {
+
+    private ImportFormatPreferences importFormatPreferences;
+
+    @BeforeEach
+    void setUp() {
+        importFormatPreferences = mock(ImportFormatPreferences.class, Answers.RETURNS_DEEP_STUBS);
+        when(importFormatPreferences.bibEntryPreferences().getKeywordSeparator()).thenReturn(',');
+    }
+
+    private static Stream<Path> parserTestCorpus() throws IOException {
+        try (Stream<Path> files = Files.walk(Path.of("src/test/resources"))) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".bib"))
+                        .sorted()
+                        .toList()
+                        .stream();
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("parserTestCorpus")
+    void sameResultAsSequentialParser(Path file) throws IOException {
+        // Malformed input is replaced, both parsers get the same content
+        assertSameResult(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void sameResultIfSplitWithinItems() throws IOException {
+        String item = """
+                @Comment{a comment
+                @ spanning lines}
+
+                @article{key%d,
+                  abstract = {first line
+                @second line},
+                }
+                text in front of the next item
+                @String{name%d = {value}}
+                @Comment{jabref-meta: databaseType:biblatex;}
+                """;
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            content.append(item.formatted(i, i));
+        }
+        content.append("epilog");
+
+        assertSameResult(content.toString());
+    }
+
+    @Test
+    void sameResultForWindowsLineBreaks() throws IOException {
+        StringBuilder content = new StringBuilder("% DBID: 1234\r\n\r\n@Preamble{preamble}\r\n\r\n");
+        for (int i = 0; i < 50; i++) {
+            content.append("@article{key").append(i).append(",\r\n  title = {Title ").append(i).append("}\r\n}\r\n\r\n");
+        }
+
+        assertSameResult(content.toString());
+    }
+
+    @Test
+    void idsIncreaseInFileOrder() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            content.append("@article{key").append(i).append(",\n  title = {Title ").append(i).append("}\n}\n\n");
+        }
+
+        BibDatabase database = new ParallelBibtexParser(importFormatPreferences, new DummyFileUpdateMonitor(), 1).parse(content.toString()).getDatabase();
+
+        List<BibEntry> entries = database.getEntries();
+        for (int i = 1; i < entries.size(); i++) {
+            assertTrue(entries.get(i - 1).getId().compareTo(entries.get(i).getId()) < 0);
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(i, database.indexOf(entries.get(i)));
+        }
+    }
+
+    private void assertSameResult(String content) throws IOException {
+        ParserResult expected = new BibtexParser(importFormatPreferences).parse(Reader.of(content));
+        ParserResult actual = new ParallelBibtexParser(importFormatPreferences, new DummyFileUpdateMonitor(), 1).parse(content);
+
+        BibDatabase expectedDatabase = expected.getDatabase();
+        BibDatabase actualDatabase = actual.getDatabase();
+        assertEquals(expectedDatabase.getEntries(), actualDatabase.getEntries());
+        assertEquals(expectedDatabase.getEntries().stream().map(BibEntry::getParsedSerialization).toList(),
+                actualDatabase.getEntries().stream().map(BibEntry::getParsedSerialization).toList());
+        assertEquals(getStrings(expectedDatabase), getStrings(actualDatabase));
+        assertEquals(expectedDatabase.getPreamble(), actualDatabase.getPreamble());
+        assertEquals(expectedDatabase.getEpilog(), actualDatabase.getEpilog());
+        assertEquals(expectedDatabase.getNewLineSeparator(), actualDatabase.getNewLineSeparator());
+        assertEquals(expectedDatabase.getSharedDatabaseID(), actualDatabase.getSharedDatabaseID());
+        assertEquals(expected.getMetaData(), actual.getMetaData());
+        assertEquals(expected.getEntryTypes(), actual.getEntryTypes());
+        assertEquals(expected.warnings(), actual.warnings());
+    }
+
+    private static Map<String, String> getStrings(BibDatabase database) {
+        return database.getStringValues().stream()
+                       .collect(Collectors.toMap(BibtexString::getName, string -> string.getContent() + "|" + string.getParsedSerialization()));
+    }
+}
@@ -0,0 +1,191 @@
+package org.jabref.logic.net;
+
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.jabref.logic.util.URLUtil;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpResponseCacheTest {
+
+    private static final Duration TIME_TO_LIVE = Duration.ofHours(1);
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+    private static final HttpHeaders NO_HEADERS = HttpHeaders.of(Map.of(), (_, _) -> true);
+
+    @TempDir
+    private Path cacheDirectory;
+
+    private WireMockServer wireMockServer;
+    private HttpResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        cache = new HttpResponseCache(cacheDirectory, HttpResponseCache.DEFAULT_MAX_SIZE, TIME_TO_LIVE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    void repeatedRequestIsServedFromCache() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/entry")).willReturn(aResponse().withBody("@Article{key}")));
+
+        assertEquals("@Article{key}\n", createDownload("/entry").asString());
+        assertEquals("@Article{key}\n", createDownload("/entry").asString());
+
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/entry")));
+    }
+
+    @Test
+    void responseWithNoStoreIsNotCached() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/entry")).willReturn(aResponse().withHeader("Cache-Control", "no-store").withBody("@Article{key}")));
+
+        createDownload("/entry").asString();
+        createDownload("/entry").asString();
+
+        wireMockServer.verify(2, getRequestedFor(urlEqualTo("/entry")));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    void staleResponseIsRevalidatedUsingETag() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/entry"))
+                .withHeader("If-None-Match", absent())
+                .willReturn(aResponse().withHeader("Cache-Control", "max-age=0").withHeader("ETag", "\"v1\"").withBody("@Article{key}")));
+        wireMockServer.stubFor(get(urlEqualTo("/entry"))
+                .withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse().withStatus(304)));
+
+        createDownload("/entry").asString();
+
+        assertEquals("@Article{key}\n", createDownload("/entry").asString());
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/entry")).withHeader("If-None-Match", equalTo("\"v1\"")));
+    }
+
+    @Test
+    void keyIgnoresOrderOfQueryParametersAndCaseOfHost() {
+        String key = HttpResponseCache.getKey(HttpRequest.newBuilder(URI.create("http://Example.org:80/search?b=2&a=1")).build(), "");
+
+        assertEquals(key, HttpResponseCache.getKey(HttpRequest.newBuilder(URI.create("http://example.org/search?a=1&b=2")).build(), ""));
+    }
+
+    @Test
+    void keyDependsOnBody() {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("https://example.org/search")).build();
+
+        assertNotEquals(HttpResponseCache.getKey(request, "query=a"), HttpResponseCache.getKey(request, "query=b"));
+    }
+
+    @Test
+    void storedResponseDoesNotContainUrl() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/entry?apikey=secret")).willReturn(aResponse().withBody("@Article{key}")));
+
+        createDownload("/entry?apikey=secret").asString();
+
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            for (Path file : files.toList()) {
+                assertFalse(Files.readString(file, StandardCharsets.ISO_8859_1).contains("secret"));
+            }
+        }
+    }
+
+    @Test
+    void responseStoredAgainReplacesPreviousOne() {
+        cache.put("entry", NO_HEADERS, bytes("@Article{old}"), TIME_TO_LIVE);
+        cache.put("entry", NO_HEADERS, bytes("@Article{new}"), TIME_TO_LIVE);
+
+        assertEquals("@Article{new}", new String(cache.get("entry").orElseThrow().body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void disabledCacheSendsEveryRequest() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/entry")).willReturn(aResponse().withBody("@Article{key}")));
+
+        for (int i = 0; i < 2; i++) {
+            URLDownload download = new URLDownload(URLUtil.create(wireMockServer.baseUrl() + "/entry"), new HttpTransport(Duration.ofSeconds(5), 1));
+            download.setResponseCache(new HttpResponseCache(), TIME_TO_LIVE);
+            download.asString();
+        }
+
+        wireMockServer.verify(2, getRequestedFor(urlEqualTo("/entry")));
+    }
+
+    @Test
+    void leastRecentlyUsedResponseIsEvicted() {
+        HttpResponseCache smallCache = new HttpResponseCache(cacheDirectory, 50, TIME_TO_LIVE);
+        smallCache.put("first", NO_HEADERS, bytes("1234"), TIME_TO_LIVE);
+        long entrySize = smallCache.getSize();
+        smallCache.put("second", NO_HEADERS, bytes("1234"), TIME_TO_LIVE);
+        smallCache.get("first");
+
+        smallCache.put("third", NO_HEADERS, bytes("1234"), TIME_TO_LIVE);
+
+        assertTrue(smallCache.get("first").isPresent());
+        assertFalse(smallCache.get("second").isPresent());
+        assertTrue(smallCache.get("third").isPresent());
+        assertEquals(2 * entrySize, smallCache.getSize());
+    }
+
+    @Test
+    void responseExpiresAfterTimeToLive() {
+        HttpResponseCache cacheNow = new HttpResponseCache(cacheDirectory, HttpResponseCache.DEFAULT_MAX_SIZE, TIME_TO_LIVE, Clock.fixed(NOW, ZoneOffset.UTC));
+        cacheNow.put("entry", NO_HEADERS, bytes("@Article{key}"), TIME_TO_LIVE);
+        assertTrue(cacheNow.isFresh(cacheNow.get("entry").orElseThrow()));
+
+        HttpResponseCache cacheLater = new HttpResponseCache(cacheDirectory, HttpResponseCache.DEFAULT_MAX_SIZE, TIME_TO_LIVE, Clock.fixed(NOW.plus(TIME_TO_LIVE.multipliedBy(2)), ZoneOffset.UTC));
+
+        assertFalse(cacheLater.isFresh(cacheLater.get("entry").orElseThrow()));
+    }
+
+    @Test
+    void maxAgeOverridesTimeToLive() {
+        HttpResponseCache fixedCache = new HttpResponseCache(cacheDirectory, HttpResponseCache.DEFAULT_MAX_SIZE, TIME_TO_LIVE, Clock.fixed(NOW, ZoneOffset.UTC));
+        HttpHeaders headers = HttpHeaders.of(Map.of("Cache-Control", List.of("public, max-age=60")), (_, _) -> true);
+
+        fixedCache.put("entry", headers, bytes("@Article{key}"), TIME_TO_LIVE);
+
+        assertEquals(NOW.plusSeconds(60), fixedCache.get("entry").orElseThrow().expires());
+    }
+
+    private URLDownload createDownload(String path) throws Exception {
+        URLDownload download = new URLDownload(URLUtil.create(wireMockServer.baseUrl() + path), new HttpTransport(Duration.ofSeconds(5), 1));
+        download.setResponseCache(cache, TIME_TO_LIVE);
+        return download;
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
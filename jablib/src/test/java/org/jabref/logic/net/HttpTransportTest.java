@@ -0,0 +1,148 @@
+package org.jabref.logic.net;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.jabref.logic.importer.FetcherClientException;
+import org.jabref.logic.importer.FetcherException;
+import org.jabref.logic.importer.FetcherServerException;
+import org.jabref.logic.util.URLUtil;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpTransportTest {
+
+    private static final int DELAY_MILLIS = 300;
+
+    private WireMockServer wireMockServer;
+    private HttpTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        transport = new HttpTransport(Duration.ofSeconds(5), 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    void sendAsyncReturnsBody() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/entry")).willReturn(aResponse().withBody("@Article{key}")));
+
+        HttpResponse<String> response = transport.sendAsync(HttpRequest.newBuilder(uri("/entry")).build(), HttpResponse.BodyHandlers.ofString()).get();
+
+        assertEquals(200, response.statusCode());
+        assertEquals("@Article{key}", response.body());
+    }
+
+    @Test
+    void limitsRequestsInFlightPerHost() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/slow")).willReturn(aResponse().withBody("slow").withFixedDelay(DELAY_MILLIS)));
+        HttpRequest request = HttpRequest.newBuilder(uri("/slow")).build();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> responses = List.of(
+                transport.sendAsync(request, HttpResponse.BodyHandlers.ofString()),
+                transport.sendAsync(request, HttpResponse.BodyHandlers.ofString()),
+                transport.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).get();
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertTrue(elapsedMillis >= 3 * DELAY_MILLIS, "Requests were sent concurrently after " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void closedStreamReleasesConnection() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/entry")).willReturn(aResponse().withBody("@Article{key}")));
+        URLDownload download = new URLDownload(URLUtil.create(wireMockServer.baseUrl() + "/entry"), transport);
+
+        // With one connection per host, the second download would wait forever if the first one kept the connection
+        download.asInputStream().close();
+
+        assertEquals("@Article{key}\n", download.asString());
+    }
+
+    @Test
+    void streamReadToEndReleasesConnectionWithoutClose() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/entry")).willReturn(aResponse().withBody("@Article{key}")));
+        URLDownload download = new URLDownload(URLUtil.create(wireMockServer.baseUrl() + "/entry"), transport);
+
+        // The stream is not closed, as done by callers handing it to a parser
+        download.asInputStream().readAllBytes();
+
+        assertEquals("@Article{key}\n", assertTimeoutPreemptively(Duration.ofSeconds(5), download::asString));
+    }
+
+    @Test
+    void downloadSendsPostData() throws Exception {
+        wireMockServer.stubFor(post(urlEqualTo("/search")).willReturn(aResponse().withBody("result")));
+        URLDownload download = new URLDownload(URLUtil.create(wireMockServer.baseUrl() + "/search"), transport);
+        download.setPostData("query=test");
+
+        assertEquals("result\n", download.asString());
+        wireMockServer.verify(postRequestedFor(urlEqualTo("/search"))
+                .withRequestBody(equalTo("query=test"))
+                .withHeader("Content-Type", equalTo("application/x-www-form-urlencoded")));
+    }
+
+    @Test
+    void clientErrorThrowsFetcherClientException() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/missing")).willReturn(aResponse().withStatus(404)));
+        URLDownload download = new URLDownload(URLUtil.create(wireMockServer.baseUrl() + "/missing"), transport);
+
+        assertThrows(FetcherClientException.class, download::asString);
+    }
+
+    @Test
+    void serverErrorThrowsFetcherServerException() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/unavailable")).willReturn(aResponse().withStatus(503)));
+        URLDownload download = new URLDownload(URLUtil.create(wireMockServer.baseUrl() + "/unavailable"), transport);
+
+        assertThrows(FetcherServerException.class, download::asInputStream);
+    }
+
+    @Test
+    void downloadTimesOutIfResponseIsLate() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/slow")).willReturn(aResponse().withBody("slow").withFixedDelay(DELAY_MILLIS)));
+        URLDownload download = new URLDownload(URLUtil.create(wireMockServer.baseUrl() + "/slow"), transport);
+        download.setConnectTimeout(Duration.ofMillis(DELAY_MILLIS / 3));
+
+        assertThrows(FetcherException.class, download::asString);
+    }
+
+    @Test
+    void mimeTypeIsDeterminedAfterRedirect() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/paper")).willReturn(aResponse().withStatus(302).withHeader("Location", "/paper.pdf")));
+        wireMockServer.stubFor(get(urlEqualTo("/paper.pdf")).willReturn(aResponse().withHeader("Content-Type", "application/pdf")));
+        URLDownload download = new URLDownload(URLUtil.create(wireMockServer.baseUrl() + "/paper"), transport);
+
+        assertTrue(download.isPdf());
+    }
+
+    private URI uri(String path) {
+        return URI.create(wireMockServer.baseUrl() + path);
+    }
+}
@@ -0,0 +1,119 @@
+package org.jabref.logic.pdf;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PdfTextCacheTest {
+
+    private static final Path THESIS_EXAMPLE = Path.of("src/test/resources/pdfs/thesis-example.pdf");
+    private static final Path MINIMAL = Path.of("src/test/resources/pdfs/minimal.pdf");
+
+    @TempDir
+    private Path tempDir;
+
+    private Path cacheFile;
+    private Path pdf;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cacheFile = tempDir.resolve("cache").resolve("pdf-texts.mv");
+        pdf = tempDir.resolve("thesis.pdf");
+        Files.copy(THESIS_EXAMPLE, pdf);
+    }
+
+    @Test
+    void readsTextOfEachPage() throws IOException {
+        try (PdfTextCache cache = new PdfTextCache(cacheFile)) {
+            List<PdfTextCache.Page> pages = cache.getPages(pdf);
+
+            assertEquals(33, pages.size());
+            assertTrue(pages.stream().anyMatch(page -> !page.text().isBlank()));
+        }
+    }
+
+    @Test
+    void readsAnnotations() throws IOException {
+        try (PdfTextCache cache = new PdfTextCache(cacheFile)) {
+            List<PdfTextCache.Page> pages = cache.getPages(Path.of("src/test/resources/pdfs/minimal-inlinenote.pdf"));
+
+            assertEquals(List.of("inline note annotation"), pages.getFirst().annotations());
+        }
+    }
+
+    @Test
+    void unchangedFileIsNotParsedAgain() throws IOException {
+        try (PdfTextCache cache = new PdfTextCache(cacheFile)) {
+            List<PdfTextCache.Page> pages = cache.getPages(pdf);
+            replaceContentKeepingSizeAndModifiedTime(pdf);
+
+            assertEquals(pages, cache.getPages(pdf));
+        }
+    }
+
+    @Test
+    void cachedPagesArePersisted() throws IOException {
+        List<PdfTextCache.Page> pages;
+        try (PdfTextCache cache = new PdfTextCache(cacheFile)) {
+            pages = cache.getPages(pdf);
+        }
+        replaceContentKeepingSizeAndModifiedTime(pdf);
+
+        try (PdfTextCache cache = new PdfTextCache(cacheFile)) {
+            assertEquals(pages, cache.getPages(pdf));
+        }
+    }
+
+    @Test
+    void copyOfFileIsServedFromCache() throws IOException {
+        Path copy = tempDir.resolve("copy.pdf");
+        Files.copy(pdf, copy);
+        try (PdfTextCache cache = new PdfTextCache(cacheFile)) {
+            assertEquals(cache.getPages(pdf), cache.getPages(copy));
+        }
+    }
+
+    @Test
+    void changedFileIsParsedAgain() throws IOException {
+        try (PdfTextCache cache = new PdfTextCache(cacheFile)) {
+            List<PdfTextCache.Page> pages = cache.getPages(pdf);
+            Files.copy(MINIMAL, pdf, StandardCopyOption.REPLACE_EXISTING);
+
+            assertNotEquals(pages, cache.getPages(pdf));
+        }
+    }
+
+    @Test
+    void cancelledParsingIsNotCached() throws IOException {
+        try (PdfTextCache cache = new PdfTextCache(cacheFile)) {
+            assertEquals(Optional.empty(), cache.getPages(pdf, () -> true));
+            assertEquals(33, cache.getPages(pdf).size());
+        }
+    }
+
+    @Test
+    void cacheWithoutStoreParsesFile() throws IOException {
+        assertEquals(33, new PdfTextCache().getPages(pdf).size());
+    }
+
+    /**
+     * Overwrites the file with bytes which are not a PDF file. Thus, reading the file succeeds only if the pages are taken from the cache.
+     */
+    private static void replaceContentKeepingSizeAndModifiedTime(Path file) throws IOException {
+        FileTime modifiedTime = Files.getLastModifiedTime(file);
+        Files.write(file, new byte[(int) Files.size(file)]);
+        Files.setLastModifiedTime(file, modifiedTime);
+    }
+}
@@ -0,0 +1,210 @@
+package org.jabref.logic.search;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.jabref.logic.util.BackgroundTask;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryPreferences;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+import org.jabref.model.search.SearchFlags;
+import org.jabref.model.search.query.SearchQuery;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that the {@link InMemorySearchBackend} finds the same entries as the {@link PostgresSearchBackend}
+ */
+class BibFieldsSearchBackendConformanceTest {
+    private static final BackgroundTask<Void> TASK = BackgroundTask.wrap(() -> {
+    });
+
+    private static PostgreServer postgreServer;
+    private static BibDatabaseContext databaseContext;
+    private static BibFieldsSearchBackend postgresBackend;
+    private static BibFieldsSearchBackend inMemoryBackend;
+
+    private static final BibEntry PARENT = new BibEntry(StandardEntryType.Proceedings)
+            .withCitationKey("Proc2020")
+            .withField(StandardField.TITLE, "Proceedings of the Conference on Software Engineering")
+            .withField(StandardField.YEAR, "2020");
+    private static final BibEntry CHILD = new BibEntry(StandardEntryType.InProceedings)
+            .withCitationKey("Smith2020")
+            .withField(StandardField.AUTHOR, "John Smith and Jane Doe")
+            .withField(StandardField.TITLE, "Testing {T}ools in Practice")
+            .withField(StandardField.CROSSREF, "Proc2020")
+            .withField(StandardField.KEYWORDS, "testing, quality > tools");
+    private static final BibEntry LATEX = new BibEntry(StandardEntryType.Article)
+            .withCitationKey("Mueller2019")
+            .withField(StandardField.AUTHOR, "M{\\\"u}ller, Hans")
+            .withField(StandardField.TITLE, "{\\\"U}ber Suchmaschinen")
+            .withField(StandardField.DATE, "2019-05-12")
+            .withField(StandardField.GROUPS, "search, databases");
+    private static final BibEntry SPECIAL_CHARACTERS = new BibEntry(StandardEntryType.Misc)
+            .withCitationKey("Percent_2021")
+            .withField(StandardField.TITLE, "100% coverage with under_scores and back\\slashes")
+            .withField(StandardField.NOTE, "CamelCase Note")
+            .withField(StandardField.YEAR, "2021");
+    private static final BibEntry EMPTY_TITLE = new BibEntry(StandardEntryType.Book)
+            .withField(StandardField.TITLE, "")
+            .withField(StandardField.PUBLISHER, "Springer");
+
+    @BeforeAll
+    static void setUp() {
+        BibEntryPreferences bibEntryPreferences = mock(BibEntryPreferences.class);
+        when(bibEntryPreferences.getKeywordSeparator()).thenReturn(',');
+
+        databaseContext = new BibDatabaseContext();
+        databaseContext.getDatabase().insertEntries(PARENT, CHILD, LATEX, SPECIAL_CHARACTERS, EMPTY_TITLE);
+
+        postgreServer = new PostgreServer();
+        postgresBackend = new PostgresSearchBackend(bibEntryPreferences, databaseContext, postgreServer);
+        postgresBackend.updateOnStart(TASK);
+        inMemoryBackend = new InMemorySearchBackend(bibEntryPreferences, databaseContext);
+        inMemoryBackend.updateOnStart(TASK);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        postgresBackend.closeAndWait();
+        inMemoryBackend.closeAndWait();
+        postgreServer.shutdown();
+    }
+
+    private static Stream<Arguments> sameMatches() {
+        EnumSet<SearchFlags> none = EnumSet.noneOf(SearchFlags.class);
+        return Stream.of(
+                // unfielded
+                Arguments.of("smith", none),
+                Arguments.of("Smith", EnumSet.of(SearchFlags.CASE_SENSITIVE)),
+                Arguments.of("smith", EnumSet.of(SearchFlags.CASE_SENSITIVE)),
+                Arguments.of("mü", none),
+                Arguments.of("über", none),
+                Arguments.of("100%", none),
+                Arguments.of("under_scores", none),
+                Arguments.of("\"back\\slashes\"", none),
+                Arguments.of("se", none),
+                Arguments.of("databases", none),
+                Arguments.of("sm.th", EnumSet.of(SearchFlags.REGULAR_EXPRESSION)),
+                Arguments.of("^Camel", EnumSet.of(SearchFlags.REGULAR_EXPRESSION, SearchFlags.CASE_SENSITIVE)),
+                Arguments.of("^camel", EnumSet.of(SearchFlags.REGULAR_EXPRESSION, SearchFlags.CASE_SENSITIVE)),
+
+                // fielded contains
+                Arguments.of("title = tools", none),
+                Arguments.of("title =! Tools", none),
+                Arguments.of("title =! tools", none),
+                Arguments.of("title != tools", none),
+                Arguments.of("title !=! Tools", none),
+                Arguments.of("title = \"\"", none),
+                Arguments.of("title != \"\"", none),
+                Arguments.of("year = 2020", none),
+                Arguments.of("month = 5", none),
+                Arguments.of("groups = search", none),
+                Arguments.of("anyfield = springer", none),
+
+                // fielded exact
+                Arguments.of("author == \"jane doe\"", none),
+                Arguments.of("author ==! \"Jane Doe\"", none),
+                Arguments.of("author ==! \"jane doe\"", none),
+                Arguments.of("author !== \"jane doe\"", none),
+                Arguments.of("author == \"Hans Müller\"", none),
+                Arguments.of("anykeyword == tools", none),
+                Arguments.of("keywords == quality", none),
+                Arguments.of("groups == databases", none),
+                Arguments.of("any == databases", none),
+                Arguments.of("anyfield == testing", none),
+                Arguments.of("crossref == proc2020", none),
+                Arguments.of("key == smith2020", none),
+                Arguments.of("key ==! smith2020", none),
+                Arguments.of("entrytype == article", none),
+
+                // fielded regular expressions
+                Arguments.of("title =~ \"^test\"", none),
+                Arguments.of("title =~! \"^test\"", none),
+                Arguments.of("title !=~ \"^test\"", none),
+                Arguments.of("key =~ \"\\d{4}$\"", none),
+                Arguments.of("groups =~ search", none),
+
+                // boolean operators
+                Arguments.of("smith AND year = 2020", none),
+                Arguments.of("smith OR müller", none),
+                Arguments.of("NOT smith", none),
+                Arguments.of("NOT (smith OR müller)", none),
+                Arguments.of("title = tools title = practice", none),
+                Arguments.of("(year = 2020 OR year = 2021) AND NOT note = camel", none)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void sameMatches(String searchExpression, EnumSet<SearchFlags> searchFlags) {
+        SearchQuery searchQuery = new SearchQuery(searchExpression, searchFlags);
+        assertEquals(postgresBackend.search(searchQuery).getMatchedEntries(), inMemoryBackend.search(searchQuery).getMatchedEntries());
+    }
+
+    @ParameterizedTest
+    @MethodSource("sameMatches")
+    void sameIsMatched(String searchExpression, EnumSet<SearchFlags> searchFlags) {
+        SearchQuery searchQuery = new SearchQuery(searchExpression, searchFlags);
+        for (BibEntry entry : databaseContext.getEntries()) {
+            assertEquals(postgresBackend.isMatched(entry, searchQuery), inMemoryBackend.isMatched(entry, searchQuery), entry.toString());
+        }
+    }
+
+    @Test
+    void invalidRegularExpressionMatchesNothing() {
+        SearchQuery searchQuery = new SearchQuery("title =~ \"[\"", EnumSet.noneOf(SearchFlags.class));
+        assertEquals(Set.of(), inMemoryBackend.search(searchQuery).getMatchedEntries());
+    }
+
+    @Test
+    void updatedAndRemovedEntriesAreReflected() {
+        BibEntry entry = new BibEntry(StandardEntryType.Misc).withField(StandardField.TITLE, "Initial title");
+        BibEntryPreferences bibEntryPreferences = mock(BibEntryPreferences.class);
+        when(bibEntryPreferences.getKeywordSeparator()).thenReturn(',');
+        BibDatabaseContext context = new BibDatabaseContext();
+        context.getDatabase().insertEntry(entry);
+        BibFieldsSearchBackend backend = new InMemorySearchBackend(bibEntryPreferences, context);
+        backend.updateOnStart(TASK);
+
+        SearchQuery initial = new SearchQuery("initial", EnumSet.noneOf(SearchFlags.class));
+        SearchQuery changed = new SearchQuery("changed", EnumSet.noneOf(SearchFlags.class));
+        assertTrue(backend.isMatched(entry, initial));
+
+        entry.setField(StandardField.TITLE, "Changed title");
+        backend.updateEntry(entry, StandardField.TITLE);
+        assertFalse(backend.isMatched(entry, initial));
+        assertTrue(backend.isMatched(entry, changed));
+
+        backend.removeFromIndex(Set.of(entry), TASK);
+        assertEquals(Set.of(), backend.search(changed).getMatchedEntries());
+    }
+
+    @Test
+    void entriesAddedAfterClosingAreIgnored() {
+        BibEntry entry = new BibEntry(StandardEntryType.Misc).withField(StandardField.TITLE, "Late title");
+        BibEntryPreferences bibEntryPreferences = mock(BibEntryPreferences.class);
+        when(bibEntryPreferences.getKeywordSeparator()).thenReturn(',');
+        BibFieldsSearchBackend backend = new InMemorySearchBackend(bibEntryPreferences, new BibDatabaseContext());
+
+        backend.closeAndWait();
+        backend.addToIndex(List.of(entry), TASK);
+
+        assertEquals(Set.of(), backend.search(new SearchQuery("late", EnumSet.noneOf(SearchFlags.class))).getMatchedEntries());
+    }
+}
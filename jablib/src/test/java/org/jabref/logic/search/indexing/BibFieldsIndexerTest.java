@@ -0,0 +1,125 @@
+package org.jabref.logic.search.indexing;
+
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.jabref.logic.search.PostgreServer;
+import org.jabref.logic.search.retrieval.BibFieldsSearcher;
+import org.jabref.logic.util.BackgroundTask;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryPreferences;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.metadata.MetaData;
+import org.jabref.model.search.SearchFlags;
+import org.jabref.model.search.query.SearchQuery;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BibFieldsIndexerTest {
+
+    private final BibEntryPreferences bibEntryPreferences = mock(BibEntryPreferences.class);
+    private final BackgroundTask<Void> task = BackgroundTask.wrap(() -> {
+    });
+
+    @TempDir
+    private Path tempDir;
+
+    private PostgreServer postgreServer;
+
+    @BeforeEach
+    void setUp() {
+        when(bibEntryPreferences.getKeywordSeparator()).thenReturn(',');
+        postgreServer = new PostgreServer(tempDir.resolve("postgres"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        postgreServer.shutdown();
+    }
+
+    @Test
+    void serverWithDataDirectoryIsPersistent() {
+        assertTrue(postgreServer.isPersistent());
+    }
+
+    @Test
+    void indexOfUnchangedEntriesIsReusedWithNewEntryIds() {
+        Path libraryPath = tempDir.resolve("library.bib");
+        indexAndClose(libraryPath,
+                new BibEntry().withField(StandardField.TITLE, "Unchanged title"),
+                new BibEntry().withField(StandardField.TITLE, "Changed title"),
+                new BibEntry().withField(StandardField.TITLE, "Removed title"));
+
+        // Entries of the next session have new ids
+        BibEntry unchanged = new BibEntry().withField(StandardField.TITLE, "Unchanged title");
+        BibEntry changed = new BibEntry().withField(StandardField.TITLE, "Changed title again");
+        BibDatabaseContext databaseContext = new BibDatabaseContext(new BibDatabase(), new MetaData(), libraryPath);
+        databaseContext.getDatabase().insertEntries(unchanged, changed);
+        BibFieldsIndexer indexer = new BibFieldsIndexer(bibEntryPreferences, databaseContext, postgreServer.getConnection(), true);
+        indexer.updateOnStart(task);
+
+        BibFieldsSearcher searcher = new BibFieldsSearcher(postgreServer.getConnection(), indexer.getTable());
+        assertEquals(Set.of(unchanged.getId(), changed.getId()), search(searcher, "title"));
+        assertEquals(Set.of(changed.getId()), search(searcher, "again"));
+        assertEquals(Set.of(), search(searcher, "Removed"));
+        indexer.closeAndWait();
+    }
+
+    @Test
+    void indexIsReusedIfEntriesSwapTheirIds() {
+        Path libraryPath = tempDir.resolve("library.bib");
+        BibEntry first = new BibEntry().withField(StandardField.TITLE, "First title");
+        first.setId("first");
+        BibEntry second = new BibEntry().withField(StandardField.TITLE, "Second title");
+        second.setId("second");
+        indexAndClose(libraryPath, first, second);
+
+        BibEntry firstAgain = new BibEntry().withField(StandardField.TITLE, "First title");
+        firstAgain.setId("second");
+        BibEntry secondAgain = new BibEntry().withField(StandardField.TITLE, "Second title");
+        secondAgain.setId("first");
+        BibDatabaseContext databaseContext = new BibDatabaseContext(new BibDatabase(), new MetaData(), libraryPath);
+        databaseContext.getDatabase().insertEntries(firstAgain, secondAgain);
+        BibFieldsIndexer indexer = new BibFieldsIndexer(bibEntryPreferences, databaseContext, postgreServer.getConnection(), true);
+        indexer.updateOnStart(task);
+
+        BibFieldsSearcher searcher = new BibFieldsSearcher(postgreServer.getConnection(), indexer.getTable());
+        assertEquals(Set.of("second"), search(searcher, "First"));
+        assertEquals(Set.of("first"), search(searcher, "Second"));
+        indexer.closeAndWait();
+    }
+
+    @Test
+    void tablesOfUnsavedLibraryAreNotReused() {
+        BibDatabaseContext databaseContext = new BibDatabaseContext();
+        BibFieldsIndexer first = new BibFieldsIndexer(bibEntryPreferences, databaseContext, postgreServer.getConnection(), true);
+        BibFieldsIndexer second = new BibFieldsIndexer(bibEntryPreferences, databaseContext, postgreServer.getConnection(), true);
+        assertNotEquals(first.getTable(), second.getTable());
+        first.closeAndWait();
+        second.closeAndWait();
+    }
+
+    private void indexAndClose(Path libraryPath, BibEntry... entries) {
+        BibDatabaseContext databaseContext = new BibDatabaseContext(new BibDatabase(), new MetaData(), libraryPath);
+        databaseContext.getDatabase().insertEntries(entries);
+        BibFieldsIndexer indexer = new BibFieldsIndexer(bibEntryPreferences, databaseContext, postgreServer.getConnection(), true);
+        indexer.updateOnStart(task);
+        indexer.closeAndWait();
+    }
+
+    private static Set<String> search(BibFieldsSearcher searcher, String query) {
+        return searcher.search(new SearchQuery(query, EnumSet.noneOf(SearchFlags.class))).getMatchedEntries();
+    }
+}
@@ -0,0 +1,128 @@
+package org.jabref.logic.search.indexing;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.jabref.logic.search.indexing.ParallelDocumentReader.FileToRead;
+import org.jabref.logic.search.indexing.ParallelDocumentReader.ReadFile;
+
+import org.apache.lucene.document.Document;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelDocumentReaderTest {
+
+    private static final List<FileToRead> FILES = IntStream.range(0, 20)
+                                                           .mapToObj(i -> new FileToRead("file" + i + ".pdf", i, Path.of("file" + i + ".pdf")))
+                                                           .toList();
+
+    @Test
+    void readsAllFiles() throws InterruptedException {
+        List<ReadFile> readFiles = new ArrayList<>();
+        try (ParallelDocumentReader reader = new ParallelDocumentReader((link, _) -> List.of(new Document(), new Document()), 4, Duration.ofMinutes(1))) {
+            reader.read(FILES, () -> false, readFiles::add);
+        }
+
+        Map<FileToRead, Integer> numberOfPages = readFiles.stream().collect(Collectors.toMap(ReadFile::file, readFile -> readFile.pages().size()));
+        assertEquals(FILES.size(), numberOfPages.size());
+        assertTrue(numberOfPages.values().stream().allMatch(pages -> pages == 2));
+    }
+
+    @Test
+    void limitsNumberOfFilesReadAhead() throws InterruptedException {
+        AtomicInteger numberOfStartedFiles = new AtomicInteger();
+        List<Integer> startedFilesWhenConsumed = new ArrayList<>();
+        try (ParallelDocumentReader reader = new ParallelDocumentReader((_, _) -> {
+            numberOfStartedFiles.incrementAndGet();
+            return List.of(new Document());
+        }, 2, Duration.ofMinutes(1))) {
+            reader.read(FILES, () -> false, _ -> startedFilesWhenConsumed.add(numberOfStartedFiles.get()));
+        }
+
+        for (int i = 0; i < startedFilesWhenConsumed.size(); i++) {
+            // At most four files (twice the number of workers) are handed out before the consumer takes one
+            assertTrue(startedFilesWhenConsumed.get(i) <= i + 4);
+        }
+    }
+
+    @Test
+    void passesFileWithoutPagesIfReadingTimesOut() throws InterruptedException {
+        List<ReadFile> readFiles = new ArrayList<>();
+        try (ParallelDocumentReader reader = new ParallelDocumentReader((link, _) -> {
+            if ("file3.pdf".equals(link)) {
+                try {
+                    Thread.sleep(Duration.ofMinutes(1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return List.of(new Document());
+        }, 2, Duration.ofMillis(100))) {
+            reader.read(FILES, () -> false, readFiles::add);
+        }
+
+        assertEquals(FILES.size(), readFiles.size());
+        assertEquals(List.of("file3.pdf"), readFiles.stream().filter(readFile -> readFile.pages().isEmpty()).map(readFile -> readFile.file().fileLink()).toList());
+        assertEquals(List.of("file3.pdf"), readFiles.stream().filter(ReadFile::timedOut).map(readFile -> readFile.file().fileLink()).toList());
+    }
+
+    @Test
+    void readsOtherFilesIfReadingHangsUninterruptibly() throws InterruptedException {
+        CountDownLatch neverReleased = new CountDownLatch(1);
+        List<ReadFile> readFiles = new ArrayList<>();
+        try (ParallelDocumentReader reader = new ParallelDocumentReader((link, _) -> {
+            // Like the PDF library, the reading ignores interrupts
+            while ("file0.pdf".equals(link) && (neverReleased.getCount() > 0)) {
+                try {
+                    neverReleased.await();
+                } catch (InterruptedException e) {
+                    // continue waiting
+                }
+            }
+            return List.of(new Document());
+        }, 1, Duration.ofMillis(100))) {
+            reader.read(FILES, () -> false, readFiles::add);
+        } finally {
+            neverReleased.countDown();
+        }
+
+        assertEquals(FILES.size(), readFiles.size());
+        assertEquals(List.of("file0.pdf"), readFiles.stream().filter(readFile -> readFile.pages().isEmpty()).map(readFile -> readFile.file().fileLink()).toList());
+    }
+
+    @Test
+    void passesFileWithoutPagesIfReadingFails() throws InterruptedException {
+        List<ReadFile> readFiles = new ArrayList<>();
+        try (ParallelDocumentReader reader = new ParallelDocumentReader((link, _) -> {
+            if ("file5.pdf".equals(link)) {
+                throw new IllegalStateException("broken file");
+            }
+            return List.of(new Document());
+        }, 2, Duration.ofMinutes(1))) {
+            reader.read(FILES, () -> false, readFiles::add);
+        }
+
+        assertEquals(FILES.size(), readFiles.size());
+        assertEquals(List.of("file5.pdf"), readFiles.stream().filter(readFile -> readFile.pages().isEmpty()).map(readFile -> readFile.file().fileLink()).toList());
+        assertTrue(readFiles.stream().noneMatch(ReadFile::timedOut));
+    }
+
+    @Test
+    void stopsReadingWhenCancelled() throws InterruptedException {
+        List<ReadFile> readFiles = new ArrayList<>();
+        try (ParallelDocumentReader reader = new ParallelDocumentReader((_, _) -> List.of(new Document()), 2, Duration.ofMinutes(1))) {
+            reader.read(FILES, () -> readFiles.size() >= 3, readFiles::add);
+        }
+
+        assertEquals(3, readFiles.size());
+    }
+}
@@ -154,6 +154,42 @@ class DBMSProcessorTest {
         assertEquals(Optional.of(expectedEntry), actualEntry);
     }
 
+    @Test
+    void updateEntries() throws SQLException {
+        BibEntry firstEntry = getBibEntryExample();
+        BibEntry secondEntry = getBibEntryExample();
+        dbmsProcessor.insertEntries(List.of(firstEntry, secondEntry));
+
+        firstEntry.setField(StandardField.AUTHOR, "Michael J and Hutchings");
+        firstEntry.clearField(StandardField.BOOKTITLE);
+        secondEntry.setType(StandardEntryType.Book);
+        secondEntry.setField(new UnknownField("customField"), "custom value");
+
+        assertEquals(List.of(), dbmsProcessor.updateEntries(List.of(firstEntry, secondEntry)));
+        assertEquals(List.of(firstEntry, secondEntry), dbmsProcessor.getSharedEntries());
+        assertEquals(Map.of(firstEntry.getSharedBibEntryData().getSharedID(), 2, secondEntry.getSharedBibEntryData().getSharedID(), 2),
+                dbmsProcessor.getSharedIDVersionMapping());
+    }
+
+    @Test
+    void updateEntriesReportsConflictsAndUpdatesOtherEntries() throws SQLException {
+        BibEntry firstEntry = getBibEntryExample();
+        BibEntry secondEntry = getBibEntryExample();
+        dbmsProcessor.insertEntries(List.of(firstEntry, secondEntry));
+        BibEntry sharedFirstEntry = dbmsProcessor.getSharedEntry(firstEntry.getSharedBibEntryData().getSharedID()).get();
+
+        // simulate older version
+        firstEntry.getSharedBibEntryData().setVersion(0);
+        firstEntry.setField(StandardField.YEAR, "1993");
+        secondEntry.setField(StandardField.YEAR, "1993");
+
+        List<OfflineLockException> conflicts = dbmsProcessor.updateEntries(List.of(firstEntry, secondEntry));
+
+        assertEquals(1, conflicts.size());
+        assertEquals(firstEntry, conflicts.getFirst().getLocalBibEntry());
+        assertEquals(List.of(sharedFirstEntry, secondEntry), dbmsProcessor.getSharedEntries());
+    }
+
     @Test
     void getEntriesByIdList() {
         BibEntry firstEntry = getBibEntryExample();
@@ -303,13 +339,33 @@ class DBMSProcessorTest {
         assertEquals(expectedIDVersionMap, actualIDVersionMap);
     }
 
+    @Test
+    void getSharedEntryChangesSince() throws OfflineLockException, SQLException {
+        BibEntry firstEntry = getBibEntryExample();
+        BibEntry secondEntry = getBibEntryExample();
+        BibEntry thirdEntry = getBibEntryExample();
+        dbmsProcessor.insertEntries(List.of(firstEntry, secondEntry, thirdEntry));
+        long oldestTransaction = dbmsProcessor.getOldestActiveTransaction();
+        long sequence = dbmsProcessor.getLatestChangeSequence();
+
+        dbmsProcessor.updateEntry(secondEntry);
+        dbmsProcessor.removeEntries(List.of(thirdEntry));
+
+        Map<Integer, Integer> actualIDVersionMap = dbmsProcessor.getSharedEntryChangesSince(sequence, oldestTransaction)
+                                                                .stream()
+                                                                .collect(Collectors.toMap(DBMSProcessor.SharedEntryChange::sharedID, DBMSProcessor.SharedEntryChange::version));
+
+        assertEquals(Map.of(secondEntry.getSharedBibEntryData().getSharedID(), 2, thirdEntry.getSharedBibEntryData().getSharedID(), 0), actualIDVersionMap);
+        assertTrue(dbmsProcessor.getLatestChangeSequence() > sequence);
+    }
+
     @Test
     void getSharedMetaData() {
         insertMetaData("databaseType", "bibtex;", dbmsConnection, dbmsProcessor);
         insertMetaData("protectedFlag", "true;", dbmsConnection, dbmsProcessor);
         insertMetaData("saveActions", "enabled;\nauthor[capitalize,html_to_latex]\ntitle[title_case]\n;", dbmsConnection, dbmsProcessor);
         insertMetaData("saveOrderConfig", "specified;author;false;title;false;year;true;", dbmsConnection, dbmsProcessor);
-        insertMetaData("VersionDBStructure", "1", dbmsConnection, dbmsProcessor);
+        insertMetaData("VersionDBStructure", "2", dbmsConnection, dbmsProcessor);
 
         Map<String, String> expectedMetaData = getMetaDataExample();
         Map<String, String> actualMetaData = dbmsProcessor.getSharedMetaData();
@@ -334,7 +390,7 @@ class DBMSProcessorTest {
         expectedMetaData.put("protectedFlag", "true;");
         expectedMetaData.put("saveActions", "enabled;\nauthor[capitalize,html_to_latex]\ntitle[title_case]\n;");
         expectedMetaData.put("saveOrderConfig", "specified;author;false;title;false;year;true;");
-        expectedMetaData.put("VersionDBStructure", "1");
+        expectedMetaData.put("VersionDBStructure", "2");
 
         return expectedMetaData;
     }
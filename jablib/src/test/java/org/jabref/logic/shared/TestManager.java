@@ -21,6 +21,10 @@ public class TestManager {
         dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS jabref.\"FIELD\"");
         dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS jabref.\"ENTRY\"");
         dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS jabref.\"METADATA\"");
+        dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS jabref.\"CHANGE_LOG\"");
+        dbmsConnection.getConnection().createStatement().executeUpdate("DROP SEQUENCE IF EXISTS jabref.\"CHANGE_LOG_SEQUENCE\"");
+        dbmsConnection.getConnection().createStatement().executeUpdate("DROP FUNCTION IF EXISTS jabref.log_entry_change");
+        dbmsConnection.getConnection().createStatement().executeUpdate("DROP FUNCTION IF EXISTS jabref.log_field_change");
         dbmsConnection.getConnection().createStatement().executeUpdate("DROP SCHEMA IF EXISTS jabref");
     }
 }
@@ -0,0 +1,70 @@
+package org.jabref.logic.shared.listener;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.jabref.logic.shared.DBMSProcessor;
+import org.jabref.logic.shared.DBMSSynchronizer;
+
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGNotification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostgresSQLNotificationListenerTest {
+
+    private static final String OTHER_PROCESSOR_ID = "other";
+
+    private final DBMSSynchronizer dbmsSynchronizer = mock(DBMSSynchronizer.class);
+    private final PostgresSQLNotificationListener listener = new PostgresSQLNotificationListener(dbmsSynchronizer, mock(Connection.class));
+
+    @Test
+    void pullsChangedEntriesOfAllNotifications() {
+        listener.handleNotifications(new PGNotification[] {
+                notification(PostgresSQLNotificationListener.createPayload(OTHER_PROCESSOR_ID, List.of(1, 2))),
+                notification(PostgresSQLNotificationListener.createPayload(OTHER_PROCESSOR_ID, List.of(2, 3)))});
+
+        verify(dbmsSynchronizer).pullChangedEntries(Set.of(1, 2, 3));
+        verify(dbmsSynchronizer, never()).pullChanges();
+    }
+
+    @Test
+    void pullsAllChangesIfNotificationHasNoSharedIDs() {
+        listener.handleNotifications(new PGNotification[] {
+                notification(OTHER_PROCESSOR_ID),
+                notification(PostgresSQLNotificationListener.createPayload(OTHER_PROCESSOR_ID, List.of(1)))});
+
+        verify(dbmsSynchronizer).pullChanges();
+        verify(dbmsSynchronizer, never()).pullChangedEntries(any());
+    }
+
+    @Test
+    void ignoresOwnNotifications() {
+        listener.handleNotifications(new PGNotification[] {
+                notification(DBMSProcessor.PROCESSOR_ID),
+                notification(PostgresSQLNotificationListener.createPayload(DBMSProcessor.PROCESSOR_ID, List.of(1)))});
+
+        verify(dbmsSynchronizer, never()).pullChanges();
+        verify(dbmsSynchronizer, never()).pullChangedEntries(any());
+    }
+
+    @Test
+    void payloadWithTooManySharedIDsContainsProcessorIdOnly() {
+        List<Integer> sharedIDs = IntStream.range(0, 10_000).boxed().toList();
+
+        assertEquals(OTHER_PROCESSOR_ID, PostgresSQLNotificationListener.createPayload(OTHER_PROCESSOR_ID, sharedIDs));
+    }
+
+    private static PGNotification notification(String payload) {
+        PGNotification notification = mock(PGNotification.class);
+        when(notification.getParameter()).thenReturn(payload);
+        return notification;
+    }
+}
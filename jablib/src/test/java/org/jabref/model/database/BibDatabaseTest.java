@@ -344,6 +344,52 @@ class BibDatabaseTest {
         assertEquals(1, database.getNumberOfCitationKeyOccurrences("AAA"));
     }
 
+    @Test
+    void correctKeyCountAfterChangingKey() {
+        BibEntry entry = new BibEntry().withCitationKey("AAA");
+        database.insertEntry(entry);
+        entry.setCitationKey("BBB");
+        assertEquals(0, database.getNumberOfCitationKeyOccurrences("AAA"));
+        assertEquals(1, database.getNumberOfCitationKeyOccurrences("BBB"));
+    }
+
+    @Test
+    void correctKeyCountAfterClearingKey() {
+        BibEntry entry = new BibEntry().withCitationKey("AAA");
+        database.insertEntry(entry);
+        entry.clearCiteKey();
+        assertEquals(0, database.getNumberOfCitationKeyOccurrences("AAA"));
+    }
+
+    @Test
+    void changingKeyOfRemovedEntryDoesNotAffectKeyCount() {
+        BibEntry entry = new BibEntry().withCitationKey("AAA");
+        database.insertEntry(entry);
+        database.removeEntry(entry);
+        entry.setCitationKey("BBB");
+        assertEquals(0, database.getNumberOfCitationKeyOccurrences("BBB"));
+    }
+
+    @Test
+    void getEntryByCitationKeyFindsEntryAfterChangingKey() {
+        BibEntry entry = new BibEntry().withCitationKey("AAA");
+        database.insertEntry(entry);
+        entry.setCitationKey("BBB");
+        assertEquals(Optional.empty(), database.getEntryByCitationKey("AAA"));
+        assertEquals(Optional.of(entry), database.getEntryByCitationKey("BBB"));
+    }
+
+    @Test
+    void getEntriesByCitationKeyReturnsEntriesInDatabaseOrder() {
+        BibEntry first = new BibEntry().withCitationKey("AAA").withField(StandardField.TITLE, "first");
+        BibEntry second = new BibEntry().withCitationKey("BBB").withField(StandardField.TITLE, "second");
+        database.insertEntries(first, second);
+        second.setCitationKey("AAA");
+        first.setCitationKey("CCC");
+        first.setCitationKey("AAA");
+        assertEquals(List.of(first, second), database.getEntriesByCitationKey("AAA"));
+    }
+
     @Test
     void circularStringResolving() {
         BibtexString string = new BibtexString("AAA", "#BBB#");
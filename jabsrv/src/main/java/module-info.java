@@ -8,6 +8,8 @@ module org.jabref.jabsrv {
     opens org.jabref.http.server to org.glassfish.hk2.utilities, org.glassfish.hk2.locator;
     exports org.jabref.http.server.cayw;
     opens org.jabref.http.server.cayw to com.google.gson, org.glassfish.hk2.locator, org.glassfish.hk2.utilities;
+    // For the event bus subscriber counting library changes
+    opens org.jabref.http.server.services to com.google.common;
 
     requires javafx.base;
 
@@ -1,9 +1,12 @@
 package org.jabref.http.manager;
 
 import java.net.URI;
+import java.util.Optional;
+import java.util.function.Function;
 
 import javafx.collections.ObservableList;
 
+import org.jabref.logic.search.IndexManager;
 import org.jabref.model.database.BibDatabaseContext;
 
 import org.slf4j.Logger;
@@ -21,13 +24,14 @@ public class HttpServerManager implements AutoCloseable {
 
     private HttpServerThread httpServerThread;
 
-    public synchronized void start(ObservableList<BibDatabaseContext> contextsToServe, URI uri) {
+    /// @param indexManagers the search indexes JabRef keeps for the served libraries
+    public synchronized void start(ObservableList<BibDatabaseContext> contextsToServe, Function<BibDatabaseContext, Optional<IndexManager>> indexManagers, URI uri) {
         if (httpServerThread != null) {
             LOGGER.warn("HTTP server manager already started, cannot start again.");
             return;
         }
 
-        httpServerThread = new HttpServerThread(contextsToServe, uri);
+        httpServerThread = new HttpServerThread(contextsToServe, indexManagers, uri);
         // This enqueues the thread to run in the background
         // The JVM will take care of running it at some point in time in the future
         // Thus, we cannot check directly if it really runs
@@ -1,10 +1,13 @@
 package org.jabref.http.manager;
 
 import java.net.URI;
+import java.util.Optional;
+import java.util.function.Function;
 
 import javafx.collections.ObservableList;
 
 import org.jabref.http.server.Server;
+import org.jabref.logic.search.IndexManager;
 import org.jabref.model.database.BibDatabaseContext;
 
 import jakarta.ws.rs.ProcessingException;
@@ -21,12 +24,14 @@ public class HttpServerThread extends Thread {
 
     private final Server server;
     private final ObservableList<BibDatabaseContext> contextsToServe;
+    private final Function<BibDatabaseContext, Optional<IndexManager>> indexManagers;
     private final URI uri;
 
     private HttpServer httpServer;
 
-    public HttpServerThread(ObservableList<BibDatabaseContext> contextsToServe, URI uri) {
+    public HttpServerThread(ObservableList<BibDatabaseContext> contextsToServe, Function<BibDatabaseContext, Optional<IndexManager>> indexManagers, URI uri) {
         this.contextsToServe = contextsToServe;
+        this.indexManagers = indexManagers;
         this.uri = uri;
         this.server = new Server();
         this.setName("JabSrv - JabRef HTTP Server on " + uri.getHost() + ":" + uri.getPort());
@@ -35,7 +40,7 @@ public class HttpServerThread extends Thread {
     @Override
     public void run() {
         try {
-            httpServer = this.server.run(contextsToServe, uri);
+            httpServer = this.server.run(contextsToServe, indexManagers, uri);
         } catch (ProcessingException e) {
             LOGGER.error("Failed to start HTTP server thread: {}", e);
         }
@@ -1,33 +1,57 @@
 package org.jabref.http.server;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 import org.jabref.http.JabrefMediaType;
 import org.jabref.http.dto.BibEntryDTO;
 import org.jabref.http.server.services.ContextsToServe;
 import org.jabref.http.server.services.FilesToServe;
+import org.jabref.http.server.services.LibraryIndexes;
+import org.jabref.http.server.services.LibraryVersions;
 import org.jabref.http.server.services.ServerUtils;
 import org.jabref.logic.citationstyle.JabRefItemDataProvider;
 import org.jabref.logic.preferences.CliPreferences;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.SharedBibEntryData;
+import org.jabref.model.search.SearchFlags;
+import org.jabref.model.search.query.SearchQuery;
 
 import com.airhacks.afterburner.injection.Injector;
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.InternalServerErrorException;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.UriInfo;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +60,11 @@ import org.slf4j.LoggerFactory;
 public class LibraryResource {
     private static final Logger LOGGER = LoggerFactory.getLogger(LibraryResource.class);
 
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+    // The cursor is the id of the last entry of the previous page
+    private static final Pattern CURSOR_PATTERN = Pattern.compile("\\d+");
+
     @Inject
     CliPreferences preferences;
 
@@ -48,31 +77,175 @@ public class LibraryResource {
     @Inject
     Gson gson;
 
+    @Inject
+    LibraryIndexes libraryIndexes;
+
+    @Inject
+    LibraryVersions libraryVersions;
+
+    /// Streams the entries of the library as JSON array.
+    ///
+    /// The entries can be fetched page by page using `limit`.
+    /// The total number of entries is returned in the `X-Total-Count` header, and the URI of the next page (if any) in the `Link` header with relation `next`.
+    /// The next page is addressed by a cursor pointing after the last entry of the page, so that no entry is skipped or returned twice if entries are added or removed in between.
+    ///
+    /// @param offset the index of the first entry to return, must not be combined with `cursor`
+    /// @param cursor the cursor as contained in the `next` link
+    /// @param limit the maximum number of entries to return, all remaining entries if not given
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getJson(@PathParam("id") String id,
+                            @QueryParam("offset") @DefaultValue("0") int offset,
+                            @QueryParam("cursor") @Nullable String cursor,
+                            @QueryParam("limit") @Nullable Integer limit,
+                            @Context UriInfo uriInfo,
+                            @Context Request request) throws IOException {
+        checkPage(offset, cursor, limit);
+
+        EntityTag entityTag = new EntityTag(libraryVersions.getDatabaseContextVersion(id, filesToServe, contextsToServe) + "-json");
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+
+        BibDatabaseContext databaseContext = getDatabaseContext(id);
+        return getPageAsJson(databaseContext, databaseContext.getDatabase().getEntries(), offset, cursor, limit, uriInfo)
+                .tag(entityTag)
+                .build();
+    }
+
+    /// Searches the library using JabRef's search syntax and streams the matching entries in the order of the library as JSON array.
+    ///
+    /// For libraries not opened in JabRef, the index is kept by the server, so that only the first search of a library builds the index (see {@link LibraryIndexes}).
+    /// The matches are paginated as in {@link #getJson(String, int, String, Integer, UriInfo, Request)}. The duration of the search is returned in the `Server-Timing` header.
+    ///
+    /// @param query the search expression
+    /// @param fulltext whether the linked files are searched, too
     @GET
+    @Path("search")
     @Produces(MediaType.APPLICATION_JSON)
-    public String getJson(@PathParam("id") String id) throws IOException {
+    public Response search(@PathParam("id") String id,
+                           @QueryParam("q") @Nullable String query,
+                           @QueryParam("fulltext") @DefaultValue("false") boolean fulltext,
+                           @QueryParam("offset") @DefaultValue("0") int offset,
+                           @QueryParam("cursor") @Nullable String cursor,
+                           @QueryParam("limit") @Nullable Integer limit,
+                           @Context UriInfo uriInfo) throws IOException {
+        checkPage(offset, cursor, limit);
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Query parameter q is required");
+        }
+        SearchQuery searchQuery = new SearchQuery(query, fulltext ? EnumSet.of(SearchFlags.FULLTEXT) : EnumSet.noneOf(SearchFlags.class));
+        if (!searchQuery.isValid()) {
+            throw new BadRequestException("Invalid search expression " + query);
+        }
+
         BibDatabaseContext databaseContext = getDatabaseContext(id);
+
+        long start = System.nanoTime();
+        Set<String> matchedEntryIds = libraryIndexes.search(id, databaseContext, searchQuery, preferences, filesToServe, contextsToServe).getMatchedEntries();
+        List<BibEntry> matches = databaseContext.getDatabase().getEntries().stream()
+                                                .filter(entry -> matchedEntryIds.contains(entry.getId()))
+                                                .toList();
+        Duration searchTime = Duration.ofNanos(System.nanoTime() - start);
+
+        return getPageAsJson(databaseContext, matches, offset, cursor, limit, uriInfo)
+                .header(SERVER_TIMING_HEADER, "search;dur=" + searchTime.toMillis())
+                .build();
+    }
+
+    private static void checkPage(int offset, @Nullable String cursor, @Nullable Integer limit) {
+        if (offset < 0) {
+            throw new BadRequestException("offset must not be negative");
+        }
+        if (cursor != null && offset != 0) {
+            throw new BadRequestException("offset and cursor must not be combined");
+        }
+        if (cursor != null && !CURSOR_PATTERN.matcher(cursor).matches()) {
+            throw new BadRequestException("Invalid cursor " + cursor);
+        }
+        if (limit != null && limit < 0) {
+            throw new BadRequestException("limit must not be negative");
+        }
+    }
+
+    /// @return a response streaming the requested page of the given entries as JSON array, with the total number of entries and the link to the next page
+    private Response.ResponseBuilder getPageAsJson(BibDatabaseContext databaseContext, List<BibEntry> entries, int offset, @Nullable String cursor, @Nullable Integer limit, UriInfo uriInfo) {
         BibEntryTypesManager entryTypesManager = Injector.instantiateModelOrService(BibEntryTypesManager.class);
-        List<BibEntryDTO> list = databaseContext.getDatabase().getEntries().stream()
-                                             .peek(bibEntry -> bibEntry.getSharedBibEntryData().setSharedID(Objects.hash(bibEntry)))
-                                             .map(entry -> new BibEntryDTO(entry, databaseContext.getMode(), preferences.getFieldPreferences(), entryTypesManager))
-                                             .toList();
-        return gson.toJson(list);
+        int from = cursor == null ? Math.min(offset, entries.size()) : getPositionAfter(entries, cursor);
+        int to = limit == null ? entries.size() : (int) Math.min((long) from + limit, entries.size());
+        List<BibEntry> page = entries.subList(from, to);
+
+        StreamingOutput stream = output -> {
+            // The entries are written one by one so that large libraries are not held twice in memory as DTOs and as String
+            JsonWriter writer = gson.newJsonWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)));
+            writer.beginArray();
+            for (BibEntry entry : page) {
+                // The entries may be shared with JabRef, thus the id is set in a copy of the sharing metadata only
+                SharedBibEntryData sharingMetadata = new SharedBibEntryData();
+                sharingMetadata.setSharedID(Objects.hash(entry));
+                sharingMetadata.setVersion(entry.getSharedBibEntryData().getVersion());
+                gson.toJson(new BibEntryDTO(entry, sharingMetadata, databaseContext.getMode(), preferences.getFieldPreferences(), entryTypesManager), BibEntryDTO.class, writer);
+            }
+            writer.endArray();
+            writer.flush();
+        };
+
+        Response.ResponseBuilder response = Response.ok(stream)
+                                                    .header(TOTAL_COUNT_HEADER, entries.size());
+        if (!page.isEmpty() && to < entries.size()) {
+            response.link(uriInfo.getRequestUriBuilder()
+                                 .replaceQueryParam("offset")
+                                 .replaceQueryParam("cursor", page.getLast().getId())
+                                 .build(), "next");
+        }
+        return response;
+    }
+
+    /// Returns the position of the first entry after the entry with the given id.
+    /// The entries of a library are ordered by their ids (see {@link BibDatabase#indexOf(BibEntry)}), thus the position is found even if the entry has been removed meanwhile.
+    private static int getPositionAfter(List<BibEntry> entries, String id) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (entries.get(middle).getId().compareTo(id) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
     }
 
     @GET
     @Produces(JabrefMediaType.JSON_CSL_ITEM)
-    public String getClsItemJson(@PathParam("id") String id) throws IOException {
+    public Response getClsItemJson(@PathParam("id") String id, @Context Request request) throws IOException {
+        EntityTag entityTag = new EntityTag(libraryVersions.getDatabaseContextVersion(id, filesToServe, contextsToServe) + "-csl");
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+
         BibDatabaseContext databaseContext = getDatabaseContext(id);
         JabRefItemDataProvider jabRefItemDataProvider = new JabRefItemDataProvider();
         jabRefItemDataProvider.setData(databaseContext, new BibEntryTypesManager());
-        return jabRefItemDataProvider.toJson();
+        return Response.ok(jabRefItemDataProvider.toJson())
+                       .tag(entityTag)
+                       .build();
     }
 
+    /// Returns the library file as it is stored on disk. If the client sends the entity tag of the current file content in `If-None-Match`, only "304 Not Modified" is returned.
     @GET
     @Produces(JabrefMediaType.BIBTEX)
-    public Response getBibtex(@PathParam("id") String id) {
+    public Response getBibtex(@PathParam("id") String id, @Context Request request) throws IOException {
         if ("demo".equals(id)) {
+            EntityTag entityTag = new EntityTag(libraryVersions.getDemoVersion() + "-bibtex");
+            Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+            if (notModified != null) {
+                return notModified.build();
+            }
+
             StreamingOutput stream = output -> {
                 try (InputStream in = getChocolateBibAsStream()) {
                     in.transferTo(output);
@@ -80,22 +253,39 @@ public class LibraryResource {
             };
 
             return Response.ok(stream)
+                           .tag(entityTag)
                            // org.glassfish.jersey.media would be required for a "nice" Java to create ContentDisposition; we avoid this
                            .header("Content-Disposition", "attachment; filename=\"Chocolate.bib\"")
                            .build();
         }
 
         java.nio.file.Path library = ServerUtils.getLibraryPath(id, filesToServe, contextsToServe);
-        String libraryAsString;
+        EntityTag entityTag;
         try {
-            libraryAsString = Files.readString(library);
+            entityTag = new EntityTag(libraryVersions.getFileVersion(library) + "-bibtex");
         } catch (IOException e) {
             LOGGER.error("Could not read library {}", library, e);
             throw new InternalServerErrorException("Could not read library " + library, e);
         }
-        return Response.ok()
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+
+        // The file is transferred channel to channel instead of being read into memory
+        StreamingOutput stream = output -> {
+            try (FileChannel channel = FileChannel.open(library, StandardOpenOption.READ)) {
+                WritableByteChannel target = Channels.newChannel(output);
+                long size = channel.size();
+                long position = 0;
+                while (position < size) {
+                    position += channel.transferTo(position, size - position, target);
+                }
+            }
+        };
+        return Response.ok(stream)
+                .tag(entityTag)
                 .header("Content-Disposition", "attachment; filename=\"" + library.getFileName() + "\"")
-                .entity(libraryAsString)
                 .build();
     }
 
@@ -4,6 +4,8 @@ import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 import javax.net.ssl.SSLContext;
 
@@ -15,7 +17,10 @@ import org.jabref.http.server.cayw.CAYWResource;
 import org.jabref.http.server.cayw.format.FormatterService;
 import org.jabref.http.server.services.ContextsToServe;
 import org.jabref.http.server.services.FilesToServe;
+import org.jabref.http.server.services.LibraryIndexes;
+import org.jabref.http.server.services.LibraryVersions;
 import org.jabref.logic.os.OS;
+import org.jabref.logic.search.IndexManager;
 import org.jabref.model.database.BibDatabaseContext;
 
 import net.harawata.appdirs.AppDirsFactory;
@@ -64,6 +69,7 @@ public class Server {
             try {
                 LOGGER.debug("Shutting down jabsrv...");
                 httpServer.shutdownNow();
+                serviceLocator.getService(LibraryIndexes.class).close();
                 LOGGER.debug("Done, exit.");
             } catch (Exception e) {
                 LOGGER.error("Could not shut down server", e);
@@ -74,11 +80,14 @@ public class Server {
     }
 
     ///  Entry point for the GUI
-    public HttpServer run(ObservableList<BibDatabaseContext> files, URI uri) {
+    ///
+    /// @param indexManagers the search indexes JabRef keeps for the open libraries, which are reused for searches
+    public HttpServer run(ObservableList<BibDatabaseContext> files, Function<BibDatabaseContext, Optional<IndexManager>> indexManagers, URI uri) {
         FilesToServe filesToServe = new FilesToServe();
 
         ContextsToServe contextsToServe = new ContextsToServe();
         contextsToServe.setContextsToServe(files);
+        contextsToServe.setIndexManagers(indexManagers);
 
         ServiceLocator serviceLocator = ServiceLocatorUtilities.createAndPopulateServiceLocator();
         ServiceLocatorUtilities.addOneConstant(serviceLocator, filesToServe);
@@ -90,6 +99,8 @@ public class Server {
     private HttpServer startServer(ServiceLocator serviceLocator, URI uri) {
         ServiceLocatorUtilities.addFactoryConstants(serviceLocator, new GsonFactory());
         ServiceLocatorUtilities.addOneConstant(serviceLocator, new FormatterService());
+        ServiceLocatorUtilities.addOneConstant(serviceLocator, new LibraryIndexes());
+        ServiceLocatorUtilities.addOneConstant(serviceLocator, new LibraryVersions());
         ServiceLocatorUtilities.addFactoryConstants(serviceLocator, new PreferencesFactory());
 
         // see https://stackoverflow.com/a/33794265/873282
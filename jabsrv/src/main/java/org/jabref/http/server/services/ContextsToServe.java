@@ -1,7 +1,11 @@
 package org.jabref.http.server.services;
 
+import java.util.Optional;
+import java.util.function.Function;
+
 import javafx.collections.ObservableList;
 
+import org.jabref.logic.search.IndexManager;
 import org.jabref.model.database.BibDatabaseContext;
 
 import jakarta.inject.Singleton;
@@ -9,6 +13,7 @@ import jakarta.inject.Singleton;
 @Singleton
 public class ContextsToServe {
     private ObservableList<BibDatabaseContext> contextsToServe;
+    private Function<BibDatabaseContext, Optional<IndexManager>> indexManagers = _ -> Optional.empty();
 
     public void setContextsToServe(ObservableList<BibDatabaseContext> contextsToServe) {
         this.contextsToServe = contextsToServe;
@@ -18,6 +23,16 @@ public class ContextsToServe {
         return contextsToServe;
     }
 
+    /// Sets the lookup of the search indexes JabRef keeps for its open libraries
+    public void setIndexManagers(Function<BibDatabaseContext, Optional<IndexManager>> indexManagers) {
+        this.indexManagers = indexManagers;
+    }
+
+    /// @return the search index JabRef keeps for the given library, if any
+    public Optional<IndexManager> getIndexManager(BibDatabaseContext databaseContext) {
+        return indexManagers.apply(databaseContext);
+    }
+
     /// contextsToServe.isEmpty() could be true when no libraries are opened in JabRef
     /// Check filesToServe.isEmpty() to determine whether called from the CLI or GUI
     public boolean isEmpty() {
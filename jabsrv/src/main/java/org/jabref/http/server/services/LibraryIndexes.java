@@ -0,0 +1,172 @@
+package org.jabref.http.server.services;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jabref.logic.preferences.CliPreferences;
+import org.jabref.logic.search.IndexManager;
+import org.jabref.logic.util.BackgroundTask;
+import org.jabref.logic.util.CurrentThreadTaskExecutor;
+import org.jabref.logic.util.DelayTaskThrottler;
+import org.jabref.logic.util.TaskExecutor;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.search.SearchFlags;
+import org.jabref.model.search.query.SearchQuery;
+import org.jabref.model.search.query.SearchResults;
+
+import com.google.common.eventbus.Subscribe;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/// Provides the search index of each served library.
+///
+/// For the libraries opened in JabRef, the index JabRef keeps for the library is used.
+/// For the other libraries, the server builds an index on the first search of the library. It is built on a background thread of the library
+/// and kept up to date with the changes of the library. Searches wait until the changes before them are indexed.
+/// The linked files are only indexed once a full-text search of the library is requested.
+/// If the library file has been parsed again or the library has been closed in JabRef, the index is closed.
+@Singleton
+public class LibraryIndexes {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LibraryIndexes.class);
+
+    // By the id of the library
+    private final Map<String, LibraryIndex> indexes = new ConcurrentHashMap<>();
+
+    private record LibraryIndex(BibDatabaseContext databaseContext, IndexManager indexManager, SequentialTaskExecutor taskExecutor, IndexUpdateListener indexUpdateListener, boolean searchesLinkedFiles) {
+    }
+
+    /// Searches the given library. If the library is not open in JabRef and has not been searched before, its index is built.
+    public SearchResults search(String id, BibDatabaseContext databaseContext, SearchQuery query, CliPreferences preferences, FilesToServe filesToServe, ContextsToServe contextsToServe) throws IOException {
+        Optional<IndexManager> indexManagerOfJabRef = contextsToServe.getIndexManager(databaseContext);
+        if (indexManagerOfJabRef.isPresent()) {
+            return indexManagerOfJabRef.get().search(query);
+        }
+
+        if (filesToServe.isEmpty() && !contextsToServe.isEmpty()) {
+            removeClosedLibraries(contextsToServe);
+        }
+
+        boolean fulltext = query.getSearchFlags().contains(SearchFlags.FULLTEXT);
+        LibraryIndex libraryIndex = indexes.compute(id, (_, index) -> {
+            // The identity is compared, because the equality of database contexts depends on their content
+            if ((index != null) && (index.databaseContext() == databaseContext) && (index.searchesLinkedFiles() || !fulltext)) {
+                return index;
+            }
+            if (index != null) {
+                close(index);
+            }
+
+            LOGGER.debug("Building search index of library {}", id);
+            SequentialTaskExecutor taskExecutor = new SequentialTaskExecutor(id);
+            IndexManager indexManager = new IndexManager(databaseContext, taskExecutor, preferences, null, fulltext);
+            IndexUpdateListener indexUpdateListener = new IndexUpdateListener(indexManager);
+            databaseContext.getDatabase().registerListener(indexUpdateListener);
+            return new LibraryIndex(databaseContext, indexManager, taskExecutor, indexUpdateListener, fulltext);
+        });
+
+        try {
+            // Queued after the pending index updates of the library
+            return libraryIndex.taskExecutor().execute(BackgroundTask.wrap(() -> libraryIndex.indexManager().search(query))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Search of library " + id + " was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Could not search library " + id, e.getCause());
+        }
+    }
+
+    private void removeClosedLibraries(ContextsToServe contextsToServe) {
+        indexes.values().removeIf(index -> {
+            boolean isClosed = contextsToServe.getContextsToServe().stream().noneMatch(context -> context == index.databaseContext());
+            if (isClosed) {
+                close(index);
+            }
+            return isClosed;
+        });
+    }
+
+    private static void close(LibraryIndex index) {
+        index.databaseContext().getDatabase().unregisterListener(index.indexUpdateListener());
+        // Closed after the pending index updates
+        index.taskExecutor().execute(BackgroundTask.wrap(() -> index.indexManager().close()));
+        index.taskExecutor().shutdown();
+    }
+
+    public void close() {
+        indexes.values().forEach(LibraryIndexes::close);
+        indexes.clear();
+    }
+
+    private static class IndexUpdateListener {
+        private final IndexManager indexManager;
+
+        IndexUpdateListener(IndexManager indexManager) {
+            this.indexManager = indexManager;
+        }
+
+        @Subscribe
+        public void listen(EntriesAddedEvent addedEntryEvent) {
+            indexManager.addToIndex(addedEntryEvent.getBibEntries());
+        }
+
+        @Subscribe
+        public void listen(EntriesRemovedEvent removedEntriesEvent) {
+            indexManager.removeFromIndex(removedEntriesEvent.getBibEntries());
+        }
+
+        @Subscribe
+        public void listen(FieldChangedEvent fieldChangedEvent) {
+            indexManager.updateEntry(fieldChangedEvent);
+        }
+    }
+
+    /// Runs the tasks of one library one after another on a background thread, so that the index is updated in the order of the changes
+    private static class SequentialTaskExecutor implements TaskExecutor {
+        private final ExecutorService executor;
+        private final CurrentThreadTaskExecutor currentThreadTaskExecutor = new CurrentThreadTaskExecutor();
+
+        SequentialTaskExecutor(String id) {
+            this.executor = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("jabsrv-index-" + id).factory());
+        }
+
+        @Override
+        public <V> Future<V> execute(BackgroundTask<V> task) {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return currentThreadTaskExecutor.execute(task).get();
+                } catch (InterruptedException | ExecutionException e) {
+                    throw new CompletionException(e.getCause() == null ? e : e.getCause());
+                }
+            }, executor);
+        }
+
+        @Override
+        public <V> Future<?> schedule(BackgroundTask<V> task, long delay, TimeUnit unit) {
+            return execute(task);
+        }
+
+        @Override
+        public void shutdown() {
+            currentThreadTaskExecutor.shutdown();
+            executor.shutdown();
+        }
+
+        @Override
+        public DelayTaskThrottler createThrottler(int delay) {
+            return currentThreadTaskExecutor.createThrottler(delay);
+        }
+    }
+}
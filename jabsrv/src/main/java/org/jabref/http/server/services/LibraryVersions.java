@@ -0,0 +1,141 @@
+package org.jabref.http.server.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.jabref.logic.util.io.BackupFileUtil;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.database.event.BibDatabaseContextChangedEvent;
+
+import com.google.common.eventbus.Subscribe;
+import com.google.common.hash.Hashing;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.NotFoundException;
+import org.jspecify.annotations.Nullable;
+
+/// Determines the version of served libraries. The versions are used as entity tags, so that clients can avoid downloading an unchanged library again.
+///
+/// - The version of a library file is the SHA-256 hash of its content. The hash is computed again only if the size or the modification time of the file changed.
+/// - The version of a library opened in JabRef consists of the id of the library and the number of changes since the library has been served first.
+@Singleton
+public class LibraryVersions {
+
+    private final Map<Path, FileHash> fileHashes = new ConcurrentHashMap<>();
+
+    // By the uid of the database context, because the hash code of a database context changes with its content
+    private final Map<String, ChangeCounter> changeCounters = new ConcurrentHashMap<>();
+
+    private @Nullable String demoLibraryHash;
+
+    private record FileHash(FileTime modifiedTime, long size, String hash) {
+    }
+
+    /// @return the SHA-256 hash of the content of the given library file
+    public String getFileVersion(Path library) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(library, BasicFileAttributes.class);
+        try {
+            return fileHashes.compute(library, (_, fileHash) -> {
+                if ((fileHash != null)
+                        && fileHash.modifiedTime().equals(attributes.lastModifiedTime())
+                        && (fileHash.size() == attributes.size())) {
+                    return fileHash;
+                }
+                try {
+                    String hash = com.google.common.io.Files.asByteSource(library.toFile()).hash(Hashing.sha256()).toString();
+                    return new FileHash(attributes.lastModifiedTime(), attributes.size(), hash);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).hash();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /// @return the SHA-256 hash of the content of Chocolate.bib
+    public synchronized String getDemoVersion() throws IOException {
+        if (demoLibraryHash == null) {
+            try (InputStream chocolateBibInputStream = BibDatabase.class.getResourceAsStream("/Chocolate.bib")) {
+                demoLibraryHash = Hashing.sha256().hashBytes(chocolateBibInputStream.readAllBytes()).toString();
+            }
+        }
+        return demoLibraryHash;
+    }
+
+    /// Returns the version of the content of the library with the given id as returned by {@link ServerUtils#getBibDatabaseContext(String, FilesToServe, ContextsToServe, org.jabref.logic.importer.ImportFormatPreferences)}
+    ///
+    /// @param id - also "demo" for the demo library
+    /// @throws NotFoundException if no library with the given id is found in either filesToServe or contextsToServe
+    public String getDatabaseContextVersion(String id, FilesToServe filesToServe, ContextsToServe contextsToServe) throws IOException {
+        if ("demo".equals(id)) {
+            return getDemoVersion();
+        }
+
+        if (!filesToServe.isEmpty()) {
+            // The served database context is parsed from the file
+            return getFileVersion(ServerUtils.getLibraryPath(id, filesToServe, contextsToServe));
+        }
+
+        BibDatabaseContext databaseContext = contextsToServe.getContextsToServe().stream()
+                                                            .filter(context -> context.getDatabasePath().isPresent())
+                                                            .filter(context -> {
+                                                                Path p = context.getDatabasePath().get();
+                                                                return (p.getFileName() + "-" + BackupFileUtil.getUniqueFilePrefix(p)).equals(id);
+                                                            })
+                                                            .findFirst()
+                                                            .orElseThrow(() -> new NotFoundException("No library with id " + id + " found"));
+        removeClosedLibraries(contextsToServe);
+        ChangeCounter changeCounter = changeCounters.computeIfAbsent(databaseContext.getUid(), _ -> new ChangeCounter(databaseContext));
+        return databaseContext.getUid() + "-" + changeCounter.getNumberOfChanges();
+    }
+
+    private void removeClosedLibraries(ContextsToServe contextsToServe) {
+        Set<String> openLibraries = contextsToServe.getContextsToServe().stream()
+                                                   .map(BibDatabaseContext::getUid)
+                                                   .collect(Collectors.toSet());
+        changeCounters.entrySet().removeIf(entry -> {
+            boolean isClosed = !openLibraries.contains(entry.getKey());
+            if (isClosed) {
+                entry.getValue().close();
+            }
+            return isClosed;
+        });
+    }
+
+    /// Counts the changes of the entries and the metadata of a library
+    private static class ChangeCounter {
+        private final BibDatabaseContext databaseContext;
+        private final AtomicLong numberOfChanges = new AtomicLong();
+
+        ChangeCounter(BibDatabaseContext databaseContext) {
+            this.databaseContext = databaseContext;
+            databaseContext.getDatabase().registerListener(this);
+            databaseContext.getMetaData().registerListener(this);
+        }
+
+        @Subscribe
+        public void listen(BibDatabaseContextChangedEvent event) {
+            numberOfChanges.incrementAndGet();
+        }
+
+        long getNumberOfChanges() {
+            return numberOfChanges.get();
+        }
+
+        void close() {
+            databaseContext.getDatabase().unregisterListener(this);
+            databaseContext.getMetaData().unregisterListener(this);
+        }
+    }
+}
@@ -4,8 +4,14 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jabref.logic.importer.ImportFormatPreferences;
 import org.jabref.logic.importer.fileformat.BibtexImporter;
@@ -17,12 +23,20 @@ import org.jabref.model.util.DummyFileUpdateMonitor;
 import jakarta.ws.rs.InternalServerErrorException;
 import jakarta.ws.rs.NotFoundException;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class ServerUtils {
     private static final Logger LOGGER = LoggerFactory.getLogger(ServerUtils.class);
 
+    private static final Map<Path, ParsedLibrary> PARSED_LIBRARIES = new ConcurrentHashMap<>();
+
+    private static @Nullable BibDatabaseContext demoDatabaseContext;
+
+    private record ParsedLibrary(FileTime modifiedTime, long size, BibDatabaseContext databaseContext) {
+    }
+
     private static java.nio.file.Path getLibraryPath(String id, FilesToServe filesToServe) {
         return filesToServe.getFilesToServe()
                           .stream()
@@ -53,12 +67,8 @@ public class ServerUtils {
     /// @param id - also "demo" for the demo library
     /// @throws NotFoundException if no file with the given id is found in either filesToServe or contextsToServe
     public static @NonNull BibDatabaseContext getBibDatabaseContext(String id, FilesToServe filesToServe, ContextsToServe contextsToServe, ImportFormatPreferences importFormatPreferences) throws IOException {
-        BibtexImporter bibtexImporter = new BibtexImporter(importFormatPreferences, new DummyFileUpdateMonitor());
         if ("demo".equals(id)) {
-            try (InputStream chocolateBibInputStream = BibDatabase.class.getResourceAsStream("/Chocolate.bib")) {
-                BufferedReader reader = new BufferedReader(new InputStreamReader(chocolateBibInputStream, StandardCharsets.UTF_8));
-                return bibtexImporter.importDatabase(reader).getDatabaseContext();
-            }
+            return getDemoDatabaseContext(importFormatPreferences);
         }
 
         if (filesToServe.isEmpty()) {
@@ -74,10 +84,46 @@ public class ServerUtils {
 
         Path library = getLibraryPath(id, filesToServe);
         try {
-            return bibtexImporter.importDatabase(library).getDatabaseContext();
+            return getParsedLibrary(library, importFormatPreferences);
         } catch (IOException e) {
             LOGGER.warn("Could not find open library file {}", library, e);
             throw new InternalServerErrorException("Could not parse library", e);
         }
     }
+
+    /// The demo library is part of JabRef and thus parsed only once
+    private static synchronized BibDatabaseContext getDemoDatabaseContext(ImportFormatPreferences importFormatPreferences) throws IOException {
+        if (demoDatabaseContext == null) {
+            BibtexImporter bibtexImporter = new BibtexImporter(importFormatPreferences, new DummyFileUpdateMonitor());
+            try (InputStream chocolateBibInputStream = BibDatabase.class.getResourceAsStream("/Chocolate.bib")) {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(chocolateBibInputStream, StandardCharsets.UTF_8));
+                demoDatabaseContext = bibtexImporter.importDatabase(reader).getDatabaseContext();
+            }
+        }
+        return demoDatabaseContext;
+    }
+
+    /// Returns the parsed library. The library is parsed again only if the size or the modification time of its file changed since it was parsed last.
+    /// Thus, clients polling a large library do not cause the library to be parsed on every request.
+    private static BibDatabaseContext getParsedLibrary(Path library, ImportFormatPreferences importFormatPreferences) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(library, BasicFileAttributes.class);
+        try {
+            return PARSED_LIBRARIES.compute(library, (_, parsedLibrary) -> {
+                if ((parsedLibrary != null)
+                        && parsedLibrary.modifiedTime().equals(attributes.lastModifiedTime())
+                        && (parsedLibrary.size() == attributes.size())) {
+                    return parsedLibrary;
+                }
+                LOGGER.debug("Parsing library {}", library);
+                try {
+                    BibtexImporter bibtexImporter = new BibtexImporter(importFormatPreferences, new DummyFileUpdateMonitor());
+                    return new ParsedLibrary(attributes.lastModifiedTime(), attributes.size(), bibtexImporter.importDatabase(library).getDatabaseContext());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).databaseContext();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
 }
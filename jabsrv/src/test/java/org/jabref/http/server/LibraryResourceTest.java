@@ -3,10 +3,17 @@ package org.jabref.http.server;
 import org.jabref.http.JabrefMediaType;
 
 import jakarta.ws.rs.core.Application;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class LibraryResourceTest extends ServerTest {
 
@@ -17,6 +24,8 @@ class LibraryResourceTest extends ServerTest {
         addContextsToServeToResourceConfig(resourceConfig);
         addPreferencesToResourceConfig(resourceConfig);
         addGsonToResourceConfig(resourceConfig);
+        addLibraryIndexesToResourceConfig(resourceConfig);
+        addLibraryVersionsToResourceConfig(resourceConfig);
         return resourceConfig.getApplication();
     }
 
@@ -38,4 +47,129 @@ class LibraryResourceTest extends ServerTest {
         assertEquals("""
                 [{"id":"Author2023test","type":"article","author":[{"family":"Author","given":"Demo"}],"event-date":{"date-parts":[[2023]]},"issued":{"date-parts":[[2023]]},"title":"Demo Title"}]""", target("/libraries/" + TestBibFile.GENERAL_SERVER_TEST.id).request(JabrefMediaType.JSON_CSL_ITEM).get(String.class));
     }
+
+    @Test
+    void getEntriesAsJson() {
+        Response response = target("/libraries/" + TestBibFile.GENERAL_SERVER_TEST.id).request(MediaType.APPLICATION_JSON).get();
+
+        assertEquals(200, response.getStatus());
+        assertEquals("1", response.getHeaderString("X-Total-Count"));
+        assertNull(response.getLink("next"));
+        assertTrue(response.readEntity(String.class).contains("Author2023test"));
+    }
+
+    @Test
+    void getFirstPageOfEntriesAsJson() {
+        Response response = target("/libraries/" + TestBibFile.GENERAL_SERVER_TEST.id).queryParam("limit", 1).request(MediaType.APPLICATION_JSON).get();
+
+        assertTrue(response.readEntity(String.class).contains("Author2023test"));
+        assertEquals("1", response.getHeaderString("X-Total-Count"));
+        assertNull(response.getLink("next"));
+    }
+
+    @Test
+    void getEntriesAsJsonAfterLastEntry() {
+        Response response = target("/libraries/" + TestBibFile.GENERAL_SERVER_TEST.id).queryParam("offset", 1).request(MediaType.APPLICATION_JSON).get();
+
+        assertEquals("[]", response.readEntity(String.class));
+        assertNull(response.getLink("next"));
+    }
+
+    @Test
+    void negativeOffsetIsRejected() {
+        Response response = target("/libraries/" + TestBibFile.GENERAL_SERVER_TEST.id).queryParam("offset", -1).request(MediaType.APPLICATION_JSON).get();
+
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    void getEntriesAsJsonAfterCursor() {
+        Response response = target("/libraries/" + TestBibFile.GENERAL_SERVER_TEST.id).queryParam("cursor", "0").request(MediaType.APPLICATION_JSON).get();
+
+        assertTrue(response.readEntity(String.class).contains("Author2023test"));
+        assertNull(response.getLink("next"));
+    }
+
+    @Test
+    void getEntriesAsJsonAfterCursorOfLastEntry() {
+        Response response = target("/libraries/" + TestBibFile.GENERAL_SERVER_TEST.id).queryParam("cursor", "99999999").request(MediaType.APPLICATION_JSON).get();
+
+        assertEquals("[]", response.readEntity(String.class));
+    }
+
+    @Test
+    void offsetAndCursorAreRejected() {
+        Response response = target("/libraries/" + TestBibFile.GENERAL_SERVER_TEST.id).queryParam("offset", 1).queryParam("cursor", "0").request(MediaType.APPLICATION_JSON).get();
+
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    void unchangedBibtexIsNotSentAgain() {
+        Response response = target("/libraries/" + TestBibFile.GENERAL_SERVER_TEST.id).request(JabrefMediaType.BIBTEX).get();
+        EntityTag entityTag = response.getEntityTag();
+
+        Response secondResponse = target("/libraries/" + TestBibFile.GENERAL_SERVER_TEST.id).request(JabrefMediaType.BIBTEX).header(HttpHeaders.IF_NONE_MATCH, entityTag).get();
+
+        assertEquals(304, secondResponse.getStatus());
+        assertEquals(entityTag, secondResponse.getEntityTag());
+    }
+
+    @Test
+    void bibtexIsSentIfEntityTagDoesNotMatch() {
+        Response response = target("/libraries/" + TestBibFile.GENERAL_SERVER_TEST.id).request(JabrefMediaType.BIBTEX).header(HttpHeaders.IF_NONE_MATCH, new EntityTag("outdated")).get();
+
+        assertEquals(200, response.getStatus());
+        assertTrue(response.readEntity(String.class).contains("Author2023test"));
+    }
+
+    @Test
+    void unchangedClsItemJsonIsNotSentAgain() {
+        Response response = target("/libraries/" + TestBibFile.GENERAL_SERVER_TEST.id).request(JabrefMediaType.JSON_CSL_ITEM).get();
+        EntityTag entityTag = response.getEntityTag();
+
+        Response secondResponse = target("/libraries/" + TestBibFile.GENERAL_SERVER_TEST.id).request(JabrefMediaType.JSON_CSL_ITEM).header(HttpHeaders.IF_NONE_MATCH, entityTag).get();
+
+        assertEquals(304, secondResponse.getStatus());
+    }
+
+    @Test
+    void representationsHaveDifferentEntityTags() {
+        EntityTag bibtexTag = target("/libraries/" + TestBibFile.GENERAL_SERVER_TEST.id).request(JabrefMediaType.BIBTEX).get().getEntityTag();
+        EntityTag cslTag = target("/libraries/" + TestBibFile.GENERAL_SERVER_TEST.id).request(JabrefMediaType.JSON_CSL_ITEM).get().getEntityTag();
+
+        assertNotEquals(bibtexTag, cslTag);
+    }
+
+    @Test
+    void search() {
+        Response response = target("/libraries/" + TestBibFile.GENERAL_SERVER_TEST.id + "/search").queryParam("q", "author=Demo").request(MediaType.APPLICATION_JSON).get();
+
+        assertEquals(200, response.getStatus());
+        assertEquals("1", response.getHeaderString("X-Total-Count"));
+        assertTrue(response.getHeaderString("Server-Timing").startsWith("search;dur="));
+        assertTrue(response.readEntity(String.class).contains("Author2023test"));
+    }
+
+    @Test
+    void searchWithoutMatches() {
+        Response response = target("/libraries/" + TestBibFile.GENERAL_SERVER_TEST.id + "/search").queryParam("q", "author=Nobody").request(MediaType.APPLICATION_JSON).get();
+
+        assertEquals("0", response.getHeaderString("X-Total-Count"));
+        assertEquals("[]", response.readEntity(String.class));
+    }
+
+    @Test
+    void searchWithoutQueryIsRejected() {
+        Response response = target("/libraries/" + TestBibFile.GENERAL_SERVER_TEST.id + "/search").request(MediaType.APPLICATION_JSON).get();
+
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    void searchWithInvalidQueryIsRejected() {
+        Response response = target("/libraries/" + TestBibFile.GENERAL_SERVER_TEST.id + "/search").queryParam("q", "author=(").request(MediaType.APPLICATION_JSON).get();
+
+        assertEquals(400, response.getStatus());
+    }
 }
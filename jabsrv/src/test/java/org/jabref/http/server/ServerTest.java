@@ -3,10 +3,15 @@ package org.jabref.http.server;
 import java.util.EnumSet;
 import java.util.List;
 
+import javafx.beans.property.SimpleBooleanProperty;
+
 import org.jabref.http.dto.GlobalExceptionMapper;
 import org.jabref.http.dto.GsonFactory;
 import org.jabref.http.server.services.ContextsToServe;
 import org.jabref.http.server.services.FilesToServe;
+import org.jabref.http.server.services.LibraryIndexes;
+import org.jabref.http.server.services.LibraryVersions;
+import org.jabref.logic.FilePreferences;
 import org.jabref.logic.bibtex.FieldPreferences;
 import org.jabref.logic.importer.ImportFormatPreferences;
 import org.jabref.logic.preferences.CliPreferences;
@@ -70,6 +75,24 @@ abstract class ServerTest extends JerseyTest {
         });
     }
 
+    protected void addLibraryIndexesToResourceConfig(ResourceConfig resourceConfig) {
+        resourceConfig.register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(new LibraryIndexes()).to(LibraryIndexes.class);
+            }
+        });
+    }
+
+    protected void addLibraryVersionsToResourceConfig(ResourceConfig resourceConfig) {
+        resourceConfig.register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(new LibraryVersions()).to(LibraryVersions.class);
+            }
+        });
+    }
+
     protected void addGsonToResourceConfig(ResourceConfig resourceConfig) {
         resourceConfig.register(new AbstractBinder() {
             @Override
@@ -101,6 +124,11 @@ abstract class ServerTest extends JerseyTest {
         BibEntryPreferences bibEntryPreferences = mock(BibEntryPreferences.class);
         when(importFormatPreferences.bibEntryPreferences()).thenReturn(bibEntryPreferences);
         when(bibEntryPreferences.getKeywordSeparator()).thenReturn(',');
+        when(preferences.getBibEntryPreferences()).thenReturn(bibEntryPreferences);
+
+        FilePreferences filePreferences = mock(FilePreferences.class);
+        when(preferences.getFilePreferences()).thenReturn(filePreferences);
+        when(filePreferences.fulltextIndexLinkedFilesProperty()).thenReturn(new SimpleBooleanProperty(false));
 
         FieldPreferences fieldWriterPreferences = mock(FieldPreferences.class);
         when(preferences.getFieldPreferences()).thenReturn(fieldWriterPreferences);
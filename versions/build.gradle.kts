@@ -134,6 +134,7 @@ dependencies.constraints {
     api("org.libreoffice:libreoffice:24.8.4")
     api("org.libreoffice:unoloader:24.8.4")
     api("org.mockito:mockito-core:5.18.0")
+    api("org.openjdk.jol:jol-core:0.17")
     api("org.ow2.asm:asm:9.6")
     api("org.postgresql:postgresql:42.7.7")
     api("org.slf4j:jul-to-slf4j:2.0.17")